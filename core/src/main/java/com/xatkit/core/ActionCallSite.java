@@ -0,0 +1,88 @@
+package com.xatkit.core;
+
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.util.ExecutionModelUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.xtext.xbase.XMemberFeatureCall;
+
+import java.text.MessageFormat;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A platform action call site of the execution model.
+ * <p>
+ * This class caches the information required to invoke a platform action ({@code MyPlatform.MyAction(...)}) from
+ * a given {@link XMemberFeatureCall}: the name of the platform is computed once when the call site is created, and
+ * the {@link RuntimePlatform} executing the action is retrieved the first time the action is called (platforms are
+ * started after the execution model is loaded).
+ * <p>
+ * Call sites are shared between the threads processing events, and can be safely accessed concurrently.
+ *
+ * @see ExecutionService
+ * @see ExpressionCompiler
+ */
+class ActionCallSite {
+
+    /**
+     * The {@link XMemberFeatureCall} representing the platform action call.
+     */
+    @Getter
+    private XMemberFeatureCall actionCall;
+
+    /**
+     * The name of the platform defining the action.
+     */
+    @Getter
+    private String platformName;
+
+    /**
+     * The {@link RuntimePlatformRegistry} used to retrieve the {@link RuntimePlatform} executing the action.
+     */
+    private RuntimePlatformRegistry runtimePlatformRegistry;
+
+    /**
+     * The cached {@link RuntimePlatform}.
+     */
+    private volatile RuntimePlatform runtimePlatform;
+
+    /**
+     * Constructs an {@link ActionCallSite} for the provided {@code actionCall}.
+     *
+     * @param actionCall              the {@link XMemberFeatureCall} representing the platform action call
+     * @param runtimePlatformRegistry the {@link RuntimePlatformRegistry} used to retrieve the
+     *                                {@link RuntimePlatform} executing the action
+     * @throws NullPointerException  if the provided {@code actionCall} or {@code runtimePlatformRegistry} is {@code
+     *                               null}
+     * @throws IllegalStateException if the {@code actionCall}'s qualified name doesn't follow the {@code Platform
+     *                               .Action} template
+     */
+    ActionCallSite(@NonNull XMemberFeatureCall actionCall, @NonNull RuntimePlatformRegistry runtimePlatformRegistry) {
+        this.actionCall = actionCall;
+        this.platformName = ExecutionModelUtils.getPlatformName(actionCall);
+        this.runtimePlatformRegistry = runtimePlatformRegistry;
+    }
+
+    /**
+     * Returns the {@link RuntimePlatform} executing the action.
+     * <p>
+     * The {@link RuntimePlatform} is retrieved from the {@link RuntimePlatformRegistry} the first time this method
+     * is called, and cached for the next calls.
+     *
+     * @return the {@link RuntimePlatform}
+     * @throws XatkitException if the {@link RuntimePlatform} is not registered
+     */
+    RuntimePlatform getRuntimePlatform() {
+        RuntimePlatform result = this.runtimePlatform;
+        if (isNull(result)) {
+            result = runtimePlatformRegistry.getRuntimePlatform(platformName);
+            if (isNull(result)) {
+                throw new XatkitException(MessageFormat.format("Cannot find the {0} {1}, the platform is not " +
+                        "started", RuntimePlatform.class.getSimpleName(), platformName));
+            }
+            this.runtimePlatform = result;
+        }
+        return result;
+    }
+}
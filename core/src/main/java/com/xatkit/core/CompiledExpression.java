@@ -0,0 +1,26 @@
+package com.xatkit.core;
+
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+
+/**
+ * An {@link XExpression} compiled into a Java closure by the {@link ExpressionCompiler}.
+ * <p>
+ * Compiled expressions are evaluated with the same {@link IEvaluationContext} as interpreted ones, and can delegate
+ * the evaluation of the sub-expressions that are not supported by the compiler to the {@link ExecutionService}.
+ *
+ * @see ExpressionCompiler
+ */
+@FunctionalInterface
+interface CompiledExpression {
+
+    /**
+     * Evaluates the compiled expression with the provided {@code context}.
+     *
+     * @param context   the {@link IEvaluationContext} containing the Xatkit-related variables
+     * @param indicator the {@link CancelIndicator} forwarded to the interpreted sub-expressions
+     * @return the result of the evaluation
+     */
+    Object evaluate(IEvaluationContext context, CancelIndicator indicator);
+}
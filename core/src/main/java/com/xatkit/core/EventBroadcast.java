@@ -0,0 +1,164 @@
+package com.xatkit.core;
+
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.EventInstance;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A broadcast of an {@link EventInstance} to a set of {@link XatkitSession}s.
+ * <p>
+ * Instances of this class are created by the {@link EventBroadcaster}, and allow to monitor the progress of the
+ * broadcast. An event is <i>delivered</i> to a {@link XatkitSession} when it has been queued for execution (see
+ * {@link ExecutionService#handleEventInstance(EventInstance, XatkitSession)}), and <i>failed</i> if it cannot be
+ * queued (e.g. because the event queue of the session is full).
+ * <p>
+ * The {@link EventInstance} of a broadcast is a snapshot of the broadcasted event shared by all the
+ * {@link XatkitSession}s: it must not be modified once the broadcast is started.
+ *
+ * @see EventBroadcaster
+ */
+public class EventBroadcast {
+
+    /**
+     * The snapshot of the broadcasted {@link EventInstance}.
+     */
+    @Getter
+    private EventInstance eventInstance;
+
+    /**
+     * The number of {@link XatkitSession}s targeted by the broadcast.
+     */
+    @Getter
+    private int sessionCount;
+
+    /**
+     * The time (in milliseconds) when the broadcast has been started.
+     */
+    @Getter
+    private long startTime;
+
+    /**
+     * The number of {@link XatkitSession}s the event has been delivered to.
+     */
+    private AtomicInteger deliveredCount = new AtomicInteger(0);
+
+    /**
+     * The number of {@link XatkitSession}s the event could not be delivered to.
+     */
+    private AtomicInteger failedCount = new AtomicInteger(0);
+
+    /**
+     * The number of chunks of {@link XatkitSession}s that are not processed yet.
+     */
+    private AtomicInteger remainingChunks;
+
+    /**
+     * The {@link CompletableFuture} completed when the event has been delivered to all the {@link XatkitSession}s.
+     */
+    private CompletableFuture<EventBroadcast> completion = new CompletableFuture<>();
+
+    /**
+     * Constructs an {@link EventBroadcast} with the provided parameters.
+     *
+     * @param eventInstance the snapshot of the broadcasted {@link EventInstance}
+     * @param sessionCount  the number of {@link XatkitSession}s targeted by the broadcast
+     * @param chunkCount    the number of chunks of {@link XatkitSession}s to process
+     */
+    EventBroadcast(EventInstance eventInstance, int sessionCount, int chunkCount) {
+        this.eventInstance = eventInstance;
+        this.sessionCount = sessionCount;
+        this.startTime = System.currentTimeMillis();
+        this.remainingChunks = new AtomicInteger(chunkCount);
+        if (chunkCount == 0) {
+            this.completion.complete(this);
+        }
+    }
+
+    /**
+     * Returns the number of {@link XatkitSession}s the event has been delivered to.
+     *
+     * @return the number of {@link XatkitSession}s the event has been delivered to
+     */
+    public int getDeliveredCount() {
+        return this.deliveredCount.get();
+    }
+
+    /**
+     * Returns the number of {@link XatkitSession}s the event could not be delivered to.
+     *
+     * @return the number of {@link XatkitSession}s the event could not be delivered to
+     */
+    public int getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * Returns the progress of the broadcast.
+     *
+     * @return the ratio of processed {@link XatkitSession}s (between {@code 0} and {@code 1})
+     */
+    public double getProgress() {
+        if (sessionCount == 0) {
+            return 1;
+        }
+        return (double) (getDeliveredCount() + getFailedCount()) / sessionCount;
+    }
+
+    /**
+     * Returns whether the event has been delivered to all the {@link XatkitSession}s.
+     *
+     * @return {@code true} if the broadcast is completed, {@code false} otherwise
+     */
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} completed when the event has been delivered to all the
+     * {@link XatkitSession}s.
+     *
+     * @return a {@link CompletableFuture} completed when the broadcast is completed
+     */
+    public CompletableFuture<EventBroadcast> getCompletion() {
+        return this.completion;
+    }
+
+    /**
+     * Records a successful delivery.
+     */
+    void delivered() {
+        this.deliveredCount.incrementAndGet();
+    }
+
+    /**
+     * Records a failed delivery.
+     */
+    void failed() {
+        this.failedCount.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a chunk of {@link XatkitSession}s.
+     *
+     * @return {@code true} if the completed chunk was the last one, {@code false} otherwise
+     */
+    boolean chunkCompleted() {
+        if (this.remainingChunks.decrementAndGet() == 0) {
+            this.completion.complete(this);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        String eventName = nonNull(eventInstance.getDefinition()) ? eventInstance.getDefinition().getName() : null;
+        return "EventBroadcast(" + eventName + ", sessions=" + sessionCount
+                + ", delivered=" + getDeliveredCount() + ", failed=" + getFailedCount() + ")";
+    }
+}
@@ -0,0 +1,281 @@
+package com.xatkit.core;
+
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.EventInstance;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+
+/**
+ * Delivers broadcasted {@link EventInstance}s to a set of {@link XatkitSession}s.
+ * <p>
+ * The targeted {@link XatkitSession}s are split in chunks that are delivered in parallel by a dedicated pool of
+ * broadcast threads. Each chunk queues the event for the {@link XatkitSession}s it contains using
+ * {@link ExecutionService#handleEventInstance(EventInstance, XatkitSession, EventPriority)} with the
+ * {@link EventPriority#BROADCAST} priority.
+ * <p>
+ * Broadcasts are throttled to avoid flooding the event queues and starving the interactive traffic: a chunk pauses
+ * its delivery when the number of pending events of the {@link SessionAffinityExecutor} reaches the configured
+ * threshold, and resumes it after a delay. Paused chunks do not hold a broadcast thread.
+ * <p>
+ * The broadcasted {@link EventInstance} is copied once when the broadcast starts, and the copy is shared by all the
+ * {@link XatkitSession}s: the caller can safely reuse or modify its instance once the broadcast is started.
+ *
+ * @see EventBroadcast
+ * @see ExecutionService
+ */
+public class EventBroadcaster {
+
+    /**
+     * The {@link ExecutionService} used to queue the broadcasted events.
+     */
+    private ExecutionService executionService;
+
+    /**
+     * The threads used to deliver the chunks and resume the throttled ones.
+     */
+    private ScheduledExecutorService broadcastPool;
+
+    /**
+     * The maximum number of {@link XatkitSession}s in a chunk.
+     */
+    @Getter
+    private int chunkSize;
+
+    /**
+     * The number of pending events in the {@link SessionAffinityExecutor} above which the broadcasts are throttled.
+     */
+    @Getter
+    private int maxPendingEvents;
+
+    /**
+     * The delay (in milliseconds) to wait before resuming a throttled chunk.
+     */
+    @Getter
+    private long throttleDelay;
+
+    /**
+     * The number of broadcasts in progress.
+     */
+    private AtomicInteger activeBroadcastCount = new AtomicInteger(0);
+
+    /**
+     * The number of completed broadcasts.
+     */
+    private AtomicLong completedBroadcastCount = new AtomicLong(0);
+
+    /**
+     * The number of events delivered by the broadcasts.
+     */
+    private AtomicLong deliveredEventCount = new AtomicLong(0);
+
+    /**
+     * The number of events that could not be delivered by the broadcasts.
+     */
+    private AtomicLong failedEventCount = new AtomicLong(0);
+
+    /**
+     * The number of times a chunk has been paused because of the throttling.
+     */
+    private AtomicLong throttledChunkCount = new AtomicLong(0);
+
+    /**
+     * Constructs an {@link EventBroadcaster} with the provided parameters.
+     *
+     * @param executionService the {@link ExecutionService} used to queue the broadcasted events
+     * @param threads          the number of threads used to deliver the chunks
+     * @param chunkSize        the maximum number of {@link XatkitSession}s in a chunk
+     * @param maxPendingEvents the number of pending events above which the broadcasts are throttled
+     * @param throttleDelay    the delay (in milliseconds) to wait before resuming a throttled chunk
+     * @throws NullPointerException     if the provided {@code executionService} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code threads}, {@code chunkSize}, {@code maxPendingEvents},
+     *                                  or {@code throttleDelay} is lower than {@code 1}
+     */
+    public EventBroadcaster(@NonNull ExecutionService executionService, int threads, int chunkSize,
+                            int maxPendingEvents, long throttleDelay) {
+        checkArgument(threads > 0, "Cannot construct a %s with %s threads, expected a positive value",
+                this.getClass().getSimpleName(), threads);
+        checkArgument(chunkSize > 0, "Cannot construct a %s with the chunk size %s, expected a positive value",
+                this.getClass().getSimpleName(), chunkSize);
+        checkArgument(maxPendingEvents > 0, "Cannot construct a %s with the pending event threshold %s, expected a " +
+                "positive value", this.getClass().getSimpleName(), maxPendingEvents);
+        checkArgument(throttleDelay > 0, "Cannot construct a %s with the throttle delay %s, expected a positive value",
+                this.getClass().getSimpleName(), throttleDelay);
+        this.executionService = executionService;
+        this.chunkSize = chunkSize;
+        this.maxPendingEvents = maxPendingEvents;
+        this.throttleDelay = throttleDelay;
+        this.broadcastPool = new ScheduledThreadPoolExecutor(threads, new BroadcastThreadFactory());
+    }
+
+    /**
+     * Broadcasts the provided {@code eventInstance} to the provided {@code sessions}.
+     * <p>
+     * This method returns once the broadcast is started, the returned {@link EventBroadcast} can be used to monitor
+     * its progress.
+     *
+     * @param eventInstance the {@link EventInstance} to broadcast
+     * @param sessions      the {@link XatkitSession}s to broadcast the event to
+     * @return the {@link EventBroadcast} representing the started broadcast
+     * @throws NullPointerException if the provided {@code eventInstance} or {@code sessions} is {@code null}
+     */
+    public EventBroadcast broadcast(@NonNull EventInstance eventInstance, @NonNull Iterable<XatkitSession> sessions) {
+        /*
+         * Snapshot the sessions, the provided Iterable may be modified while the broadcast is in progress.
+         */
+        List<XatkitSession> targets = new ArrayList<>();
+        sessions.forEach(targets::add);
+        List<XatkitSession> sessionList = Collections.unmodifiableList(targets);
+        int chunkCount = (sessionList.size() + chunkSize - 1) / chunkSize;
+        EventBroadcast broadcast = new EventBroadcast(EcoreUtil.copy(eventInstance), sessionList.size(), chunkCount);
+        if (chunkCount == 0) {
+            completedBroadcastCount.incrementAndGet();
+            return broadcast;
+        }
+        activeBroadcastCount.incrementAndGet();
+        Log.info("Starting {0} ({1} chunks)", broadcast, chunkCount);
+        for (int from = 0; from < sessionList.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, sessionList.size());
+            broadcastPool.execute(() -> deliverChunk(broadcast, sessionList, start, end));
+        }
+        return broadcast;
+    }
+
+    /**
+     * Delivers the event of the provided {@code broadcast} to the {@code sessions} between {@code from} (inclusive)
+     * and {@code to} (exclusive).
+     * <p>
+     * The delivery is paused and rescheduled after {@link #throttleDelay} if the number of pending events reaches
+     * {@link #maxPendingEvents}.
+     *
+     * @param broadcast the {@link EventBroadcast} to deliver the event of
+     * @param sessions  the {@link XatkitSession}s targeted by the broadcast
+     * @param from      the index of the first {@link XatkitSession} to deliver the event to
+     * @param to        the index of the last {@link XatkitSession} (exclusive) of the chunk
+     */
+    private void deliverChunk(EventBroadcast broadcast, List<XatkitSession> sessions, int from, int to) {
+        SessionAffinityExecutor sessionExecutor = executionService.getSessionExecutor();
+        for (int i = from; i < to; i++) {
+            if (sessionExecutor.getPendingTaskCount() >= maxPendingEvents) {
+                throttledChunkCount.incrementAndGet();
+                int next = i;
+                broadcastPool.schedule(() -> deliverChunk(broadcast, sessions, next, to), throttleDelay,
+                        TimeUnit.MILLISECONDS);
+                return;
+            }
+            try {
+                executionService.handleEventInstance(broadcast.getEventInstance(), sessions.get(i),
+                        EventPriority.BROADCAST);
+                broadcast.delivered();
+                deliveredEventCount.incrementAndGet();
+            } catch (Throwable t) {
+                Log.debug("Cannot deliver the broadcasted event to the session {0}: {1}",
+                        sessions.get(i).getSessionId(), t.getMessage());
+                broadcast.failed();
+                failedEventCount.incrementAndGet();
+            }
+        }
+        if (broadcast.chunkCompleted()) {
+            activeBroadcastCount.decrementAndGet();
+            completedBroadcastCount.incrementAndGet();
+            Log.info("Broadcast completed in {0} ms: {1}", System.currentTimeMillis() - broadcast.getStartTime(),
+                    broadcast);
+        }
+    }
+
+    /**
+     * Returns the number of broadcasts in progress.
+     *
+     * @return the number of broadcasts in progress
+     */
+    public int getActiveBroadcastCount() {
+        return this.activeBroadcastCount.get();
+    }
+
+    /**
+     * Returns the number of completed broadcasts.
+     *
+     * @return the number of completed broadcasts
+     */
+    public long getCompletedBroadcastCount() {
+        return this.completedBroadcastCount.get();
+    }
+
+    /**
+     * Returns the number of events delivered by the broadcasts.
+     *
+     * @return the number of events delivered by the broadcasts
+     */
+    public long getDeliveredEventCount() {
+        return this.deliveredEventCount.get();
+    }
+
+    /**
+     * Returns the number of events that could not be delivered by the broadcasts.
+     *
+     * @return the number of events that could not be delivered by the broadcasts
+     */
+    public long getFailedEventCount() {
+        return this.failedEventCount.get();
+    }
+
+    /**
+     * Returns the number of times a chunk has been paused because of the throttling.
+     *
+     * @return the number of times a chunk has been paused because of the throttling
+     */
+    public long getThrottledChunkCount() {
+        return this.throttledChunkCount.get();
+    }
+
+    /**
+     * Shuts down the broadcast threads.
+     * <p>
+     * Broadcasts in progress are interrupted, and their {@link EventBroadcast#getCompletion()} futures are never
+     * completed.
+     */
+    public void shutdown() {
+        this.broadcastPool.shutdownNow();
+    }
+
+    /**
+     * Returns whether the broadcast threads are shutdown.
+     *
+     * @return whether the broadcast threads are shutdown
+     */
+    public boolean isShutdown() {
+        return this.broadcastPool.isShutdown();
+    }
+
+    /**
+     * A {@link ThreadFactory} creating daemon broadcast threads with meaningful names.
+     */
+    private static class BroadcastThreadFactory implements ThreadFactory {
+
+        /**
+         * The counter used to name the created threads.
+         */
+        private AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "xatkit-broadcast-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
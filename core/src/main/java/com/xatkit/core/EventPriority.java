@@ -0,0 +1,74 @@
+package com.xatkit.core;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The priority classes of the events processed by the {@link ExecutionService}.
+ * <p>
+ * Events of different priorities are scheduled by the {@link SessionAffinityExecutor} with a weighted-fair policy:
+ * when sessions of several priorities are waiting for a worker thread, each priority receives a share of the worker
+ * threads proportional to its weight. This ensures that direct user messages are processed with a stable latency
+ * when the bot is handling a large broadcast or a background backfill, while lower priorities are never starved.
+ * <p>
+ * Events of a given session are always processed in their arrival order, regardless of their priority.
+ *
+ * @see SessionAffinityExecutor
+ * @see ExecutionService#handleEventInstance(com.xatkit.intent.EventInstance, com.xatkit.core.session.XatkitSession,
+ * EventPriority)
+ */
+public enum EventPriority {
+
+    /**
+     * Events sent by users interacting with the bot (e.g. chat messages).
+     */
+    INTERACTIVE(8),
+
+    /**
+     * Events broadcasted to all the sessions.
+     *
+     * @see EventBroadcaster
+     */
+    BROADCAST(2),
+
+    /**
+     * Events that are not sent by users and are not time-sensitive (e.g. scheduled events, platform backfills).
+     */
+    BACKGROUND(1);
+
+    /**
+     * The default scheduling weight of the priority.
+     */
+    private int defaultWeight;
+
+    /**
+     * Constructs an {@link EventPriority} with the provided {@code defaultWeight}.
+     *
+     * @param defaultWeight the default scheduling weight of the priority
+     */
+    EventPriority(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Returns the default scheduling weight of the priority.
+     *
+     * @return the default scheduling weight of the priority
+     */
+    public int getDefaultWeight() {
+        return this.defaultWeight;
+    }
+
+    /**
+     * Returns a {@link Map} containing the default scheduling weights of all the priorities.
+     *
+     * @return a {@link Map} containing the default scheduling weights of all the priorities
+     */
+    public static Map<EventPriority, Integer> defaultWeights() {
+        Map<EventPriority, Integer> weights = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : values()) {
+            weights.put(priority, priority.getDefaultWeight());
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,47 @@
+package com.xatkit.core;
+
+/**
+ * An exception thrown when an event cannot be queued for execution because the event queues are full.
+ * <p>
+ * This exception is thrown synchronously to the component submitting the event (typically a
+ * {@link com.xatkit.core.platform.io.RuntimeEventProvider}), allowing it to apply back-pressure on its own
+ * clients. Events received by webhooks and rejected with this exception are answered with a {@code 503} HTTP status
+ * and a {@code Retry-After} header set with {@link #getRetryAfter()}.
+ * <p>
+ * This exception is also used to complete the {@link java.util.concurrent.CompletableFuture}s of pending events
+ * discarded by the {@link EventQueueOverflowPolicy#DROP_OLDEST} and {@link EventQueueOverflowPolicy#COALESCE}
+ * policies.
+ * <p>
+ * Instances of this exception do not fill their stack trace: they are created on the hot path when the bot is
+ * overloaded, and always originate from {@link SessionAffinityExecutor}.
+ *
+ * @see SessionAffinityExecutor
+ * @see EventQueueLimits
+ */
+public class EventQueueFullException extends XatkitException {
+
+    /**
+     * The delay (in seconds) clients should wait before sending the event again.
+     */
+    private int retryAfter;
+
+    /**
+     * Constructs a new {@link EventQueueFullException} from the provided {@code message} and {@code retryAfter}.
+     *
+     * @param message    the exception's message
+     * @param retryAfter the delay (in seconds) clients should wait before sending the event again
+     */
+    public EventQueueFullException(String message, int retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the delay (in seconds) clients should wait before sending the event again.
+     *
+     * @return the delay (in seconds) clients should wait before sending the event again
+     */
+    public int getRetryAfter() {
+        return this.retryAfter;
+    }
+}
@@ -0,0 +1,72 @@
+package com.xatkit.core;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+
+/**
+ * The limits of the event queues managed by a {@link SessionAffinityExecutor}.
+ * <p>
+ * The limits only apply to the pending events: events that are currently processed by a worker thread are not
+ * counted.
+ *
+ * @see SessionAffinityExecutor
+ * @see EventQueueOverflowPolicy
+ */
+@Value
+public class EventQueueLimits {
+
+    /**
+     * The {@link EventQueueLimits} that do not bound the event queues.
+     */
+    public static final EventQueueLimits UNBOUNDED = new EventQueueLimits(Integer.MAX_VALUE, Integer.MAX_VALUE,
+            EventQueueOverflowPolicy.REJECT, 1);
+
+    /**
+     * The maximum number of pending events for a single session.
+     */
+    private int maxSessionQueueSize;
+
+    /**
+     * The maximum number of pending events for all the sessions.
+     */
+    private int maxQueueSize;
+
+    /**
+     * The policy applied when an event is submitted to a full queue.
+     */
+    private EventQueueOverflowPolicy overflowPolicy;
+
+    /**
+     * The delay (in seconds) clients should wait before sending a rejected event again.
+     *
+     * @see EventQueueFullException#getRetryAfter()
+     */
+    private int retryAfter;
+
+    /**
+     * Constructs a new {@link EventQueueLimits} with the provided parameters.
+     *
+     * @param maxSessionQueueSize the maximum number of pending events for a single session
+     * @param maxQueueSize        the maximum number of pending events for all the sessions
+     * @param overflowPolicy      the policy applied when an event is submitted to a full queue
+     * @param retryAfter          the delay (in seconds) clients should wait before sending a rejected event again
+     * @throws NullPointerException     if the provided {@code overflowPolicy} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code maxSessionQueueSize} or {@code maxQueueSize} is
+     *                                  lower than {@code 1}, or if the provided {@code retryAfter} is negative
+     */
+    public EventQueueLimits(int maxSessionQueueSize, int maxQueueSize, @NonNull EventQueueOverflowPolicy overflowPolicy,
+                            int retryAfter) {
+        checkArgument(maxSessionQueueSize > 0, "Cannot construct a %s with the session queue size %s, expected a " +
+                "positive value", EventQueueLimits.class.getSimpleName(), maxSessionQueueSize);
+        checkArgument(maxQueueSize > 0, "Cannot construct a %s with the queue size %s, expected a positive value",
+                EventQueueLimits.class.getSimpleName(), maxQueueSize);
+        checkArgument(retryAfter >= 0, "Cannot construct a %s with the retry delay %s, expected a positive value",
+                EventQueueLimits.class.getSimpleName(), retryAfter);
+        this.maxSessionQueueSize = maxSessionQueueSize;
+        this.maxQueueSize = maxQueueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.retryAfter = retryAfter;
+    }
+}
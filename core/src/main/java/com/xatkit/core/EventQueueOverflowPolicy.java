@@ -0,0 +1,38 @@
+package com.xatkit.core;
+
+/**
+ * The policies applied by the {@link SessionAffinityExecutor} when an event is submitted to a full queue.
+ * <p>
+ * A queue is full if the pending events of the session reached the session limit, or if the pending events of all
+ * the sessions reached the global limit (see {@link EventQueueLimits}). Policies that discard a pending event
+ * always select it in the queue of the session the new event is submitted to: a busy session cannot evict the
+ * events of other sessions.
+ *
+ * @see EventQueueLimits
+ * @see EventQueueFullException
+ */
+public enum EventQueueOverflowPolicy {
+
+    /**
+     * Rejects the submitted event with an {@link EventQueueFullException}.
+     */
+    REJECT,
+
+    /**
+     * Discards the oldest pending event of the session to make room for the submitted one.
+     * <p>
+     * The submitted event is rejected if the session does not have any pending event (i.e. the global limit is
+     * reached because of other sessions).
+     */
+    DROP_OLDEST,
+
+    /**
+     * Replaces the pending event of the session that has the same coalescing key as the submitted one.
+     * <p>
+     * The replaced event is discarded, and the submitted event is added at the end of the session queue. The
+     * submitted event is rejected if there is no pending event with the same coalescing key.
+     *
+     * @see SessionAffinityExecutor#submit(String, Object, Runnable)
+     */
+    COALESCE
+}
@@ -1,9 +1,20 @@
 package com.xatkit.core;
 
+import com.google.gson.JsonObject;
 import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.core.platform.action.ActionScheduler;
 import com.xatkit.core.platform.action.RuntimeAction;
 import com.xatkit.core.platform.action.RuntimeActionResult;
 import com.xatkit.core.platform.io.RuntimeEventProvider;
+import com.xatkit.core.server.HttpMethod;
+import com.xatkit.core.server.RestHandlerFactory;
+import com.xatkit.core.server.XatkitServer;
+import com.xatkit.core.session.MatchableIntents;
+import com.xatkit.core.session.SessionJournal;
+import com.xatkit.core.session.SessionSnapshot;
+import com.xatkit.core.session.SessionStore;
+import com.xatkit.core.session.SessionStoreFactory;
+import com.xatkit.core.session.StoredSession;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.execution.ExecutionModel;
 import com.xatkit.execution.State;
@@ -11,37 +22,53 @@ import com.xatkit.execution.Transition;
 import com.xatkit.intent.ContextInstance;
 import com.xatkit.intent.ContextParameterValue;
 import com.xatkit.intent.EventInstance;
+import com.xatkit.intent.RecognizedIntent;
 import com.xatkit.metamodels.utils.EventWrapper;
 import com.xatkit.metamodels.utils.RuntimeModel;
 import com.xatkit.util.ExecutionModelUtils;
 import fr.inria.atlanmod.commons.log.Log;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ConfigurationConverter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
-import org.eclipse.xtext.common.types.JvmField;
-import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.XBinaryOperation;
+import org.eclipse.xtext.xbase.XBlockExpression;
 import org.eclipse.xtext.xbase.XExpression;
-import org.eclipse.xtext.xbase.XFeatureCall;
 import org.eclipse.xtext.xbase.XMemberFeatureCall;
 import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
 import org.eclipse.xtext.xbase.interpreter.IEvaluationResult;
+import org.eclipse.xtext.xbase.interpreter.impl.DefaultEvaluationResult;
+import org.eclipse.xtext.xbase.interpreter.impl.EvaluationException;
+import org.eclipse.xtext.xbase.interpreter.impl.InterpreterCanceledException;
 import org.eclipse.xtext.xbase.interpreter.impl.XbaseInterpreter;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
@@ -75,6 +102,188 @@ public class ExecutionService extends XbaseInterpreter {
      */
     private static final QualifiedName EVALUATION_CONTEXT_SESSION_KEY = QualifiedName.create("com.xatkit.session");
 
+    /**
+     * The {@link Configuration} key to store the number of worker threads used to process the received events.
+     * <p>
+     * Events associated to the same {@link XatkitSession} are always processed sequentially, in their arrival order.
+     * Events from different {@link XatkitSession}s are processed in parallel by the worker threads. This value is
+     * set to the number of available processors if not specified.
+     *
+     * @see SessionAffinityExecutor
+     */
+    public static final String WORKER_THREADS_KEY = "xatkit.execution.worker_threads";
+
+    /**
+     * The {@link Configuration} key to store whether to process the received events with virtual threads.
+     * <p>
+     * When this option is set to {@code true} each event (and the {@link RuntimeAction}s it triggers) is processed
+     * in its own virtual thread, and {@link #WORKER_THREADS_KEY} is ignored. Events associated to the same
+     * {@link XatkitSession} are still processed sequentially. This option requires a JVM supporting virtual
+     * threads, Xatkit falls back to the default worker threads if it is not the case.
+     * <p>
+     * This value is set to {@code false} if not specified.
+     *
+     * @see SessionAffinityExecutor#newVirtualThreadPerTaskExecutor()
+     */
+    public static final String VIRTUAL_THREADS_KEY = "xatkit.execution.virtual_threads";
+
+    /**
+     * The {@link Configuration} key to store whether to compile the expressions of the {@link ExecutionModel}.
+     * <p>
+     * Compiled expressions are translated into Java closures when the {@link ExecutionService} is constructed,
+     * and do not need to be interpreted when an event is received. Expressions that are not supported by the
+     * compiler are interpreted.
+     * <p>
+     * This value is set to {@code true} if not specified.
+     *
+     * @see ExpressionCompiler
+     */
+    public static final String COMPILE_EXPRESSIONS_KEY = "xatkit.execution.compile_expressions";
+
+    /**
+     * The {@link Configuration} key to store the maximum number of pending events for a single
+     * {@link XatkitSession}.
+     * <p>
+     * This value is set to {@code 100} if not specified.
+     *
+     * @see EventQueueLimits
+     * @see #QUEUE_OVERFLOW_POLICY_KEY
+     */
+    public static final String MAX_SESSION_QUEUE_SIZE_KEY = "xatkit.execution.max_session_queue_size";
+
+    /**
+     * The {@link Configuration} key to store the maximum number of pending events for all the
+     * {@link XatkitSession}s.
+     * <p>
+     * This value is set to {@code 10000} if not specified.
+     *
+     * @see EventQueueLimits
+     * @see #QUEUE_OVERFLOW_POLICY_KEY
+     */
+    public static final String MAX_QUEUE_SIZE_KEY = "xatkit.execution.max_queue_size";
+
+    /**
+     * The {@link Configuration} key to store the policy applied when an event is received and the event queues
+     * are full.
+     * <p>
+     * Accepted values are {@code reject}, {@code drop_oldest}, and {@code coalesce} (see
+     * {@link EventQueueOverflowPolicy}). Only the events listed in {@link #COALESCED_EVENTS_KEY} are coalesced, if
+     * they have the same definition (e.g. a new {@code UserTyping} event replaces the pending {@code UserTyping}
+     * event of the session). This value is set to {@code reject} if not specified.
+     *
+     * @see EventQueueOverflowPolicy
+     */
+    public static final String QUEUE_OVERFLOW_POLICY_KEY = "xatkit.execution.queue_overflow_policy";
+
+    /**
+     * The {@link Configuration} key to store the names of the events that can be coalesced when the event queues
+     * are full.
+     * <p>
+     * Events are specified as a comma-separated list of event definition names (e.g. {@code UserTyping,
+     * UserPresence}), and are coalesced if {@link #QUEUE_OVERFLOW_POLICY_KEY} is set to {@code coalesce}. Coalescing
+     * is intended for transient events (typing indicators, presence updates) where only the most recent one matters:
+     * user messages ({@link RecognizedIntent}s) are never coalesced, even if their intent is listed. No event is
+     * coalesced if this value is not specified.
+     *
+     * @see #QUEUE_OVERFLOW_POLICY_KEY
+     */
+    public static final String COALESCED_EVENTS_KEY = "xatkit.execution.coalesced_events";
+
+    /**
+     * The {@link Configuration} key to store the delay (in seconds) clients should wait before sending a rejected
+     * event again.
+     * <p>
+     * This value is returned in the {@code Retry-After} header of the webhook requests rejected because the event
+     * queues are full. It is set to {@code 1} if not specified.
+     *
+     * @see EventQueueFullException#getRetryAfter()
+     */
+    public static final String QUEUE_RETRY_AFTER_KEY = "xatkit.execution.queue_retry_after";
+
+    /**
+     * The {@link Configuration} key to store whether to execute the platform actions of state bodies asynchronously.
+     * <p>
+     * When this option is enabled the platform actions called at the top level of a <i>body</i> or <i>fallback</i>
+     * section are executed with {@link RuntimeAction#callAsync(java.util.concurrent.Executor)}, and the next
+     * statements of the section are evaluated once the action completes. This allows actions to wait (e.g. for the
+     * message delay) without blocking a worker thread. Events of the same {@link XatkitSession} are still processed
+     * sequentially. Sections containing {@code return} statements, as well as nested action calls (e.g. in an
+     * {@code if} expression), are evaluated synchronously.
+     * <p>
+     * This value is set to {@code false} if not specified: the statements of the sections are evaluated in sequence
+     * by the thread processing the event, and the platform actions are executed with {@link RuntimeAction#call()}.
+     *
+     * @see RuntimeAction#callAsync(java.util.concurrent.Executor)
+     */
+    public static final String ASYNC_ACTIONS_KEY = "xatkit.execution.async_actions";
+
+    /**
+     * The {@link Configuration} key to store the number of threads used to deliver broadcasted events.
+     * <p>
+     * This value is set to {@code 2} if not specified.
+     *
+     * @see EventBroadcaster
+     */
+    public static final String BROADCAST_THREADS_KEY = "xatkit.execution.broadcast_threads";
+
+    /**
+     * The {@link Configuration} key to store the maximum number of {@link XatkitSession}s in a broadcast chunk.
+     * <p>
+     * Broadcasted events are delivered in parallel to chunks of {@link XatkitSession}s. This value is set to
+     * {@code 500} if not specified.
+     *
+     * @see EventBroadcaster
+     */
+    public static final String BROADCAST_CHUNK_SIZE_KEY = "xatkit.execution.broadcast_chunk_size";
+
+    /**
+     * The {@link Configuration} key to store the number of pending events above which broadcasts are throttled.
+     * <p>
+     * Broadcasts pause their delivery when the number of pending events reaches this value, leaving room in the
+     * event queues for the interactive traffic. This value is set to half of {@link #MAX_QUEUE_SIZE_KEY} if not
+     * specified.
+     *
+     * @see EventBroadcaster
+     */
+    public static final String BROADCAST_MAX_PENDING_EVENTS_KEY = "xatkit.execution.broadcast_max_pending_events";
+
+    /**
+     * The {@link Configuration} key to store the delay (in milliseconds) before resuming a throttled broadcast.
+     * <p>
+     * This value is set to {@code 50} if not specified.
+     *
+     * @see EventBroadcaster
+     */
+    public static final String BROADCAST_THROTTLE_DELAY_KEY = "xatkit.execution.broadcast_throttle_delay";
+
+    /**
+     * The {@link Configuration} key to store the scheduling weight of the {@link EventPriority#INTERACTIVE} events.
+     * <p>
+     * When sessions of several priorities are waiting for a worker thread, each priority receives a share of the
+     * worker threads proportional to its weight. This value is set to {@code 8} if not specified.
+     *
+     * @see EventPriority
+     */
+    public static final String INTERACTIVE_WEIGHT_KEY = "xatkit.execution.interactive_weight";
+
+    /**
+     * The {@link Configuration} key to store the scheduling weight of the {@link EventPriority#BROADCAST} events.
+     * <p>
+     * This value is set to {@code 2} if not specified.
+     *
+     * @see #INTERACTIVE_WEIGHT_KEY
+     */
+    public static final String BROADCAST_WEIGHT_KEY = "xatkit.execution.broadcast_weight";
+
+    /**
+     * The {@link Configuration} key to store the scheduling weight of the {@link EventPriority#BACKGROUND} events.
+     * <p>
+     * This value is set to {@code 1} if not specified.
+     *
+     * @see #INTERACTIVE_WEIGHT_KEY
+     */
+    public static final String BACKGROUND_WEIGHT_KEY = "xatkit.execution.background_weight";
+
     /**
      * The {@link ExecutionModel} used to retrieve the {@link RuntimeAction}s to compute from the handled
      * {@link EventInstance}s.
@@ -111,13 +320,118 @@ public class ExecutionService extends XbaseInterpreter {
     private Map<Object, Object> configurationMap;
 
     /**
-     * The {@link ExecutorService} used to process {@link RuntimeAction}s.
+     * The {@link TransitionDispatchIndex} used to retrieve the {@link Transition}s to check when receiving an
+     * {@link EventInstance}.
+     * <p>
+     * This index is computed once when the {@link ExecutionService} is constructed.
+     */
+    private TransitionDispatchIndex transitionIndex;
+
+    /**
+     * The compiled expressions of the {@link ExecutionModel}.
+     * <p>
+     * This {@link Map} uses identity comparison, and is not modified once the {@link ExecutionService} is
+     * constructed. Expressions that are not contained in this {@link Map} are interpreted.
+     *
+     * @see #COMPILE_EXPRESSIONS_KEY
+     * @see ExpressionCompiler
+     */
+    private Map<XExpression, CompiledExpression> compiledExpressions;
+
+    /**
+     * The cached {@link ActionCallSite}s of the interpreted {@link XMemberFeatureCall}s.
+     * <p>
+     * This {@link Map} contains an empty {@link Optional} for {@link XMemberFeatureCall}s that are not platform
+     * action calls. Model elements do not redefine {@code equals} and {@code hashCode}, meaning that this
+     * {@link Map} is identity-based.
+     *
+     * @see #doEvaluate(XExpression, IEvaluationContext, CancelIndicator)
+     */
+    private Map<XMemberFeatureCall, Optional<ActionCallSite>> actionCallSites = new ConcurrentHashMap<>();
+
+    /**
+     * The cached names of the events compared in the interpreted {@link XBinaryOperation}s.
+     * <p>
+     * This {@link Map} contains an empty {@link Optional} for {@link XBinaryOperation}s that are not event
+     * comparisons ({@code intent == MyIntent}).
+     *
+     * @see #doEvaluate(XExpression, IEvaluationContext, CancelIndicator)
+     * @see ExecutionModelUtils#getComparedEventName(XExpression)
+     */
+    private Map<XBinaryOperation, Optional<String>> comparedEventNames = new ConcurrentHashMap<>();
+
+    /**
+     * The cached {@link OperationHandle}s used to invoke the Java methods called in the execution model.
+     * <p>
+     * This {@link Map} contains an empty {@link Optional} for operations that cannot be represented as
+     * {@link MethodHandle}s.
+     *
+     * @see #invokeOperation(JvmOperation, Object, List)
+     */
+    private Map<JvmOperation, Optional<OperationHandle>> methodHandles = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link SessionAffinityExecutor} used to process {@link RuntimeAction}s.
+     * <p>
+     * This executor ensures that the events of a given {@link XatkitSession} are processed in their arrival order,
+     * while events from different {@link XatkitSession}s are processed in parallel.
      *
+     * @see #WORKER_THREADS_KEY
+     * @see #MAX_QUEUE_SIZE_KEY
      * @see RuntimePlatform
      * @see RuntimeAction
      */
     @Getter
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private SessionAffinityExecutor sessionExecutor;
+
+    /**
+     * Whether to execute the platform actions of state bodies asynchronously.
+     *
+     * @see #ASYNC_ACTIONS_KEY
+     */
+    private boolean asyncActions;
+
+    /**
+     * The names of the events that can be coalesced when the event queues are full.
+     *
+     * @see #COALESCED_EVENTS_KEY
+     * @see #getCoalescingKey(EventInstance)
+     */
+    private Set<String> coalescedEvents;
+
+    /**
+     * The {@link EventBroadcaster} used to deliver broadcasted events.
+     *
+     * @see #broadcastEventInstance(EventInstance, Iterable)
+     */
+    @Getter
+    private EventBroadcaster eventBroadcaster;
+
+    /**
+     * The {@link SessionJournal} used to record the state transitions of the sessions.
+     * <p>
+     * This field is {@code null} if the sessions are not persisted.
+     *
+     * @see #setSessionJournal(SessionJournal)
+     */
+    private SessionJournal sessionJournal;
+
+    /**
+     * The {@link SessionStore} used to share the sessions with the other Xatkit instances.
+     * <p>
+     * The content of the sessions is loaded from this store before an event is handled, and written back once the
+     * event has been handled. This field is {@code null} if the sessions are not shared (see
+     * {@link SessionStoreFactory#SESSION_STORE_KEY}).
+     */
+    @Getter
+    private SessionStore sessionStore;
+
+    /**
+     * The time-to-live (in milliseconds) of the sessions stored in the {@link #sessionStore}.
+     *
+     * @see SessionStoreFactory#SESSION_STORE_TTL_KEY
+     */
+    private long sessionStoreTtl;
 
     /**
      * Constructs a new {@link ExecutionService} based on the provided {@code executionModel} and {@code
@@ -131,8 +445,10 @@ public class ExecutionService extends XbaseInterpreter {
      * @param runtimePlatformRegistry the {@link RuntimePlatformRegistry} used to create the {@link RuntimeAction}s
      *                                to execute
      * @param configuration           the Xatkit configuration
-     * @throws NullPointerException if the provided {@code executionModel} or {@code runtimePlatformRegistry} is
-     *                              {@code null}
+     * @throws NullPointerException  if the provided {@code executionModel} or {@code runtimePlatformRegistry} is
+     *                               {@code null}
+     * @throws IllegalStateException if the provided {@code executionModel} contains ambiguous {@link Transition}s
+     * @see TransitionDispatchIndex
      */
     public ExecutionService(@NonNull ExecutionModel executionModel,
                             @NonNull RuntimePlatformRegistry runtimePlatformRegistry,
@@ -146,44 +462,382 @@ public class ExecutionService extends XbaseInterpreter {
          * https://www.eclipse.org/forums/index.php/t/1095731/)
          */
         EcoreUtil.resolveAll(executionModel);
+        this.transitionIndex = new TransitionDispatchIndex(executionModel);
+        MatchableIntents.index(executionModel);
+        if (configuration.getBoolean(COMPILE_EXPRESSIONS_KEY, true)) {
+            this.compiledExpressions = new ExpressionCompiler(this).compile(executionModel);
+        } else {
+            this.compiledExpressions = Collections.emptyMap();
+        }
+        this.asyncActions = configuration.getBoolean(ASYNC_ACTIONS_KEY, false);
+        String coalescedEventNames = configuration.getString(COALESCED_EVENTS_KEY);
+        this.coalescedEvents = isNull(coalescedEventNames) ? Collections.emptySet() :
+                Arrays.stream(coalescedEventNames.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                        .collect(Collectors.toSet());
+        this.sessionExecutor = createSessionExecutor(configuration);
+        this.eventBroadcaster = new EventBroadcaster(this, configuration.getInt(BROADCAST_THREADS_KEY, 2),
+                configuration.getInt(BROADCAST_CHUNK_SIZE_KEY, 500),
+                configuration.getInt(BROADCAST_MAX_PENDING_EVENTS_KEY,
+                        Math.max(1, this.sessionExecutor.getLimits().getMaxQueueSize() / 2)),
+                configuration.getLong(BROADCAST_THROTTLE_DELAY_KEY, 50));
+        this.sessionStore = SessionStoreFactory.getSessionStore(configuration);
+        this.sessionStoreTtl = SessionStoreFactory.getSessionStoreTtl(configuration);
+    }
+
+    /**
+     * Creates the {@link SessionAffinityExecutor} used to process the received events.
+     * <p>
+     * The created executor uses virtual threads if {@link #VIRTUAL_THREADS_KEY} is set to {@code true} and the
+     * running JVM supports them, and a pool of {@link #WORKER_THREADS_KEY} platform threads otherwise. The event
+     * queues of the executor are bounded according to {@link #MAX_SESSION_QUEUE_SIZE_KEY} and
+     * {@link #MAX_QUEUE_SIZE_KEY}.
+     *
+     * @param configuration the Xatkit configuration
+     * @return the created {@link SessionAffinityExecutor}
+     */
+    private SessionAffinityExecutor createSessionExecutor(Configuration configuration) {
+        EventQueueLimits limits = getEventQueueLimits(configuration);
+        Map<EventPriority, Integer> priorityWeights = new EnumMap<>(EventPriority.class);
+        priorityWeights.put(EventPriority.INTERACTIVE, configuration.getInt(INTERACTIVE_WEIGHT_KEY,
+                EventPriority.INTERACTIVE.getDefaultWeight()));
+        priorityWeights.put(EventPriority.BROADCAST, configuration.getInt(BROADCAST_WEIGHT_KEY,
+                EventPriority.BROADCAST.getDefaultWeight()));
+        priorityWeights.put(EventPriority.BACKGROUND, configuration.getInt(BACKGROUND_WEIGHT_KEY,
+                EventPriority.BACKGROUND.getDefaultWeight()));
+        if (configuration.getBoolean(VIRTUAL_THREADS_KEY, false)) {
+            try {
+                return new SessionAffinityExecutor(SessionAffinityExecutor.newVirtualThreadPerTaskExecutor(), limits,
+                        priorityWeights);
+            } catch (XatkitException e) {
+                Log.warn("{0}, falling back to platform worker threads", e.getMessage());
+            }
+        }
+        return new SessionAffinityExecutor(configuration.getInt(WORKER_THREADS_KEY,
+                Runtime.getRuntime().availableProcessors()), limits, priorityWeights);
+    }
+
+    /**
+     * Creates the {@link EventQueueLimits} defined in the provided {@code configuration}.
+     *
+     * @param configuration the Xatkit configuration
+     * @return the created {@link EventQueueLimits}
+     * @throws XatkitException if the provided {@code configuration} contains an invalid
+     *                         {@link #QUEUE_OVERFLOW_POLICY_KEY} value
+     */
+    private EventQueueLimits getEventQueueLimits(Configuration configuration) {
+        String policyName = configuration.getString(QUEUE_OVERFLOW_POLICY_KEY, EventQueueOverflowPolicy.REJECT.name());
+        EventQueueOverflowPolicy policy;
+        try {
+            policy = EventQueueOverflowPolicy.valueOf(policyName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new XatkitException(MessageFormat.format("Invalid value for {0}: {1}, expected one of {2}",
+                    QUEUE_OVERFLOW_POLICY_KEY, policyName, Arrays.toString(EventQueueOverflowPolicy.values())), e);
+        }
+        return new EventQueueLimits(configuration.getInt(MAX_SESSION_QUEUE_SIZE_KEY, 100),
+                configuration.getInt(MAX_QUEUE_SIZE_KEY, 10000), policy,
+                configuration.getInt(QUEUE_RETRY_AFTER_KEY, 1));
+    }
+
+    /**
+     * Registers the monitoring REST endpoints of the {@link ExecutionService} in the provided {@code xatkitServer}.
+     * <p>
+     * This method registers the {@code GET: /admin/execution/queues} endpoint, that returns the state of the event
+     * queues. The listing below shows an example of the returned JSON payload:
+     * <pre>
+     * {@code
+     * {
+     *     "overflowPolicy": "REJECT",
+     *     "maxSessionQueueSize": 100,
+     *     "maxQueueSize": 10000,
+     *     "activeSessions": 2,
+     *     "pendingEvents": 5,
+     *     "rejectedEvents": 0,
+     *     "droppedEvents": 0,
+     *     "coalescedEvents": 0,
+     *     "readySessions": {
+     *         "INTERACTIVE": 0,
+     *         "BROADCAST": 3,
+     *         "BACKGROUND": 0
+     *     }
+     * }
+     * }
+     * </pre>
+     * This method also registers the {@code GET: /admin/execution/broadcasts} endpoint, that returns the metrics of
+     * the {@link EventBroadcaster}:
+     * <pre>
+     * {@code
+     * {
+     *     "activeBroadcasts": 1,
+     *     "completedBroadcasts": 3,
+     *     "deliveredEvents": 30000,
+     *     "failedEvents": 0,
+     *     "throttledChunks": 12
+     * }
+     * }
+     * </pre>
+     * <b>Note</b>: the {@link XatkitCore} only calls this method if the
+     * {@link com.xatkit.core.server.XatkitServerUtils#ADMIN_ENDPOINTS_KEY} key is set to {@code true}.
+     *
+     * @param xatkitServer the {@link XatkitServer} to register the endpoints in
+     * @throws NullPointerException if the provided {@code xatkitServer} is {@code null}
+     */
+    public void registerRestEndpoints(@NonNull XatkitServer xatkitServer) {
+        xatkitServer.registerRestEndpoint(HttpMethod.GET, "/admin/execution/queues",
+                RestHandlerFactory.createJsonRestHandler((headers, params, content) -> {
+                    EventQueueLimits limits = sessionExecutor.getLimits();
+                    JsonObject result = new JsonObject();
+                    result.addProperty("overflowPolicy", limits.getOverflowPolicy().name());
+                    result.addProperty("maxSessionQueueSize", limits.getMaxSessionQueueSize());
+                    result.addProperty("maxQueueSize", limits.getMaxQueueSize());
+                    result.addProperty("activeSessions", sessionExecutor.getActiveSessionCount());
+                    result.addProperty("pendingEvents", sessionExecutor.getPendingTaskCount());
+                    result.addProperty("rejectedEvents", sessionExecutor.getRejectedTaskCount());
+                    result.addProperty("droppedEvents", sessionExecutor.getDroppedTaskCount());
+                    result.addProperty("coalescedEvents", sessionExecutor.getCoalescedTaskCount());
+                    JsonObject readySessions = new JsonObject();
+                    for (EventPriority priority : EventPriority.values()) {
+                        readySessions.addProperty(priority.name(), sessionExecutor.getReadySessionCount(priority));
+                    }
+                    result.add("readySessions", readySessions);
+                    return result;
+                }));
+        xatkitServer.registerRestEndpoint(HttpMethod.GET, "/admin/execution/broadcasts",
+                RestHandlerFactory.createJsonRestHandler((headers, params, content) -> {
+                    JsonObject result = new JsonObject();
+                    result.addProperty("activeBroadcasts", eventBroadcaster.getActiveBroadcastCount());
+                    result.addProperty("completedBroadcasts", eventBroadcaster.getCompletedBroadcastCount());
+                    result.addProperty("deliveredEvents", eventBroadcaster.getDeliveredEventCount());
+                    result.addProperty("failedEvents", eventBroadcaster.getFailedEventCount());
+                    result.addProperty("throttledChunks", eventBroadcaster.getThrottledChunkCount());
+                    return result;
+                }));
+    }
+
+    /**
+     * Returns the {@link ExecutorService} used to process {@link RuntimeAction}s.
+     *
+     * @return the {@link ExecutorService} used to process {@link RuntimeAction}s
+     */
+    public ExecutorService getExecutorService() {
+        return this.sessionExecutor.getWorkerPool();
+    }
+
+    /**
+     * Broadcasts the provided {@code eventInstance} to the provided {@code sessions}.
+     * <p>
+     * The event is delivered in parallel to chunks of {@link XatkitSession}s by the {@link EventBroadcaster}, and
+     * the delivery is throttled when the event queues are loaded (see {@link #BROADCAST_MAX_PENDING_EVENTS_KEY}).
+     * This method returns once the broadcast is started.
+     *
+     * @param eventInstance the {@link EventInstance} to broadcast
+     * @param sessions      the {@link XatkitSession}s to broadcast the event to
+     * @return the {@link EventBroadcast} representing the started broadcast
+     * @throws NullPointerException if the provided {@code eventInstance} or {@code sessions} is {@code null}
+     * @see EventBroadcaster
+     */
+    public EventBroadcast broadcastEventInstance(@NonNull EventInstance eventInstance,
+                                                 @NonNull Iterable<XatkitSession> sessions) {
+        return this.eventBroadcaster.broadcast(eventInstance, sessions);
     }
 
     /**
      * Initializes the provided {@code session}'s {@link State} and executes it.
      * <p>
      * The provided {@link XatkitSession}'s {@link State} is set with the {@code Init} {@link State} of the bot
-     * execution model, and the {@code Body} section of this {@link State} is directly executed.
+     * execution model, and the {@code Body} section of this {@link State} is executed asynchronously, before any
+     * event received for the provided {@code session}.
      * <p>
      * Note that {@code context} and {@code parameters} are not set for the execution of the {@code Init} state. This
      * means that execution models accessing {@code context} information in the {@code Init} state will throw a
      * {@link NullPointerException}.
      *
+     * <p>
+     * If a {@link SessionStore} is configured the session is created in the store. Sessions that already exist in
+     * the store (e.g. because they have been created by another Xatkit instance) are restored from it instead (see
+     * {@link #restoreSession(XatkitSession, SessionSnapshot)}), and the body of the {@code Init} state is not
+     * executed.
+     *
      * @param session the {@link XatkitSession} to initialize
-     * @throws NullPointerException if the provided {@code session} is {@code null}
+     * @throws NullPointerException    if the provided {@code session} is {@code null}
+     * @throws EventQueueFullException if the event queues are full
      */
     public void initSession(@NonNull XatkitSession session) {
-        session.setState(ExecutionModelUtils.getInitState(executionModel));
-        this.executeBody(session.getState(), session);
+        if (nonNull(sessionStore)) {
+            State initState = ExecutionModelUtils.getInitState(executionModel);
+            AtomicBoolean created = new AtomicBoolean(false);
+            StoredSession storedSession = sessionStore.computeIfAbsent(session.getSessionId(), id -> {
+                created.set(true);
+                return SessionSnapshot.of(id, initState.getName());
+            }, sessionStoreTtl);
+            session.setStoreVersion(storedSession.getVersion());
+            if (!created.get()) {
+                restoreSession(session, storedSession.getSnapshot());
+                return;
+            }
+        }
+        initSessionState(session);
+    }
+
+    /**
+     * Sets the {@code Init} state of the provided {@code session} and executes its body.
+     *
+     * @param session the {@link XatkitSession} to initialize
+     * @throws EventQueueFullException if the event queues are full
+     * @see #initSession(XatkitSession)
+     */
+    private void initSessionState(XatkitSession session) {
+        State initState = ExecutionModelUtils.getInitState(executionModel);
+        /*
+         * Set the state in the calling thread: events received for this session right after its initialization
+         * need to find a valid state (they will be processed once the Init body has been executed).
+         */
+        setSessionState(session, initState);
+        this.sessionExecutor.submitAsync(session.getSessionId(), null,
+                () -> executeBody(initState, session).whenComplete((v, t) -> saveSession(session)))
+                .exceptionally(throwable -> {
+                    Log.error("An error occurred when initializing the session {0}. Check the logs for additional " +
+                            "information", session.getSessionId());
+                    printStackTrace(throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * Sets the {@link SessionJournal} used to record the state transitions of the sessions.
+     *
+     * @param sessionJournal the {@link SessionJournal} to use, or {@code null} to stop recording the state
+     *                       transitions
+     */
+    public void setSessionJournal(@Nullable SessionJournal sessionJournal) {
+        this.sessionJournal = sessionJournal;
+    }
+
+    /**
+     * Sets the {@link State} of the provided {@code session} and records the transition in the
+     * {@link SessionJournal}.
+     *
+     * @param session the {@link XatkitSession} to set the {@link State} of
+     * @param state   the {@link State} to set
+     */
+    private void setSessionState(XatkitSession session, State state) {
+        session.setState(state);
+        if (nonNull(sessionJournal)) {
+            sessionJournal.recordTransition(session.getSessionId(), state.getName());
+        }
+    }
+
+    /**
+     * Restores the provided {@code session} from the given {@code snapshot}.
+     * <p>
+     * This method restores the content of the {@code snapshot} in the {@code session}, and sets its {@link State}
+     * from the state name stored in the {@code snapshot}. The body of the restored {@link State} is not executed
+     * again. If the state does not exist in the execution model anymore (e.g. because the bot has been updated
+     * since the session was passivated) the {@code session} is initialized with the <i>Init</i> state.
+     *
+     * @param session  the {@link XatkitSession} to restore
+     * @param snapshot the {@link SessionSnapshot} to restore the {@code session} from
+     * @throws NullPointerException if the provided {@code session} or {@code snapshot} is {@code null}
+     * @see #initSession(XatkitSession)
+     */
+    public void restoreSession(@NonNull XatkitSession session, @NonNull SessionSnapshot snapshot) {
+        snapshot.restoreContent(session);
+        State state = isNull(snapshot.getStateName()) ? null : ExecutionModelUtils.getState(executionModel,
+                snapshot.getStateName());
+        if (isNull(state)) {
+            Log.warn("Cannot restore the state {0} of the session {1}, the session is reset to the Init state",
+                    snapshot.getStateName(), session.getSessionId());
+            initSessionState(session);
+        } else {
+            session.setState(state);
+        }
+    }
+
+    /**
+     * Loads the content of the provided {@code session} from the {@link SessionStore}.
+     * <p>
+     * The {@code session} is restored from the {@link SessionStore} if it has been updated by another Xatkit
+     * instance since it has been loaded or saved by this instance. The {@code session} is kept unchanged if it is
+     * up to date, or if it is not stored.
+     *
+     * @param session the {@link XatkitSession} to load
+     * @see #saveSession(XatkitSession)
+     */
+    private void loadSession(XatkitSession session) {
+        if (isNull(sessionStore)) {
+            return;
+        }
+        StoredSession storedSession = sessionStore.get(session.getSessionId());
+        if (isNull(storedSession)) {
+            /*
+             * The session expired in the store, it will be stored again when saved.
+             */
+            session.setStoreVersion(0);
+        } else if (storedSession.getVersion() != session.getStoreVersion()) {
+            Log.debug("Session {0} - Loading version {1} from the {2}", session.getSessionId(),
+                    storedSession.getVersion(), SessionStore.class.getSimpleName());
+            restoreSession(session, storedSession.getSnapshot());
+            session.setStoreVersion(storedSession.getVersion());
+        }
+    }
+
+    /**
+     * Saves the content of the provided {@code session} in the {@link SessionStore}.
+     * <p>
+     * The {@code session} is saved only if it has not been updated by another Xatkit instance since it has been
+     * loaded. Otherwise the update of the other instance wins: the local changes are discarded and the
+     * {@code session} is restored from the {@link SessionStore}.
+     * <p>
+     * This method does not throw an exception if the {@code session} cannot be saved (e.g. because it does not
+     * respect the serialization contract of the {@link SessionStore}), but logs a warning.
+     *
+     * @param session the {@link XatkitSession} to save
+     * @see #loadSession(XatkitSession)
+     */
+    private void saveSession(XatkitSession session) {
+        if (isNull(sessionStore)) {
+            return;
+        }
+        long version = session.getStoreVersion();
+        try {
+            if (sessionStore.compareAndSet(session.getSessionId(), version, SessionSnapshot.of(session),
+                    sessionStoreTtl)) {
+                session.setStoreVersion(version + 1);
+            } else {
+                Log.warn("Session {0} has been updated by another instance, discarding the local changes",
+                        session.getSessionId());
+                loadSession(session);
+            }
+        } catch (RuntimeException e) {
+            Log.warn("Cannot save the session {0} in the {1}: {2}", session.getSessionId(),
+                    SessionStore.class.getSimpleName(), e.getMessage());
+        }
     }
 
     /**
      * Executes the body of the provided {@code state}, using the provided {@code session}.
      * <p>
-     * This method evaluates the content of the <i>body</i> section of the provided {@code state}, and throws a
-     * {@link XatkitException} wrapping any exception thrown by the interpreted code. Once the body section has been
-     * fully (and successfully) evaluated this method looks for wildcard transitions ({@code _ --> MyState}) to
-     * navigate.
+     * This method evaluates the content of the <i>body</i> section of the provided {@code state}, and logs any
+     * exception thrown by the interpreted code. Once the body section has been fully evaluated this method looks for
+     * wildcard transitions ({@code _ --> MyState}) to navigate.
+     * <p>
+     * The returned {@link CompletableFuture} is completed once the body of the {@code state} (and the bodies of the
+     * states reached with wildcard transitions) have been executed. Platform actions called in the body may be
+     * executed asynchronously (see {@link #ASYNC_ACTIONS_KEY}), meaning that the returned {@link CompletableFuture}
+     * can be completed by another thread.
      * <p>
      * This method can be safely called on {@link State}s that do not define a body.
      *
      * @param state   the {@link State} to execute the body section of
      * @param session the {@link XatkitSession} holding the contextual information
+     * @return a {@link CompletableFuture} completed when the body has been executed
      * @throws NullPointerException if the provided {@code state} or {@code session} is {@code null}
      */
-    private void executeBody(@NonNull State state, @NonNull XatkitSession session) {
+    private CompletableFuture<Void> executeBody(@NonNull State state, @NonNull XatkitSession session) {
         XExpression bodyExpression = state.getBody();
+        CompletableFuture<Void> bodyExecution;
         if (isNull(bodyExpression)) {
             Log.debug("{0}'s body section is null, skipping its execution", state.getName());
+            bodyExecution = CompletableFuture.completedFuture(null);
         } else {
             /*
              * The event instance that made the state machine move to the current state. This event instance is set
@@ -191,33 +845,36 @@ public class ExecutionService extends XbaseInterpreter {
              */
             EventInstance lastEventInstance = (EventInstance) session.get(MATCHED_EVENT_SESSION_KEY);
             IEvaluationContext evaluationContext = this.createXatkitEvaluationContext(lastEventInstance, session);
-            IEvaluationResult evaluationResult = this.evaluate(bodyExpression, evaluationContext,
-                    CancelIndicator.NullImpl);
-            if (nonNull(evaluationResult.getException())) {
-                Log.error(evaluationResult.getException(), "An error occurred when executing fallback of state {0}",
-                        state.getName());
-            }
+            bodyExecution = this.evaluateSection(bodyExpression, evaluationContext).thenAccept(evaluationResult -> {
+                if (nonNull(evaluationResult.getException())) {
+                    Log.error(evaluationResult.getException(), "An error occurred when executing body of state {0}",
+                            state.getName());
+                }
+                /*
+                 * Result is ignored here, we just want to know if it contains a Throwable.
+                 */
+            });
+        }
+        return bodyExecution.thenCompose(v -> {
             /*
-             * Result is ignored here, we just want to know if it contains a Throwable.
+             * Look for wildcard transitions and navigate them. We don't need to wait here, we can just move to the
+             * next state that defines non-wildcard transitions.
              */
-        }
-        /*
-         * Look for wildcard transitions and navigate them. We don't need to wait here, we can just move to the next
-         * state that defines non-wildcard transitions.
-         */
-        Transition navigableTransition = getNavigableTransitions(null, state, session);
-        if (nonNull(navigableTransition)) {
+            Transition navigableTransition = getNavigableTransitions(null, state, session);
+            if (nonNull(navigableTransition)) {
+                /*
+                 * Reset the matched event instance.
+                 */
+                session.store(MATCHED_EVENT_SESSION_KEY, null);
+                setSessionState(session, navigableTransition.getState());
+                return executeBody(navigableTransition.getState(), session);
+            }
             /*
-             * Reset the matched event instance.
+             * Don't do anything if there is no navigable transition, this means that we are waiting an event to
+             * re-evaluate them.
              */
-            session.store(MATCHED_EVENT_SESSION_KEY, null);
-            session.setState(navigableTransition.getState());
-            executeBody(navigableTransition.getState(), session);
-        }
-        /*
-         * Don't do anything if there is no navigable transition, this means that we are waiting an event to
-         * re-evaluate them.
-         */
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
     /**
@@ -229,12 +886,14 @@ public class ExecutionService extends XbaseInterpreter {
      *
      * @param state   the {@link State} to execute the fallback section of
      * @param session the {@link XatkitSession} holding the contextual information
+     * @return a {@link CompletableFuture} completed when the fallback has been executed
      * @throws NullPointerException if the provided {@code state} or {@code session} is {@code null}
      */
-    private void executeFallback(@NonNull State state, @NonNull XatkitSession session) {
+    private CompletableFuture<Void> executeFallback(@NonNull State state, @NonNull XatkitSession session) {
         XExpression fallbackExpression = state.getFallback();
+        CompletableFuture<Void> fallbackExecution;
         if (isNull(fallbackExpression)) {
-            executeBody(ExecutionModelUtils.getFallbackState(executionModel), session);
+            fallbackExecution = executeBody(ExecutionModelUtils.getFallbackState(executionModel), session);
         } else {
             /*
              * The event instance that made the state machine move to the current state. This event instance is set
@@ -242,22 +901,140 @@ public class ExecutionService extends XbaseInterpreter {
              */
             EventInstance lastEventInstance = (EventInstance) session.get(MATCHED_EVENT_SESSION_KEY);
             IEvaluationContext evaluationContext = this.createXatkitEvaluationContext(lastEventInstance, session);
-            IEvaluationResult evaluationResult = this.evaluate(fallbackExpression, evaluationContext,
-                    CancelIndicator.NullImpl);
-            if (nonNull(evaluationResult.getException())) {
-                Log.error(evaluationResult.getException(), "An error occurred when executing fallback of state {0}",
-                        state.getName());
-            }
+            fallbackExecution = this.evaluateSection(fallbackExpression, evaluationContext)
+                    .thenAccept(evaluationResult -> {
+                        if (nonNull(evaluationResult.getException())) {
+                            Log.error(evaluationResult.getException(), "An error occurred when executing fallback " +
+                                    "of state {0}", state.getName());
+                        }
+                        /*
+                         * Result is ignored here, we just want to know if it contains a Throwable.
+                         */
+                    });
+        }
+        return fallbackExecution.thenRun(() -> {
             /*
-             * Result is ignored here, we just want to know if it contains a Throwable.
+             * The fallback semantics implies that the execution engine stays in the same state. This means that we
+             * need to increment all the context lifespans to be sure they will be available for the next intent
+             * recognition (otherwise they will be deleted and the matching will be inconsistent).
              */
+            session.getRuntimeContexts().incrementLifespanCounts();
+        });
+    }
+
+    /**
+     * Evaluates the provided <i>body</i> or <i>fallback</i> {@code section}.
+     * <p>
+     * If {@link #ASYNC_ACTIONS_KEY} is enabled the statements of the provided {@code section} are evaluated one
+     * after the other, and the platform actions called at the top level of the section are executed asynchronously
+     * (see {@link #evaluateStatement(XExpression, IEvaluationContext)}). The evaluation stops at the first statement
+     * throwing an exception, similarly to the interpreter. Sections containing {@code return} statements are
+     * evaluated synchronously, because the control flow of their {@code return} statements is handled by the
+     * interpreter.
+     *
+     * @param section           the {@link XExpression} representing the section to evaluate
+     * @param evaluationContext the {@link IEvaluationContext} containing the Xatkit-related variables
+     * @return a {@link CompletableFuture} completed with the {@link IEvaluationResult} of the section
+     */
+    private CompletableFuture<IEvaluationResult> evaluateSection(XExpression section,
+                                                                 IEvaluationContext evaluationContext) {
+        if (!asyncActions || !(section instanceof XBlockExpression) || ExpressionCompiler.containsReturn(section)) {
+            return CompletableFuture.completedFuture(this.evaluateExpression(section, evaluationContext));
         }
         /*
-         * The fallback semantics implies that the execution engine stays in the same state. This means that we need
-         * to increment all the context lifespans to be sure they will be available for the next intent recognition
-         * (otherwise they will be deleted and the matching will be inconsistent).
+         * Fork the context to reproduce the scoping of the interpreted blocks: variables declared in the section are
+         * visible in the next statements, but not in the context provided by the caller.
          */
-        session.getRuntimeContexts().incrementLifespanCounts();
+        IEvaluationContext blockContext = evaluationContext.fork();
+        CompletableFuture<IEvaluationResult> result =
+                CompletableFuture.completedFuture(new DefaultEvaluationResult(null, null));
+        for (XExpression statement : ((XBlockExpression) section).getExpressions()) {
+            result = result.thenCompose(previous -> nonNull(previous.getException()) ?
+                    CompletableFuture.completedFuture(previous) : evaluateStatement(statement, blockContext));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the provided top-level {@code statement} of a section.
+     * <p>
+     * Platform action calls are executed asynchronously with
+     * {@link RuntimeAction#callAsync(java.util.concurrent.Executor)}: their arguments are evaluated in the calling
+     * thread, and the returned {@link CompletableFuture} is completed when the action completes. Other statements
+     * are evaluated synchronously.
+     *
+     * @param statement         the {@link XExpression} to evaluate
+     * @param evaluationContext the {@link IEvaluationContext} containing the Xatkit-related variables
+     * @return a {@link CompletableFuture} completed with the {@link IEvaluationResult} of the statement
+     */
+    private CompletableFuture<IEvaluationResult> evaluateStatement(XExpression statement,
+                                                                   IEvaluationContext evaluationContext) {
+        Optional<ActionCallSite> callSite = statement instanceof XMemberFeatureCall ?
+                getActionCallSite((XMemberFeatureCall) statement) : Optional.empty();
+        if (!callSite.isPresent()) {
+            return CompletableFuture.completedFuture(this.evaluateExpression(statement, evaluationContext));
+        }
+        List<Object> evaluatedArguments = new ArrayList<>();
+        for (XExpression argument : ((XMemberFeatureCall) statement).getActualArguments()) {
+            IEvaluationResult argumentResult = this.evaluateExpression(argument, evaluationContext);
+            if (nonNull(argumentResult.getException())) {
+                return CompletableFuture.completedFuture(argumentResult);
+            }
+            evaluatedArguments.add(argumentResult.getResult());
+        }
+        try {
+            RuntimeAction runtimeAction = createRuntimeAction(callSite.get(), evaluatedArguments, evaluationContext);
+            return runtimeAction.callAsync(this.sessionExecutor.getWorkerPool())
+                    .thenApply(result -> {
+                        logRuntimeActionResult(runtimeAction, result);
+                        return new DefaultEvaluationResult(result.getResult(), null);
+                    });
+        } catch (Throwable t) {
+            return CompletableFuture.completedFuture(new DefaultEvaluationResult(null, t));
+        }
+    }
+
+    /**
+     * Evaluates the provided {@code expression} with the given {@code evaluationContext}.
+     * <p>
+     * This method uses the compiled version of the provided {@code expression} if it exists, and interprets it
+     * otherwise. Exceptions thrown by the evaluated code are reported in the returned {@link IEvaluationResult},
+     * similarly to {@link #evaluate(XExpression, IEvaluationContext, CancelIndicator)}.
+     *
+     * @param expression        the {@link XExpression} to evaluate
+     * @param evaluationContext the {@link IEvaluationContext} containing the Xatkit-related variables
+     * @return the {@link IEvaluationResult}
+     * @see #COMPILE_EXPRESSIONS_KEY
+     */
+    private IEvaluationResult evaluateExpression(XExpression expression, IEvaluationContext evaluationContext) {
+        CompiledExpression compiledExpression = this.compiledExpressions.get(expression);
+        if (isNull(compiledExpression)) {
+            return this.evaluate(expression, evaluationContext, CancelIndicator.NullImpl);
+        }
+        try {
+            return new DefaultEvaluationResult(compiledExpression.evaluate(evaluationContext,
+                    CancelIndicator.NullImpl), null);
+        } catch (EvaluationException e) {
+            /*
+             * Thrown by the interpreted sub-expressions, unwrap it to report the actual exception.
+             */
+            return new DefaultEvaluationResult(null, e.getCause());
+        }
+    }
+
+    /**
+     * Interprets the provided {@code expression}.
+     * <p>
+     * This method is used by {@link CompiledExpression}s to evaluate the sub-expressions that are not supported by
+     * the {@link ExpressionCompiler}.
+     *
+     * @param expression the {@link XExpression} to interpret
+     * @param context    the {@link IEvaluationContext} containing the Xatkit-related variables
+     * @param indicator  the indicator
+     * @return the result of the evaluation
+     */
+    Object interpret(XExpression expression, IEvaluationContext context, CancelIndicator indicator) {
+        return this.internalEvaluate(expression, context, indicator);
     }
 
     /**
@@ -271,6 +1048,10 @@ public class ExecutionService extends XbaseInterpreter {
      * <p>
      * <b>Note</b>: the provided {@code eventInstance} can be {@code null} (e.g. when creating the
      * {@link IEvaluationContext} for {@link State}s accessed via a wildcard {@link Transition}).
+     * <p>
+     * The {@code context} variable is bound to a view of the session's contexts reading their current snapshot on
+     * each access (see {@link com.xatkit.core.session.RuntimeContexts#getContextMap()}): the context values set by
+     * an action are visible to the next statements, and reads do not lock the contexts.
      *
      * @param eventInstance the {@link EventInstance} to set in the context
      * @param session       the {@link XatkitSession} to set in the context
@@ -297,6 +1078,10 @@ public class ExecutionService extends XbaseInterpreter {
      * /intent} variable in the execution language, and the provided {@code session} (bound to the {@code session}
      * variable in the execution language).
      * <p>
+     * The {@link Transition}s to check are retrieved from the {@link #transitionIndex}: {@link Transition}s that are
+     * only guarded by event equality checks ({@code intent == MyIntent}) are resolved without interpreting their
+     * condition, and conditions that cannot be fulfilled by the provided {@code eventInstance} are not evaluated.
+     * <p>
      * This method cannot return more than one {@link Transition}. Multiple navigable transitions are considered
      * design issues making the bot behavior unreliable.
      *
@@ -308,30 +1093,46 @@ public class ExecutionService extends XbaseInterpreter {
      *                               value, or if more than 1 navigable transition is found
      * @throws NullPointerException  if the provided {@code state}, or {@code session} is
      *                               {@code null}
+     * @see TransitionDispatchIndex
      */
     private @Nullable
     Transition getNavigableTransitions(@Nullable EventInstance eventInstance, @NonNull State state,
                                        @NonNull XatkitSession session) {
+        TransitionDispatchIndex.StateEntry stateEntry = this.transitionIndex.getStateEntry(state);
+        if (stateEntry.isWildcardOnly()) {
+            /*
+             * The transition is a wildcard, it is always navigable.
+             */
+            return stateEntry.getWildcardTransition();
+        }
+        String eventName = isNull(eventInstance) ? null : eventInstance.getDefinition().getName();
+        Transition eventTransition = stateEntry.getEventTransition(eventName);
+        List<Transition> transitionsToEvaluate = stateEntry.getInterpretedTransitions(eventName);
+        if (transitionsToEvaluate.isEmpty() && stateEntry.getWildcardTransitions().isEmpty()) {
+            /*
+             * The index ensures that there is at most one transition guarded by the received event, we don't need
+             * to evaluate anything.
+             */
+            return eventTransition;
+        }
         /*
          * Use a list to store the navigable transitions so we can print a more useful error message is more than one
-         *  is found.
+         *  is found. Wildcard transitions defined with other transitions are always navigable, the state fails if
+         *  another transition is also navigable.
          */
-        List<Transition> result = new ArrayList<>();
-        for (Transition t : state.getTransitions()) {
-            if (t.isIsWildcard()) {
-                /*
-                 * The transition is a wildcard, it is always navigable.
-                 */
-                result.add(t);
-                continue;
-            }
-            /*
-             * Create the context with the received EventInstance. This is the instance we want to use in the
-             * transition conditions.
-             */
-            IEvaluationContext evaluationContext = this.createXatkitEvaluationContext(eventInstance, session);
-            IEvaluationResult evaluationResult = this.evaluate(t.getCondition(), evaluationContext,
-                    CancelIndicator.NullImpl);
+        List<Transition> result = new ArrayList<>(stateEntry.getWildcardTransitions());
+        if (nonNull(eventTransition)) {
+            result.add(eventTransition);
+        }
+        /*
+         * Create the context with the received EventInstance. This is the instance we want to use in the
+         * transition conditions. The context is shared by all the evaluated conditions: they cannot define variables
+         * in it (variables are defined in forked contexts).
+         */
+        IEvaluationContext evaluationContext = transitionsToEvaluate.isEmpty() ? null :
+                this.createXatkitEvaluationContext(eventInstance, session);
+        for (Transition t : transitionsToEvaluate) {
+            IEvaluationResult evaluationResult = this.evaluateExpression(t.getCondition(), evaluationContext);
             if (nonNull(evaluationResult.getException())) {
                 Log.error(evaluationResult.getException(), "An exception occurred when evaluating transition " +
                         "{0} of state {1}", state.getTransitions().indexOf(t), state.getName());
@@ -372,7 +1173,6 @@ public class ExecutionService extends XbaseInterpreter {
         }
     }
 
-
     /**
      * Handles the provided {@code eventInstance} and executes the corresponding {@link RuntimeAction}s defined in the
      * {@link ExecutionModel}.
@@ -382,47 +1182,65 @@ public class ExecutionService extends XbaseInterpreter {
      * executed in the same {@link Thread}, in order to ensure that their pre-conditions are respected (i.e. the
      * context variables defined by an action are available for the next ones).
      * <p>
+     * Tasks created for the same {@code session} are executed in the order of the calls to this method, while tasks
+     * created for different {@link XatkitSession}s are executed in parallel (see {@link #WORKER_THREADS_KEY}).
+     * <p>
      * Exceptions thrown from the computed {@link RuntimeAction}s are logged and ignored, so the calling
      * {@link RuntimeEventProvider} does not have to handle the exception, and can process the next event.
      * <p>
      * The created task also registers the output context values to the provided {@code session}, making them
      * available for the computed actions.
+     * <p>
+     * The created task is queued in the pending events of the {@code session}. If the event queues are full the
+     * configured {@link EventQueueOverflowPolicy} is applied (see {@link #QUEUE_OVERFLOW_POLICY_KEY}), and an
+     * {@link EventQueueFullException} is thrown if the event cannot be queued. Events listed in
+     * {@link #COALESCED_EVENTS_KEY} are coalesced with the pending events of the {@code session} that have the same
+     * definition.
+     * <p>
+     * This method handles the event with the {@link EventPriority#INTERACTIVE} priority, see
+     * {@link #handleEventInstance(EventInstance, XatkitSession, EventPriority)} to handle events with another
+     * priority.
      *
      * @param eventInstance the {@link EventInstance} to handle
      * @param session       the {@link XatkitSession} used to define and access context variables
-     * @throws NullPointerException if the provided {@code eventInstance} or {@code session} is {@code null}
+     * @throws NullPointerException    if the provided {@code eventInstance} or {@code session} is {@code null}
+     * @throws EventQueueFullException if the event queues are full and the event cannot be queued
      */
     public void handleEventInstance(@NonNull EventInstance eventInstance, @NonNull XatkitSession session) {
+        handleEventInstance(eventInstance, session, EventPriority.INTERACTIVE);
+    }
+
+    /**
+     * Handles the provided {@code eventInstance} with the given {@code priority}.
+     * <p>
+     * This method is similar to {@link #handleEventInstance(EventInstance, XatkitSession)}, but the created task is
+     * dispatched with the provided {@code priority} (see {@link EventPriority}). Events of the same {@code session}
+     * are processed in their arrival order regardless of their priority.
+     *
+     * @param eventInstance the {@link EventInstance} to handle
+     * @param session       the {@link XatkitSession} used to define and access context variables
+     * @param priority      the {@link EventPriority} of the event
+     * @throws NullPointerException    if the provided {@code eventInstance}, {@code session}, or {@code priority} is
+     *                                 {@code null}
+     * @throws EventQueueFullException if the event queues are full and the event cannot be queued
+     * @see EventPriority
+     */
+    public void handleEventInstance(@NonNull EventInstance eventInstance, @NonNull XatkitSession session,
+                                    @NonNull EventPriority priority) {
         checkNotNull(session.getState(), "Cannot handle the %s %s, the provided %s's state hasn't been initialized",
                 EventInstance.class.getSimpleName(), eventInstance, XatkitSession.class.getSimpleName());
-        CompletableFuture.runAsync(() -> {
-            State sessionState = session.getState();
-
-            Transition navigableTransition = getNavigableTransitions(eventInstance, sessionState, session);
-            if (isNull(navigableTransition)) {
-                session.store(MATCHED_EVENT_SESSION_KEY, eventInstance);
-                executeFallback(sessionState, session);
-            } else {
-                for (ContextInstance contextInstance : eventInstance.getOutContextInstances()) {
-                    /*
-                     * Register the context first: this allows to register context without parameters (e.g. follow-up
-                     * contexts).
-                     */
-                    session.getRuntimeContexts().setContext(contextInstance.getDefinition().getName(),
-                            contextInstance.getLifespanCount());
-                    for (ContextParameterValue value : contextInstance.getValues()) {
-                        session.getRuntimeContexts().setContextValue(value);
-                    }
-                }
+        this.sessionExecutor.submitAsync(session.getSessionId(), priority, getCoalescingKey(eventInstance), () -> {
+            loadSession(session);
+            return handleEventInstanceInLane(eventInstance, session).whenComplete((v, t) -> saveSession(session));
+        }).exceptionally((throwable) -> {
+            if (throwable instanceof EventQueueFullException) {
                 /*
-                 * Store the event that triggered the rule execution in the session, it can be useful to some actions (e
-                 * .g. analytics)
+                 * The event has been discarded by the overflow policy, there is no stack trace to print.
                  */
-                session.store(MATCHED_EVENT_SESSION_KEY, eventInstance);
-                session.setState(navigableTransition.getState());
-                executeBody(navigableTransition.getState(), session);
+                Log.warn("The event {0} has not been processed: {1}", eventInstance.getDefinition().getName(),
+                        throwable.getMessage());
+                return null;
             }
-        }, executorService).exceptionally((throwable) -> {
             Log.error("An error occurred when running the actions associated to the event {0}. Check the logs for " +
                     "additional information", eventInstance.getDefinition().getName());
             /*
@@ -435,6 +1253,67 @@ public class ExecutionService extends XbaseInterpreter {
         });
     }
 
+    /**
+     * Returns the key used to coalesce the provided {@code eventInstance} with the pending events of its session.
+     * <p>
+     * Only the events listed in {@link #COALESCED_EVENTS_KEY} can be coalesced. User messages
+     * ({@link RecognizedIntent}s) are never coalesced: two messages matching the same intent are distinct inputs
+     * that must both be processed.
+     *
+     * @param eventInstance the {@link EventInstance} to get the coalescing key of
+     * @return the coalescing key, or {@code null} if the {@code eventInstance} cannot be coalesced
+     * @see SessionAffinityExecutor#submitAsync(String, EventPriority, Object, java.util.function.Supplier)
+     */
+    @Nullable
+    Object getCoalescingKey(EventInstance eventInstance) {
+        if (eventInstance instanceof RecognizedIntent || isNull(eventInstance.getDefinition())) {
+            return null;
+        }
+        String eventName = eventInstance.getDefinition().getName();
+        return coalescedEvents.contains(eventName) ? eventName : null;
+    }
+
+    /**
+     * Handles the provided {@code eventInstance} in the lane of the given {@code session}.
+     * <p>
+     * This method navigates the {@link Transition} matching the {@code eventInstance} and executes the body of the
+     * reached {@link State}, or executes the fallback of the current {@link State} if there is no navigable
+     * {@link Transition}.
+     *
+     * @param eventInstance the {@link EventInstance} to handle
+     * @param session       the {@link XatkitSession} used to define and access context variables
+     * @return a {@link CompletableFuture} completed when the event has been handled
+     * @see #handleEventInstance(EventInstance, XatkitSession, EventPriority)
+     */
+    private CompletableFuture<Void> handleEventInstanceInLane(EventInstance eventInstance, XatkitSession session) {
+        State sessionState = session.getState();
+
+        Transition navigableTransition = getNavigableTransitions(eventInstance, sessionState, session);
+        if (isNull(navigableTransition)) {
+            session.store(MATCHED_EVENT_SESSION_KEY, eventInstance);
+            return executeFallback(sessionState, session);
+        } else {
+            for (ContextInstance contextInstance : eventInstance.getOutContextInstances()) {
+                /*
+                 * Register the context first: this allows to register context without parameters (e.g. follow-up
+                 * contexts).
+                 */
+                session.getRuntimeContexts().setContext(contextInstance.getDefinition().getName(),
+                        contextInstance.getLifespanCount());
+                for (ContextParameterValue value : contextInstance.getValues()) {
+                    session.getRuntimeContexts().setContextValue(value);
+                }
+            }
+            /*
+             * Store the event that triggered the rule execution in the session, it can be useful to some actions (e
+             * .g. analytics)
+             */
+            session.store(MATCHED_EVENT_SESSION_KEY, eventInstance);
+            setSessionState(session, navigableTransition.getState());
+            return executeBody(navigableTransition.getState(), session);
+        }
+    }
+
     /**
      * Evaluates the provided {@code expression}.
      * <p>
@@ -442,6 +1321,10 @@ public class ExecutionService extends XbaseInterpreter {
      * {@link XMemberFeatureCall}s representing platform's action call. For these specific expressions the
      * interpreter takes care of constructing the corresponding {@link RuntimeAction}, evaluates its parameters, and
      * invoke it.
+     * <p>
+     * The analysis of platform action calls and event comparisons ({@code intent == MyIntent}) is cached per
+     * expression (see {@link #actionCallSites} and {@link #comparedEventNames}), and only performed the first time
+     * an expression is evaluated.
      *
      * @param expression the {@link XExpression} to evaluate
      * @param context    the {@link IEvaluationContext} containing the information already computed during the
@@ -454,76 +1337,205 @@ public class ExecutionService extends XbaseInterpreter {
     protected Object doEvaluate(XExpression expression, IEvaluationContext context, CancelIndicator indicator) {
         if (expression instanceof XMemberFeatureCall) {
             XMemberFeatureCall featureCall = (XMemberFeatureCall) expression;
-            if (ExecutionModelUtils.isPlatformActionCall(featureCall, this.runtimePlatformRegistry)) {
-                XatkitSession session = (XatkitSession) context.getValue(EVALUATION_CONTEXT_SESSION_KEY);
+            Optional<ActionCallSite> callSite = getActionCallSite(featureCall);
+            if (callSite.isPresent()) {
                 List<Object> evaluatedArguments = new ArrayList<>();
                 for (XExpression xExpression : featureCall.getActualArguments()) {
                     evaluatedArguments.add(internalEvaluate(xExpression, context, indicator));
                 }
-                RuntimeAction runtimeAction = this.getRuntimeActionFromXMemberFeatureCall(featureCall,
-                        evaluatedArguments,
-                        session);
-                RuntimeActionResult result = executeRuntimeAction(runtimeAction);
-                return result.getResult();
+                return invokePlatformAction(callSite.get(), evaluatedArguments, context);
             }
         } else if (expression instanceof XBinaryOperation) {
             /*
              * Custom implementation of intent = MyIntent and event = MyEvent binary operations.
              */
             XBinaryOperation operation = (XBinaryOperation) expression;
-            if (operation.getFeature().getSimpleName().equals("operator_equals")) {
-                if (operation.getLeftOperand() instanceof XFeatureCall) {
-                    XFeatureCall leftFeatureCall = (XFeatureCall) operation.getLeftOperand();
-                    if (leftFeatureCall.getFeature() instanceof JvmField && (leftFeatureCall.getFeature().getSimpleName().equals("intent") || leftFeatureCall.getFeature().getSimpleName().equals("event"))) {
-                        XFeatureCall rightFeatureCall = (XFeatureCall) operation.getRightOperand();
-                        if (rightFeatureCall.getFeature() instanceof JvmGenericType) {
-                            JvmGenericType rightFeatureType = (JvmGenericType) rightFeatureCall.getFeature();
-                            if (rightFeatureType.getSuperTypes().stream().anyMatch(t -> t.getIdentifier().equals("com" +
-                                    ".xatkit.intent.EventDefinition"))) {
-                                EventWrapper wrapper = (EventWrapper) internalEvaluate(operation.getLeftOperand(),
-                                        context, indicator);
-                                if (isNull(wrapper) || isNull(wrapper.getEventInstance())) {
-                                    /*
-                                     * The wrapper can be null if use the "intent" accessor on a received event. In
-                                     * this case the result of the comparison is always false.
-                                     * The wrapper does not contain any event if we are evaluating a transition
-                                     * before receiving an event. This happens after state's body execution, when the
-                                     *  engine tries to evaluate transitions that can be directly navigated (e.g.
-                                     * context-based transitions).
-                                     */
-                                    return false;
-                                } else {
-                                     return wrapper.getEventInstance().getDefinition().getName().equals(rightFeatureType.getSimpleName());
-                                }
-                            }
-                        }
-                    }
-
+            Optional<String> comparedEventName = this.comparedEventNames.computeIfAbsent(operation,
+                    o -> Optional.ofNullable(ExecutionModelUtils.getComparedEventName(o)));
+            if (comparedEventName.isPresent()) {
+                EventWrapper wrapper = (EventWrapper) internalEvaluate(operation.getLeftOperand(), context,
+                        indicator);
+                if (isNull(wrapper) || isNull(wrapper.getEventInstance())) {
+                    /*
+                     * The wrapper can be null if use the "intent" accessor on a received event. In this case the
+                     * result of the comparison is always false.
+                     * The wrapper does not contain any event if we are evaluating a transition before receiving an
+                     * event. This happens after state's body execution, when the engine tries to evaluate
+                     * transitions that can be directly navigated (e.g. context-based transitions).
+                     */
+                    return false;
+                } else {
+                    return wrapper.getEventInstance().getDefinition().getName().equals(comparedEventName.get());
                 }
             }
         }
         return super.doEvaluate(expression, context, indicator);
     }
 
+    /**
+     * Invokes the provided {@code operation} on the given {@code receiver}.
+     * <p>
+     * This method uses cached {@link MethodHandle}s to invoke the Java methods called in the execution model (see
+     * {@link #methodHandles}). The reflective lookup of the method is performed the first time an operation is
+     * invoked. Operations that cannot be represented as a {@link MethodHandle} (e.g. operations invoked on
+     * {@link Proxy} instances) are delegated to the {@link XbaseInterpreter} reflective implementation.
+     *
+     * @param operation      the {@link JvmOperation} to invoke
+     * @param receiver       the receiver of the operation ({@code null} for static operations)
+     * @param argumentValues the evaluated arguments of the operation
+     * @return the result of the operation
+     * @throws EvaluationException if an error occurred when invoking the operation
+     */
+    @Override
+    protected Object invokeOperation(JvmOperation operation, Object receiver, List<Object> argumentValues) {
+        if (nonNull(receiver) && Proxy.isProxyClass(receiver.getClass())) {
+            return super.invokeOperation(operation, receiver, argumentValues);
+        }
+        Optional<OperationHandle> operationHandle = this.methodHandles.computeIfAbsent(operation,
+                this::createOperationHandle);
+        if (!operationHandle.isPresent() || operationHandle.get().isStatic() == nonNull(receiver)) {
+            /*
+             * Let the interpreter handle invalid receivers, it takes care of creating the appropriate exceptions.
+             */
+            return super.invokeOperation(operation, receiver, argumentValues);
+        }
+        OperationHandle handle = operationHandle.get();
+        Object[] arguments;
+        if (handle.isStatic()) {
+            arguments = argumentValues.toArray();
+        } else {
+            arguments = new Object[argumentValues.size() + 1];
+            arguments[0] = receiver;
+            for (int i = 0; i < argumentValues.size(); i++) {
+                arguments[i + 1] = argumentValues.get(i);
+            }
+        }
+        if (arguments.length != handle.getArity()) {
+            return super.invokeOperation(operation, receiver, argumentValues);
+        }
+        try {
+            return (Object) handle.getMethodHandle().invokeExact(arguments);
+        } catch (InterpreterCanceledException | EvaluationException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new EvaluationException(t);
+        }
+    }
+
+    /**
+     * Creates the {@link OperationHandle} used to invoke the provided {@code operation}.
+     *
+     * @param operation the {@link JvmOperation} to create the {@link OperationHandle} of
+     * @return the created {@link OperationHandle}, or {@link Optional#empty()} if the operation cannot be
+     * represented as a {@link MethodHandle}
+     */
+    private Optional<OperationHandle> createOperationHandle(JvmOperation operation) {
+        try {
+            Method method = this.getJavaReflectAccess().getMethod(operation);
+            if (isNull(method)) {
+                return Optional.empty();
+            }
+            method.setAccessible(true);
+            /*
+             * The interpreter packs the varargs in an array before invoking the operation, the handle must not
+             * collect them again.
+             */
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            int arity = methodHandle.type().parameterCount();
+            /*
+             * Adapt the handle to (Object[])Object to invoke it with invokeExact, primitive values are
+             * boxed/unboxed by asType.
+             */
+            methodHandle = methodHandle.asType(methodHandle.type().generic()).asSpreader(Object[].class, arity);
+            return Optional.of(new OperationHandle(methodHandle, arity, Modifier.isStatic(method.getModifiers())));
+        } catch (IllegalAccessException | RuntimeException e) {
+            Log.debug("Cannot create a method handle for {0}, the operation will be invoked with reflection ({1})",
+                    operation.getIdentifier(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates and executes the {@link RuntimeAction} corresponding to the provided {@code callSite}.
+     * <p>
+     * This method is called when evaluating platform action calls, either from the interpreter or from
+     * {@link CompiledExpression}s.
+     *
+     * @param callSite           the {@link ActionCallSite} representing the {@link RuntimeAction} to execute
+     * @param evaluatedArguments the evaluated arguments of the action
+     * @param context            the {@link IEvaluationContext} containing the current {@link XatkitSession}
+     * @return the result of the action
+     * @see #executeRuntimeAction(RuntimeAction)
+     */
+    Object invokePlatformAction(ActionCallSite callSite, List<Object> evaluatedArguments,
+                                IEvaluationContext context) {
+        RuntimeAction runtimeAction = createRuntimeAction(callSite, evaluatedArguments, context);
+        RuntimeActionResult result = executeRuntimeAction(runtimeAction);
+        return result.getResult();
+    }
+
+    /**
+     * Returns the {@link ActionCallSite} associated to the provided {@code featureCall}.
+     * <p>
+     * The analysis of the provided {@code featureCall} is cached in {@link #actionCallSites}, and only performed
+     * the first time this method is called for a given {@link XMemberFeatureCall}.
+     *
+     * @param featureCall the {@link XMemberFeatureCall} to retrieve the {@link ActionCallSite} of
+     * @return an {@link Optional} containing the {@link ActionCallSite}, or an empty {@link Optional} if the
+     * provided {@code featureCall} is not a platform action call
+     */
+    private Optional<ActionCallSite> getActionCallSite(XMemberFeatureCall featureCall) {
+        return this.actionCallSites.computeIfAbsent(featureCall,
+                f -> ExecutionModelUtils.isPlatformActionCall(f, this.runtimePlatformRegistry) ?
+                        Optional.of(new ActionCallSite(f, this.runtimePlatformRegistry)) : Optional.empty());
+    }
+
+    /**
+     * Creates the {@link RuntimeAction} corresponding to the provided {@code callSite}.
+     *
+     * @param callSite           the {@link ActionCallSite} representing the action to create
+     * @param evaluatedArguments the evaluated arguments of the action
+     * @param context            the {@link IEvaluationContext} containing the {@link XatkitSession} of the action
+     * @return the created {@link RuntimeAction}
+     * @throws XatkitException if the {@link RuntimePlatform} of the action is not started, or if an error occurred
+     *                         when creating the action
+     */
+    private RuntimeAction createRuntimeAction(ActionCallSite callSite, List<Object> evaluatedArguments,
+                                              IEvaluationContext context) {
+        XatkitSession session = (XatkitSession) context.getValue(EVALUATION_CONTEXT_SESSION_KEY);
+        return callSite.getRuntimePlatform().createRuntimeAction(callSite.getActionCall(), evaluatedArguments,
+                session);
+    }
+
     /**
      * Executes the provided {@code action}.
      * <p>
      * This method executes the provided {@link RuntimeAction} in the calling {@link Thread}, and will block the
-     * execution until the action completes. This method is called sequentially by the
-     * {@link #handleEventInstance(EventInstance, XatkitSession)} method, that wraps all the computation in a single
-     * asynchronous task.
+     * execution until the action completes. This method is used for the actions that are nested in other
+     * expressions, top-level actions of state sections are executed asynchronously (see
+     * {@link #ASYNC_ACTIONS_KEY}).
      *
      * @param action the {@link RuntimeAction} to execute
      * @throws NullPointerException if the provided {@code action} is {@code null}
      */
     private RuntimeActionResult executeRuntimeAction(@NonNull RuntimeAction action) {
         RuntimeActionResult result = action.call();
+        logRuntimeActionResult(action, result);
+        return result;
+    }
+
+    /**
+     * Logs the provided {@code result} of the execution of {@code action}.
+     *
+     * @param action the executed {@link RuntimeAction}
+     * @param result the {@link RuntimeActionResult} of the execution
+     */
+    private void logRuntimeActionResult(RuntimeAction action, RuntimeActionResult result) {
         if (result.isError()) {
             Log.error("An error occurred when executing the action {0}", action.getClass().getSimpleName());
             printStackTrace(result.getThrowable());
         }
         Log.info("Action {0} executed in {1} ms", action.getClass().getSimpleName(), result.getExecutionTime());
-        return result;
     }
 
     /**
@@ -539,32 +1551,19 @@ public class ExecutionService extends XbaseInterpreter {
     }
 
     /**
-     * Constructs a {@link RuntimeAction} instance corresponding to the provided {@code actionCall}, initialized
-     * with the provided {@code arguments} and {@code session}.
-     * <p>
-     * This method is used as a bridge between the {@link XMemberFeatureCall}s (from the execution model), and the
-     * {@link RuntimeAction}s (from the internal Xatkit execution engine).
-     *
-     * @param actionCall the {@link XMemberFeatureCall} representing the {@link RuntimeAction} to create
-     * @param arguments  the {@link List} of computed values used as arguments for the created {@link RuntimeAction}
-     * @param session    the {@link XatkitSession} associated to the action
-     * @return the constructed {@link RuntimeAction}
-     */
-    private RuntimeAction getRuntimeActionFromXMemberFeatureCall(XMemberFeatureCall actionCall, List<Object> arguments,
-                                                                 XatkitSession session) {
-        String platformName = ExecutionModelUtils.getPlatformName(actionCall);
-        RuntimePlatform runtimePlatform = this.getRuntimePlatformRegistry().getRuntimePlatform(platformName);
-        return runtimePlatform.createRuntimeAction(actionCall, arguments, session);
-    }
-
-    /**
-     * Shuts down the underlying {@link ExecutorService}.
+     * Shuts down the underlying {@link SessionAffinityExecutor}, the {@link ActionScheduler} timer, and closes the
+     * {@link SessionStore}.
      * <p>
      * Shutting down the {@link ExecutionService} invalidates it and does not allow to process new
      * {@link RuntimeAction}s.
      */
     public void shutdown() {
-        this.executorService.shutdownNow();
+        this.eventBroadcaster.shutdown();
+        this.sessionExecutor.shutdown();
+        ActionScheduler.shutdown();
+        if (nonNull(this.sessionStore)) {
+            this.sessionStore.close();
+        }
     }
 
     /**
@@ -573,6 +1572,31 @@ public class ExecutionService extends XbaseInterpreter {
      * @return whether the {@link ExecutionService} is shutdown
      */
     public boolean isShutdown() {
-        return this.executorService.isShutdown();
+        return this.sessionExecutor.isShutdown();
+    }
+
+    /**
+     * A {@link MethodHandle} representing a Java method called in the execution model.
+     * <p>
+     * The {@link MethodHandle} is adapted to accept a single {@code Object[]} parameter containing the receiver
+     * (for non-static methods) and the arguments of the method, and returns an {@link Object}.
+     */
+    @Value
+    private static class OperationHandle {
+
+        /**
+         * The adapted {@link MethodHandle}.
+         */
+        private MethodHandle methodHandle;
+
+        /**
+         * The number of elements expected in the array of arguments.
+         */
+        private int arity;
+
+        /**
+         * Whether the represented method is static.
+         */
+        private boolean isStatic;
     }
 }
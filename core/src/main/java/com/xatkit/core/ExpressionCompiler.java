@@ -0,0 +1,373 @@
+package com.xatkit.core;
+
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.execution.ExecutionModel;
+import com.xatkit.execution.State;
+import com.xatkit.execution.Transition;
+import com.xatkit.metamodels.utils.EventWrapper;
+import com.xatkit.util.ExecutionModelUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.NonNull;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+import org.eclipse.xtext.xbase.XBinaryOperation;
+import org.eclipse.xtext.xbase.XBlockExpression;
+import org.eclipse.xtext.xbase.XBooleanLiteral;
+import org.eclipse.xtext.xbase.XClosure;
+import org.eclipse.xtext.xbase.XExpression;
+import org.eclipse.xtext.xbase.XIfExpression;
+import org.eclipse.xtext.xbase.XMemberFeatureCall;
+import org.eclipse.xtext.xbase.XNullLiteral;
+import org.eclipse.xtext.xbase.XReturnExpression;
+import org.eclipse.xtext.xbase.XStringLiteral;
+import org.eclipse.xtext.xbase.XUnaryOperation;
+import org.eclipse.xtext.xbase.XVariableDeclaration;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Compiles the {@link XExpression}s of an {@link ExecutionModel} into {@link CompiledExpression}s.
+ * <p>
+ * The compiler is executed once when the {@link ExecutionService} is constructed, and processes the <i>body</i>,
+ * <i>fallback</i>, and {@link Transition} conditions of each {@link State}. Supported expressions are translated
+ * into trees of Java closures, removing the dispatch and reflective overhead of the {@link ExecutionService}
+ * interpreter:
+ * <ul>
+ * <li>blocks ({@code { ... }}) that do not declare local variables</li>
+ * <li>platform action calls ({@code MyPlatform.MyAction(...)}), invoked through a call site that caches the
+ * {@link RuntimePlatform} to use</li>
+ * <li>event equality guards ({@code intent == MyIntent})</li>
+ * <li>boolean operations ({@code &&}, {@code ||}, {@code !})</li>
+ * <li>{@code if} expressions</li>
+ * <li>string, boolean, and {@code null} literals</li>
+ * </ul>
+ * Sub-expressions that are not supported (e.g. feature calls on the {@code context} variable) are delegated to the
+ * {@link ExecutionService} interpreter with the same {@link org.eclipse.xtext.xbase.interpreter.IEvaluationContext}.
+ * Expressions declaring variables or containing {@code return} statements are not compiled at all, and are fully
+ * evaluated by the interpreter.
+ *
+ * @see CompiledExpression
+ * @see ExecutionService
+ */
+class ExpressionCompiler {
+
+    /**
+     * The {@link ExecutionService} used to evaluate unsupported sub-expressions and invoke platform actions.
+     */
+    private ExecutionService executionService;
+
+    /**
+     * The {@link RuntimePlatformRegistry} used to check whether a feature call is a platform action call.
+     */
+    private RuntimePlatformRegistry runtimePlatformRegistry;
+
+    /**
+     * Constructs an {@link ExpressionCompiler} delegating to the provided {@code executionService}.
+     *
+     * @param executionService the {@link ExecutionService} used to evaluate unsupported sub-expressions and invoke
+     *                         platform actions
+     * @throws NullPointerException if the provided {@code executionService} is {@code null}
+     */
+    ExpressionCompiler(@NonNull ExecutionService executionService) {
+        this.executionService = executionService;
+        this.runtimePlatformRegistry = executionService.getRuntimePlatformRegistry();
+    }
+
+    /**
+     * Compiles the <i>body</i>, <i>fallback</i>, and {@link Transition} conditions of the {@link State}s of the
+     * provided {@code executionModel}.
+     * <p>
+     * The returned {@link Map} only contains the expressions that have been compiled. Expressions that are not in
+     * the map must be evaluated by the interpreter.
+     *
+     * @param executionModel the {@link ExecutionModel} to compile the expressions of
+     * @return an identity-based {@link Map} containing the compiled expressions
+     * @throws NullPointerException if the provided {@code executionModel} is {@code null}
+     */
+    Map<XExpression, CompiledExpression> compile(@NonNull ExecutionModel executionModel) {
+        Map<XExpression, CompiledExpression> result = new IdentityHashMap<>();
+        for (State state : executionModel.getStates()) {
+            compileSectionInto(state.getBody(), result);
+            compileSectionInto(state.getFallback(), result);
+            for (Transition transition : state.getTransitions()) {
+                if (!transition.isIsWildcard()) {
+                    compileInto(transition.getCondition(), result);
+                }
+            }
+        }
+        Log.debug("Compiled {0} expressions of the execution model", result.size());
+        return result;
+    }
+
+    /**
+     * Compiles the provided <i>body</i> or <i>fallback</i> {@code section} and its top-level statements.
+     * <p>
+     * The statements of the section are compiled individually because the {@link ExecutionService} evaluates them
+     * one after the other when platform actions are executed asynchronously (see
+     * {@link ExecutionService#ASYNC_ACTIONS_KEY}).
+     *
+     * @param section the {@link XExpression} representing the section to compile
+     * @param result  the {@link Map} to store the compiled expressions in
+     */
+    private void compileSectionInto(@Nullable XExpression section, Map<XExpression, CompiledExpression> result) {
+        compileInto(section, result);
+        if (section instanceof XBlockExpression) {
+            for (XExpression statement : ((XBlockExpression) section).getExpressions()) {
+                compileInto(statement, result);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the provided {@code expression} contains a {@code return} statement.
+     *
+     * @param expression the {@link XExpression} to check
+     * @return {@code true} if the expression contains a {@code return} statement, {@code false} otherwise
+     */
+    static boolean containsReturn(@NonNull XExpression expression) {
+        if (expression instanceof XReturnExpression) {
+            return true;
+        }
+        TreeIterator<EObject> it = expression.eAllContents();
+        while (it.hasNext()) {
+            if (it.next() instanceof XReturnExpression) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the provided {@code expression} and stores it in {@code result} if it is supported by the compiler.
+     *
+     * @param expression the {@link XExpression} to compile
+     * @param result     the {@link Map} to store the compiled expression in
+     */
+    private void compileInto(@Nullable XExpression expression, Map<XExpression, CompiledExpression> result) {
+        if (isNull(expression) || !isCompilable(expression)) {
+            return;
+        }
+        CompiledExpression compiledExpression = compileExpression(expression);
+        if (nonNull(compiledExpression)) {
+            result.put(expression, compiledExpression);
+        }
+    }
+
+    /**
+     * Returns whether the provided {@code expression} can be compiled.
+     * <p>
+     * Expressions containing variable declarations, closures, or {@code return} statements rely on interpreter
+     * internals (local scopes and control flow exceptions) and cannot be compiled.
+     *
+     * @param expression the {@link XExpression} to check
+     * @return {@code true} if the expression can be compiled, {@code false} otherwise
+     */
+    private boolean isCompilable(XExpression expression) {
+        TreeIterator<EObject> it = expression.eAllContents();
+        while (it.hasNext()) {
+            EObject e = it.next();
+            if (e instanceof XVariableDeclaration || e instanceof XReturnExpression || e instanceof XClosure) {
+                return false;
+            }
+        }
+        return !(expression instanceof XVariableDeclaration || expression instanceof XReturnExpression
+                || expression instanceof XClosure);
+    }
+
+    /**
+     * Compiles the provided {@code expression}.
+     *
+     * @param expression the {@link XExpression} to compile
+     * @return the {@link CompiledExpression}, or {@code null} if the expression is not supported by the compiler
+     */
+    private @Nullable
+    CompiledExpression compileExpression(XExpression expression) {
+        if (expression instanceof XBlockExpression) {
+            return compileBlock((XBlockExpression) expression);
+        } else if (expression instanceof XMemberFeatureCall) {
+            XMemberFeatureCall featureCall = (XMemberFeatureCall) expression;
+            if (ExecutionModelUtils.isPlatformActionCall(featureCall, runtimePlatformRegistry)) {
+                return compileActionCall(featureCall);
+            }
+        } else if (expression instanceof XBinaryOperation) {
+            return compileBinaryOperation((XBinaryOperation) expression);
+        } else if (expression instanceof XUnaryOperation) {
+            XUnaryOperation operation = (XUnaryOperation) expression;
+            if (isBooleanOperation(operation, "operator_not")) {
+                CompiledExpression operand = compileOrInterpret(operation.getOperand());
+                return (context, indicator) -> !Boolean.TRUE.equals(operand.evaluate(context, indicator));
+            }
+        } else if (expression instanceof XIfExpression) {
+            return compileIf((XIfExpression) expression);
+        } else if (expression instanceof XStringLiteral) {
+            String value = ((XStringLiteral) expression).getValue();
+            return (context, indicator) -> value;
+        } else if (expression instanceof XBooleanLiteral) {
+            Boolean value = ((XBooleanLiteral) expression).isIsTrue();
+            return (context, indicator) -> value;
+        } else if (expression instanceof XNullLiteral) {
+            return (context, indicator) -> null;
+        }
+        return null;
+    }
+
+    /**
+     * Compiles the provided {@code expression}, or creates a {@link CompiledExpression} delegating to the
+     * interpreter if it is not supported.
+     *
+     * @param expression the {@link XExpression} to compile
+     * @return the {@link CompiledExpression}
+     */
+    private CompiledExpression compileOrInterpret(XExpression expression) {
+        CompiledExpression compiledExpression = compileExpression(expression);
+        if (isNull(compiledExpression)) {
+            return (context, indicator) -> executionService.interpret(expression, context, indicator);
+        }
+        return compiledExpression;
+    }
+
+    /**
+     * Compiles the provided {@code block}.
+     * <p>
+     * The compiled block evaluates its expressions sequentially and returns the result of the last one.
+     *
+     * @param block the {@link XBlockExpression} to compile
+     * @return the {@link CompiledExpression}
+     */
+    private CompiledExpression compileBlock(XBlockExpression block) {
+        List<CompiledExpression> expressions = new ArrayList<>();
+        for (XExpression expression : block.getExpressions()) {
+            expressions.add(compileOrInterpret(expression));
+        }
+        CompiledExpression[] compiledExpressions = expressions.toArray(new CompiledExpression[0]);
+        return (context, indicator) -> {
+            Object result = null;
+            for (CompiledExpression compiledExpression : compiledExpressions) {
+                result = compiledExpression.evaluate(context, indicator);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Compiles the provided platform {@code actionCall}.
+     * <p>
+     * The arguments of the action are compiled if they are literals, and interpreted otherwise (the interpreter
+     * takes care of the conversions required by the action parameter types). The {@link RuntimePlatform}
+     * executing the action is resolved the first time the action is called: platforms are started after the
+     * compilation of the {@link ExecutionModel}.
+     *
+     * @param actionCall the {@link XMemberFeatureCall} representing the platform action call
+     * @return the {@link CompiledExpression}
+     */
+    private CompiledExpression compileActionCall(XMemberFeatureCall actionCall) {
+        List<XExpression> actualArguments = actionCall.getActualArguments();
+        CompiledExpression[] arguments = new CompiledExpression[actualArguments.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            XExpression argument = actualArguments.get(i);
+            if (argument instanceof XStringLiteral || argument instanceof XBooleanLiteral
+                    || argument instanceof XNullLiteral) {
+                arguments[i] = compileExpression(argument);
+            } else {
+                arguments[i] = (context, indicator) -> executionService.interpret(argument, context, indicator);
+            }
+        }
+        ActionCallSite callSite = new ActionCallSite(actionCall, runtimePlatformRegistry);
+        return (context, indicator) -> {
+            List<Object> evaluatedArguments = new ArrayList<>(arguments.length);
+            for (CompiledExpression argument : arguments) {
+                evaluatedArguments.add(argument.evaluate(context, indicator));
+            }
+            return executionService.invokePlatformAction(callSite, evaluatedArguments, context);
+        };
+    }
+
+    /**
+     * Compiles the provided binary {@code operation}.
+     * <p>
+     * This method supports event equality guards ({@code intent == MyIntent}) and boolean operations ({@code &&}
+     * and {@code ||}, with short-circuit evaluation).
+     *
+     * @param operation the {@link XBinaryOperation} to compile
+     * @return the {@link CompiledExpression}, or {@code null} if the operation is not supported
+     */
+    private @Nullable
+    CompiledExpression compileBinaryOperation(XBinaryOperation operation) {
+        String eventName = ExecutionModelUtils.getEventEqualityGuardName(operation);
+        if (nonNull(eventName)) {
+            XExpression leftOperand = operation.getLeftOperand();
+            return (context, indicator) -> {
+                EventWrapper wrapper = (EventWrapper) executionService.interpret(leftOperand, context, indicator);
+                /*
+                 * See ExecutionService#doEvaluate: the wrapper can be null or empty if the evaluated event is not an
+                 * intent or if there is no received event.
+                 */
+                return nonNull(wrapper) && nonNull(wrapper.getEventInstance())
+                        && wrapper.getEventInstance().getDefinition().getName().equals(eventName);
+            };
+        }
+        if (isBooleanOperation(operation, "operator_and")) {
+            CompiledExpression left = compileOrInterpret(operation.getLeftOperand());
+            CompiledExpression right = compileOrInterpret(operation.getRightOperand());
+            return (context, indicator) -> Boolean.TRUE.equals(left.evaluate(context, indicator))
+                    && Boolean.TRUE.equals(right.evaluate(context, indicator));
+        }
+        if (isBooleanOperation(operation, "operator_or")) {
+            CompiledExpression left = compileOrInterpret(operation.getLeftOperand());
+            CompiledExpression right = compileOrInterpret(operation.getRightOperand());
+            return (context, indicator) -> Boolean.TRUE.equals(left.evaluate(context, indicator))
+                    || Boolean.TRUE.equals(right.evaluate(context, indicator));
+        }
+        return null;
+    }
+
+    /**
+     * Compiles the provided {@code ifExpression}.
+     * <p>
+     * The compiled expression returns {@code null} if the condition is not fulfilled and the {@code ifExpression}
+     * does not define an {@code else} branch.
+     *
+     * @param ifExpression the {@link XIfExpression} to compile
+     * @return the {@link CompiledExpression}
+     */
+    private CompiledExpression compileIf(XIfExpression ifExpression) {
+        CompiledExpression condition = compileOrInterpret(ifExpression.getIf());
+        CompiledExpression thenExpression = compileOrInterpret(ifExpression.getThen());
+        CompiledExpression elseExpression = isNull(ifExpression.getElse()) ? null :
+                compileOrInterpret(ifExpression.getElse());
+        return (context, indicator) -> {
+            if (Boolean.TRUE.equals(condition.evaluate(context, indicator))) {
+                return thenExpression.evaluate(context, indicator);
+            } else if (nonNull(elseExpression)) {
+                return elseExpression.evaluate(context, indicator);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Returns whether the provided {@code operation} is the boolean operator {@code operatorName}.
+     * <p>
+     * This method checks that the operator is defined in {@code BooleanExtensions}, meaning that it is applied on
+     * boolean operands and not on an overloaded operator.
+     *
+     * @param operation    the operation to check
+     * @param operatorName the name of the operator (e.g. {@code operator_and})
+     * @return {@code true} if the {@code operation} is the boolean operator {@code operatorName}, {@code false}
+     * otherwise
+     */
+    private static boolean isBooleanOperation(XAbstractFeatureCall operation, String operatorName) {
+        return nonNull(operation.getFeature()) && operation.getFeature().getSimpleName().equals(operatorName)
+                && nonNull(operation.getFeature().getQualifiedName())
+                && operation.getFeature().getQualifiedName().startsWith("org.eclipse.xtext.xbase.lib" +
+                ".BooleanExtensions.");
+    }
+}
@@ -0,0 +1,695 @@
+package com.xatkit.core;
+
+import com.xatkit.core.session.XatkitSession;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An executor that runs the tasks associated to the same {@link XatkitSession} sequentially, and the tasks of
+ * different {@link XatkitSession}s in parallel.
+ * <p>
+ * Tasks are stored in per-session FIFO lanes that are drained by a shared pool of worker threads. A lane is
+ * scheduled on the worker pool when its first task is submitted, and executes a single task each time it is
+ * scheduled: this ensures that a session with many pending tasks cannot monopolize a worker thread while other
+ * sessions are waiting. Lanes are removed once all their tasks have been processed, meaning that idle sessions do
+ * not consume any memory in the executor.
+ * <p>
+ * This class guarantees that two tasks submitted for the same session (from the same thread) are executed in their
+ * submission order, and never concurrently.
+ * <p>
+ * The number of pending tasks can be bounded per session and globally (see {@link EventQueueLimits}). Tasks
+ * submitted to a full queue are handled according to the configured {@link EventQueueOverflowPolicy}: they are
+ * either rejected with an {@link EventQueueFullException}, or replace a pending task of the same session.
+ * <p>
+ * Tasks are submitted with an {@link EventPriority}. Lanes waiting for a worker thread are dispatched with a
+ * weighted-fair policy based on the priority of their next task (see {@link WeightedFairQueue}): under load, each
+ * priority receives a share of the worker threads proportional to its weight, so that interactive sessions are not
+ * delayed by a large backlog of broadcast or background tasks.
+ *
+ * @see ExecutionService
+ */
+public class SessionAffinityExecutor {
+
+    /**
+     * The pool of worker threads used to drain the session lanes.
+     */
+    @Getter
+    private ExecutorService workerPool;
+
+    /**
+     * The pending lanes, indexed by session identifier.
+     * <p>
+     * A lane is present in this map if and only if it contains pending tasks, or if one of its tasks is currently
+     * running. All the structural updates of this map are performed through atomic
+     * {@link ConcurrentMap#compute(Object, java.util.function.BiFunction)} calls, ensuring that a task cannot be
+     * added to a lane that is being removed.
+     */
+    private ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * The lanes waiting for a worker thread, classified by the {@link EventPriority} of their next task.
+     * <p>
+     * Each ready lane is associated to exactly one dispatch submitted to the {@link #workerPool}, that polls the
+     * next lane to run from this queue according to the weighted-fair policy.
+     */
+    private WeightedFairQueue<Runnable> readyLanes;
+
+    /**
+     * The limits of the session lanes.
+     */
+    @Getter
+    private EventQueueLimits limits;
+
+    /**
+     * The number of pending tasks in all the session lanes.
+     * <p>
+     * This counter is incremented when a task is added to a lane (unless it replaces a pending task), and
+     * decremented when a task is polled by a worker thread or discarded.
+     */
+    private AtomicInteger pendingTaskCount = new AtomicInteger(0);
+
+    /**
+     * The number of tasks rejected because the queues were full.
+     */
+    private AtomicLong rejectedTaskCount = new AtomicLong(0);
+
+    /**
+     * The number of pending tasks discarded by the {@link EventQueueOverflowPolicy#DROP_OLDEST} policy.
+     */
+    private AtomicLong droppedTaskCount = new AtomicLong(0);
+
+    /**
+     * The number of pending tasks replaced by the {@link EventQueueOverflowPolicy#COALESCE} policy.
+     */
+    private AtomicLong coalescedTaskCount = new AtomicLong(0);
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by {@code workerThreads} threads.
+     * <p>
+     * The session lanes created by this executor are not bounded.
+     *
+     * @param workerThreads the number of worker threads used to drain the session lanes
+     * @throws IllegalArgumentException if the provided {@code workerThreads} is lower than {@code 1}
+     * @see #SessionAffinityExecutor(int, EventQueueLimits)
+     */
+    public SessionAffinityExecutor(int workerThreads) {
+        this(workerThreads, EventQueueLimits.UNBOUNDED);
+    }
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by {@code workerThreads} threads with the provided
+     * {@code limits}.
+     *
+     * @param workerThreads the number of worker threads used to drain the session lanes
+     * @param limits        the {@link EventQueueLimits} of the session lanes
+     * @throws NullPointerException     if the provided {@code limits} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code workerThreads} is lower than {@code 1}
+     */
+    public SessionAffinityExecutor(int workerThreads, @NonNull EventQueueLimits limits) {
+        this(workerThreads, limits, EventPriority.defaultWeights());
+    }
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by {@code workerThreads} threads with the provided
+     * {@code limits} and {@code priorityWeights}.
+     *
+     * @param workerThreads   the number of worker threads used to drain the session lanes
+     * @param limits          the {@link EventQueueLimits} of the session lanes
+     * @param priorityWeights the scheduling weights of the {@link EventPriority}s
+     * @throws NullPointerException     if the provided {@code limits} or {@code priorityWeights} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code workerThreads} or one of the provided {@code
+     *                                  priorityWeights} is lower than {@code 1}
+     */
+    public SessionAffinityExecutor(int workerThreads, @NonNull EventQueueLimits limits,
+                                   @NonNull Map<EventPriority, Integer> priorityWeights) {
+        checkArgument(workerThreads > 0, "Cannot construct a %s with %s worker threads, expected a positive value",
+                this.getClass().getSimpleName(), workerThreads);
+        this.workerPool = Executors.newFixedThreadPool(workerThreads, new WorkerThreadFactory());
+        this.limits = limits;
+        this.readyLanes = new WeightedFairQueue<>(priorityWeights);
+        Log.info("{0} started with {1} worker threads ({2})", this.getClass().getSimpleName(), workerThreads,
+                limits);
+    }
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by the provided {@code workerPool}.
+     * <p>
+     * The session lanes created by this executor are not bounded.
+     *
+     * @param workerPool the {@link ExecutorService} used to drain the session lanes
+     * @throws NullPointerException if the provided {@code workerPool} is {@code null}
+     * @see #SessionAffinityExecutor(ExecutorService, EventQueueLimits)
+     */
+    public SessionAffinityExecutor(@NonNull ExecutorService workerPool) {
+        this(workerPool, EventQueueLimits.UNBOUNDED);
+    }
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by the provided {@code workerPool} with the provided
+     * {@code limits}.
+     * <p>
+     * The provided {@link ExecutorService} does not need to provide any ordering guarantee: the lanes managed by
+     * this class ensure that tasks associated to the same session are executed sequentially. This constructor can
+     * be used with unbounded executors such as the one returned by {@link #newVirtualThreadPerTaskExecutor()}.
+     *
+     * @param workerPool the {@link ExecutorService} used to drain the session lanes
+     * @param limits     the {@link EventQueueLimits} of the session lanes
+     * @throws NullPointerException if the provided {@code workerPool} or {@code limits} is {@code null}
+     */
+    public SessionAffinityExecutor(@NonNull ExecutorService workerPool, @NonNull EventQueueLimits limits) {
+        this(workerPool, limits, EventPriority.defaultWeights());
+    }
+
+    /**
+     * Constructs a {@link SessionAffinityExecutor} backed by the provided {@code workerPool} with the provided
+     * {@code limits} and {@code priorityWeights}.
+     *
+     * @param workerPool      the {@link ExecutorService} used to drain the session lanes
+     * @param limits          the {@link EventQueueLimits} of the session lanes
+     * @param priorityWeights the scheduling weights of the {@link EventPriority}s
+     * @throws NullPointerException     if the provided {@code workerPool}, {@code limits}, or {@code
+     *                                  priorityWeights} is {@code null}
+     * @throws IllegalArgumentException if one of the provided {@code priorityWeights} is lower than {@code 1}
+     */
+    public SessionAffinityExecutor(@NonNull ExecutorService workerPool, @NonNull EventQueueLimits limits,
+                                   @NonNull Map<EventPriority, Integer> priorityWeights) {
+        this.workerPool = workerPool;
+        this.limits = limits;
+        this.readyLanes = new WeightedFairQueue<>(priorityWeights);
+        Log.info("{0} started with the worker pool {1} ({2})", this.getClass().getSimpleName(),
+                workerPool.getClass().getSimpleName(), limits);
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+     * <p>
+     * Virtual threads are cheap to create and do not hold an OS thread while they are blocked (e.g. when a
+     * {@link com.xatkit.core.platform.action.RuntimeAction} waits for a message delay or an HTTP response). This
+     * allows to process a large number of blocked sessions without sizing a worker pool for the worst case.
+     * <p>
+     * This method uses reflection to access {@code Executors.newVirtualThreadPerTaskExecutor()}, and can be called
+     * from any JVM: a {@link XatkitException} is thrown if the running JVM does not support virtual threads.
+     *
+     * @return the created {@link ExecutorService}
+     * @throws XatkitException if the running JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new XatkitException(MessageFormat.format("Cannot create a virtual thread executor, the running " +
+                    "JVM ({0}) does not support virtual threads", System.getProperty("java.version")), e);
+        }
+    }
+
+    /**
+     * Submits the provided {@code task} to the lane of the session identified by {@code sessionId}.
+     * <p>
+     * This method is equivalent to {@code submit(sessionId, null, task)}: the submitted task cannot be coalesced.
+     *
+     * @param sessionId the identifier of the session to execute the task for
+     * @param task      the task to execute
+     * @return a {@link CompletableFuture} completed when the task has been executed
+     * @throws NullPointerException    if the provided {@code sessionId} or {@code task} is {@code null}
+     * @throws EventQueueFullException if the queues are full and the task cannot be queued
+     * @see #submit(String, Object, Runnable)
+     */
+    public CompletableFuture<Void> submit(@NonNull String sessionId, @NonNull Runnable task) {
+        return submit(sessionId, null, task);
+    }
+
+    /**
+     * Submits the provided {@code task} to the lane of the session identified by {@code sessionId}.
+     * <p>
+     * The {@code task} is executed after all the tasks previously submitted for the same session. Exceptions thrown
+     * by the {@code task} complete the returned {@link CompletableFuture} exceptionally and do not prevent the
+     * execution of the next tasks of the session.
+     * <p>
+     * If the queues are full the {@link EventQueueOverflowPolicy} of the executor's {@link EventQueueLimits} is
+     * applied: the task is either rejected with an {@link EventQueueFullException}, or replaces a pending task of
+     * the session. The {@link CompletableFuture} of the replaced task is completed exceptionally with an
+     * {@link EventQueueFullException}. The provided {@code coalescingKey} is used by the
+     * {@link EventQueueOverflowPolicy#COALESCE} policy to find the pending task to replace.
+     *
+     * @param sessionId     the identifier of the session to execute the task for
+     * @param coalescingKey the key used to coalesce the task with pending ones, or {@code null} if the task cannot
+     *                      be coalesced
+     * @param task          the task to execute
+     * @return a {@link CompletableFuture} completed when the task has been executed
+     * @throws NullPointerException    if the provided {@code sessionId} or {@code task} is {@code null}
+     * @throws EventQueueFullException if the queues are full and the task cannot be queued
+     */
+    public CompletableFuture<Void> submit(@NonNull String sessionId, @Nullable Object coalescingKey,
+                                          @NonNull Runnable task) {
+        return submitAsync(sessionId, coalescingKey, () -> {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    /**
+     * Submits the provided asynchronous {@code task} to the lane of the session identified by {@code sessionId}.
+     * <p>
+     * This method is similar to {@link #submit(String, Object, Runnable)}, but the session is considered busy
+     * until the {@link CompletionStage} returned by the {@code task} completes. The worker thread that started the
+     * {@code task} is released as soon as the {@code task} returns, and the next task of the session is executed
+     * once the returned {@link CompletionStage} is completed. This allows tasks to wait for delays or remote calls
+     * without blocking a worker thread, while preserving the execution order of the session's tasks.
+     *
+     * @param sessionId     the identifier of the session to execute the task for
+     * @param coalescingKey the key used to coalesce the task with pending ones, or {@code null} if the task cannot
+     *                      be coalesced
+     * @param task          the task to execute
+     * @return a {@link CompletableFuture} completed when the {@link CompletionStage} returned by the task is completed
+     * @throws NullPointerException    if the provided {@code sessionId} or {@code task} is {@code null}
+     * @throws EventQueueFullException if the queues are full and the task cannot be queued
+     */
+    public CompletableFuture<Void> submitAsync(@NonNull String sessionId, @Nullable Object coalescingKey,
+                                               @NonNull Supplier<? extends CompletionStage<?>> task) {
+        return submitAsync(sessionId, EventPriority.INTERACTIVE, coalescingKey, task);
+    }
+
+    /**
+     * Submits the provided asynchronous {@code task} with the given {@code priority} to the lane of the session
+     * identified by {@code sessionId}.
+     * <p>
+     * The {@code priority} is used to dispatch the lane of the session when the task is the next one to execute
+     * (see {@link EventPriority}). It does not change the execution order of the tasks of the session.
+     *
+     * @param sessionId     the identifier of the session to execute the task for
+     * @param priority      the {@link EventPriority} of the task
+     * @param coalescingKey the key used to coalesce the task with pending ones, or {@code null} if the task cannot
+     *                      be coalesced
+     * @param task          the task to execute
+     * @return a {@link CompletableFuture} completed when the {@link CompletionStage} returned by the task is completed
+     * @throws NullPointerException    if the provided {@code sessionId}, {@code priority}, or {@code task} is
+     *                                 {@code null}
+     * @throws EventQueueFullException if the queues are full and the task cannot be queued
+     * @see #submitAsync(String, Object, Supplier)
+     */
+    public CompletableFuture<Void> submitAsync(@NonNull String sessionId, @NonNull EventPriority priority,
+                                               @Nullable Object coalescingKey,
+                                               @NonNull Supplier<? extends CompletionStage<?>> task) {
+        LaneTask laneTask = new LaneTask(priority, coalescingKey, task);
+        Lane newLane = new Lane();
+        /*
+         * Single-element arrays used to retrieve the outcome of the admission computed in the lambda below.
+         */
+        LaneTask[] replaced = new LaneTask[1];
+        boolean[] rejected = new boolean[1];
+        Lane lane = lanes.compute(sessionId, (id, existingLane) -> {
+            Lane l = isNull(existingLane) ? newLane : existingLane;
+            synchronized (l) {
+                if (l.tasks.size() >= limits.getMaxSessionQueueSize() || !reservePendingSlot()) {
+                    /*
+                     * The queue is full: try to find a pending task to replace. The replaced task's slot is
+                     * reused, there is no need to update the pending task count.
+                     */
+                    LaneTask victim = selectReplacedTask(l, coalescingKey);
+                    if (isNull(victim)) {
+                        rejected[0] = true;
+                        return existingLane;
+                    }
+                    l.tasks.remove(victim);
+                    replaced[0] = victim;
+                }
+                l.tasks.add(laneTask);
+            }
+            return l;
+        });
+        if (rejected[0]) {
+            rejectedTaskCount.incrementAndGet();
+            throw new EventQueueFullException(MessageFormat.format("Cannot queue the event for session {0}, the " +
+                            "event queues are full ({1} pending events for the session, {2} pending events in " +
+                            "total)", sessionId, isNull(lane) ? 0 : lane.size(), pendingTaskCount.get()),
+                    limits.getRetryAfter());
+        }
+        if (nonNull(replaced[0])) {
+            if (limits.getOverflowPolicy() == EventQueueOverflowPolicy.COALESCE) {
+                coalescedTaskCount.incrementAndGet();
+                replaced[0].future.completeExceptionally(new EventQueueFullException(MessageFormat.format("The " +
+                        "event has been coalesced with a more recent event of session {0}", sessionId),
+                        limits.getRetryAfter()));
+            } else {
+                droppedTaskCount.incrementAndGet();
+                replaced[0].future.completeExceptionally(new EventQueueFullException(MessageFormat.format("The " +
+                        "event has been dropped to make room for a more recent event of session {0}", sessionId),
+                        limits.getRetryAfter()));
+            }
+        }
+        if (lane == newLane) {
+            /*
+             * The lane has been created by this call, we need to schedule it. Existing lanes are already scheduled
+             * and will process the added task once the previous ones are done.
+             */
+            schedule(sessionId, lane);
+        }
+        return laneTask.future;
+    }
+
+    /**
+     * Returns the number of sessions that have pending or running tasks.
+     *
+     * @return the number of sessions that have pending or running tasks
+     */
+    public int getActiveSessionCount() {
+        return lanes.size();
+    }
+
+    /**
+     * Returns the number of pending tasks in all the session lanes.
+     * <p>
+     * Tasks that are currently running are not counted.
+     *
+     * @return the number of pending tasks in all the session lanes
+     */
+    public int getPendingTaskCount() {
+        return pendingTaskCount.get();
+    }
+
+    /**
+     * Returns the number of tasks rejected because the queues were full.
+     *
+     * @return the number of tasks rejected because the queues were full
+     * @see EventQueueOverflowPolicy#REJECT
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount.get();
+    }
+
+    /**
+     * Returns the number of pending tasks discarded to make room for more recent ones.
+     *
+     * @return the number of pending tasks discarded to make room for more recent ones
+     * @see EventQueueOverflowPolicy#DROP_OLDEST
+     */
+    public long getDroppedTaskCount() {
+        return droppedTaskCount.get();
+    }
+
+    /**
+     * Returns the number of pending tasks replaced by a more recent task with the same coalescing key.
+     *
+     * @return the number of pending tasks replaced by a more recent task with the same coalescing key
+     * @see EventQueueOverflowPolicy#COALESCE
+     */
+    public long getCoalescedTaskCount() {
+        return coalescedTaskCount.get();
+    }
+
+    /**
+     * Returns the number of sessions waiting for a worker thread with the provided {@code priority}.
+     *
+     * @param priority the {@link EventPriority} of the next task of the sessions
+     * @return the number of sessions waiting for a worker thread with the provided {@code priority}
+     * @throws NullPointerException if the provided {@code priority} is {@code null}
+     */
+    public int getReadySessionCount(@NonNull EventPriority priority) {
+        return readyLanes.size(priority);
+    }
+
+    /**
+     * Shuts down the underlying worker pool.
+     * <p>
+     * Pending tasks are discarded, and running tasks are interrupted.
+     *
+     * @see ExecutorService#shutdownNow()
+     */
+    public void shutdown() {
+        this.workerPool.shutdownNow();
+        this.lanes.clear();
+        this.readyLanes.clear();
+        this.pendingTaskCount.set(0);
+    }
+
+    /**
+     * Returns whether the underlying worker pool is shutdown.
+     *
+     * @return whether the underlying worker pool is shutdown
+     */
+    public boolean isShutdown() {
+        return this.workerPool.isShutdown();
+    }
+
+    /**
+     * Schedules the execution of the next task of the provided {@code lane} on the worker pool.
+     * <p>
+     * The {@code lane} is added to the {@link #readyLanes} with the priority of its next task, and a dispatch is
+     * submitted to the worker pool. The dispatch does not necessarily run this {@code lane}: it runs the ready lane
+     * selected by the weighted-fair policy.
+     *
+     * @param sessionId the identifier of the session associated to the {@code lane}
+     * @param lane      the {@link Lane} to schedule
+     */
+    private void schedule(String sessionId, Lane lane) {
+        if (workerPool.isShutdown()) {
+            Log.warn("Cannot schedule the tasks of session {0}, the {1} is shutdown", sessionId,
+                    this.getClass().getSimpleName());
+            return;
+        }
+        readyLanes.offer(lane.nextPriority(), () -> runNext(sessionId, lane));
+        workerPool.execute(this::dispatch);
+    }
+
+    /**
+     * Runs the ready lane selected by the weighted-fair policy.
+     */
+    private void dispatch() {
+        Runnable next = readyLanes.poll();
+        if (nonNull(next)) {
+            next.run();
+        }
+    }
+
+    /**
+     * Runs the next task of the provided {@code lane} and re-schedules it if it contains other pending tasks.
+     * <p>
+     * The {@code lane} is removed from {@link #lanes} if it does not contain any pending task.
+     *
+     * @param sessionId the identifier of the session associated to the {@code lane}
+     * @param lane      the {@link Lane} to run the next task of
+     */
+    private void runNext(String sessionId, Lane lane) {
+        LaneTask task;
+        synchronized (lane) {
+            task = lane.tasks.poll();
+        }
+        if (isNull(task)) {
+            /*
+             * Should not happen: lanes are scheduled only when they contain a task, and tasks are only replaced
+             * by other tasks outside of this method.
+             */
+            return;
+        }
+        pendingTaskCount.decrementAndGet();
+        task.start().whenComplete((result, throwable) -> release(sessionId, lane));
+    }
+
+    /**
+     * Releases the provided {@code lane} once its running task is completed.
+     * <p>
+     * The {@code lane} is re-scheduled if it contains other pending tasks, and removed from {@link #lanes}
+     * otherwise.
+     *
+     * @param sessionId the identifier of the session associated to the {@code lane}
+     * @param lane      the {@link Lane} to release
+     */
+    private void release(String sessionId, Lane lane) {
+        Lane remaining = lanes.computeIfPresent(sessionId, (id, l) -> l.size() == 0 ? null : l);
+        if (remaining == lane) {
+            schedule(sessionId, lane);
+        }
+    }
+
+    /**
+     * Reserves a slot for a new pending task if the global limit is not reached.
+     *
+     * @return {@code true} if a slot has been reserved, {@code false} if the global limit is reached
+     */
+    private boolean reservePendingSlot() {
+        int maxQueueSize = limits.getMaxQueueSize();
+        while (true) {
+            int current = pendingTaskCount.get();
+            if (current >= maxQueueSize) {
+                return false;
+            }
+            if (pendingTaskCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Selects the pending task of the provided {@code lane} to replace according to the overflow policy.
+     * <p>
+     * This method must be called while holding the {@code lane}'s monitor.
+     *
+     * @param lane          the {@link Lane} to select the task from
+     * @param coalescingKey the coalescing key of the submitted task
+     * @return the {@link LaneTask} to replace, or {@code null} if the submitted task must be rejected
+     */
+    private @Nullable
+    LaneTask selectReplacedTask(Lane lane, @Nullable Object coalescingKey) {
+        switch (limits.getOverflowPolicy()) {
+            case DROP_OLDEST:
+                return lane.tasks.peekFirst();
+            case COALESCE:
+                if (nonNull(coalescingKey)) {
+                    Iterator<LaneTask> it = lane.tasks.iterator();
+                    while (it.hasNext()) {
+                        LaneTask pending = it.next();
+                        if (Objects.equals(coalescingKey, pending.coalescingKey)) {
+                            return pending;
+                        }
+                    }
+                }
+                return null;
+            case REJECT:
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The pending tasks of a session.
+     */
+    private static class Lane {
+
+        /**
+         * The pending tasks of the session, in submission order.
+         * <p>
+         * Tasks are added and replaced within {@link ConcurrentMap#compute(Object, java.util.function.BiFunction)}
+         * calls, and polled by the single worker currently draining the lane. All the accesses to this
+         * {@link Deque} are guarded by the {@link Lane}'s monitor.
+         */
+        private Deque<LaneTask> tasks = new ArrayDeque<>();
+
+        /**
+         * Returns the number of pending tasks in the lane.
+         *
+         * @return the number of pending tasks in the lane
+         */
+        private synchronized int size() {
+            return tasks.size();
+        }
+
+        /**
+         * Returns the {@link EventPriority} of the next task of the lane.
+         *
+         * @return the {@link EventPriority} of the next task of the lane, or {@link EventPriority#INTERACTIVE} if
+         * the lane does not contain any pending task
+         */
+        private synchronized EventPriority nextPriority() {
+            LaneTask next = tasks.peekFirst();
+            return isNull(next) ? EventPriority.INTERACTIVE : next.priority;
+        }
+    }
+
+    /**
+     * A task submitted to a {@link Lane}.
+     */
+    private static class LaneTask {
+
+        /**
+         * The {@link EventPriority} of the task.
+         */
+        private EventPriority priority;
+
+        /**
+         * The key used to coalesce the task with a more recent one.
+         */
+        private Object coalescingKey;
+
+        /**
+         * The task to execute.
+         */
+        private Supplier<? extends CompletionStage<?>> task;
+
+        /**
+         * The {@link CompletableFuture} completed when the task has been executed or discarded.
+         */
+        private CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * Constructs a {@link LaneTask} with the provided {@code priority}, {@code coalescingKey}, and {@code task}.
+         *
+         * @param priority      the {@link EventPriority} of the task
+         * @param coalescingKey the key used to coalesce the task with a more recent one
+         * @param task          the task to execute
+         */
+        private LaneTask(EventPriority priority, @Nullable Object coalescingKey,
+                         Supplier<? extends CompletionStage<?>> task) {
+            this.priority = priority;
+            this.coalescingKey = coalescingKey;
+            this.task = task;
+        }
+
+        /**
+         * Starts the task and returns the {@link CompletableFuture} completed when the task is completed.
+         * <p>
+         * Exceptions thrown when starting the task and exceptional completions of the task's
+         * {@link CompletionStage} complete the returned {@link CompletableFuture} exceptionally.
+         *
+         * @return the {@link CompletableFuture} completed when the task is completed
+         */
+        private CompletableFuture<Void> start() {
+            try {
+                task.get().whenComplete((result, throwable) -> {
+                    if (nonNull(throwable)) {
+                        future.completeExceptionally(throwable instanceof CompletionException &&
+                                nonNull(throwable.getCause()) ? throwable.getCause() : throwable);
+                    } else {
+                        future.complete(null);
+                    }
+                });
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * A {@link ThreadFactory} creating named worker threads.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        /**
+         * The counter used to name the created threads.
+         */
+        private AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, "xatkit-execution-" + threadCount.incrementAndGet());
+        }
+    }
+}
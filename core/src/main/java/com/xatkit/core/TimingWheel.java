@@ -0,0 +1,516 @@
+package com.xatkit.core;
+
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.NonNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static java.util.Objects.nonNull;
+
+/**
+ * A hashed timing wheel tracking large numbers of timeouts.
+ * <p>
+ * The wheel is an array of buckets, each bucket corresponding to a tick of {@code tickDuration} milliseconds. A
+ * timeout is stored in the bucket of its deadline, with the number of complete rotations of the wheel to wait
+ * before it expires. A single daemon thread advances the wheel at each tick and expires the timeouts of the current
+ * bucket. This allows to schedule and cancel timeouts in constant time, regardless of the number of pending
+ * timeouts, at the cost of a precision bounded by the tick duration.
+ * <p>
+ * Expired timeouts are run by the thread of the wheel: tasks must be short, and should hand off long operations to
+ * another executor. Exceptions thrown by the tasks are logged and do not stop the wheel.
+ * <p>
+ * Xatkit components should use the shared wheel returned by {@link #getInstance()} (e.g. to expire idle sessions or
+ * contexts) instead of creating their own scheduled tasks.
+ *
+ * @see Timeout
+ */
+public class TimingWheel {
+
+    /**
+     * The tick duration (in milliseconds) of the shared {@link TimingWheel}.
+     */
+    public static final long DEFAULT_TICK_DURATION = 100;
+
+    /**
+     * The number of buckets of the shared {@link TimingWheel}.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * The maximum number of scheduled timeouts added to the wheel at each tick.
+     * <p>
+     * This bound prevents a burst of scheduled timeouts from delaying the expiration of the current bucket. Timeouts
+     * that are not transferred are added at the next tick.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    /**
+     * The buckets of the wheel.
+     * <p>
+     * The buckets are only accessed by the thread of the wheel.
+     */
+    private final Bucket[] wheel;
+
+    /**
+     * The mask used to compute the bucket index of a tick.
+     */
+    private final int mask;
+
+    /**
+     * The tick duration (in nanoseconds).
+     */
+    private final long tickDuration;
+
+    /**
+     * The time (in nanoseconds) the wheel has been started at.
+     * <p>
+     * Deadlines are relative to this time.
+     */
+    private final long startTime;
+
+    /**
+     * The scheduled timeouts that have not been added to a bucket yet.
+     */
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The cancelled timeouts that have not been removed from their bucket yet.
+     */
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of pending timeouts.
+     */
+    private final AtomicLong pendingTimeoutCount = new AtomicLong(0);
+
+    /**
+     * The number of expired timeouts.
+     */
+    private final AtomicLong expiredTimeoutCount = new AtomicLong(0);
+
+    /**
+     * The thread advancing the wheel.
+     */
+    private final Thread worker;
+
+    /**
+     * Whether the wheel has been stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * The current tick of the wheel.
+     * <p>
+     * This field is only accessed by the thread of the wheel.
+     */
+    private long tick;
+
+    /**
+     * Constructs and starts a {@link TimingWheel} with the provided {@code tickDuration} and {@code wheelSize}.
+     * <p>
+     * The {@code wheelSize} is rounded to the next power of two.
+     *
+     * @param tickDuration the duration (in milliseconds) of a tick
+     * @param wheelSize    the number of buckets of the wheel
+     * @param threadName   the name of the thread advancing the wheel
+     * @throws IllegalArgumentException if the provided {@code tickDuration} or {@code wheelSize} is lower or equal
+     *                                  to {@code 0}
+     * @throws NullPointerException     if the provided {@code threadName} is {@code null}
+     */
+    public TimingWheel(long tickDuration, int wheelSize, @NonNull String threadName) {
+        checkArgument(tickDuration > 0, "Cannot construct a %s with the tick duration %s, the tick duration must be " +
+                "strictly positive", TimingWheel.class.getSimpleName(), tickDuration);
+        checkArgument(wheelSize > 0 && wheelSize <= 1 << 30, "Cannot construct a %s with the size %s, the size must " +
+                "be strictly positive and lower than 2^30", TimingWheel.class.getSimpleName(), wheelSize);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Returns the {@link TimingWheel} shared by the Xatkit components.
+     * <p>
+     * The shared wheel is created the first time this method is called, and uses a tick duration of
+     * {@link #DEFAULT_TICK_DURATION} milliseconds. It cannot be stopped.
+     *
+     * @return the shared {@link TimingWheel}
+     */
+    public static TimingWheel getInstance() {
+        return SharedWheelHolder.INSTANCE;
+    }
+
+    /**
+     * Schedules the provided {@code task} to run after {@code delay} milliseconds.
+     * <p>
+     * The task is run by the thread of the wheel, at the first tick following its deadline.
+     *
+     * @param task  the task to run
+     * @param delay the delay (in milliseconds) before running the task
+     * @return the {@link Timeout} that can be used to cancel the task
+     * @throws NullPointerException  if the provided {@code task} is {@code null}
+     * @throws IllegalStateException if the wheel is stopped
+     */
+    public Timeout schedule(@NonNull Runnable task, long delay) {
+        checkState(!stopped, "Cannot schedule a timeout, the %s is stopped", TimingWheel.class.getSimpleName());
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeoutCount.incrementAndGet();
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return the number of pending timeouts
+     */
+    public long getPendingTimeoutCount() {
+        return pendingTimeoutCount.get();
+    }
+
+    /**
+     * Returns the number of expired timeouts.
+     *
+     * @return the number of expired timeouts
+     */
+    public long getExpiredTimeoutCount() {
+        return expiredTimeoutCount.get();
+    }
+
+    /**
+     * Stops the wheel.
+     * <p>
+     * The pending timeouts are discarded without being run, and new timeouts cannot be scheduled.
+     *
+     * @throws IllegalStateException if this method is called on the shared {@link TimingWheel}
+     */
+    public void stop() {
+        checkState(this != SharedWheelHolder.INSTANCE, "Cannot stop the shared %s",
+                TimingWheel.class.getSimpleName());
+        this.stopped = true;
+        this.worker.interrupt();
+    }
+
+    /**
+     * Returns whether the wheel is stopped.
+     *
+     * @return {@code true} if the wheel is stopped, {@code false} otherwise
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Advances the wheel until it is stopped.
+     */
+    private void run() {
+        while (!stopped) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelledTimeouts();
+            transferScheduledTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * Waits for the end of the current tick.
+     *
+     * @return the time (in nanoseconds, relative to {@link #startTime}) of the end of the tick, or {@code -1} if the
+     * wheel has been stopped while waiting
+     */
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTime = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999999);
+            if (sleepTime <= 0) {
+                return currentTime;
+            }
+            try {
+                Thread.sleep(sleepTime);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the scheduled timeouts to the buckets of their deadline.
+     */
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            /*
+             * Timeouts whose deadline is already passed are added to the current bucket.
+             */
+            long bucketTick = Math.max(expirationTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Removes the cancelled timeouts from their bucket.
+     */
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (nonNull(timeout.bucket)) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Holds the shared {@link TimingWheel}, that is created when the holder class is initialized.
+     */
+    private static class SharedWheelHolder {
+
+        /**
+         * The shared {@link TimingWheel}.
+         */
+        private static final TimingWheel INSTANCE = new TimingWheel(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE,
+                "xatkit-timing-wheel");
+    }
+
+    /**
+     * A task scheduled in a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+
+        /**
+         * The state of a timeout that has not been run nor cancelled.
+         */
+        private static final int PENDING = 0;
+
+        /**
+         * The state of a cancelled timeout.
+         */
+        private static final int CANCELLED = 1;
+
+        /**
+         * The state of an expired timeout.
+         */
+        private static final int EXPIRED = 2;
+
+        /**
+         * The {@link TimingWheel} containing the timeout.
+         */
+        private final TimingWheel timingWheel;
+
+        /**
+         * The task to run when the timeout expires.
+         */
+        private final Runnable task;
+
+        /**
+         * The deadline (in nanoseconds, relative to the start time of the wheel) of the timeout.
+         */
+        private final long deadline;
+
+        /**
+         * The state of the timeout.
+         */
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        /**
+         * The number of rotations of the wheel to wait before the timeout expires.
+         * <p>
+         * This field and the following ones are only accessed by the thread of the wheel.
+         */
+        private long remainingRounds;
+
+        /**
+         * The bucket containing the timeout.
+         */
+        private Bucket bucket;
+
+        /**
+         * The next timeout in the bucket.
+         */
+        private Timeout next;
+
+        /**
+         * The previous timeout in the bucket.
+         */
+        private Timeout previous;
+
+        /**
+         * Constructs a {@link Timeout} with the provided parameters.
+         *
+         * @param timingWheel the {@link TimingWheel} containing the timeout
+         * @param task        the task to run when the timeout expires
+         * @param deadline    the deadline of the timeout
+         */
+        private Timeout(TimingWheel timingWheel, Runnable task, long deadline) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout.
+         * <p>
+         * The task of a cancelled timeout is not run. This method does nothing if the timeout has already expired or
+         * has already been cancelled.
+         *
+         * @return {@code true} if the timeout has been cancelled, {@code false} otherwise
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            timingWheel.pendingTimeoutCount.decrementAndGet();
+            timingWheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * Returns whether the timeout has been cancelled.
+         *
+         * @return {@code true} if the timeout has been cancelled, {@code false} otherwise
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Returns whether the timeout has expired.
+         *
+         * @return {@code true} if the timeout has expired, {@code false} otherwise
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Runs the task of the timeout if it has not been cancelled.
+         */
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            timingWheel.pendingTimeoutCount.decrementAndGet();
+            timingWheel.expiredTimeoutCount.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                Log.error(t, "An error occurred when running the task of a {0}", Timeout.class.getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * A doubly-linked list of {@link Timeout}s expiring at the same tick modulo the wheel size.
+     */
+    private static final class Bucket {
+
+        /**
+         * The first {@link Timeout} of the bucket.
+         */
+        private Timeout head;
+
+        /**
+         * The last {@link Timeout} of the bucket.
+         */
+        private Timeout tail;
+
+        /**
+         * Adds the provided {@code timeout} at the end of the bucket.
+         *
+         * @param timeout the {@link Timeout} to add
+         */
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Removes the provided {@code timeout} from the bucket.
+         *
+         * @param timeout the {@link Timeout} to remove
+         * @return the {@link Timeout} following the removed one
+         */
+        private Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        /**
+         * Expires the {@link Timeout}s of the bucket whose deadline is lower than or equal to the provided one.
+         * <p>
+         * The remaining rounds of the other {@link Timeout}s are decremented.
+         *
+         * @param deadline the current time (in nanoseconds, relative to the start time of the wheel)
+         */
+        private void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    Timeout expired = timeout;
+                    timeout = remove(timeout);
+                    expired.expire();
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+}
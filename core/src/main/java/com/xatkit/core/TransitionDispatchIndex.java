@@ -0,0 +1,343 @@
+package com.xatkit.core;
+
+import com.xatkit.execution.ExecutionModel;
+import com.xatkit.execution.State;
+import com.xatkit.execution.Transition;
+import com.xatkit.intent.EventDefinition;
+import com.xatkit.util.ExecutionModelUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.xtext.xbase.XBinaryOperation;
+import org.eclipse.xtext.xbase.XExpression;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An index of the {@link Transition}s of an {@link ExecutionModel}, computed once when the model is loaded.
+ * <p>
+ * This index maps, for each {@link State}, the names of the accessed {@link EventDefinition}s to the
+ * {@link Transition}s that can be navigated when receiving them. {@link Transition}s are classified according to
+ * their guard:
+ * <ul>
+ * <li><b>wildcard</b> transitions ({@code _ --> MyState}) are always navigable</li>
+ * <li><b>event</b> transitions are only guarded by event equality checks ({@code intent == MyIntent}, possibly
+ * combined with {@code ||}), and are navigable if and only if the received event matches one of the checks. These
+ * transitions do not need to be interpreted.</li>
+ * <li><b>gated</b> transitions are guarded by a conjunction containing an event transition guard ({@code intent ==
+ * MyIntent && context.get(...)...}). These transitions need to be interpreted, but only when the received
+ * event matches the event guard.</li>
+ * <li><b>interpreted</b> transitions contain any other guard, and need to be interpreted for each received
+ * event.</li>
+ * </ul>
+ * The ambiguities that can be detected statically are reported when the index is built: two {@link Transition}s
+ * guarded by the same event are rejected, and a wildcard {@link Transition} defined with other {@link Transition}s
+ * is logged as a warning (the state fails at runtime if one of the other {@link Transition}s is navigable).
+ * <p>
+ * <b>Note</b>: events are indexed by name, reflecting the comparison performed when evaluating {@code intent ==
+ * MyIntent} guards.
+ *
+ * @see ExecutionService
+ */
+public class TransitionDispatchIndex {
+
+    /**
+     * The {@link StateEntry} of each {@link State} of the indexed {@link ExecutionModel}.
+     * <p>
+     * This {@link Map} is not modified once the index is built, and can be safely accessed by multiple threads.
+     */
+    private Map<State, StateEntry> stateEntries;
+
+    /**
+     * Constructs a {@link TransitionDispatchIndex} from the {@link State}s of the provided {@code executionModel}.
+     *
+     * @param executionModel the {@link ExecutionModel} to index the {@link Transition}s of
+     * @throws NullPointerException  if the provided {@code executionModel} is {@code null}
+     * @throws IllegalStateException if several {@link Transition}s of a {@link State} are guarded by the same event
+     */
+    public TransitionDispatchIndex(@NonNull ExecutionModel executionModel) {
+        /*
+         * Use an IdentityHashMap: the index is accessed for each received event, and the model elements do not
+         * redefine equals/hashCode.
+         */
+        this.stateEntries = new IdentityHashMap<>();
+        for (State state : executionModel.getStates()) {
+            this.stateEntries.put(state, new StateEntry(state));
+        }
+    }
+
+    /**
+     * Returns the {@link StateEntry} associated to the provided {@code state}.
+     * <p>
+     * {@link State}s that are not part of the indexed {@link ExecutionModel} are indexed lazily. This is typically
+     * the case for {@link State}s defined in imported models.
+     *
+     * @param state the {@link State} to retrieve the {@link StateEntry} of
+     * @return the {@link StateEntry}
+     * @throws NullPointerException if the provided {@code state} is {@code null}
+     */
+    public StateEntry getStateEntry(@NonNull State state) {
+        StateEntry entry = this.stateEntries.get(state);
+        if (isNull(entry)) {
+            /*
+             * Do not store the entry, the map is shared between threads and should not be updated. This case should
+             * not happen with regular execution models.
+             */
+            Log.warn("The state {0} is not indexed, computing its transitions on the fly", state.getName());
+            entry = new StateEntry(state);
+        }
+        return entry;
+    }
+
+    /**
+     * The indexed {@link Transition}s of a {@link State}.
+     */
+    public static class StateEntry {
+
+        /**
+         * The {@link State} containing the indexed {@link Transition}s.
+         */
+        @Getter
+        private State state;
+
+        /**
+         * The wildcard {@link Transition}s of the {@link State}.
+         */
+        private List<Transition> wildcardTransitions;
+
+        /**
+         * The {@link Transition}s that are navigable for a given event name, without interpretation.
+         */
+        private Map<String, Transition> eventTransitions;
+
+        /**
+         * The {@link Transition}s that need to be interpreted when receiving a given event.
+         */
+        private Map<String, List<Transition>> gatedTransitions;
+
+        /**
+         * The {@link Transition}s that need to be interpreted for any received event.
+         */
+        private List<Transition> interpretedTransitions;
+
+        /**
+         * Constructs a {@link StateEntry} indexing the {@link Transition}s of the provided {@code state}.
+         *
+         * @param state the {@link State} to index the {@link Transition}s of
+         * @throws IllegalStateException if several {@link Transition}s of the provided {@code state} are guarded by
+         *                               the same event
+         */
+        private StateEntry(State state) {
+            this.state = state;
+            this.wildcardTransitions = new ArrayList<>();
+            this.eventTransitions = new HashMap<>();
+            this.gatedTransitions = new HashMap<>();
+            this.interpretedTransitions = new ArrayList<>();
+            for (Transition transition : state.getTransitions()) {
+                if (transition.isIsWildcard()) {
+                    this.wildcardTransitions.add(transition);
+                    continue;
+                }
+                Set<String> guardEvents = getEventGuardNames(transition.getCondition());
+                if (nonNull(guardEvents)) {
+                    for (String eventName : guardEvents) {
+                        Transition existingTransition = this.eventTransitions.put(eventName, transition);
+                        if (nonNull(existingTransition)) {
+                            throw new IllegalStateException(MessageFormat.format("The state {0} contains several " +
+                                            "transitions guarded by the event {1} (transitions {2} and {3})",
+                                    state.getName(), eventName, state.getTransitions().indexOf(existingTransition),
+                                    state.getTransitions().indexOf(transition)));
+                        }
+                    }
+                    continue;
+                }
+                Set<String> gateEvents = getGateEventNames(transition.getCondition());
+                if (nonNull(gateEvents)) {
+                    for (String eventName : gateEvents) {
+                        this.gatedTransitions.computeIfAbsent(eventName, k -> new ArrayList<>()).add(transition);
+                    }
+                } else {
+                    this.interpretedTransitions.add(transition);
+                }
+            }
+            if (!this.wildcardTransitions.isEmpty() && state.getTransitions().size() > 1) {
+                Log.warn("The state {0} contains more than 1 transition and at least one is a wildcard, an error " +
+                        "will be thrown if several transitions are navigable", state.getName());
+            }
+            for (String eventName : this.gatedTransitions.keySet()) {
+                if (this.eventTransitions.containsKey(eventName)) {
+                    Log.warn("The state {0} contains a transition guarded by {1} and a transition guarded by a " +
+                            "condition containing {1}, these transitions may be both navigable", state.getName(),
+                            eventName);
+                }
+            }
+        }
+
+        /**
+         * Returns the wildcard {@link Transition} of the {@link State}.
+         *
+         * @return the first wildcard {@link Transition} of the {@link State} if it exists, {@code null} otherwise
+         * @see #getWildcardTransitions()
+         */
+        public @Nullable
+        Transition getWildcardTransition() {
+            return this.wildcardTransitions.isEmpty() ? null : this.wildcardTransitions.get(0);
+        }
+
+        /**
+         * Returns the wildcard {@link Transition}s of the {@link State}.
+         * <p>
+         * Wildcard {@link Transition}s are always navigable. A {@link State} should contain at most one wildcard
+         * {@link Transition}, and no other {@link Transition} (see {@link #isWildcardOnly()}).
+         *
+         * @return an unmodifiable {@link List} containing the wildcard {@link Transition}s of the {@link State}
+         */
+        public List<Transition> getWildcardTransitions() {
+            return Collections.unmodifiableList(this.wildcardTransitions);
+        }
+
+        /**
+         * Returns whether the only {@link Transition} of the {@link State} is a wildcard.
+         * <p>
+         * The wildcard {@link Transition} of such {@link State}s can be navigated without checking the other
+         * {@link Transition}s.
+         *
+         * @return {@code true} if the only {@link Transition} of the {@link State} is a wildcard, {@code false}
+         * otherwise
+         */
+        public boolean isWildcardOnly() {
+            return this.wildcardTransitions.size() == 1 && this.state.getTransitions().size() == 1;
+        }
+
+        /**
+         * Returns the {@link Transition} that can be navigated when receiving the provided {@code eventName}
+         * without any interpretation.
+         *
+         * @param eventName the name of the received event
+         * @return the {@link Transition} if it exists, {@code null} otherwise
+         */
+        public @Nullable
+        Transition getEventTransition(@Nullable String eventName) {
+            if (isNull(eventName)) {
+                return null;
+            }
+            return this.eventTransitions.get(eventName);
+        }
+
+        /**
+         * Returns the {@link Transition}s that need to be interpreted to check whether they can be navigated when
+         * receiving the provided {@code eventName}.
+         * <p>
+         * The returned {@link List} preserves the order of the {@link Transition}s in the {@link State}. Note that
+         * {@link Transition}s guarded by an event condition are never returned when the provided {@code eventName}
+         * is {@code null} (i.e. when navigating transitions after executing a {@link State}'s body): such
+         * conditions cannot be fulfilled without an event.
+         *
+         * @param eventName the name of the received event
+         * @return the {@link Transition}s to interpret
+         */
+        public List<Transition> getInterpretedTransitions(@Nullable String eventName) {
+            List<Transition> gated = isNull(eventName) ? null : this.gatedTransitions.get(eventName);
+            if (isNull(gated)) {
+                return this.interpretedTransitions;
+            }
+            if (this.interpretedTransitions.isEmpty()) {
+                return gated;
+            }
+            List<Transition> result = new ArrayList<>(gated);
+            result.addAll(this.interpretedTransitions);
+            result.sort((t1, t2) -> Integer.compare(state.getTransitions().indexOf(t1),
+                    state.getTransitions().indexOf(t2)));
+            return Collections.unmodifiableList(result);
+        }
+
+        /**
+         * Returns the names of the events checked in the provided {@code condition} if it only contains event
+         * equality guards.
+         * <p>
+         * This method supports single guards ({@code intent == MyIntent}) and disjunctions of guards ({@code
+         * intent == MyIntent || intent == MyOtherIntent}).
+         *
+         * @param condition the {@link XExpression} to check
+         * @return the names of the checked events, or {@code null} if the provided {@code condition} contains other
+         * expressions
+         */
+        private static @Nullable
+        Set<String> getEventGuardNames(XExpression condition) {
+            String eventName = ExecutionModelUtils.getEventEqualityGuardName(condition);
+            if (nonNull(eventName)) {
+                Set<String> result = new HashSet<>();
+                result.add(eventName);
+                return result;
+            }
+            if (isBooleanOperation(condition, "operator_or")) {
+                XBinaryOperation operation = (XBinaryOperation) condition;
+                Set<String> left = getEventGuardNames(operation.getLeftOperand());
+                Set<String> right = getEventGuardNames(operation.getRightOperand());
+                if (nonNull(left) && nonNull(right)) {
+                    left.addAll(right);
+                    return left;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the names of the events that must be received for the provided {@code condition} to be
+         * fulfilled.
+         * <p>
+         * This method supports conjunctions where one of the operands only contains event equality guards ({@code
+         * intent == MyIntent && context.get(...)...}).
+         *
+         * @param condition the {@link XExpression} to check
+         * @return the names of the events that must be received, or {@code null} if the provided {@code condition}
+         * can be fulfilled by any event
+         */
+        private static @Nullable
+        Set<String> getGateEventNames(XExpression condition) {
+            if (isBooleanOperation(condition, "operator_and")) {
+                XBinaryOperation operation = (XBinaryOperation) condition;
+                Set<String> left = getEventGuardNames(operation.getLeftOperand());
+                if (isNull(left)) {
+                    left = getGateEventNames(operation.getLeftOperand());
+                }
+                if (nonNull(left)) {
+                    return left;
+                }
+                Set<String> right = getEventGuardNames(operation.getRightOperand());
+                if (isNull(right)) {
+                    right = getGateEventNames(operation.getRightOperand());
+                }
+                return right;
+            }
+            return null;
+        }
+
+        /**
+         * Returns whether the provided {@code expression} is an {@link XBinaryOperation} with the provided {@code
+         * operatorName}.
+         *
+         * @param expression   the {@link XExpression} to check
+         * @param operatorName the name of the operator (e.g. {@code operator_and})
+         * @return {@code true} if the {@code expression} is an {@link XBinaryOperation} with the provided {@code
+         * operatorName}, {@code false} otherwise
+         */
+        private static boolean isBooleanOperation(XExpression expression, String operatorName) {
+            return expression instanceof XBinaryOperation
+                    && nonNull(((XBinaryOperation) expression).getFeature())
+                    && ((XBinaryOperation) expression).getFeature().getSimpleName().equals(operatorName);
+        }
+    }
+}
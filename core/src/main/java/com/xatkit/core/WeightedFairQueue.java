@@ -0,0 +1,142 @@
+package com.xatkit.core;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+
+/**
+ * A queue that polls its elements from per-{@link EventPriority} FIFO queues with a weighted-fair policy.
+ * <p>
+ * This queue uses a smooth weighted round-robin selection: each time an element is polled, the credit of each
+ * non-empty priority is increased by its weight, and the element is polled from the priority with the highest
+ * credit (whose credit is then decreased by the total weight of the non-empty priorities). Over a sequence of
+ * polls each priority receives a share of the elements proportional to its weight, and the elements of the
+ * different priorities are interleaved instead of being polled in bursts.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <T> the type of the elements in the queue
+ * @see SessionAffinityExecutor
+ */
+class WeightedFairQueue<T> {
+
+    /**
+     * The FIFO queues of the priorities.
+     */
+    private Map<EventPriority, Deque<T>> queues = new EnumMap<>(EventPriority.class);
+
+    /**
+     * The weights of the priorities.
+     */
+    private Map<EventPriority, Integer> weights = new EnumMap<>(EventPriority.class);
+
+    /**
+     * The current credits of the priorities.
+     */
+    private Map<EventPriority, Integer> credits = new EnumMap<>(EventPriority.class);
+
+    /**
+     * Constructs a {@link WeightedFairQueue} with the provided {@code weights}.
+     * <p>
+     * Priorities that are not contained in the provided {@link Map} use their default weight (see
+     * {@link EventPriority#getDefaultWeight()}).
+     *
+     * @param weights the weights of the priorities
+     * @throws NullPointerException     if the provided {@code weights} is {@code null}
+     * @throws IllegalArgumentException if one of the provided {@code weights} is lower than {@code 1}
+     */
+    WeightedFairQueue(@NonNull Map<EventPriority, Integer> weights) {
+        for (EventPriority priority : EventPriority.values()) {
+            int weight = weights.getOrDefault(priority, priority.getDefaultWeight());
+            checkArgument(weight > 0, "Cannot set the weight %s for the priority %s, expected a positive value",
+                    weight, priority);
+            this.queues.put(priority, new ArrayDeque<>());
+            this.weights.put(priority, weight);
+            this.credits.put(priority, 0);
+        }
+    }
+
+    /**
+     * Adds the provided {@code element} at the end of the queue of the provided {@code priority}.
+     *
+     * @param priority the {@link EventPriority} of the element
+     * @param element  the element to add
+     * @throws NullPointerException if the provided {@code priority} or {@code element} is {@code null}
+     */
+    synchronized void offer(@NonNull EventPriority priority, @NonNull T element) {
+        queues.get(priority).add(element);
+    }
+
+    /**
+     * Polls the next element according to the weighted-fair policy.
+     *
+     * @return the polled element, or {@code null} if the queue is empty
+     */
+    synchronized @Nullable
+    T poll() {
+        EventPriority selected = null;
+        int totalWeight = 0;
+        for (EventPriority priority : EventPriority.values()) {
+            if (queues.get(priority).isEmpty()) {
+                continue;
+            }
+            int weight = weights.get(priority);
+            totalWeight += weight;
+            credits.put(priority, credits.get(priority) + weight);
+            if (selected == null || credits.get(priority) > credits.get(selected)) {
+                selected = priority;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        credits.put(selected, credits.get(selected) - totalWeight);
+        if (queues.get(selected).size() == 1) {
+            /*
+             * Reset the credit of a priority that becomes empty: idle priorities must not accumulate credits (or
+             * debts) that would burst (or delay) their next elements.
+             */
+            credits.put(selected, 0);
+        }
+        return queues.get(selected).poll();
+    }
+
+    /**
+     * Returns the number of elements in the queue of the provided {@code priority}.
+     *
+     * @param priority the {@link EventPriority} to retrieve the number of elements of
+     * @return the number of elements in the queue of the provided {@code priority}
+     */
+    synchronized int size(@NonNull EventPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements in the queue
+     */
+    synchronized int size() {
+        int size = 0;
+        for (Deque<T> queue : queues.values()) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes all the elements of the queue.
+     */
+    synchronized void clear() {
+        for (EventPriority priority : EventPriority.values()) {
+            queues.get(priority).clear();
+            credits.put(priority, 0);
+        }
+    }
+}
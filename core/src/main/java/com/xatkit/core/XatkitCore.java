@@ -1,5 +1,7 @@
 package com.xatkit.core;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.xatkit.core.platform.Formatter;
 import com.xatkit.core.platform.RuntimePlatform;
 import com.xatkit.core.platform.action.RuntimeAction;
@@ -7,8 +9,19 @@ import com.xatkit.core.platform.io.RuntimeEventProvider;
 import com.xatkit.core.recognition.IntentRecognitionProvider;
 import com.xatkit.core.recognition.IntentRecognitionProviderException;
 import com.xatkit.core.recognition.IntentRecognitionProviderFactory;
+import com.xatkit.core.server.HttpMethod;
+import com.xatkit.core.server.HttpUtils;
+import com.xatkit.core.server.RestHandlerException;
+import com.xatkit.core.server.RestHandlerFactory;
 import com.xatkit.core.server.XatkitServer;
+import com.xatkit.core.server.XatkitServerUtils;
+import com.xatkit.core.session.SessionEvictionCause;
+import com.xatkit.core.session.SessionEvictionListener;
+import com.xatkit.core.session.SessionJournal;
+import com.xatkit.core.session.SessionSnapshot;
+import com.xatkit.core.session.SessionStore;
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.core.session.XatkitSessionRegistry;
 import com.xatkit.execution.ExecutionModel;
 import com.xatkit.execution.State;
 import com.xatkit.intent.Context;
@@ -32,8 +45,11 @@ import org.eclipse.xtext.xbase.XMemberFeatureCall;
 
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
@@ -69,6 +85,38 @@ public class XatkitCore {
      */
     public static String ABSTRACT_PLATFORM_BINDINGS_PREFIX = "xatkit.platforms.abstract.";
 
+    /**
+     * The time (in milliseconds) a session identifier that is not in the {@link SessionStore} is cached.
+     * <p>
+     * This delay bounds the time it takes for {@link #getXatkitSession(String)} to retrieve a session created by
+     * another Xatkit instance sharing the {@link SessionStore}.
+     *
+     * @see #isStored(String)
+     */
+    static final long MISSING_STORED_SESSION_TTL = 1000;
+
+    /**
+     * The maximum number of session identifiers cached in {@link #missingStoredSessions}.
+     */
+    private static final int MISSING_STORED_SESSIONS_MAX_SIZE = 10000;
+
+    /**
+     * The identifiers of the sessions that are not in the {@link SessionStore}, with their expiration time.
+     * <p>
+     * This cache avoids reading the {@link SessionStore} every time {@link #getXatkitSession(String)} is called with
+     * the identifier of a session that does not exist. Entries are evicted in least-recently-used order when the
+     * cache contains more than {@link #MISSING_STORED_SESSIONS_MAX_SIZE} identifiers.
+     *
+     * @see #isStored(String)
+     */
+    private final Map<String, Long> missingStoredSessions =
+            Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MISSING_STORED_SESSIONS_MAX_SIZE;
+                }
+            });
+
     /**
      * The {@link Configuration} used to initialize this class.
      * <p>
@@ -117,11 +165,20 @@ public class XatkitCore {
     private ExecutionService executionService;
 
     /**
-     * The {@link Map} used to store and retrieve {@link XatkitSession}s associated to users.
+     * The {@link XatkitSessionRegistry} used to store and retrieve {@link XatkitSession}s associated to users.
      *
      * @see #getOrCreateXatkitSession(String)
      */
-    private Map<String, XatkitSession> sessions;
+    @Getter
+    private XatkitSessionRegistry sessionRegistry;
+
+    /**
+     * The {@link SessionJournal} used to persist the {@link XatkitSession}s across restarts.
+     * <p>
+     * This field is {@code null} if the warm restart is disabled (see {@link SessionJournal#WARM_RESTART_KEY}).
+     */
+    @Getter
+    private SessionJournal sessionJournal;
 
     /**
      * The {@link XatkitServer} instance used to capture incoming webhooks.
@@ -169,9 +226,26 @@ public class XatkitCore {
             this.xatkitServer = new XatkitServer(configuration);
             this.intentRecognitionProvider = IntentRecognitionProviderFactory.getIntentRecognitionProvider(this,
                     configuration);
-            this.sessions = new HashMap<>();
+            this.sessionRegistry = new XatkitSessionRegistry(configuration);
+            this.sessionRegistry.addEvictionListener((session, cause) -> this.xatkitServer.deletePublicFiles(session));
+            this.sessionRegistry.addEvictionListener(this::notifyRuntimePlatformsOfEviction);
             this.executionService = new ExecutionService(executionModel, runtimePlatformRegistry, configuration);
             modelLoader.getExecutionInjector().injectMembers(executionService);
+            if (configuration.getBoolean(XatkitServerUtils.ADMIN_ENDPOINTS_KEY,
+                    XatkitServerUtils.DEFAULT_ADMIN_ENDPOINTS)) {
+                this.executionService.registerRestEndpoints(xatkitServer);
+                this.registerRestEndpoints(xatkitServer);
+            }
+            if (configuration.getBoolean(SessionJournal.WARM_RESTART_KEY, false)) {
+                /*
+                 * Restore the sessions before starting the event providers and the server: events received right
+                 * after the start must find their sessions.
+                 */
+                this.sessionJournal = new SessionJournal(configuration, sessionRegistry::getSessions);
+                this.restoreXatkitSessions(sessionJournal.load());
+                this.executionService.setSessionJournal(sessionJournal);
+                this.sessionJournal.start();
+            }
             this.loadExecutionModel(executionModel);
             xatkitServer.start();
             Log.info("Xatkit bot started");
@@ -468,6 +542,20 @@ public class XatkitCore {
                 Log.error("An error occurred when closing the {0}", this.executionService.getClass().getSimpleName());
             }
         }
+        if (nonNull(this.sessionJournal)) {
+            try {
+                this.sessionJournal.close();
+            } catch (Throwable t) {
+                Log.error("An error occurred when closing the {0}", this.sessionJournal.getClass().getSimpleName());
+            }
+        }
+        if (nonNull(this.sessionRegistry)) {
+            try {
+                this.sessionRegistry.shutdown();
+            } catch (Throwable t) {
+                Log.error("An error occurred when closing the {0}", this.sessionRegistry.getClass().getSimpleName());
+            }
+        }
         if (nonNull(this.xatkitServer)) {
             try {
                 this.xatkitServer.stop();
@@ -502,50 +590,270 @@ public class XatkitCore {
      * Retrieves or creates the {@link XatkitSession} associated to the provided {@code sessionId}.
      * <p>
      * If the {@link XatkitSession} does not exist a new one is created using
-     * {@link IntentRecognitionProvider#createSession(String)}.
+     * {@link IntentRecognitionProvider#createSession(String)}. The creation is atomic: concurrent calls with the
+     * same {@code sessionId} create and initialize a single {@link XatkitSession}.
+     * <p>
+     * Passivated {@link XatkitSession}s are rehydrated with their variables and their current {@link State} (see
+     * {@link ExecutionService#restoreSession(XatkitSession, SessionSnapshot)}).
+     * <p>
+     * If a {@link SessionStore} is configured the {@link XatkitSession} is created in the store, or restored from it
+     * if it has been created by another Xatkit instance (see {@link ExecutionService#initSession(XatkitSession)}).
      *
      * @param sessionId the identifier to get or retrieve a session from
      * @return the {@link XatkitSession} associated to the provided {@code sessionId}
      * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     * @see XatkitSessionRegistry#getOrCreate(String, Function, Function)
      */
     public XatkitSession getOrCreateXatkitSession(@NonNull String sessionId) {
-        XatkitSession session = getXatkitSession(sessionId);
-        if (isNull(session)) {
-            try {
-                session = this.intentRecognitionProvider.createSession(sessionId);
-            } catch (IntentRecognitionProviderException e) {
-                throw new XatkitException(MessageFormat.format("Cannot create session {0}, see attached exception",
-                        sessionId), e);
-            }
-            sessions.put(sessionId, session);
+        return sessionRegistry.getOrCreate(sessionId, id -> {
+            missingStoredSessions.remove(id);
+            XatkitSession session = createXatkitSession(id);
             /*
              * The executor service takes care of configuring the new session and setting the init state.
              */
             executionService.initSession(session);
-        }
+            return session;
+        }, this::activateXatkitSession);
+    }
+
+    /**
+     * Creates a new {@link XatkitSession} and restores its content and its {@link State} from the provided {@code
+     * snapshot}.
+     *
+     * @param snapshot the {@link SessionSnapshot} to restore the session from
+     * @return the restored {@link XatkitSession}
+     * @throws XatkitException if the {@link IntentRecognitionProvider} cannot create the session
+     * @see ExecutionService#restoreSession(XatkitSession, SessionSnapshot)
+     */
+    private XatkitSession activateXatkitSession(SessionSnapshot snapshot) {
+        XatkitSession session = createXatkitSession(snapshot.getSessionId());
+        executionService.restoreSession(session, snapshot);
         return session;
     }
 
+    /**
+     * Restores the provided {@code snapshots} in the {@link XatkitSessionRegistry}.
+     * <p>
+     * The sessions are restored in parallel. Passivated sessions are restored from the
+     * {@link com.xatkit.core.session.SessionPassivationStore} instead of the provided {@code snapshots}, because
+     * they are more recent.
+     *
+     * @param snapshots the {@link SessionSnapshot}s to restore
+     */
+    private void restoreXatkitSessions(Collection<SessionSnapshot> snapshots) {
+        long start = System.currentTimeMillis();
+        snapshots.parallelStream().forEach(snapshot -> {
+            try {
+                sessionRegistry.getOrCreate(snapshot.getSessionId(), id -> activateXatkitSession(snapshot),
+                        this::activateXatkitSession);
+            } catch (Throwable t) {
+                Log.warn("Cannot restore the session {0}: {1}", snapshot.getSessionId(), t.getMessage());
+            }
+        });
+        Log.info("Restored {0} sessions in {1} ms", snapshots.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Creates a new {@link XatkitSession} with the provided {@code sessionId} using the
+     * {@link IntentRecognitionProvider}.
+     *
+     * @param sessionId the identifier of the session to create
+     * @return the created {@link XatkitSession}
+     * @throws XatkitException if the {@link IntentRecognitionProvider} cannot create the session
+     */
+    private XatkitSession createXatkitSession(String sessionId) {
+        try {
+            return this.intentRecognitionProvider.createSession(sessionId);
+        } catch (IntentRecognitionProviderException e) {
+            throw new XatkitException(MessageFormat.format("Cannot create session {0}, see attached exception",
+                    sessionId), e);
+        }
+    }
+
     /**
      * Returns the {@link XatkitSession} associated to the provided {@code sessionId}
+     * <p>
+     * Passivated {@link XatkitSession}s are transparently rehydrated. If a {@link SessionStore} is configured the
+     * {@link XatkitSession}s created by other Xatkit instances sharing the store are also retrieved (a session that
+     * was not found in the store may be retrieved up to {@link #MISSING_STORED_SESSION_TTL} milliseconds after its
+     * creation by another instance).
      *
      * @param sessionId the identifier to retrieve the session from
      * @return the {@link XatkitSession} associated to the provided {@code sessionId}
      * @throws NullPointerException if the provided {@code sessionId} is {@code null}
      */
     public XatkitSession getXatkitSession(@NonNull String sessionId) {
-        return sessions.get(sessionId);
+        XatkitSession session = sessionRegistry.get(sessionId);
+        if (isNull(session) && (sessionRegistry.isPassivated(sessionId) || isStored(sessionId))) {
+            session = getOrCreateXatkitSession(sessionId);
+        }
+        return session;
     }
 
+    /**
+     * Returns whether the session associated to the provided {@code sessionId} exists in the {@link SessionStore}.
+     * <p>
+     * The {@link SessionStore} is only read if it is configured. Identifiers that are not in the store are cached for
+     * {@link #MISSING_STORED_SESSION_TTL} milliseconds, so repeated lookups of unknown sessions do not read the
+     * store.
+     *
+     * @param sessionId the identifier of the session to check
+     * @return {@code true} if the session exists in the {@link SessionStore}, {@code false} otherwise (including
+     * when no {@link SessionStore} is configured)
+     * @see ExecutionService#getSessionStore()
+     */
+    private boolean isStored(String sessionId) {
+        SessionStore sessionStore = executionService.getSessionStore();
+        if (isNull(sessionStore)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long expiration = missingStoredSessions.get(sessionId);
+        if (nonNull(expiration) && expiration > now) {
+            return false;
+        }
+        if (nonNull(sessionStore.get(sessionId))) {
+            missingStoredSessions.remove(sessionId);
+            return true;
+        }
+        missingStoredSessions.put(sessionId, now + MISSING_STORED_SESSION_TTL);
+        return false;
+    }
+
+    /**
+     * Returns a live view of the stored {@link XatkitSession}s.
+     * <p>
+     * The returned {@link Iterable} does not contain the passivated {@link XatkitSession}s, and events broadcasted
+     * with {@link RuntimeEventProvider#broadcastEventInstance(EventInstance)} are not delivered to them.
+     *
+     * @return a live view of the stored {@link XatkitSession}s
+     * @see XatkitSessionRegistry#getSessions()
+     */
     public Iterable<XatkitSession> getXatkitSessions() {
-        return sessions.values();
+        return sessionRegistry.getSessions();
+    }
+
+    /**
+     * Registers the provided {@code listener} to the evictions of the {@link XatkitSession}s.
+     * <p>
+     * This method allows {@link RuntimePlatform}s and other components to release the resources they associate to a
+     * {@link XatkitSession} once it is evicted. {@link RuntimePlatform}s can also override
+     * {@link RuntimePlatform#onSessionEviction(XatkitSession, SessionEvictionCause)}, which is called for every
+     * registered platform.
+     *
+     * @param listener the {@link SessionEvictionListener} to register
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     * @see #removeSessionEvictionListener(SessionEvictionListener)
+     * @see XatkitSessionRegistry#addEvictionListener(SessionEvictionListener)
+     */
+    public void addSessionEvictionListener(@NonNull SessionEvictionListener listener) {
+        this.sessionRegistry.addEvictionListener(listener);
+    }
+
+    /**
+     * Unregisters the provided {@code listener}.
+     *
+     * @param listener the {@link SessionEvictionListener} to unregister
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     * @see #addSessionEvictionListener(SessionEvictionListener)
+     */
+    public void removeSessionEvictionListener(@NonNull SessionEvictionListener listener) {
+        this.sessionRegistry.removeEvictionListener(listener);
+    }
+
+    /**
+     * Notifies the registered {@link RuntimePlatform}s that the provided {@code session} has been evicted.
+     * <p>
+     * Exceptions thrown by a {@link RuntimePlatform} are logged and do not prevent the notification of the other
+     * platforms.
+     *
+     * @param session the evicted {@link XatkitSession}
+     * @param cause   the {@link SessionEvictionCause} of the eviction
+     * @see RuntimePlatform#onSessionEviction(XatkitSession, SessionEvictionCause)
+     */
+    private void notifyRuntimePlatformsOfEviction(XatkitSession session, SessionEvictionCause cause) {
+        for (RuntimePlatform runtimePlatform : this.runtimePlatformRegistry.getRuntimePlatforms()) {
+            try {
+                runtimePlatform.onSessionEviction(session, cause);
+            } catch (RuntimeException e) {
+                Log.warn("An error occurred when notifying {0} of the eviction of the session {1}: {2}",
+                        runtimePlatform, session.getSessionId(), e.getMessage());
+            }
+        }
     }
 
     /**
      * Invalidates all the {@link XatkitSession}s and clear the session registry.
      */
     public void clearXatkitSessions() {
-        this.sessions.clear();
+        this.sessionRegistry.clear();
+    }
+
+    /**
+     * Registers the session administration REST endpoints to the provided {@code server}.
+     * <p>
+     * This method registers the following endpoints:
+     * <ul>
+     * <li><b>GET /admin/sessions</b>: returns the number of stored and passivated sessions, the configured limits,
+     * the passivation and activation counts, and the eviction counts per cause</li>
+     * <li><b>GET /admin/sessions/memory</b>: returns the estimated size of the stored sessions, the configured
+     * memory quotas, and the heaviest sessions with the estimated size of their variables. The number of returned
+     * sessions can be set with the {@code limit} parameter (default {@code 10})</li>
+     * </ul>
+     * These endpoints are only registered if the {@link XatkitServerUtils#ADMIN_ENDPOINTS_KEY} key is set to
+     * {@code true}.
+     *
+     * @param server the {@link XatkitServer} to register the endpoints to
+     */
+    private void registerRestEndpoints(XatkitServer server) {
+        server.registerRestEndpoint(HttpMethod.GET, "/admin/sessions",
+                RestHandlerFactory.createJsonRestHandler((headers, params, content) -> {
+                    JsonObject result = new JsonObject();
+                    result.addProperty("size", sessionRegistry.size());
+                    result.addProperty("maxSize", sessionRegistry.getMaxSize());
+                    result.addProperty("idleTtl", sessionRegistry.getIdleTtl());
+                    result.addProperty("created", sessionRegistry.getCreatedCount());
+                    result.addProperty("passivated", sessionRegistry.getPassivatedSessionCount());
+                    result.addProperty("passivations", sessionRegistry.getPassivationCount());
+                    result.addProperty("activations", sessionRegistry.getActivationCount());
+                    JsonObject evictions = new JsonObject();
+                    for (SessionEvictionCause cause : SessionEvictionCause.values()) {
+                        evictions.addProperty(cause.name().toLowerCase(), sessionRegistry.getEvictionCount(cause));
+                    }
+                    result.add("evictions", evictions);
+                    return result;
+                }));
+        server.registerRestEndpoint(HttpMethod.GET, "/admin/sessions/memory",
+                RestHandlerFactory.createJsonRestHandler((headers, params, content) -> {
+                    String limitParameter = HttpUtils.getParameterValue("limit", params);
+                    int limit;
+                    try {
+                        limit = isNull(limitParameter) ? 10 : Integer.parseInt(limitParameter);
+                    } catch (NumberFormatException e) {
+                        throw new RestHandlerException(400, "Invalid parameter limit: " + limitParameter);
+                    }
+                    if (limit < 0) {
+                        throw new RestHandlerException(400, "Invalid parameter limit: " + limitParameter);
+                    }
+                    JsonObject result = new JsonObject();
+                    result.addProperty("estimatedSize", sessionRegistry.getEstimatedSize());
+                    result.addProperty("softQuota",
+                            configuration.getLong(XatkitSession.SESSION_MEMORY_SOFT_QUOTA_KEY, 0));
+                    result.addProperty("hardQuota",
+                            configuration.getLong(XatkitSession.SESSION_MEMORY_HARD_QUOTA_KEY, 0));
+                    JsonArray sessions = new JsonArray();
+                    for (XatkitSession session : sessionRegistry.getHeaviestSessions(limit)) {
+                        JsonObject sessionObject = new JsonObject();
+                        sessionObject.addProperty("sessionId", session.getSessionId());
+                        sessionObject.addProperty("estimatedSize", session.getEstimatedSize());
+                        JsonObject variables = new JsonObject();
+                        session.getVariableSizes().forEach(variables::addProperty);
+                        sessionObject.add("variables", variables);
+                        sessions.add(sessionObject);
+                    }
+                    result.add("sessions", sessions);
+                    return result;
+                }));
     }
 
     /**
@@ -3,9 +3,11 @@ package com.xatkit.core.platform;
 import com.xatkit.core.XatkitCore;
 import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.platform.action.RuntimeActionFactory;
 import com.xatkit.core.platform.io.RuntimeEventProvider;
 import com.xatkit.core.platform.io.WebhookEventProvider;
 import com.xatkit.core.server.XatkitServer;
+import com.xatkit.core.session.SessionEvictionCause;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.intent.EventInstance;
 import com.xatkit.platform.ActionDefinition;
@@ -26,6 +28,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -73,6 +76,20 @@ public abstract class RuntimePlatform {
      */
     protected Map<String, Class<? extends RuntimeAction>> actionMap;
 
+    /**
+     * The {@link Map} containing the {@link RuntimeActionFactory} associated to the loaded {@link RuntimeAction}
+     * classes.
+     * <p>
+     * Factories are created when the corresponding action is enabled, and reused to construct the
+     * {@link RuntimeAction} instances without looking up their constructors for each call. This {@link Map} is
+     * concurrent because actions can be created by multiple execution threads.
+     *
+     * @see #enableAction(ActionDefinition)
+     * @see #createRuntimeAction(XMemberFeatureCall, List, XatkitSession)
+     */
+    private final Map<Class<? extends RuntimeAction>, RuntimeActionFactory> actionFactories =
+            new ConcurrentHashMap<>();
+
     /**
      * The {@link Map} containing the {@link EventProviderThread}s associated to this platform.
      * <p>
@@ -203,6 +220,10 @@ public abstract class RuntimePlatform {
      * {@link RuntimeAction} must be located under the {@code actionDefinition} sub-package of the
      * {@link RuntimePlatform}
      * concrete subclass package.
+     * <p>
+     * The constructors of the loaded {@link RuntimeAction} are resolved once in a {@link RuntimeActionFactory}
+     * that is used by {@link #createRuntimeAction(XMemberFeatureCall, List, XatkitSession)} to create new
+     * instances of the action.
      *
      * @param actionDefinition the {@link ActionDefinition} representing the {@link RuntimeAction} to enable
      * @see Loader#loadClass(String, Class)
@@ -212,6 +233,7 @@ public abstract class RuntimePlatform {
             String actionQualifiedName =
                     this.getClass().getPackage().getName() + ".action." + actionDefinition.getName();
             Class<? extends RuntimeAction> runtimeAction = Loader.loadClass(actionQualifiedName, RuntimeAction.class);
+            actionFactories.computeIfAbsent(runtimeAction, RuntimeActionFactory::new);
             actionMap.put(actionDefinition.getName(), runtimeAction);
         }
     }
@@ -230,6 +252,7 @@ public abstract class RuntimePlatform {
      */
     public final void disableAllActions() {
         actionMap.clear();
+        actionFactories.clear();
     }
 
     /**
@@ -279,12 +302,16 @@ public abstract class RuntimePlatform {
         if (argumentValues.length > 0) {
             System.arraycopy(argumentValues, 0, fullArgumentValues, 2, argumentValues.length);
         }
+        /*
+         * Subclasses may fill the actionMap without calling enableAction, create the factory lazily in this case.
+         */
+        RuntimeActionFactory actionFactory = actionFactories.computeIfAbsent(runtimeActionClass,
+                RuntimeActionFactory::new);
         try {
-            /**
-             * The types of the parameters are not known, use {@link Loader#construct(Class, Object[])} to try to
-             * find a constructor that accepts them.
+            /*
+             * The types of the parameters are not known, the factory looks for a constructor that accepts them.
              */
-            runtimeAction = Loader.construct(runtimeActionClass, fullArgumentValues);
+            runtimeAction = actionFactory.newInstance(fullArgumentValues);
         } catch (NoSuchMethodException e) {
             throw new XatkitException(MessageFormat.format("Cannot find a {0} constructor for the provided parameter " +
                     "types ({1})", runtimeActionClass.getSimpleName(), printClassArray(fullArgumentValues)), e);
@@ -328,6 +355,23 @@ public abstract class RuntimePlatform {
         this.disableAllActions();
     }
 
+    /**
+     * Handles the eviction of the provided {@code session}.
+     * <p>
+     * This method is called by the {@link XatkitCore} once the {@code session} has been evicted from the session
+     * registry. Platforms storing per-session resources (e.g. client connections, caches) should override it to
+     * release them. The default implementation does nothing.
+     *
+     * @param session the evicted {@link XatkitSession}
+     * @param cause   the {@link SessionEvictionCause} of the eviction
+     * @see XatkitCore#addSessionEvictionListener(com.xatkit.core.session.SessionEvictionListener)
+     */
+    public void onSessionEviction(XatkitSession session, SessionEvictionCause cause) {
+        /*
+         * Do nothing by default, platforms storing per-session resources can override this method.
+         */
+    }
+
     /**
      * Formats the provided {@code array} in a {@link String} used representing their {@link Class}es.
      * <p>
@@ -0,0 +1,128 @@
+package com.xatkit.core.platform.action;
+
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Schedules the delayed continuations of {@link RuntimeAction}s.
+ * <p>
+ * This class relies on a single daemon timer thread that only triggers the continuations: the continuations
+ * themselves are executed by the {@link Executor} provided by the caller (typically the worker pool of the
+ * {@link com.xatkit.core.ExecutionService}). This allows to wait for message delays and retry back-offs without
+ * holding (and sleeping in) a worker thread.
+ *
+ * @see RuntimeArtifactAction#callAsync(Executor)
+ */
+public class ActionScheduler {
+
+    /**
+     * The timer used to trigger the delayed continuations.
+     * <p>
+     * The timer is created when the first continuation is scheduled, and re-created if it has been shut down (see
+     * {@link #shutdown()}).
+     *
+     * @see #getTimer()
+     */
+    private static ScheduledExecutorService timer;
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private ActionScheduler() {
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} completed by the provided {@code executor} after {@code delay}
+     * milliseconds.
+     * <p>
+     * Continuations chained on the returned {@link CompletableFuture} with non-async methods (e.g.
+     * {@link CompletableFuture#thenCompose(java.util.function.Function)}) are executed by the provided {@code
+     * executor}. If the provided {@code delay} is lower or equal to {@code 0} the returned {@link CompletableFuture}
+     * is already completed, and the continuations are executed by the calling thread.
+     * <p>
+     * The returned {@link CompletableFuture} is completed exceptionally with a {@link RejectedExecutionException}
+     * if the provided {@code executor} does not accept the continuation (e.g. because it has been shut down).
+     *
+     * @param delay    the delay (in milliseconds) to wait before completing the returned {@link CompletableFuture}
+     * @param executor the {@link Executor} used to complete the returned {@link CompletableFuture}
+     * @return a {@link CompletableFuture} completed after the provided {@code delay}
+     * @throws NullPointerException if the provided {@code executor} is {@code null}
+     */
+    public static CompletableFuture<Void> delay(long delay, @NonNull Executor executor) {
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        getTimer().schedule(() -> {
+            try {
+                executor.execute(() -> result.complete(null));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Shuts down the timer used to trigger the delayed continuations.
+     * <p>
+     * The continuations that are already scheduled are still triggered, and the timer thread terminates once they
+     * have been triggered. Continuations scheduled after this call start a new timer.
+     * <p>
+     * This method is called when the {@link com.xatkit.core.ExecutionService} is shut down.
+     */
+    public static synchronized void shutdown() {
+        if (nonNull(timer)) {
+            timer.shutdown();
+            timer = null;
+        }
+    }
+
+    /**
+     * Returns the timer used to trigger the delayed continuations, creating it if necessary.
+     *
+     * @return the timer used to trigger the delayed continuations
+     */
+    private static synchronized ScheduledExecutorService getTimer() {
+        if (isNull(timer)) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "xatkit-action-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return timer;
+    }
+
+    /**
+     * Computes the delay (in milliseconds) to wait before the provided retry {@code attempt}.
+     * <p>
+     * The delay grows exponentially with the number of attempts ({@code baseDelay * 2^(attempt - 1)}) and is bounded
+     * by {@code maxDelay}. A random jitter is applied to the computed value (the returned delay is between half and
+     * the full computed value) to avoid synchronized retries when an external service is temporarily unavailable.
+     *
+     * @param attempt   the retry attempt (starting at {@code 1})
+     * @param baseDelay the delay (in milliseconds) before the first retry
+     * @param maxDelay  the maximum delay (in milliseconds) before a retry
+     * @return the delay (in milliseconds) to wait before the provided retry {@code attempt}
+     * @throws IllegalArgumentException if the provided {@code attempt} is lower than {@code 1}
+     */
+    public static long backoff(int attempt, long baseDelay, long maxDelay) {
+        checkArgument(attempt > 0, "Cannot compute the back-off of attempt %s, expected a positive value", attempt);
+        long exponentialDelay = baseDelay << Math.min(attempt - 1, 30);
+        long delay = Math.min(maxDelay, exponentialDelay < 0 ? maxDelay : exponentialDelay);
+        long halfDelay = delay / 2;
+        return halfDelay + ThreadLocalRandom.current().nextLong(delay - halfDelay + 1);
+    }
+}
@@ -8,7 +8,16 @@ import com.xatkit.platform.ActionDefinition;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.text.MessageFormat;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * The concrete implementation of an {@link ActionDefinition} definition.
@@ -78,6 +87,9 @@ public abstract class RuntimeAction<T extends RuntimePlatform> implements Callab
      * This method should not be called manually, and is handled by the {@link ExecutionService} component that
      * manages and executes {@link RuntimeAction}s.
      * <p>
+     * This method blocks until the computation completes, including the asynchronous computations returned by
+     * {@link #computeAsync()}.
+     * <p>
      * This method does not throw any {@link Exception} if the underlying {@link RuntimeAction}'s computation does not
      * complete. Exceptions thrown during the {@link RuntimeAction}'s computation can be accessed through the
      * {@link RuntimeActionResult#getThrowable()} method.
@@ -88,27 +100,143 @@ public abstract class RuntimeAction<T extends RuntimePlatform> implements Callab
      */
     @Override
     public RuntimeActionResult call() {
-        Object computationResult = null;
-        Throwable callThrowable = null;
+        return callAsync(Runnable::run).join();
+    }
+
+    /**
+     * Runs the {@link RuntimeAction} asynchronously and returns a {@link CompletableFuture} completed with its result.
+     * <p>
+     * This method is used by the {@link ExecutionService} to chain the execution of the next actions on the
+     * completion of this one, without blocking a worker thread. The computation is started in the calling thread
+     * (see {@link #computeAsync()}), and the returned {@link CompletableFuture} is completed when the
+     * {@link CompletionStage} returned by {@link #computeAsync()} completes. The execution time of the returned
+     * {@link RuntimeActionResult} includes the asynchronous part of the computation.
+     * <p>
+     * If the computation does not complete in the calling thread the returned {@link CompletableFuture} is completed
+     * on the provided {@code executor}, whatever the thread completing the {@link CompletionStage} returned by
+     * {@link #computeAsync()}. Subclasses that need to wait (e.g. before sending a message) can override this method
+     * to schedule their computation on the provided {@code executor}.
+     * <p>
+     * The returned {@link CompletableFuture} is never completed exceptionally because of the action's computation:
+     * exceptions thrown by the computation are accessible through {@link RuntimeActionResult#getThrowable()}.
+     *
+     * @param executor the {@link Executor} used to resume the execution once the computation completes
+     * @return a {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the computation
+     * @throws NullPointerException if the provided {@code executor} is {@code null}
+     * @see #computeAsync()
+     */
+    public CompletableFuture<RuntimeActionResult> callAsync(@NonNull Executor executor) {
         long before = System.currentTimeMillis();
+        return toResult(startComputation(), before, executor);
+    }
+
+    /**
+     * Wraps the outcome of the provided {@code computation} in a {@link RuntimeActionResult}.
+     * <p>
+     * If the provided {@code computation} is already completed the {@link RuntimeActionResult} is created in the
+     * calling thread. Otherwise it is created on the provided {@code executor} once the computation completes: the
+     * computation can complete on a thread that is not managed by Xatkit (e.g. the IO thread of an asynchronous HTTP
+     * client), and the {@link ExecutionService} continues the evaluation of the state in the thread completing the
+     * returned {@link CompletableFuture}.
+     *
+     * @param computation the {@link CompletableFuture} completed with the raw result of the computation
+     * @param before      the time (in ms) the computation started at
+     * @param executor    the {@link Executor} used to resume the execution once the computation completes
+     * @return a {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the computation
+     */
+    static CompletableFuture<RuntimeActionResult> toResult(CompletableFuture<Object> computation, long before,
+                                                           Executor executor) {
+        BiFunction<Object, Throwable, RuntimeActionResult> resultFunction = (computationResult, throwable) -> {
+            long after = System.currentTimeMillis();
+            /*
+             * Construct the RuntimeAction result from the gathered information. Note that the constructor accepts a
+             * null value for the throwable parameter, that will set accordingly the isError() helper.
+             */
+            return new RuntimeActionResult(computationResult, unwrap(throwable), (after - before));
+        };
+        if (computation.isDone()) {
+            return computation.handle(resultFunction);
+        }
+        return computation.handleAsync(resultFunction, executor);
+    }
+
+    /**
+     * Starts the asynchronous computation of the {@link RuntimeAction}.
+     * <p>
+     * This method calls {@link #computeAsync()}, and returns a {@link CompletableFuture} completed exceptionally if
+     * {@link #computeAsync()} throws an exception or returns {@code null}.
+     *
+     * @return a {@link CompletableFuture} completed with the raw result of the computation
+     */
+    CompletableFuture<Object> startComputation() {
+        CompletionStage<?> stage;
         try {
-            computationResult = compute();
-        } catch (Throwable e) {
-            callThrowable = e;
+            stage = computeAsync();
+        } catch (Throwable t) {
+            return failedFuture(t);
         }
-        long after = System.currentTimeMillis();
-        /*
-         * Construct the RuntimeAction result from the gathered information. Note that the constructor accepts a null
-         * value for the thrownException parameter, that will set accordingly the isError() helper.
-         */
-        return new RuntimeActionResult(computationResult, callThrowable, (after - before));
+        if (isNull(stage)) {
+            return failedFuture(new NullPointerException(MessageFormat.format("{0}#computeAsync() returned null",
+                    this.getClass().getSimpleName())));
+        }
+        return stage.toCompletableFuture().thenApply(result -> result);
+    }
+
+    /**
+     * The asynchronous implementation of the {@link RuntimeAction}'s computation.
+     * <p>
+     * This method is called by {@link #call()} and {@link #callAsync(Executor)} to start the computation. The
+     * default implementation calls {@link #compute()} in the calling thread and returns an already completed
+     * {@link CompletionStage}.
+     * <p>
+     * Actions performing non-blocking IO (e.g. remote calls made with an asynchronous HTTP client) can override this
+     * method and return a {@link CompletionStage} completed when the remote call completes: the
+     * {@link ExecutionService} does not block any thread while the returned {@link CompletionStage} is pending.
+     * Exceptional completions of the returned {@link CompletionStage} are handled as exceptions thrown by
+     * {@link #compute()}. Note that {@link #compute()} still needs to be implemented, but it is not called if this
+     * method is overridden.
+     *
+     * @return a {@link CompletionStage} completed with the raw result of the {@link RuntimeAction}'s computation
+     * @throws Exception if an error occurred when starting the computation
+     * @see #callAsync(Executor)
+     */
+    protected CompletionStage<?> computeAsync() throws Exception {
+        return CompletableFuture.completedFuture(compute());
+    }
+
+    /**
+     * Creates a {@link CompletableFuture} completed exceptionally with the provided {@code throwable}.
+     *
+     * @param throwable the {@link Throwable} to complete the {@link CompletableFuture} with
+     * @return the created {@link CompletableFuture}
+     */
+    static CompletableFuture<Object> failedFuture(Throwable throwable) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        result.completeExceptionally(throwable);
+        return result;
+    }
+
+    /**
+     * Returns the cause of the provided {@code throwable} if it is a {@link CompletionException}.
+     * <p>
+     * Exceptions thrown in {@link CompletableFuture} continuations are wrapped in {@link CompletionException}s, this
+     * method allows to retrieve the exception thrown by the action's computation.
+     *
+     * @param throwable the {@link Throwable} to unwrap
+     * @return the unwrapped {@link Throwable}
+     */
+    static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && nonNull(throwable.getCause())) {
+            return throwable.getCause();
+        }
+        return throwable;
     }
 
     /**
      * The concrete implementation of the {@link RuntimeAction}'s computation.
      * <p>
-     * This method is internally called by the {@link #call()} method to perform the raw computation and wrap the
-     * results in a {@link RuntimeActionResult}. Note that {@link #compute()} can return raw computation result, and
+     * This method is internally called by the {@link #call()} method (through the default implementation of
+     * {@link #computeAsync()}) to perform the raw computation and wrap the results in a {@link RuntimeActionResult}. Note that {@link #compute()} can return raw computation result, and
      * do not have to deal with setting the monitoring information of the created {@link RuntimeActionResult}.
      * <p>
      * This method should be overriden by subclasses to implement the {@link RuntimeAction}'s computation logic.
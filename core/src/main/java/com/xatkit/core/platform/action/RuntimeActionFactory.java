@@ -0,0 +1,183 @@
+package com.xatkit.core.platform.action;
+
+import com.xatkit.core.XatkitException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A precompiled factory creating instances of a given {@link RuntimeAction} {@link Class}.
+ * <p>
+ * This class resolves the public constructors of the provided {@link RuntimeAction} {@link Class} once, and groups
+ * them by arity as {@link MethodHandle}s accepting an {@code Object[]} of arguments. Creating a new
+ * {@link RuntimeAction} with {@link #newInstance(Object[])} only checks the types of the provided arguments against
+ * the constructors defining as many parameters, and does not involve the reflective lookup performed by
+ * {@link com.xatkit.util.Loader#construct(Class, Object[])}.
+ * <p>
+ * Constructors are matched in the order returned by {@link Class#getConstructors()}, consistently with
+ * {@link com.xatkit.util.Loader#construct(Class, Object[])}.
+ */
+public class RuntimeActionFactory {
+
+    /**
+     * The {@link RuntimeAction} {@link Class} instantiated by this factory.
+     */
+    @Getter
+    private final Class<? extends RuntimeAction> actionClass;
+
+    /**
+     * The constructors of the {@link #actionClass} indexed by arity.
+     * <p>
+     * An empty array is stored for the arities that do not match any constructor.
+     */
+    private final ConstructorHandle[][] constructorsByArity;
+
+    /**
+     * Constructs a new {@link RuntimeActionFactory} for the provided {@code actionClass}.
+     *
+     * @param actionClass the {@link RuntimeAction} {@link Class} to create a factory for
+     * @throws NullPointerException if the provided {@code actionClass} is {@code null}
+     * @throws XatkitException      if an error occurred when accessing the constructors of the provided {@code
+     *                              actionClass}
+     */
+    public RuntimeActionFactory(@NonNull Class<? extends RuntimeAction> actionClass) {
+        this.actionClass = actionClass;
+        Constructor<?>[] constructors = actionClass.getConstructors();
+        int maxArity = Arrays.stream(constructors).mapToInt(Constructor::getParameterCount).max().orElse(-1);
+        List<List<ConstructorHandle>> handles = new ArrayList<>();
+        for (int i = 0; i <= maxArity; i++) {
+            handles.add(new ArrayList<>());
+        }
+        for (Constructor<?> constructor : constructors) {
+            handles.get(constructor.getParameterCount()).add(new ConstructorHandle(constructor));
+        }
+        this.constructorsByArity = handles.stream().map(l -> l.toArray(new ConstructorHandle[0]))
+                .toArray(ConstructorHandle[][]::new);
+    }
+
+    /**
+     * Creates a new instance of the {@link #actionClass} with the provided {@code arguments}.
+     * <p>
+     * This method calls the first constructor defining as many parameters as the provided {@code arguments} and
+     * accepting their types. Note that this method does not call {@link RuntimeAction#init()} on the created
+     * instance.
+     *
+     * @param arguments the concrete parameters of the constructor to call
+     * @return the created {@link RuntimeAction}
+     * @throws NullPointerException      if the provided {@code arguments} array is {@code null}
+     * @throws NoSuchMethodException     if the {@link #actionClass} does not define a constructor matching the
+     *                                   provided {@code arguments}
+     * @throws InvocationTargetException if the called constructor throws an exception
+     */
+    public RuntimeAction newInstance(@NonNull Object[] arguments) throws NoSuchMethodException,
+            InvocationTargetException {
+        if (arguments.length < constructorsByArity.length) {
+            for (ConstructorHandle constructorHandle : constructorsByArity[arguments.length]) {
+                if (constructorHandle.accepts(arguments)) {
+                    return constructorHandle.invoke(arguments);
+                }
+            }
+        }
+        throw new NoSuchMethodException(MessageFormat.format("Cannot find a {0} constructor for the parameters ({1})",
+                actionClass.getSimpleName(), arguments.length));
+    }
+
+    /**
+     * A {@link MethodHandle} wrapping a {@link RuntimeAction} constructor.
+     * <p>
+     * The wrapped {@link MethodHandle} accepts an {@code Object[]} containing the arguments of the constructor and
+     * returns an {@link Object}, allowing to call it with {@link MethodHandle#invokeExact(Object...)}.
+     */
+    private static class ConstructorHandle {
+
+        /**
+         * The types of the constructor's parameters.
+         * <p>
+         * Primitive types are replaced by their wrapper types to be checked against the provided arguments.
+         */
+        private final Class<?>[] parameterTypes;
+
+        /**
+         * Whether each parameter of the constructor has a primitive type (and thus cannot be {@code null}).
+         */
+        private final boolean[] primitiveParameters;
+
+        /**
+         * The spread {@link MethodHandle} calling the constructor.
+         */
+        private final MethodHandle methodHandle;
+
+        /**
+         * Constructs a new {@link ConstructorHandle} for the provided {@code constructor}.
+         *
+         * @param constructor the {@link Constructor} to wrap
+         * @throws XatkitException if the provided {@code constructor} cannot be accessed
+         */
+        private ConstructorHandle(Constructor<?> constructor) {
+            Class<?>[] types = constructor.getParameterTypes();
+            this.parameterTypes = new Class<?>[types.length];
+            this.primitiveParameters = new boolean[types.length];
+            for (int i = 0; i < types.length; i++) {
+                this.primitiveParameters[i] = types[i].isPrimitive();
+                this.parameterTypes[i] = MethodType.methodType(types[i]).wrap().returnType();
+            }
+            try {
+                constructor.setAccessible(true);
+                this.methodHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+                        .asType(MethodType.genericMethodType(types.length))
+                        .asSpreader(Object[].class, types.length);
+            } catch (IllegalAccessException | SecurityException e) {
+                throw new XatkitException(MessageFormat.format("Cannot access the constructor {0}", constructor), e);
+            }
+        }
+
+        /**
+         * Returns whether the provided {@code arguments} can be passed to the wrapped constructor.
+         *
+         * @param arguments the arguments to check
+         * @return {@code true} if the provided {@code arguments} match the constructor's parameters, {@code false}
+         * otherwise
+         */
+        private boolean accepts(Object[] arguments) {
+            for (int i = 0; i < arguments.length; i++) {
+                if (isNull(arguments[i])) {
+                    if (primitiveParameters[i]) {
+                        return false;
+                    }
+                } else if (!parameterTypes[i].isInstance(arguments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Calls the wrapped constructor with the provided {@code arguments}.
+         *
+         * @param arguments the arguments of the constructor
+         * @return the created {@link RuntimeAction}
+         * @throws InvocationTargetException if the constructor throws an exception
+         */
+        private RuntimeAction invoke(Object[] arguments) throws InvocationTargetException {
+            try {
+                return (RuntimeAction) (Object) methodHandle.invokeExact(arguments);
+            } catch (Throwable t) {
+                /*
+                 * Wrap the exception to be consistent with Constructor#newInstance.
+                 */
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
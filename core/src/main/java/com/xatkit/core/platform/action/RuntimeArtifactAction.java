@@ -10,8 +10,12 @@ import fr.inria.atlanmod.commons.log.Log;
 import lombok.NonNull;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
-import static java.util.Objects.nonNull;
+import static java.util.Objects.isNull;
 
 /**
  * An abstract {@link RuntimeAction} processing an artifact.
@@ -48,14 +52,31 @@ public abstract class RuntimeArtifactAction<T extends RuntimePlatform> extends R
     private static int IO_ERROR_RETRIES = 3;
 
     /**
-     * The delay (in ms) to wait before attempting to resend the artifact.
+     * The base delay (in ms) to wait before attempting to resend the artifact.
      * <p>
      * If an {@link IOException} occurred while sending the artifact the {@link #compute()} method will attempt to
-     * resend it {@link #IO_ERROR_RETRIES} times. Each attempt will first wait for {@code RETRY_WAIT_TIME *
-     * <number_of_attempts>} before trying to resend the artifact.
+     * resend it {@link #IO_ERROR_RETRIES} times. The delay before each attempt grows exponentially from this value
+     * (with a random jitter), and is bounded by {@link #MAX_RETRY_WAIT_TIME}.
+     *
+     * @see ActionScheduler#backoff(int, long, long)
      */
     private static int RETRY_WAIT_TIME = 500;
 
+    /**
+     * The maximum delay (in ms) to wait before attempting to resend the artifact.
+     *
+     * @see #RETRY_WAIT_TIME
+     */
+    private static int MAX_RETRY_WAIT_TIME = 10000;
+
+    /**
+     * The {@link Executor} used by {@link #call()} to run the computations scheduled after a delay.
+     * <p>
+     * Synchronous calls block the calling thread until the scheduled computation completes. The
+     * {@link ExecutionService} uses {@link #callAsync(Executor)} with its own worker pool instead.
+     */
+    private static Executor SYNCHRONOUS_CALL_EXECUTOR = ForkJoinPool.commonPool();
+
     /**
      * The message delay to apply for this specific {@link RuntimeArtifactAction}.
      * <p>
@@ -119,94 +140,95 @@ public abstract class RuntimeArtifactAction<T extends RuntimePlatform> extends R
     /**
      * Runs the {@link RuntimeArtifactAction} and returns its result wrapped in a {@link RuntimeActionResult}.
      * <p>
-     * This method handles {@link IOException}s by trying to send again the artifact after waiting {@code
-     * <number_of_retries>*500} ms, in case the issue is related to network stability. The default number of retries
-     * is {@code 3}. If the artifact cannot be sent after {@code 3} retries the thrown {@link IOException} is wrapped
-     * in the returned {@link RuntimeActionResult} and handled as a regular exception.
+     * This method handles {@link IOException}s by trying to send again the artifact after an exponentially growing
+     * delay, in case the issue is related to network stability. The default number of retries is {@code 3}. If the
+     * artifact cannot be sent after {@code 3} retries the thrown {@link IOException} is wrapped in the returned
+     * {@link RuntimeActionResult} and handled as a regular exception.
      * <p>
      * The returned {@link RuntimeActionResult#getExecutionTime()} value includes all the attempts to send the artifact.
      * <p>
-     * This method should not be called manually, and is handled by the {@link ExecutionService} component that
-     * manages and executes {@link RuntimeAction}s.
+     * This method blocks until the artifact is sent, see {@link #callAsync(Executor)} to chain computations on the
+     * completion of the action without blocking the calling thread.
      * <p>
      * This method does not throw any {@link Exception} if the underlying {@link RuntimeAction}'s computation does not
      * complete. Exceptions thrown during the {@link RuntimeArtifactAction}'s computation can be accessed through the
      * {@link RuntimeActionResult#getThrowable()} method.
      *
      * @return the {@link RuntimeActionResult} containing the raw result of the computation and monitoring information
-     * @see ExecutionService
+     * @see #callAsync(Executor)
      * @see RuntimeActionResult
      */
     @Override
     public RuntimeActionResult call() {
-        Object computationResult = null;
-        Exception thrownException;
-        int attempts = 0;
-        long before = System.currentTimeMillis();
+        return callAsync(SYNCHRONOUS_CALL_EXECUTOR).join();
+    }
 
+    /**
+     * Runs the {@link RuntimeArtifactAction} asynchronously and returns a {@link CompletableFuture} completed with
+     * its result.
+     * <p>
+     * The message delay (see {@link #MESSAGE_DELAY_KEY}) and the back-off delays between the attempts to send the
+     * artifact are scheduled with the {@link ActionScheduler}: the calling thread is never blocked, and the
+     * computation is resumed on the provided {@code executor} once the delay is elapsed. Actions that do not define
+     * a message delay and succeed at the first attempt are computed in the calling thread.
+     * <p>
+     * This method should not be called manually, and is handled by the {@link ExecutionService} component that
+     * manages and executes {@link RuntimeAction}s.
+     *
+     * @param executor the {@link Executor} used to run the delayed parts of the computation
+     * @return a {@link CompletableFuture} completed with the {@link RuntimeActionResult} of the computation
+     * @throws NullPointerException if the provided {@code executor} is {@code null}
+     * @see ActionScheduler
+     */
+    @Override
+    public CompletableFuture<RuntimeActionResult> callAsync(@NonNull Executor executor) {
+        long before = System.currentTimeMillis();
+        return toResult(attempt(1, executor), before, executor);
+    }
 
-        /*
-         * We use a do-while here because the thrownException value is initialized with null, and we want to perform
-         * at least one iteration of the loop. If the thrownException value is still null after an iteration we can
-         * exit the loop: the underlying action computation finished without any exception.
-         */
-        do {
-            /*
-             * Reset the thrownException, if we are retrying to send a artifact the previously stored exception is not
-             * required anymore: we can forget it and replace it with the potential new exception.
-             */
-            thrownException = null;
-            attempts++;
-            if (attempts > 1) {
-                /*
-                 * If this is not the first attempt we need to wait before sending again the artifact. The waiting
-                 * time is equal to (iteration - 1) * RETRY_TIME: the second iteration will wait for RETRY_TIME, the
-                 * third one for 2 * RETRY_TIME, etc.
-                 */
-                int waitTime = (attempts - 1) * RETRY_WAIT_TIME;
-                Log.info("Waiting {0} ms before trying to send the artifact again", waitTime);
-                try {
-                    Thread.sleep(waitTime);
-                } catch (InterruptedException e1) {
+    /**
+     * Attempts to send the artifact, and schedules a new attempt if an {@link IOException} occurred.
+     * <p>
+     * The artifact is sent with {@link #computeAsync()}: {@link IOException}s thrown by the method as well as
+     * {@link IOException}s completing the returned {@link java.util.concurrent.CompletionStage} trigger a new
+     * attempt.
+     *
+     * @param attempt  the number of the attempt (starting at {@code 1})
+     * @param executor the {@link Executor} used to run the delayed parts of the computation
+     * @return a {@link CompletableFuture} completed with the raw result of the computation, or completed
+     * exceptionally if the computation failed
+     */
+    private CompletableFuture<Object> attempt(int attempt, Executor executor) {
+        try {
+            this.beforeDelay(messageDelay);
+        } catch (Throwable t) {
+            return failedFuture(t);
+        }
+        return ActionScheduler.delay(messageDelay, executor)
+                .thenCompose(v -> this.startComputation())
+                .handle((result, throwable) -> {
+                    if (isNull(throwable)) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = unwrap(throwable);
+                    if (cause instanceof IOException) {
+                        if (attempt < IO_ERROR_RETRIES + 1) {
+                            long waitTime = ActionScheduler.backoff(attempt, RETRY_WAIT_TIME, MAX_RETRY_WAIT_TIME);
+                            Log.error("An {0} occurred when computing the action, trying to send the artifact again " +
+                                    "in {1} ms ({2}/{3})", cause.getClass().getSimpleName(), waitTime, attempt,
+                                    IO_ERROR_RETRIES);
+                            return ActionScheduler.delay(waitTime, executor).thenCompose(w -> attempt(attempt + 1,
+                                    executor));
+                        } else {
+                            Log.error("Could not compute the action: {0}", cause.getClass().getSimpleName());
+                        }
+                    }
                     /*
-                     * Ignore the exception, the Thread has been interrupted but we can still compute the action.
+                     * Non-IO exceptions are internal errors that cannot be solved by recomputing the action, so we
+                     * return the exception directly.
                      */
-                    Log.warn("An error occurred while waiting to send the artifact, trying to send it right now", e1);
-                }
-            }
-            try {
-                this.beforeDelay(messageDelay);
-                this.waitMessageDelay();
-                computationResult = this.compute();
-            } catch (IOException e) {
-                if (attempts < IO_ERROR_RETRIES + 1) {
-                    Log.error("An {0} occurred when computing the action, trying to send the artifact again ({1}/{2})"
-                            , e
-                                    .getClass().getSimpleName(), attempts, IO_ERROR_RETRIES);
-                } else {
-                    Log.error("Could not compute the action: {0}", e.getClass().getSimpleName());
-                }
-                /*
-                 * Set the thrownException value, if the compute() method fails with an IOException every time we
-                 * need to return an error message with it.
-                 */
-                thrownException = e;
-            } catch (Exception e) {
-                thrownException = e;
-                /*
-                 * We caught a non-IO exception: an internal error occurred when computing the action. We assume that
-                 * internal errors cannot be solved be recomputing the action, so we break and return the
-                 * RuntimeActionResult directly.
-                 */
-                break;
-            }
-            /*
-             * Exit on IO_ERROR_RETRIES + 1: the first one is the standard execution, then we can retry
-             * IO_ERROR_RETRIES times.
-             */
-        } while (nonNull(thrownException) && attempts < IO_ERROR_RETRIES + 1);
-        long after = System.currentTimeMillis();
-        return new RuntimeActionResult(computationResult, thrownException, (after - before));
+                    return failedFuture(cause);
+                }).thenCompose(Function.identity());
     }
 
     /**
@@ -222,16 +244,6 @@ public abstract class RuntimeArtifactAction<T extends RuntimePlatform> extends R
          */
     }
 
-    private void waitMessageDelay() {
-        if (this.messageDelay > 0) {
-            try {
-                Thread.sleep(messageDelay);
-            } catch (InterruptedException e) {
-                Log.error("An error occurred when waiting for the message delay, see attached exception", e);
-            }
-        }
-    }
-
     /**
      * Returns the {@link XatkitSession} associated to the client of the artifact to send.
      * <p>
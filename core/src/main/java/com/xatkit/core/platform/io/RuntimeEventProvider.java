@@ -1,5 +1,7 @@
 package com.xatkit.core.platform.io;
 
+import com.xatkit.core.EventPriority;
+import com.xatkit.core.ExecutionService;
 import com.xatkit.core.XatkitCore;
 import com.xatkit.core.platform.RuntimePlatform;
 import com.xatkit.core.session.XatkitSession;
@@ -80,11 +82,27 @@ public abstract class RuntimeEventProvider<T extends RuntimePlatform> implements
         return runtimePlatform;
     }
 
+    /**
+     * Returns the {@link EventPriority} of the events sent by this provider.
+     * <p>
+     * Events sent with {@link #sendEventInstance(EventInstance, XatkitSession)} are dispatched with this priority.
+     * The default implementation returns {@link EventPriority#INTERACTIVE}. Providers that are not driven by users
+     * (e.g. scheduled events, platform backfills) can override this method to return a lower priority, and avoid
+     * delaying the processing of user messages.
+     *
+     * @return the {@link EventPriority} of the events sent by this provider
+     * @see EventPriority
+     */
+    public EventPriority getEventPriority() {
+        return EventPriority.INTERACTIVE;
+    }
+
     /**
      * Sends the provided {@code eventInstance} and {@code session} for computation to the Xatkit core component.
      * <p>
      * This method sets the <i>triggeredBy</i> field of the provided {@code eventInstance} with the name of the
-     * containing platform of this provider.
+     * containing platform of this provider, and dispatches the event with the provider's priority (see
+     * {@link #getEventPriority()}).
      * <p>
      * This method can be extended to perform specific checks before triggering actions (e.g. ensure that a specific
      * context variable has been set).
@@ -93,15 +111,44 @@ public abstract class RuntimeEventProvider<T extends RuntimePlatform> implements
      * @param session       the {@link XatkitSession} associated to the provided {@code eventInstance}
      */
     public void sendEventInstance(EventInstance eventInstance, XatkitSession session) {
+        sendEventInstance(eventInstance, session, getEventPriority());
+    }
+
+    /**
+     * Sends the provided {@code eventInstance} and {@code session} for computation to the Xatkit core component
+     * with the given {@code priority}.
+     * <p>
+     * This method sets the <i>triggeredBy</i> field of the provided {@code eventInstance} with the name of the
+     * containing platform of this provider.
+     *
+     * @param eventInstance the {@link EventInstance} to send to the Xatkit core component
+     * @param session       the {@link XatkitSession} associated to the provided {@code eventInstance}
+     * @param priority      the {@link EventPriority} of the event
+     * @see ExecutionService#handleEventInstance(EventInstance, XatkitSession, EventPriority)
+     */
+    public void sendEventInstance(EventInstance eventInstance, XatkitSession session, EventPriority priority) {
         eventInstance.setTriggeredBy(this.runtimePlatform.getName());
-        this.xatkitCore.getExecutionService().handleEventInstance(eventInstance, session);
+        this.xatkitCore.getExecutionService().handleEventInstance(eventInstance, session, priority);
     }
 
+    /**
+     * Broadcasts the provided {@code eventInstance} to all the {@link XatkitSession}s of the Xatkit core component.
+     * <p>
+     * This method sets the <i>triggeredBy</i> field of the provided {@code eventInstance} with the name of the
+     * containing platform of this provider, and returns once the broadcast is started. The event is delivered in
+     * parallel to chunks of sessions, and the delivery is throttled when the event queues are loaded (see
+     * {@link com.xatkit.core.EventBroadcaster}).
+     * <p>
+     * <b>Note</b>: the event is only delivered to the {@link XatkitSession}s stored in memory, passivated sessions
+     * (see {@link com.xatkit.core.session.SessionPassivationStore}) do not receive it.
+     *
+     * @param eventInstance the {@link EventInstance} to broadcast
+     * @see ExecutionService#broadcastEventInstance(EventInstance, Iterable)
+     */
     public void broadcastEventInstance(EventInstance eventInstance) {
         eventInstance.setTriggeredBy(this.runtimePlatform.getName());
-        this.xatkitCore.getXatkitSessions().forEach(xatkitSession ->
-                this.xatkitCore.getExecutionService().handleEventInstance(eventInstance, xatkitSession)
-        );
+        this.xatkitCore.getExecutionService().broadcastEventInstance(eventInstance,
+                this.xatkitCore.getXatkitSessions());
     }
 
     /**
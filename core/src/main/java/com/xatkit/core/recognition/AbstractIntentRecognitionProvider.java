@@ -4,6 +4,7 @@ import com.xatkit.core.XatkitCore;
 import com.xatkit.core.recognition.processor.InputPreProcessor;
 import com.xatkit.core.recognition.processor.IntentPostProcessor;
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.ContextInstance;
 import com.xatkit.intent.EntityDefinition;
 import com.xatkit.intent.IntentDefinition;
 import com.xatkit.intent.RecognizedIntent;
@@ -15,6 +16,9 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * An {@link IntentRecognitionProvider} that takes care of applying pre/post processing.
  * <p>
@@ -24,6 +28,10 @@ import java.util.List;
  * <p>
  * Subclasses must provide an implementation of {@link #getIntentInternal(String, XatkitSession)}, where the
  * {@link RecognizedIntent} is retrieved from the provided {@code input}.
+ * <p>
+ * The raw {@link RecognizedIntent}s can be cached by setting a {@link RecognitionCache} (see
+ * {@link #setRecognitionCache(RecognitionCache)}). Subclasses using a cache must call
+ * {@link #invalidateRecognitionCache()} when their intents or entities are updated.
  */
 public abstract class AbstractIntentRecognitionProvider implements IntentRecognitionProvider {
 
@@ -43,6 +51,16 @@ public abstract class AbstractIntentRecognitionProvider implements IntentRecogni
      */
     private List<? extends IntentPostProcessor> postProcessors = new ArrayList<>();
 
+    /**
+     * The {@link RecognitionCache} storing the {@link RecognizedIntent}s computed by this provider.
+     * <p>
+     * The cache is disabled by default.
+     *
+     * @see IntentRecognitionProviderFactoryConfiguration#RECOGNITION_CACHE_SIZE_KEY
+     */
+    @Nullable
+    private volatile RecognitionCache recognitionCache;
+
     /**
      * {@inheritDoc}
      *
@@ -79,6 +97,64 @@ public abstract class AbstractIntentRecognitionProvider implements IntentRecogni
         return this.postProcessors;
     }
 
+    /**
+     * Sets the {@link RecognitionCache} storing the {@link RecognizedIntent}s computed by this provider.
+     *
+     * @param recognitionCache the {@link RecognitionCache} to set, or {@code null} to disable the cache
+     * @see IntentRecognitionProviderFactory#getIntentRecognitionProvider(XatkitCore, Configuration)
+     */
+    public final void setRecognitionCache(@Nullable RecognitionCache recognitionCache) {
+        this.recognitionCache = recognitionCache;
+    }
+
+    /**
+     * Returns the {@link RecognitionCache} storing the {@link RecognizedIntent}s computed by this provider.
+     *
+     * @return the {@link RecognitionCache}, or {@code null} if the cache is disabled
+     */
+    public final @Nullable
+    RecognitionCache getRecognitionCache() {
+        return this.recognitionCache;
+    }
+
+    /**
+     * Removes the {@link RecognizedIntent}s stored in the {@link RecognitionCache}.
+     * <p>
+     * This method must be called by subclasses when the registered intents or entities are updated. It does nothing
+     * if the cache is disabled.
+     */
+    protected final void invalidateRecognitionCache() {
+        RecognitionCache cache = this.recognitionCache;
+        if (nonNull(cache)) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Returns whether the provided {@code recognizedIntent} can be reused for other inputs with the same
+     * {@link RecognitionCache.Key}.
+     * <p>
+     * A {@link RecognizedIntent} can be reused if all its out contexts are defined by its intent: these contexts are
+     * computed from the input. Other contexts (e.g. contexts carried over from previous interactions by a remote
+     * provider) depend on the session and cannot be shared. Subclasses can override this method to refine this
+     * condition.
+     *
+     * @param recognizedIntent the {@link RecognizedIntent} to check
+     * @return {@code true} if the provided {@code recognizedIntent} can be cached, {@code false} otherwise
+     */
+    protected boolean isCacheable(@NonNull RecognizedIntent recognizedIntent) {
+        IntentDefinition intentDefinition = recognizedIntent.getDefinition();
+        if (isNull(intentDefinition)) {
+            return false;
+        }
+        for (ContextInstance contextInstance : recognizedIntent.getOutContextInstances()) {
+            if (!intentDefinition.getOutContexts().contains(contextInstance.getDefinition())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -141,7 +217,25 @@ public abstract class AbstractIntentRecognitionProvider implements IntentRecogni
                     (preEnd - preStart));
         }
         long recognitionStart = System.currentTimeMillis();
-        RecognizedIntent recognizedIntent = getIntentInternal(preProcessedInput, session);
+        RecognizedIntent recognizedIntent;
+        RecognitionCache cache = this.recognitionCache;
+        if (nonNull(cache)) {
+            String cacheInput = preProcessedInput;
+            boolean[] recognized = {false};
+            recognizedIntent = cache.get(RecognitionCache.Key.of(cacheInput, session), () -> {
+                recognized[0] = true;
+                return getIntentInternal(cacheInput, session);
+            }, this);
+            RecognitionMonitor recognitionMonitor = getRecognitionMonitor();
+            if (!recognized[0] && nonNull(recognitionMonitor)) {
+                /*
+                 * The result has been retrieved from the cache, log it as if it had been recognized.
+                 */
+                recognitionMonitor.logRecognizedIntent(session, recognizedIntent);
+            }
+        } else {
+            recognizedIntent = getIntentInternal(preProcessedInput, session);
+        }
         long recognitionEnd = System.currentTimeMillis();
         Log.debug("Time to recognize the intent with {0}: {1}ms", this.getClass().getSimpleName(),
                 (recognitionEnd - recognitionStart));
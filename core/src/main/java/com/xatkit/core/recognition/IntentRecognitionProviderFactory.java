@@ -53,6 +53,10 @@ public class IntentRecognitionProviderFactory {
      * {@link IntentRecognitionProviderFactoryConfiguration#RECOGNITION_PREPROCESSORS_KEY} and
      * {@link IntentRecognitionProviderFactoryConfiguration#RECOGNITION_POSTPROCESSORS_KEY}, respectively, and are
      * specified as comma-separated list of processor's names.
+     * <p>
+     * The returned {@link AbstractIntentRecognitionProvider} caches its results if the
+     * {@link IntentRecognitionProviderFactoryConfiguration#RECOGNITION_CACHE_SIZE_KEY} property is set to a positive
+     * value in the configuration.
      *
      * @param xatkitCore        the {@link XatkitCore} instance to build the
      * {@link AbstractIntentRecognitionProvider} from
@@ -105,6 +109,10 @@ public class IntentRecognitionProviderFactory {
              */
             postProcessor.init();
         }
+        if (configuration.getRecognitionCacheSize() > 0 && provider instanceof AbstractIntentRecognitionProvider) {
+            ((AbstractIntentRecognitionProvider) provider).setRecognitionCache(
+                    new RecognitionCache(configuration.getRecognitionCacheSize()));
+        }
         return provider;
     }
 
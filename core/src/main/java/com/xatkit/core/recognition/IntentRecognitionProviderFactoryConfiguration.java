@@ -51,6 +51,15 @@ public class IntentRecognitionProviderFactoryConfiguration {
      */
     public static String RECOGNITION_POSTPROCESSORS_KEY = "xatkit.recognition.postprocessors";
 
+    /**
+     * The {@link Configuration} key used to specify the maximum number of results stored in the
+     * {@link RecognitionCache} of the created {@link IntentRecognitionProvider}.
+     * <p>
+     * The recognition cache is disabled by default. It can be enabled by setting this property to a positive value
+     * in the {@link Configuration} file.
+     */
+    public static String RECOGNITION_CACHE_SIZE_KEY = "xatkit.recognition.cache_size";
+
     /**
      * The base {@link Configuration} used to initialize the {@link IntentRecognitionProviderFactoryConfiguration}.
      */
@@ -71,6 +80,11 @@ public class IntentRecognitionProviderFactoryConfiguration {
      */
     private List<String> postProcessorNames;
 
+    /**
+     * The maximum number of results stored in the {@link RecognitionCache}, {@code 0} if the cache is disabled.
+     */
+    private int recognitionCacheSize;
+
     /**
      * Initializes the {@link IntentRecognitionProviderFactoryConfiguration} with the provided {@code
      * baseConfiguration}.
@@ -83,6 +97,7 @@ public class IntentRecognitionProviderFactoryConfiguration {
         this.enableRecognitionAnalytics = baseConfiguration.getBoolean(ENABLE_RECOGNITION_ANALYTICS, true);
         this.preProcessorNames = getList(baseConfiguration, RECOGNITION_PREPROCESSORS_KEY);
         this.postProcessorNames = getList(baseConfiguration, RECOGNITION_POSTPROCESSORS_KEY);
+        this.recognitionCacheSize = Math.max(0, baseConfiguration.getInt(RECOGNITION_CACHE_SIZE_KEY, 0));
 
     }
 
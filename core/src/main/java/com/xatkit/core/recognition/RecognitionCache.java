@@ -0,0 +1,334 @@
+package com.xatkit.core.recognition;
+
+import com.xatkit.core.session.MatchableIntents;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.RecognizedIntent;
+import lombok.NonNull;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded cache storing the {@link RecognizedIntent}s computed by an {@link AbstractIntentRecognitionProvider}.
+ * <p>
+ * Recognition results are indexed by {@link Key}: the pre-processed input and the intents enabled in the session
+ * (i.e. the session's {@link MatchableIntents} and its {@code Enable<IntentName>} contexts). The cache evicts the
+ * least recently used results when it contains more than {@link #getMaxSize()} entries.
+ * <p>
+ * The cache stores a copy of the recognized intents, and returns a fresh copy for each hit: callers (e.g.
+ * post-processors) can update the returned {@link RecognizedIntent} without affecting the cached one. Identical
+ * concurrent lookups are coalesced: the first one computes the result, and the others wait for it instead of
+ * querying the intent recognition provider.
+ * <p>
+ * The cache must be invalidated when the intents or entities of the provider are updated (see
+ * {@link #invalidate()}).
+ *
+ * @see AbstractIntentRecognitionProvider#setRecognitionCache(RecognitionCache)
+ */
+public class RecognitionCache {
+
+    /**
+     * The prefix of the contexts enabling the intents that are not part of the execution model.
+     */
+    private static final String ENABLE_CONTEXT_PREFIX = "Enable";
+
+    /**
+     * The maximum number of results stored in the cache.
+     */
+    private final int maxSize;
+
+    /**
+     * The cached results, in access order.
+     * <p>
+     * This {@link Map} is only accessed in {@code synchronized} blocks.
+     */
+    private final LinkedHashMap<Key, RecognizedIntent> entries;
+
+    /**
+     * The recognitions in progress, indexed by {@link Key}.
+     */
+    private final Map<Key, CompletableFuture<RecognizedIntent>> inFlightRecognitions = new ConcurrentHashMap<>();
+
+    /**
+     * The number of invalidations of the cache.
+     * <p>
+     * This counter allows to discard the results of the recognitions started before an invalidation.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * The number of lookups returning a cached or in-flight result.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * The number of lookups querying the intent recognition provider.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Constructs a {@link RecognitionCache} storing up to {@code maxSize} results.
+     *
+     * @param maxSize the maximum number of results stored in the cache
+     * @throws IllegalArgumentException if the provided {@code maxSize} is lower or equal to {@code 0}
+     */
+    public RecognitionCache(int maxSize) {
+        checkArgument(maxSize > 0, "Cannot create a %s with the provided size %s, the size must be greater than 0",
+                RecognitionCache.class.getSimpleName(), maxSize);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, RecognizedIntent>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RecognizedIntent> eldest) {
+                return size() > RecognitionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the {@link RecognizedIntent} associated to the provided {@code key}, computing it with the given
+     * {@code recognition} if necessary.
+     * <p>
+     * Results computed by the provided {@code recognition} are cached if they are
+     * {@link AbstractIntentRecognitionProvider#isCacheable(RecognizedIntent) cacheable}. If another thread is
+     * computing the result of the same {@code key} this method waits for it instead of running the provided {@code
+     * recognition}.
+     *
+     * @param key         the {@link Key} of the result
+     * @param recognition the {@link Recognition} computing the result
+     * @param provider    the {@link AbstractIntentRecognitionProvider} defining whether results can be cached
+     * @return a {@link RecognizedIntent} that is not shared with the cache
+     * @throws NullPointerException               if the provided {@code key}, {@code recognition}, or {@code
+     *                                            provider} is {@code null}
+     * @throws IntentRecognitionProviderException if an error occurred when computing the result
+     */
+    public RecognizedIntent get(@NonNull Key key, @NonNull Recognition recognition,
+                                @NonNull AbstractIntentRecognitionProvider provider)
+            throws IntentRecognitionProviderException {
+        RecognizedIntent cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (nonNull(cached)) {
+            hitCount.incrementAndGet();
+            return EcoreUtil.copy(cached);
+        }
+        CompletableFuture<RecognizedIntent> flight = new CompletableFuture<>();
+        CompletableFuture<RecognizedIntent> existingFlight = inFlightRecognitions.putIfAbsent(key, flight);
+        if (nonNull(existingFlight)) {
+            hitCount.incrementAndGet();
+            return EcoreUtil.copy(awaitFlight(existingFlight));
+        }
+        missCount.incrementAndGet();
+        long startGeneration = generation.get();
+        try {
+            RecognizedIntent result = recognition.recognize();
+            /*
+             * Store a copy: the returned instance can be updated by the caller while other threads copy the
+             * cached one.
+             */
+            RecognizedIntent stored = EcoreUtil.copy(result);
+            if (provider.isCacheable(result)) {
+                synchronized (entries) {
+                    if (generation.get() == startGeneration) {
+                        entries.put(key, stored);
+                    }
+                }
+            }
+            flight.complete(stored);
+            return result;
+        } catch (Throwable t) {
+            /*
+             * Complete the flight for any Throwable (including Errors), otherwise the threads waiting for it are
+             * blocked forever.
+             */
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlightRecognitions.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for the result of the provided {@code flight}.
+     *
+     * @param flight the recognition in progress
+     * @return the result of the recognition
+     * @throws IntentRecognitionProviderException if the recognition failed or the current thread is interrupted
+     */
+    private RecognizedIntent awaitFlight(CompletableFuture<RecognizedIntent> flight)
+            throws IntentRecognitionProviderException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntentRecognitionProviderException("Interrupted while waiting for a concurrent recognition", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IntentRecognitionProviderException("An error occurred during a concurrent recognition",
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     * <p>
+     * The results of the recognitions in progress are not cached, and new lookups do not wait for them.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        inFlightRecognitions.clear();
+    }
+
+    /**
+     * Returns the maximum number of results stored in the cache.
+     *
+     * @return the maximum number of results stored in the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of results stored in the cache.
+     *
+     * @return the number of results stored in the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups returning a cached or in-flight result.
+     *
+     * @return the number of lookups returning a cached or in-flight result
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups querying the intent recognition provider.
+     *
+     * @return the number of lookups querying the intent recognition provider
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Computes a {@link RecognizedIntent} that is not in the cache.
+     */
+    @FunctionalInterface
+    public interface Recognition {
+
+        /**
+         * Computes the {@link RecognizedIntent}.
+         *
+         * @return the computed {@link RecognizedIntent}
+         * @throws IntentRecognitionProviderException if an error occurred when accessing the intent provider
+         */
+        RecognizedIntent recognize() throws IntentRecognitionProviderException;
+    }
+
+    /**
+     * The key of a cached {@link RecognizedIntent}.
+     * <p>
+     * A key contains the pre-processed input, the {@link MatchableIntents} of the session's state, and the names of
+     * the {@code Enable<IntentName>} contexts of the session. Two sessions in the same state, and with the same
+     * explicitly enabled intents, share their cached results.
+     */
+    public static final class Key {
+
+        /**
+         * The pre-processed input.
+         */
+        private final String input;
+
+        /**
+         * The {@link MatchableIntents} of the session's state.
+         */
+        private final MatchableIntents matchableIntents;
+
+        /**
+         * The names of the {@code Enable<IntentName>} contexts of the session.
+         */
+        private final Set<String> enableContextNames;
+
+        /**
+         * The pre-computed hash code of the key.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs a {@link Key} with the provided content.
+         *
+         * @param input              the pre-processed input
+         * @param matchableIntents   the {@link MatchableIntents} of the session's state
+         * @param enableContextNames the names of the {@code Enable<IntentName>} contexts of the session
+         */
+        private Key(String input, MatchableIntents matchableIntents, Set<String> enableContextNames) {
+            this.input = input;
+            this.matchableIntents = matchableIntents;
+            this.enableContextNames = enableContextNames;
+            this.hashCode = Objects.hash(input, System.identityHashCode(matchableIntents), enableContextNames);
+        }
+
+        /**
+         * Creates the {@link Key} of the provided {@code input} in the given {@code session}.
+         *
+         * @param input   the pre-processed input
+         * @param session the {@link XatkitSession} the input has been received in
+         * @return the created {@link Key}
+         * @throws NullPointerException if the provided {@code input} or {@code session} is {@code null}
+         */
+        public static Key of(@NonNull String input, @NonNull XatkitSession session) {
+            Set<String> enableContextNames = new HashSet<>();
+            for (String contextName : session.getRuntimeContexts().getSnapshot().getContextMap().keySet()) {
+                if (contextName.startsWith(ENABLE_CONTEXT_PREFIX)) {
+                    enableContextNames.add(contextName);
+                }
+            }
+            return new Key(input, session.getMatchableIntents(), Collections.unmodifiableSet(enableContextNames));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && matchableIntents == other.matchableIntents
+                    && input.equals(other.input) && enableContextNames.equals(other.enableContextNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
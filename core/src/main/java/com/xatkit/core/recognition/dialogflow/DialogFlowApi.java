@@ -406,6 +406,7 @@ public class DialogFlowApi extends AbstractIntentRecognitionProvider {
                         "the intent already exists", intentDefinition.getName()), e);
             }
         }
+        invalidateRecognitionCache();
     }
 
     /**
@@ -493,6 +494,7 @@ public class DialogFlowApi extends AbstractIntentRecognitionProvider {
          * Remove the deleted Intent from the local cache.
          */
         this.registeredIntents.remove(intent.getDisplayName());
+        invalidateRecognitionCache();
     }
 
     /**
@@ -518,6 +520,7 @@ public class DialogFlowApi extends AbstractIntentRecognitionProvider {
         Log.warn("Cannot check if the DialogFlow agent has been trained, assuming it is. If the bot does not behave " +
                 "as expected try to restart it (see this issue for more information https://github" +
                 ".com/xatkit-bot-platform/xatkit-runtime/issues/294).");
+        invalidateRecognitionCache();
         // This is how we should properly do it, but we can't because if this issue https://github
         // .com/xatkit-bot-platform/xatkit-runtime/issues/294
 //        boolean isDone = false;
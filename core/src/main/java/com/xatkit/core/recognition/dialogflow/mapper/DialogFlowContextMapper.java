@@ -7,6 +7,7 @@ import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
 import com.xatkit.core.recognition.dialogflow.DialogFlowConfiguration;
 import com.xatkit.core.recognition.dialogflow.DialogFlowSession;
+import com.xatkit.core.session.RuntimeContextsSnapshot;
 import lombok.NonNull;
 
 import java.text.MessageFormat;
@@ -57,11 +58,15 @@ public class DialogFlowContextMapper {
      */
     public Iterable<Context> mapDialogFlowSession(@NonNull DialogFlowSession session) {
         List<Context> result = new ArrayList<>();
-        session.getRuntimeContexts().getContextMap().entrySet().stream().forEach(contextEntry ->
+        /*
+         * Use a single snapshot: the contexts and their lifespan counts must be consistent even if the session is
+         * updated concurrently.
+         */
+        RuntimeContextsSnapshot runtimeContexts = session.getRuntimeContexts().getSnapshot();
+        runtimeContexts.getContextMap().entrySet().stream().forEach(contextEntry ->
         {
             String contextName = contextEntry.getKey();
-            int contextLifespanCount = session.getRuntimeContexts().getContextLifespanCount
-                    (contextName);
+            int contextLifespanCount = runtimeContexts.getContextLifespanCount(contextName);
             Context.Builder builder =
                     Context.newBuilder().setName(ContextName.of(this.configuration.getProjectId(),
                             session.getSessionName().getSession(), contextName).toString());
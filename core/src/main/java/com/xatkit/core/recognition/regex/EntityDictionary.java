@@ -0,0 +1,182 @@
+package com.xatkit.core.recognition.regex;
+
+import com.xatkit.intent.MappingEntityDefinition;
+import com.xatkit.intent.MappingEntityDefinitionEntry;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The dictionary of the values and synonyms of a {@link MappingEntityDefinition}.
+ * <p>
+ * The dictionary stores the values and synonyms of the entity in a trie, and translates it into a RegExp where
+ * the common prefixes of the values are factored (e.g. {@code New York|New Delhi|Paris} is translated into
+ * {@code (?:New (?:Delhi|York)|Paris)}). This RegExp is used as the entity slot of the patterns created by the
+ * {@link RegExIntentRecognitionProvider}: matching it from a position of the input walks the trie, and takes a time
+ * proportional to the length of the matched value instead of the number of values of the entity. The size of the
+ * RegExp is bounded by the total length of the values.
+ * <p>
+ * {@link #getReferenceValue(String)} retrieves the reference value of a matched value or synonym.
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ */
+final class EntityDictionary {
+
+    /**
+     * The RegExp characters that are escaped in the produced RegExp.
+     */
+    private static final String REGEXP_SPECIAL_CHARACTERS = "{}()[].+*?^$\\|";
+
+    /**
+     * The RegExp matching the values and synonyms of the entity.
+     */
+    private final String regExp;
+
+    /**
+     * The reference values of the entity, indexed by value and synonym.
+     */
+    private final Map<String, String> referenceValues;
+
+    /**
+     * Constructs an {@link EntityDictionary} with the provided content.
+     *
+     * @param regExp          the RegExp matching the values and synonyms of the entity
+     * @param referenceValues the reference values of the entity, indexed by value and synonym
+     */
+    private EntityDictionary(String regExp, Map<String, String> referenceValues) {
+        this.regExp = regExp;
+        this.referenceValues = referenceValues;
+    }
+
+    /**
+     * Creates an {@link EntityDictionary} containing the values and synonyms of the provided
+     * {@code entityDefinition}.
+     * <p>
+     * If a synonym is shared by several entries it is associated to the reference value of the first one.
+     *
+     * @param entityDefinition the {@link MappingEntityDefinition} to create a dictionary from
+     * @return the created {@link EntityDictionary}
+     * @throws NullPointerException if the provided {@code entityDefinition} is {@code null}
+     */
+    static EntityDictionary of(@NonNull MappingEntityDefinition entityDefinition) {
+        Node root = new Node();
+        Map<String, String> referenceValues = new HashMap<>();
+        for (MappingEntityDefinitionEntry entry : entityDefinition.getEntries()) {
+            String referenceValue = entry.getReferenceValue();
+            root.add(referenceValue);
+            referenceValues.putIfAbsent(referenceValue, referenceValue);
+            for (String synonym : entry.getSynonyms()) {
+                root.add(synonym);
+                referenceValues.putIfAbsent(synonym, referenceValue);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        root.appendRegExp(sb);
+        return new EntityDictionary(sb.toString(), Collections.unmodifiableMap(referenceValues));
+    }
+
+    /**
+     * Returns the RegExp matching the values and synonyms of the entity.
+     * <p>
+     * The returned RegExp does not contain capturing groups.
+     *
+     * @return the RegExp matching the values and synonyms of the entity
+     */
+    String getRegExp() {
+        return regExp;
+    }
+
+    /**
+     * Returns the reference value associated to the provided {@code value}.
+     *
+     * @param value the matched value or synonym
+     * @return the reference value, or {@code null} if the provided {@code value} is not part of the dictionary
+     * @throws NullPointerException if the provided {@code value} is {@code null}
+     */
+    @Nullable
+    String getReferenceValue(@NonNull String value) {
+        return referenceValues.get(value);
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+
+        /**
+         * The children of the node, sorted by character.
+         */
+        private final Map<Character, Node> children = new TreeMap<>();
+
+        /**
+         * Whether a value ends on this node.
+         */
+        private boolean terminal;
+
+        /**
+         * Adds the provided {@code value} to the trie rooted by this node.
+         *
+         * @param value the value to add
+         */
+        private void add(String value) {
+            Node node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.computeIfAbsent(value.charAt(i), k -> new Node());
+            }
+            node.terminal = true;
+        }
+
+        /**
+         * Appends the RegExp matching the suffixes stored in the trie rooted by this node.
+         * <p>
+         * Chains of nodes with a single child are appended as literal characters, and a non-capturing group is
+         * only created when the trie branches. The group is optional if a value ends on this node, and is tried
+         * first to match the longest value.
+         *
+         * @param sb the {@link StringBuilder} to append the RegExp to
+         */
+        private void appendRegExp(StringBuilder sb) {
+            Node node = this;
+            while (node.children.size() == 1 && !node.terminal) {
+                Map.Entry<Character, Node> child = node.children.entrySet().iterator().next();
+                appendEscaped(sb, child.getKey());
+                node = child.getValue();
+            }
+            if (node.children.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<Character, Node>> children = new ArrayList<>(node.children.entrySet());
+            sb.append("(?:");
+            for (int i = 0; i < children.size(); i++) {
+                if (i > 0) {
+                    sb.append('|');
+                }
+                appendEscaped(sb, children.get(i).getKey());
+                children.get(i).getValue().appendRegExp(sb);
+            }
+            sb.append(')');
+            if (node.terminal) {
+                sb.append('?');
+            }
+        }
+
+        /**
+         * Appends the provided {@code c}, escaping it if it is a RegExp special character.
+         *
+         * @param sb the {@link StringBuilder} to append the character to
+         * @param c  the character to append
+         */
+        private static void appendEscaped(StringBuilder sb, char c) {
+            if (REGEXP_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+    }
+}
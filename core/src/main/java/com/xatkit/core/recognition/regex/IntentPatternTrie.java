@@ -0,0 +1,377 @@
+package com.xatkit.core.recognition.regex;
+
+import com.xatkit.intent.Context;
+import com.xatkit.intent.IntentDefinition;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A trie indexing the RegExp {@link Pattern}s of the {@link RegExIntentRecognitionProvider} by their literal prefix.
+ * <p>
+ * The trie is built from the {@link Pattern}s created for each training sentence:
+ * <ul>
+ * <li>{@link Pattern}s that do not contain any RegExp construct (i.e. training sentences without parameters) are
+ * <i>literal</i>, and are stored in a hash index by their normalized text (see {@link #normalize(CharSequence,
+ * boolean)}). {@link #getExactCandidates(String)} retrieves them with a single lookup, without any RegExp
+ * matching</li>
+ * <li>other {@link Pattern}s are inserted in the trie under the literal text preceding their first RegExp
+ * construct (typically the named group of an entity slot). Characters are folded with
+ * {@link Character#toLowerCase(char)} to support case insensitive {@link Pattern}s.
+ * {@link #getCandidates(String)} walks the trie along the input once and returns the {@link Pattern}s whose literal
+ * prefix is a prefix of the input. These candidates are a superset of the {@link Pattern}s matching the input, and
+ * must be matched to confirm the match and retrieve the values of their named groups</li>
+ * </ul>
+ * Candidates are returned in registration order. The trie also stores the out {@link Context}s without parameters
+ * of the indexed intents, that are set in all the {@link com.xatkit.intent.RecognizedIntent}s of these intents.
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ */
+final class IntentPatternTrie {
+
+    /**
+     * The empty {@link IntentPatternTrie}.
+     */
+    static final IntentPatternTrie EMPTY = new IntentPatternTrie(new Node(), Collections.emptyMap(),
+            Collections.emptyMap(), 0);
+
+    /**
+     * The RegExp characters that terminate the literal prefix of a {@link Pattern}.
+     */
+    private static final String REGEXP_SPECIAL_CHARACTERS = "{}()[].+*?^$|";
+
+    /**
+     * The case insensitive flag prepended to the {@link Pattern}s of intents without out contexts.
+     */
+    private static final String CASE_INSENSITIVE_FLAG = "(?i)";
+
+    /**
+     * The root of the trie.
+     */
+    private final Node root;
+
+    /**
+     * The literal {@link Candidate}s, indexed by their normalized text.
+     */
+    private final Map<String, List<Candidate>> exactCandidates;
+
+    /**
+     * The out {@link Context}s without parameters of the indexed intents.
+     */
+    private final Map<IntentDefinition, List<Context>> emptyOutContexts;
+
+    /**
+     * The number of {@link Pattern}s stored in the trie.
+     */
+    private final int size;
+
+    /**
+     * Constructs an {@link IntentPatternTrie} with the provided content.
+     *
+     * @param root             the root of the trie
+     * @param exactCandidates  the literal {@link Candidate}s, indexed by their normalized text
+     * @param emptyOutContexts the out {@link Context}s without parameters of the indexed intents
+     * @param size             the number of {@link Pattern}s stored in the trie
+     */
+    private IntentPatternTrie(Node root, Map<String, List<Candidate>> exactCandidates,
+                              Map<IntentDefinition, List<Context>> emptyOutContexts, int size) {
+        this.root = root;
+        this.exactCandidates = exactCandidates;
+        this.emptyOutContexts = emptyOutContexts;
+        this.size = size;
+    }
+
+    /**
+     * Builds an {@link IntentPatternTrie} from the provided {@code intentPatterns}.
+     * <p>
+     * The iteration order of the provided {@link Map} and of its {@link Pattern} {@link List}s defines the order of
+     * the candidates returned by {@link #getCandidates(String)}.
+     *
+     * @param intentPatterns the {@link Pattern}s to index, grouped by {@link IntentDefinition}
+     * @return the built {@link IntentPatternTrie}
+     * @throws NullPointerException if the provided {@code intentPatterns} is {@code null}
+     */
+    static IntentPatternTrie of(@NonNull Map<IntentDefinition, List<Pattern>> intentPatterns) {
+        Node root = new Node();
+        Map<String, List<Candidate>> exactCandidates = new HashMap<>();
+        Map<IntentDefinition, List<Context>> emptyOutContexts = new HashMap<>();
+        int ordinal = 0;
+        for (Map.Entry<IntentDefinition, List<Pattern>> intentEntry : intentPatterns.entrySet()) {
+            IntentDefinition intentDefinition = intentEntry.getKey();
+            for (Pattern pattern : intentEntry.getValue()) {
+                StringBuilder prefix = new StringBuilder();
+                boolean literal = parseLiteralPrefix(pattern.pattern(), prefix);
+                if (literal) {
+                    /*
+                     * Case sensitive patterns store their text to check the case of the input.
+                     */
+                    String text = pattern.pattern().startsWith("^" + CASE_INSENSITIVE_FLAG) ? null :
+                            normalize(prefix, false);
+                    exactCandidates.computeIfAbsent(normalize(prefix, true), k -> new ArrayList<>(1))
+                            .add(new Candidate(intentDefinition, pattern, ordinal++, text));
+                } else {
+                    Node node = root;
+                    for (int i = 0; i < prefix.length(); i++) {
+                        node = node.getOrCreateChild(Character.toLowerCase(prefix.charAt(i)));
+                    }
+                    node.slotCandidates.add(new Candidate(intentDefinition, pattern, ordinal++, null));
+                }
+            }
+            List<Context> intentEmptyOutContexts = new ArrayList<>();
+            for (Context context : intentDefinition.getOutContexts()) {
+                if (context.getParameters().isEmpty()) {
+                    intentEmptyOutContexts.add(context);
+                }
+            }
+            if (!intentEmptyOutContexts.isEmpty()) {
+                emptyOutContexts.put(intentDefinition, Collections.unmodifiableList(intentEmptyOutContexts));
+            }
+        }
+        return new IntentPatternTrie(root, exactCandidates, emptyOutContexts, ordinal);
+    }
+
+    /**
+     * Parses the literal prefix of the provided {@code regExp}.
+     * <p>
+     * This method handles the {@link Pattern}s created by the {@link RegExIntentRecognitionProvider}: the leading
+     * {@code ^} and case insensitive flag are skipped, escaped characters are unescaped, and the parsing stops at the
+     * first RegExp construct or at the trailing {@code $}.
+     *
+     * @param regExp the RegExp to parse
+     * @param prefix the {@link StringBuilder} to append the parsed literal prefix to
+     * @return {@code true} if the entire RegExp is literal, {@code false} otherwise
+     */
+    private static boolean parseLiteralPrefix(String regExp, StringBuilder prefix) {
+        int end = regExp.length();
+        int i = 0;
+        if (regExp.startsWith("^")) {
+            i++;
+        }
+        if (regExp.startsWith(CASE_INSENSITIVE_FLAG, i)) {
+            i += CASE_INSENSITIVE_FLAG.length();
+        }
+        while (i < end) {
+            char c = regExp.charAt(i);
+            if (c == '\\' && i + 1 < end && !Character.isLetterOrDigit(regExp.charAt(i + 1))) {
+                prefix.append(regExp.charAt(i + 1));
+                i += 2;
+            } else if (c == '$' && i == end - 1) {
+                return true;
+            } else if (c == '\\' || REGEXP_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            } else {
+                prefix.append(c);
+                i++;
+            }
+        }
+        /*
+         * The RegExp is not anchored at the end, it can match inputs longer than its literal text.
+         */
+        return false;
+    }
+
+    /**
+     * Normalizes the provided {@code text}.
+     * <p>
+     * This method removes the leading and trailing whitespaces of the provided {@code text}, and replaces the other
+     * sequences of whitespaces by a single space.
+     *
+     * @param text     the text to normalize
+     * @param foldCase whether to fold the case of the characters with {@link Character#toLowerCase(char)}
+     * @return the normalized text
+     */
+    static String normalize(CharSequence text, boolean foldCase) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(foldCase ? Character.toLowerCase(c) : c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the literal {@link Candidate}s matching the provided {@code input}.
+     * <p>
+     * The returned {@link Candidate}s are matched: they do not need to be confirmed with their {@link Pattern}.
+     * Note that the input is normalized (see {@link #normalize(CharSequence, boolean)}), meaning that literal
+     * {@link Candidate}s match inputs that only differ from their training sentence by their whitespaces.
+     *
+     * @param input the input to retrieve the literal {@link Candidate}s of
+     * @return the literal {@link Candidate}s matching the provided {@code input}, in registration order
+     * @throws NullPointerException if the provided {@code input} is {@code null}
+     */
+    List<Candidate> getExactCandidates(@NonNull String input) {
+        List<Candidate> candidates = exactCandidates.get(normalize(input, true));
+        if (isNull(candidates)) {
+            return Collections.emptyList();
+        }
+        List<Candidate> result = new ArrayList<>(candidates.size());
+        String text = null;
+        for (Candidate candidate : candidates) {
+            if (nonNull(candidate.text)) {
+                if (isNull(text)) {
+                    text = normalize(input, false);
+                }
+                if (!candidate.text.equals(text)) {
+                    continue;
+                }
+            }
+            result.add(candidate);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@link Candidate}s with an entity slot that can match the provided {@code input}.
+     *
+     * @param input the input to retrieve the {@link Candidate}s of
+     * @return the {@link Candidate}s that can match the provided {@code input}, in registration order
+     * @throws NullPointerException if the provided {@code input} is {@code null}
+     */
+    List<Candidate> getCandidates(@NonNull String input) {
+        List<Candidate> result = new ArrayList<>();
+        Node node = root;
+        result.addAll(node.slotCandidates);
+        for (int i = 0; i < input.length(); i++) {
+            node = node.children.get(Character.toLowerCase(input.charAt(i)));
+            if (isNull(node)) {
+                break;
+            }
+            result.addAll(node.slotCandidates);
+        }
+        if (result.size() > 1) {
+            result.sort((c1, c2) -> Integer.compare(c1.ordinal, c2.ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the out {@link Context}s without parameters of the provided {@code intentDefinition}.
+     * <p>
+     * These {@link Context}s are not set from the matched input, and are added to all the
+     * {@link com.xatkit.intent.RecognizedIntent}s of the provided {@code intentDefinition}.
+     *
+     * @param intentDefinition the {@link IntentDefinition} to retrieve the out {@link Context}s of
+     * @return an unmodifiable {@link List} containing the out {@link Context}s without parameters
+     */
+    List<Context> getEmptyOutContexts(IntentDefinition intentDefinition) {
+        return emptyOutContexts.getOrDefault(intentDefinition, Collections.emptyList());
+    }
+
+    /**
+     * Returns the number of {@link Pattern}s stored in the trie.
+     *
+     * @return the number of {@link Pattern}s stored in the trie
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * A {@link Pattern} that can match an input, and the {@link IntentDefinition} it has been created from.
+     */
+    static final class Candidate {
+
+        /**
+         * The {@link IntentDefinition} the {@link Pattern} has been created from.
+         */
+        private final IntentDefinition intentDefinition;
+
+        /**
+         * The {@link Pattern} to match.
+         */
+        private final Pattern pattern;
+
+        /**
+         * The registration order of the {@link Pattern}.
+         */
+        private final int ordinal;
+
+        /**
+         * The normalized text of a case sensitive literal {@link Pattern}, {@code null} for other {@link Pattern}s.
+         */
+        private final String text;
+
+        /**
+         * Constructs a {@link Candidate} with the provided content.
+         *
+         * @param intentDefinition the {@link IntentDefinition} the {@link Pattern} has been created from
+         * @param pattern          the {@link Pattern} to match
+         * @param ordinal          the registration order of the {@link Pattern}
+         * @param text             the normalized text of a case sensitive literal {@link Pattern}
+         */
+        private Candidate(IntentDefinition intentDefinition, Pattern pattern, int ordinal, @Nullable String text) {
+            this.intentDefinition = intentDefinition;
+            this.pattern = pattern;
+            this.ordinal = ordinal;
+            this.text = text;
+        }
+
+        /**
+         * Returns the {@link IntentDefinition} the {@link Pattern} has been created from.
+         *
+         * @return the {@link IntentDefinition}
+         */
+        IntentDefinition getIntentDefinition() {
+            return intentDefinition;
+        }
+
+        /**
+         * Returns the {@link Pattern} to match.
+         *
+         * @return the {@link Pattern}
+         */
+        Pattern getPattern() {
+            return pattern;
+        }
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+
+        /**
+         * The children of the node, indexed by their (folded) character.
+         */
+        private Map<Character, Node> children = Collections.emptyMap();
+
+        /**
+         * The {@link Candidate}s with an entity slot whose literal prefix ends on this node.
+         */
+        private final List<Candidate> slotCandidates = new ArrayList<>(0);
+
+        /**
+         * Returns the child of this node associated to the provided {@code c}, creating it if necessary.
+         * <p>
+         * This method is only called when building the trie.
+         *
+         * @param c the character of the child
+         * @return the child node
+         */
+        private Node getOrCreateChild(char c) {
+            if (children.isEmpty()) {
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(c, k -> new Node());
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.xatkit.core.recognition.AbstractIntentRecognitionProvider;
 import com.xatkit.core.recognition.EntityMapper;
 import com.xatkit.core.recognition.IntentRecognitionProviderFactory;
 import com.xatkit.core.recognition.RecognitionMonitor;
-import com.xatkit.core.session.RuntimeContexts;
+import com.xatkit.core.session.MatchableIntents;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.intent.BaseEntityDefinition;
 import com.xatkit.intent.CompositeEntityDefinition;
@@ -22,7 +22,6 @@ import com.xatkit.intent.IntentDefinition;
 import com.xatkit.intent.IntentFactory;
 import com.xatkit.intent.LiteralTextFragment;
 import com.xatkit.intent.MappingEntityDefinition;
-import com.xatkit.intent.MappingEntityDefinitionEntry;
 import com.xatkit.intent.RecognizedIntent;
 import com.xatkit.intent.TextFragment;
 import fr.inria.atlanmod.commons.log.Log;
@@ -32,9 +31,18 @@ import org.apache.commons.configuration2.Configuration;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -105,15 +113,65 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      */
     private EntityMapper entityMapper;
 
+    /**
+     * The {@link EntityDictionary} instances of the registered {@link MappingEntityDefinition}s, indexed by entity
+     * name.
+     * <p>
+     * These dictionaries are used to retrieve the reference values of the matched entity synonyms. This {@link Map}
+     * is only accessed while holding the {@link #registrationLock}, the recognition reads the dictionaries of the
+     * current {@link RegExRecognizerSnapshot}.
+     *
+     * @see #registerCustomEntityDefinition(CustomEntityDefinition)
+     */
+    private Map<String, EntityDictionary> entityDictionaries;
+
     /**
      * The {@link Map} used to store RegExp {@link Pattern}s associated to the registered {@link IntentDefinition}.
      * <p>
      * {@link Pattern}s in this map are iterated when an input is received to retrieve the corresponding
      * {@link IntentDefinition}. Note that the stored {@link Pattern}s are strict and match exactly the training
      * sentence used to create them.
+     * <p>
+     * This {@link Map} is only accessed while holding the {@link #registrationLock}, the recognition reads the
+     * {@link Pattern}s indexed in the current {@link RegExRecognizerSnapshot}.
      */
     private Map<IntentDefinition, List<Pattern>> intentPatterns;
 
+    /**
+     * The lock serializing the registrations and deletions of intents and entities.
+     * <p>
+     * This lock guards the {@link #entityMapper}, {@link #entityDictionaries}, {@link #intentPatterns}, and
+     * {@link #registrationsVersion}. The recognition does not wait for this lock.
+     */
+    private final ReentrantLock registrationLock = new ReentrantLock();
+
+    /**
+     * The version of the registrations, incremented every time an intent or an entity is registered or deleted.
+     */
+    private volatile long registrationsVersion;
+
+    /**
+     * The current {@link RegExRecognizerSnapshot}, used to match the user inputs.
+     * <p>
+     * A new snapshot is built in the background when the registrations are updated, and atomically replaces this one
+     * (see {@link #getRecognizerSnapshot()}).
+     */
+    private final AtomicReference<RegExRecognizerSnapshot> recognizerSnapshot =
+            new AtomicReference<>(RegExRecognizerSnapshot.EMPTY);
+
+    /**
+     * Whether a rebuild of the {@link #recognizerSnapshot} has been scheduled and has not started yet.
+     * <p>
+     * This flag allows to coalesce the rebuilds requested by consecutive registrations (e.g. when the bot's intents
+     * are registered at startup).
+     */
+    private final AtomicBoolean snapshotRebuildScheduled = new AtomicBoolean(false);
+
+    /**
+     * The {@link ExecutorService} rebuilding the {@link #recognizerSnapshot} in the background.
+     */
+    private final ExecutorService snapshotRebuildExecutor;
+
     @Nullable
     private RecognitionMonitor recognitionMonitor;
 
@@ -131,8 +189,14 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
         this.configuration = configuration;
         this.isShutdown = false;
         this.entityMapper = new RegExEntityMapper();
-        this.intentPatterns = new HashMap<>();
+        this.entityDictionaries = new HashMap<>();
+        this.intentPatterns = new LinkedHashMap<>();
         this.recognitionMonitor = recognitionMonitor;
+        this.snapshotRebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "xatkit-regex-recognizer");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -153,31 +217,32 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
                     BaseEntityDefinition.class.getSimpleName(), baseEntityDefinition.getEntityType().getLiteral());
         } else if (entityDefinition instanceof CustomEntityDefinition) {
             Log.debug("Registering {0} {1}", CustomEntityDefinition.class.getSimpleName(), entityDefinition.getName());
-            this.registerCustomEntityDefinition((CustomEntityDefinition) entityDefinition);
+            registrationLock.lock();
+            try {
+                this.registerCustomEntityDefinition((CustomEntityDefinition) entityDefinition);
+                registrationsUpdated();
+            } finally {
+                registrationLock.unlock();
+            }
         }
     }
 
     /**
      * Registers the provided {@code customEntityDefinition}.
      * <p>
-     * This method registers both {@link MappingEntityDefinition} and {@link CompositeEntityDefinition}. Note that
-     * the registered {@link MappingEntityDefinition}s does not allow for synonym matching.
+     * This method registers both {@link MappingEntityDefinition} and {@link CompositeEntityDefinition}. The values
+     * and synonyms of {@link MappingEntityDefinition}s are stored in an {@link EntityDictionary}, that produces a
+     * RegExp where the common prefixes of the values are factored. This RegExp is matched in a time proportional to
+     * the length of the matched value, regardless of the number of values of the entity.
      *
      * @param entityDefinition the {@link CustomEntityDefinition} to register
      * @throws NullPointerException if the provided {@code entityDefinition} is {@code null}
      */
     private void registerCustomEntityDefinition(@NonNull CustomEntityDefinition entityDefinition) {
         if (entityDefinition instanceof MappingEntityDefinition) {
-            MappingEntityDefinition mappingEntityDefinition = (MappingEntityDefinition) entityDefinition;
-            List<String> entityValues = new ArrayList<>();
-            for (MappingEntityDefinitionEntry entry : mappingEntityDefinition.getEntries()) {
-                entityValues.add(escapeRegExpReservedCharacters(entry.getReferenceValue()));
-                /*
-                 * Note: this method does not take into account synonyms
-                 */
-            }
-            String patternPart = String.join("|", entityValues);
-            this.entityMapper.addEntityMapping(entityDefinition, patternPart);
+            EntityDictionary entityDictionary = EntityDictionary.of((MappingEntityDefinition) entityDefinition);
+            this.entityDictionaries.put(entityDefinition.getName(), entityDictionary);
+            this.entityMapper.addEntityMapping(entityDefinition, entityDictionary.getRegExp());
         } else if (entityDefinition instanceof CompositeEntityDefinition) {
             CompositeEntityDefinition compositeEntityDefinition = (CompositeEntityDefinition) entityDefinition;
             registerReferencedEntityDefinitions(compositeEntityDefinition);
@@ -247,8 +312,14 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
          * This method does not register the parent of the provided intentDefinition. This is not required: if the
          * parent is not registered the intent will not be matched anyways (see #getMatchableIntentDefinition).
          */
-        List<Pattern> patterns = createPatterns(intentDefinition);
-        this.intentPatterns.put(intentDefinition, patterns);
+        registrationLock.lock();
+        try {
+            List<Pattern> patterns = createPatterns(intentDefinition);
+            this.intentPatterns.put(intentDefinition, patterns);
+            registrationsUpdated();
+        } finally {
+            registrationLock.unlock();
+        }
     }
 
     /**
@@ -337,7 +408,14 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
         /*
          * Quick fix: should be done properly.
          */
-        this.entityMapper.removeMappingFor(entityDefinition);
+        registrationLock.lock();
+        try {
+            this.entityMapper.removeMappingFor(entityDefinition);
+            this.entityDictionaries.remove(entityDefinition.getName());
+            registrationsUpdated();
+        } finally {
+            registrationLock.unlock();
+        }
     }
 
     /**
@@ -351,7 +429,13 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      */
     @Override
     public void deleteIntentDefinition(@NonNull IntentDefinition intentDefinition) {
-        this.intentPatterns.remove(intentDefinition);
+        registrationLock.lock();
+        try {
+            this.intentPatterns.remove(intentDefinition);
+            registrationsUpdated();
+        } finally {
+            registrationLock.unlock();
+        }
     }
 
     /**
@@ -388,7 +472,16 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      */
     @Override
     public void shutdown() {
-        this.intentPatterns = null;
+        this.snapshotRebuildExecutor.shutdownNow();
+        registrationLock.lock();
+        try {
+            this.intentPatterns.clear();
+            this.entityDictionaries.clear();
+            registrationsUpdated();
+        } finally {
+            registrationLock.unlock();
+        }
+        this.recognizerSnapshot.set(RegExRecognizerSnapshot.EMPTY);
         this.isShutdown = true;
         if (nonNull(this.recognitionMonitor)) {
             this.recognitionMonitor.shutdown();
@@ -403,12 +496,107 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
         return isShutdown;
     }
 
+    /**
+     * Records an update of the registrations and schedules a rebuild of the {@link RegExRecognizerSnapshot}.
+     * <p>
+     * This method must be called while holding the {@link #registrationLock}. Rebuilds requested while a rebuild is
+     * already scheduled are coalesced.
+     */
+    private void registrationsUpdated() {
+        registrationsVersion++;
+        if (!snapshotRebuildExecutor.isShutdown() && snapshotRebuildScheduled.compareAndSet(false, true)) {
+            try {
+                snapshotRebuildExecutor.execute(() -> {
+                    snapshotRebuildScheduled.set(false);
+                    rebuildRecognizerSnapshot(true);
+                });
+            } catch (RejectedExecutionException e) {
+                /*
+                 * The provider has been shut down concurrently, the snapshot will be rebuilt by the next recognition.
+                 */
+                snapshotRebuildScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link RegExRecognizerSnapshot} used to match the user inputs.
+     * <p>
+     * This method returns the current snapshot if it is up to date. Otherwise it builds and publishes a new snapshot
+     * if the registrations are not being updated, or returns the current snapshot until the registration completes
+     * and the background rebuild publishes a new one. This method never waits for the registrations.
+     *
+     * @return the {@link RegExRecognizerSnapshot} used to match the user inputs
+     */
+    RegExRecognizerSnapshot getRecognizerSnapshot() {
+        RegExRecognizerSnapshot snapshot = recognizerSnapshot.get();
+        if (snapshot.getVersion() == registrationsVersion) {
+            return snapshot;
+        }
+        return rebuildRecognizerSnapshot(false);
+    }
+
+    /**
+     * Builds a {@link RegExRecognizerSnapshot} from the current registrations and publishes it.
+     * <p>
+     * The registrations are copied while holding the {@link #registrationLock}, the snapshot is built without
+     * holding it. The snapshot is published only if it is more recent than the current one, meaning that concurrent
+     * rebuilds cannot replace a snapshot with an older one.
+     *
+     * @param wait whether to wait for the {@link #registrationLock}, if {@code false} and the lock is held by a
+     *             registration the current snapshot is returned
+     * @return the published snapshot, or the current one if it is at least as recent
+     */
+    private RegExRecognizerSnapshot rebuildRecognizerSnapshot(boolean wait) {
+        long version;
+        Map<IntentDefinition, List<Pattern>> intentPatternsCopy;
+        Map<String, EntityDictionary> entityDictionariesCopy;
+        if (wait) {
+            registrationLock.lock();
+        } else if (!registrationLock.tryLock()) {
+            return recognizerSnapshot.get();
+        }
+        try {
+            version = registrationsVersion;
+            if (recognizerSnapshot.get().getVersion() >= version) {
+                return recognizerSnapshot.get();
+            }
+            intentPatternsCopy = new LinkedHashMap<>(intentPatterns);
+            entityDictionariesCopy = new HashMap<>(entityDictionaries);
+        } finally {
+            registrationLock.unlock();
+        }
+        RegExRecognizerSnapshot snapshot = RegExRecognizerSnapshot.of(version, intentPatternsCopy,
+                entityDictionariesCopy);
+        while (true) {
+            RegExRecognizerSnapshot current = recognizerSnapshot.get();
+            if (current.getVersion() >= version) {
+                return current;
+            }
+            if (recognizerSnapshot.compareAndSet(current, snapshot)) {
+                /*
+                 * Discard the results cached (or being computed) with the previous snapshots.
+                 */
+                invalidateRecognitionCache();
+                Log.debug("Published RegExp recognizer snapshot {0} ({1} patterns, {2} intents)", version,
+                        snapshot.getIntentPatternTrie().size(), intentPatternsCopy.size());
+                return snapshot;
+            }
+        }
+    }
+
     /**
      * Computes the {@link RecognizedIntent} associated to the provided {@code input}.
      * <p>
      * This method relies on the RegExp patterns created when calling
-     * {@link #registerIntentDefinition(IntentDefinition)} to match the provided input. The provided {@code session}
-     * is used to retrieve the intents that can be matched according to the current contexts.
+     * {@link #registerIntentDefinition(IntentDefinition)} to match the provided input. Training sentences without
+     * parameters are retrieved with a hash lookup of the normalized input, ignoring the differences in whitespaces.
+     * The other candidate patterns are retrieved from the {@link IntentPatternTrie} in a single pass over the input,
+     * and only these candidates are matched. The provided {@code session} is used to retrieve the intents that can
+     * be matched according to the current contexts.
+     * <p>
+     * If several intents match the provided {@code input} the training sentences without parameters take
+     * precedence, and the first registered intent is returned.
      * <p>
      * If the {@link RegExIntentRecognitionProvider} cannot find a valid {@link IntentDefinition} for the provided
      * {@code input} the returned {@link RecognizedIntent}'s definition will be the {@link #DEFAULT_FALLBACK_INTENT}.
@@ -436,29 +624,30 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
          */
         recognizedIntent.setRecognitionConfidence(1);
         recognizedIntent.setMatchedInput(input);
-        List<IntentDefinition> matchableIntents = getMatchableIntents(intentPatterns.keySet(), session);
-        for (IntentDefinition intentDefinition : matchableIntents) {
-            List<Pattern> patterns = intentPatterns.get(intentDefinition);
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(input);
-                if (matcher.matches()) {
-                    recognizedIntent.setDefinition(intentDefinition);
-                    if (matcher.groupCount() > 0) {
-                        setContextParameterValuesFromMatcher(matcher, intentDefinition, recognizedIntent);
-                    }
-                    /*
-                     * Sets additional values that are not part of the matched expressions. These values can be
-                     * follow-up contexts, or empty contexts.
-                     */
-                    setEmptyContexts(intentDefinition, recognizedIntent);
-                    /*
-                     * Return the first one we find, no need to iterate the rest of the map
-                     */
-                    if (nonNull(this.recognitionMonitor)) {
-                        this.recognitionMonitor.logRecognizedIntent(session, recognizedIntent);
-                    }
-                    return recognizedIntent;
-                }
+        /*
+         * Read a single snapshot, concurrent registrations do not affect the recognition of this input.
+         */
+        RegExRecognizerSnapshot snapshot = getRecognizerSnapshot();
+        IntentPatternTrie intentPatternTrie = snapshot.getIntentPatternTrie();
+        /*
+         * Training sentences without parameters are matched with a single lookup, the RegExp patterns are only
+         * matched if none of them is matchable.
+         */
+        List<IntentPatternTrie.Candidate> exactCandidates =
+                getMatchableCandidates(intentPatternTrie.getExactCandidates(input), session);
+        if (!exactCandidates.isEmpty()) {
+            return setMatchedIntent(exactCandidates.get(0).getIntentDefinition(), null, snapshot, recognizedIntent,
+                    session);
+        }
+        for (IntentPatternTrie.Candidate candidate :
+                getMatchableCandidates(intentPatternTrie.getCandidates(input), session)) {
+            Matcher matcher = candidate.getPattern().matcher(input);
+            if (matcher.matches()) {
+                /*
+                 * Return the first one we find, no need to iterate the rest of the candidates
+                 */
+                return setMatchedIntent(candidate.getIntentDefinition(), matcher, snapshot, recognizedIntent,
+                        session);
             }
         }
         /*
@@ -471,6 +660,64 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
         return recognizedIntent;
     }
 
+    /**
+     * Sets the provided {@code intentDefinition} and its out contexts in the given {@code recognizedIntent}.
+     *
+     * @param intentDefinition  the matched {@link IntentDefinition}
+     * @param matcher           the {@link Matcher} used to match the input, or {@code null} if the input has been
+     *                          matched without RegExp
+     * @param snapshot          the {@link RegExRecognizerSnapshot} used to match the input
+     * @param recognizedIntent  the {@link RecognizedIntent} to set
+     * @param session           the {@link XatkitSession} used to match the input
+     * @return the provided {@code recognizedIntent}
+     */
+    private RecognizedIntent setMatchedIntent(IntentDefinition intentDefinition, @Nullable Matcher matcher,
+                                              RegExRecognizerSnapshot snapshot, RecognizedIntent recognizedIntent,
+                                              XatkitSession session) {
+        recognizedIntent.setDefinition(intentDefinition);
+        if (nonNull(matcher) && matcher.groupCount() > 0) {
+            setContextParameterValuesFromMatcher(matcher, intentDefinition, snapshot, recognizedIntent);
+        }
+        /*
+         * Sets additional values that are not part of the matched expressions. These values can be
+         * follow-up contexts, or empty contexts.
+         */
+        setEmptyContexts(snapshot.getIntentPatternTrie().getEmptyOutContexts(intentDefinition), recognizedIntent);
+        if (nonNull(this.recognitionMonitor)) {
+            this.recognitionMonitor.logRecognizedIntent(session, recognizedIntent);
+        }
+        return recognizedIntent;
+    }
+
+    /**
+     * Retrieves the {@link IntentPatternTrie.Candidate}s that can be matched according to the provided {@code
+     * session}.
+     *
+     * @param candidates the {@link IntentPatternTrie.Candidate}s to filter
+     * @param session    the {@link XatkitSession} storing contextual values
+     * @return the {@link IntentPatternTrie.Candidate}s of the intents that can be matched, in the order of the
+     * provided {@code candidates}
+     * @see #getMatchableIntents(Set, XatkitSession)
+     */
+    private List<IntentPatternTrie.Candidate> getMatchableCandidates(List<IntentPatternTrie.Candidate> candidates,
+                                                                     XatkitSession session) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<IntentDefinition> candidateIntents = new LinkedHashSet<>();
+        for (IntentPatternTrie.Candidate candidate : candidates) {
+            candidateIntents.add(candidate.getIntentDefinition());
+        }
+        Set<IntentDefinition> matchableIntents = new HashSet<>(getMatchableIntents(candidateIntents, session));
+        List<IntentPatternTrie.Candidate> result = new ArrayList<>(candidates.size());
+        for (IntentPatternTrie.Candidate candidate : candidates) {
+            if (matchableIntents.contains(candidate.getIntentDefinition())) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieves the {@link IntentDefinition}s that can be matched according to the provided {@code session}.
      * <p>
@@ -480,6 +727,9 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      * <li>the {@code follow-up} context of the followed intent (if there is such intent) is defined in the
      * session</li>
      * </ul>
+     * The intents accessed in the execution model are filtered with the {@link MatchableIntents} of the session's
+     * state. Intents that are not matchable from this state (including the ones that are not accessed in the
+     * execution model) are matchable if their {@code Enable<IntentName>} context is defined in the session.
      *
      * @param intentDefinitions the {@link Set} of {@link IntentDefinition} to retrieve the matchable intents from
      * @param session           the {@link XatkitSession} storing contextual values
@@ -489,11 +739,22 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      */
     private List<IntentDefinition> getMatchableIntents(@NonNull Set<IntentDefinition> intentDefinitions,
                                                        @NonNull XatkitSession session) {
-        RuntimeContexts runtimeContexts = session.getRuntimeContexts();
+        MatchableIntents matchableIntents = session.getMatchableIntents();
+        Map<String, Map<String, Object>> contextMap = null;
         List<IntentDefinition> result = new ArrayList<>();
         for (IntentDefinition intentDefinition : intentDefinitions) {
-            if (nonNull(runtimeContexts.getContextMap().get("Enable" + intentDefinition.getName()))) {
+            if (matchableIntents.isMatchable(intentDefinition)) {
                 result.add(intentDefinition);
+            } else {
+                /*
+                 * The intent is not matchable from the session's state, check if it has been explicitly enabled.
+                 */
+                if (isNull(contextMap)) {
+                    contextMap = session.getRuntimeContexts().getSnapshot().getContextMap();
+                }
+                if (nonNull(contextMap.get("Enable" + intentDefinition.getName()))) {
+                    result.add(intentDefinition);
+                }
             }
         }
         return result;
@@ -507,14 +768,17 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
      *
      * @param matcher          the matcher to retrieve the {@link ContextParameter}s from
      * @param intentDefinition the {@link IntentDefinition} containing the {@link ContextParameter} to retrieve
+     * @param snapshot         the {@link RegExRecognizerSnapshot} containing the {@link EntityDictionary} instances
+     *                         used to translate the matched synonyms
      * @param recognizedIntent the {@link RecognizedIntent} to set the created {@link ContextParameterValue} of
-     * @throws NullPointerException if the provided {@code matcher}, {@code intentDefinition}, or {@code
-     *                              recognizedIntent} is {@code null}
+     * @throws NullPointerException if the provided {@code matcher}, {@code intentDefinition}, {@code snapshot}, or
+     *                              {@code recognizedIntent} is {@code null}
      * @see #getOrCreateContextInstance(RecognizedIntent, Context)
      * @see #createContextParameterValue(ContextParameter, String)
      */
     private void setContextParameterValuesFromMatcher(@NonNull Matcher matcher,
                                                       @NonNull IntentDefinition intentDefinition,
+                                                      @NonNull RegExRecognizerSnapshot snapshot,
                                                       @NonNull RecognizedIntent recognizedIntent) {
         for (Context context : intentDefinition.getOutContexts()) {
             for (ContextParameter contextParameter : context.getParameters()) {
@@ -532,6 +796,17 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
                             "matched from the provided input \"\"", context.getName(), contextParameter.getName());
                     continue;
                 }
+                EntityDictionary entityDictionary =
+                        snapshot.getEntityDictionary(contextParameter.getEntity().getReferredEntity().getName());
+                if (nonNull(entityDictionary) && nonNull(matchedValue)) {
+                    /*
+                     * Translate the matched synonyms into their reference value.
+                     */
+                    String referenceValue = entityDictionary.getReferenceValue(matchedValue);
+                    if (nonNull(referenceValue)) {
+                        matchedValue = referenceValue;
+                    }
+                }
                 ContextParameterValue contextParameterValue = createContextParameterValue(contextParameter,
                         matchedValue);
                 ContextInstance contextInstance = getOrCreateContextInstance(recognizedIntent, context);
@@ -541,18 +816,19 @@ public class RegExIntentRecognitionProvider extends AbstractIntentRecognitionPro
     }
 
     /**
-     * Creates and sets the {@link ContextInstance}s corresponding to empty {@link Context}s from the provided {@code
-     * intentDefinition}.
+     * Creates and sets the {@link ContextInstance}s corresponding to the provided empty {@link Context}s.
+     * <p>
+     * The empty {@link Context}s of each intent are computed once when building the {@link IntentPatternTrie} (see
+     * {@link IntentPatternTrie#getEmptyOutContexts(IntentDefinition)}).
      *
-     * @param intentDefinition the {@link IntentDefinition} containing the {@link Context} definitions
+     * @param emptyContexts    the empty {@link Context}s to create {@link ContextInstance}s of
      * @param recognizedIntent the {@link RecognizedIntent} to set the {@link ContextInstance}s of
-     * @throws NullPointerException if the provided {@code intentDefinition} or {@code recognizedIntent} is {@code null}
+     * @throws NullPointerException if the provided {@code emptyContexts} or {@code recognizedIntent} is {@code null}
      */
-    private void setEmptyContexts(@NonNull IntentDefinition intentDefinition,
-                                  @NonNull RecognizedIntent recognizedIntent) {
-        intentDefinition.getOutContexts().stream()
-                .filter(context -> context.getParameters().isEmpty())
-                .forEach(context -> getOrCreateContextInstance(recognizedIntent, context));
+    private void setEmptyContexts(@NonNull List<Context> emptyContexts, @NonNull RecognizedIntent recognizedIntent) {
+        for (Context context : emptyContexts) {
+            getOrCreateContextInstance(recognizedIntent, context);
+        }
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.xatkit.core.recognition.regex;
+
+import com.xatkit.intent.IntentDefinition;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable snapshot of the compiled recognition state of a {@link RegExIntentRecognitionProvider}.
+ * <p>
+ * A snapshot contains the {@link IntentPatternTrie} indexing the RegExp {@link Pattern}s of the registered intents,
+ * and the {@link EntityDictionary} instances of the registered mapping entities. The
+ * {@link RegExIntentRecognitionProvider} publishes a new snapshot when intents or entities are registered or
+ * deleted, and the recognition reads a single snapshot without locking. Concurrent registrations do not affect the
+ * snapshots that are being read.
+ * <p>
+ * Each snapshot is associated to the version of the registrations it has been built from. Building a snapshot only
+ * indexes the {@link Pattern}s, that are compiled once when their intent is registered.
+ *
+ * @see RegExIntentRecognitionProvider#getRecognizerSnapshot()
+ */
+final class RegExRecognizerSnapshot {
+
+    /**
+     * The snapshot of a provider that does not contain any intent or entity.
+     */
+    static final RegExRecognizerSnapshot EMPTY = new RegExRecognizerSnapshot(0, IntentPatternTrie.EMPTY,
+            Collections.emptyMap());
+
+    /**
+     * The version of the registrations the snapshot has been built from.
+     */
+    private final long version;
+
+    /**
+     * The {@link IntentPatternTrie} indexing the {@link Pattern}s of the registered intents.
+     */
+    private final IntentPatternTrie intentPatternTrie;
+
+    /**
+     * The {@link EntityDictionary} instances of the registered mapping entities, indexed by entity name.
+     */
+    private final Map<String, EntityDictionary> entityDictionaries;
+
+    /**
+     * Constructs a {@link RegExRecognizerSnapshot} with the provided content.
+     *
+     * @param version            the version of the registrations the snapshot has been built from
+     * @param intentPatternTrie  the {@link IntentPatternTrie} indexing the {@link Pattern}s of the registered intents
+     * @param entityDictionaries the {@link EntityDictionary} instances of the registered mapping entities
+     */
+    private RegExRecognizerSnapshot(long version, IntentPatternTrie intentPatternTrie,
+                                    Map<String, EntityDictionary> entityDictionaries) {
+        this.version = version;
+        this.intentPatternTrie = intentPatternTrie;
+        this.entityDictionaries = entityDictionaries;
+    }
+
+    /**
+     * Builds a {@link RegExRecognizerSnapshot} from the provided registrations.
+     * <p>
+     * The provided {@code entityDictionaries} {@link Map} is retained by the snapshot, and must not be updated once
+     * the snapshot has been built.
+     *
+     * @param version            the version of the provided registrations
+     * @param intentPatterns     the {@link Pattern}s of the registered intents
+     * @param entityDictionaries the {@link EntityDictionary} instances of the registered mapping entities
+     * @return the built snapshot
+     * @throws NullPointerException if the provided {@code intentPatterns} or {@code entityDictionaries} is {@code
+     *                              null}
+     */
+    static RegExRecognizerSnapshot of(long version, @NonNull Map<IntentDefinition, List<Pattern>> intentPatterns,
+                                      @NonNull Map<String, EntityDictionary> entityDictionaries) {
+        return new RegExRecognizerSnapshot(version, IntentPatternTrie.of(intentPatterns),
+                Collections.unmodifiableMap(entityDictionaries));
+    }
+
+    /**
+     * Returns the version of the registrations the snapshot has been built from.
+     *
+     * @return the version of the registrations
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the {@link IntentPatternTrie} indexing the {@link Pattern}s of the registered intents.
+     *
+     * @return the {@link IntentPatternTrie}
+     */
+    IntentPatternTrie getIntentPatternTrie() {
+        return intentPatternTrie;
+    }
+
+    /**
+     * Returns the {@link EntityDictionary} of the mapping entity with the provided {@code entityName}.
+     *
+     * @param entityName the name of the entity
+     * @return the {@link EntityDictionary}, or {@code null} if the entity is not a registered mapping entity
+     */
+    @Nullable
+    EntityDictionary getEntityDictionary(String entityName) {
+        return entityDictionaries.get(entityName);
+    }
+}
@@ -3,6 +3,7 @@ package com.xatkit.core.server;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
+import com.xatkit.core.EventQueueFullException;
 import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.io.WebhookEventProvider;
 import fr.inria.atlanmod.commons.log.Log;
@@ -96,6 +97,9 @@ class HttpHandler implements HttpRequestHandler {
      * <p>
      * This method parses the received {@code request} headers and content and notifies the {@link XatkitServer}'s
      * registered {@link WebhookEventProvider}s.
+     * <p>
+     * Requests creating events that cannot be queued because the bot is overloaded (see
+     * {@link EventQueueFullException}) are answered with a {@code 503} status and a {@code Retry-After} header.
      *
      * @param request  the received {@link HttpRequest}
      * @param response the {@link HttpResponse} to send to the caller
@@ -170,6 +174,18 @@ class HttpHandler implements HttpRequestHandler {
                  * We can return here, no need to process the returned value.
                  */
                 return;
+            } catch (EventQueueFullException e) {
+                /*
+                 * The event created by the handler cannot be processed because the bot is overloaded, tell the
+                 * client to send it again later.
+                 */
+                Log.warn("Cannot process the request on {0}: {1}", path, e.getMessage());
+                HttpEntity errorEntity = HttpEntityHelper.createErrorEntity(new RestHandlerException(
+                        HttpStatus.SC_SERVICE_UNAVAILABLE, e.getMessage(), e));
+                response.setEntity(errorEntity);
+                response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(e.getRetryAfter()));
+                response.setStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE);
+                return;
             }
             if (nonNull(result)) {
                 if(result instanceof HttpEntity) {
@@ -33,6 +33,7 @@ import java.util.concurrent.TimeUnit;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static java.util.Objects.isNull;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
 
 /**
  * The REST server used to receive external webhooks.
@@ -567,6 +568,30 @@ public class XatkitServer {
         }
     }
 
+    /**
+     * Deletes the public {@link File}s associated to the provided {@code session}.
+     * <p>
+     * This method is typically called when the {@code session} is evicted from the
+     * {@link com.xatkit.core.session.XatkitSessionRegistry}. It does nothing if the {@code session} does not have any
+     * public {@link File}.
+     *
+     * @param session the {@link XatkitSession} to delete the public {@link File}s of
+     * @throws NullPointerException if the provided {@code session} is {@code null}
+     * @throws XatkitException      if an error occurred when deleting the {@link File}s
+     * @see #createOrReplacePublicFile(XatkitSession, String, byte[])
+     */
+    public void deletePublicFiles(@NonNull XatkitSession session) {
+        File sessionFile = this.getSessionFile(session);
+        if (sessionFile.exists()) {
+            try {
+                deleteDirectory(sessionFile);
+            } catch (IOException e) {
+                throw new XatkitException(MessageFormat.format("Cannot delete the public files of the session {0}",
+                        session.getSessionId()), e);
+            }
+        }
+    }
+
     /**
      * Retrieves or create the public {@link File} associated to the provided {@code session}.
      *
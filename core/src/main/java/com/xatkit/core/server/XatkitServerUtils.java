@@ -52,4 +52,23 @@ public interface XatkitServerUtils {
      * The directory name used to store Xatkit public content.
      */
     String PUBLIC_DIRECTORY_NAME = "public";
+
+    /**
+     * The {@link Configuration} key used to enable the administration REST endpoints ({@code /admin/*}).
+     * <p>
+     * These endpoints are not authenticated and expose internal information (session identifiers, variable names,
+     * queue sizes), and are thus only registered if this key is set to {@code true}.
+     *
+     * @see #DEFAULT_ADMIN_ENDPOINTS
+     */
+    String ADMIN_ENDPOINTS_KEY = "xatkit.server.admin_endpoints";
+
+    /**
+     * The default value of the {@link #ADMIN_ENDPOINTS_KEY} key.
+     * <p>
+     * The administration endpoints are disabled by default.
+     *
+     * @see #ADMIN_ENDPOINTS_KEY
+     */
+    boolean DEFAULT_ADMIN_ENDPOINTS = false;
 }
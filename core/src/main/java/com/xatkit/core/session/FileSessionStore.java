@@ -0,0 +1,368 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.util.FileUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.commons.configuration2.Configuration;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link SessionStore} persisting the sessions in a directory that can be shared by several JVMs.
+ * <p>
+ * Each session is stored in its own file, named after the URL-safe Base64 encoding of its identifier. Accesses to a
+ * session file are serialized within the JVM with striped locks, and across JVMs with {@link FileLock}s, allowing
+ * several Xatkit instances running on the same machine (or sharing a file system supporting file locks) to share
+ * the same sessions. This store is intended to test a cluster of bots on a single machine.
+ * <p>
+ * The stored {@link SessionSnapshot}s are serialized with the standard Java serialization, and must respect the
+ * serialization contract defined in {@link SessionStore}.
+ * <p>
+ * Removed sessions are truncated instead of deleted: deleting a file locked by another JVM would allow this JVM to
+ * write in an unlinked file. Empty session files are considered as absent.
+ *
+ * @see #DIRECTORY_KEY
+ */
+public class FileSessionStore implements SessionStore {
+
+    /**
+     * The {@link Configuration} key to specify the directory used to store the sessions.
+     * <p>
+     * This property is optional, and defaults to {@code <xatkit.data.directory>/sessions/store}. Xatkit instances
+     * sharing their sessions must be configured with the same directory.
+     */
+    public static final String DIRECTORY_KEY = "xatkit.core.sessions.store_directory";
+
+    /**
+     * The directory used to store the sessions within the sessions directory when no {@link #DIRECTORY_KEY} is
+     * provided in the {@link Configuration}.
+     */
+    static final String DEFAULT_DIRECTORY = "store";
+
+    /**
+     * The extension of the session files.
+     */
+    private static final String SESSION_FILE_EXTENSION = ".session";
+
+    /**
+     * The number of locks used to serialize the accesses to the session files within the JVM.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The directory containing the session files.
+     */
+    @Getter
+    private final File directory;
+
+    /**
+     * The striped locks serializing the accesses to the session files within the JVM.
+     * <p>
+     * {@link FileLock}s are held on behalf of the JVM, and cannot be used to serialize the accesses of the threads
+     * of the same JVM. The locks are shared by all the {@link FileSessionStore}s of the JVM: locking a file
+     * already locked by another channel of the same JVM throws an
+     * {@link java.nio.channels.OverlappingFileLockException}.
+     */
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Whether the store is closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a {@link FileSessionStore} from the provided {@code configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @throws XatkitException      if the directory cannot be created
+     * @see #DIRECTORY_KEY
+     */
+    public FileSessionStore(@NonNull Configuration configuration) {
+        this(configuration.containsKey(DIRECTORY_KEY) ?
+                FileUtils.getFile(configuration.getString(DIRECTORY_KEY), configuration) :
+                new File(SessionPassivationStore.getSessionsDirectory(configuration), DEFAULT_DIRECTORY));
+    }
+
+    /**
+     * Constructs a {@link FileSessionStore} storing the sessions in the provided {@code directory}.
+     *
+     * @param directory the directory used to store the sessions
+     * @throws NullPointerException if the provided {@code directory} is {@code null}
+     * @throws XatkitException      if the directory cannot be created
+     */
+    public FileSessionStore(@NonNull File directory) {
+        this.directory = directory.getAbsoluteFile();
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new XatkitException(MessageFormat.format("Cannot create the session store directory {0}",
+                    this.directory));
+        }
+        Log.info("File session store started in {0}", this.directory);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable
+    StoredSession get(@NonNull String sessionId) {
+        if (!getSessionFile(sessionId).exists()) {
+            /*
+             * Do not create empty files when looking for unknown sessions.
+             */
+            return null;
+        }
+        return withLockedFile(sessionId, file -> {
+            StoredSession storedSession = read(sessionId, file);
+            if (nonNull(storedSession) && storedSession.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            return storedSession;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredSession computeIfAbsent(@NonNull String sessionId,
+                                         @NonNull Function<String, SessionSnapshot> snapshotFactory, long ttl) {
+        return withLockedFile(sessionId, file -> {
+            long now = System.currentTimeMillis();
+            StoredSession storedSession = read(sessionId, file);
+            if (isNull(storedSession) || storedSession.isExpired(now)) {
+                storedSession = new StoredSession(sessionId, 1, snapshotFactory.apply(sessionId),
+                        StoredSession.getExpirationTime(now, ttl));
+                write(storedSession, file);
+            }
+            return storedSession;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean compareAndSet(@NonNull String sessionId, long expectedVersion, @NonNull SessionSnapshot snapshot,
+                                 long ttl) {
+        return withLockedFile(sessionId, file -> {
+            long now = System.currentTimeMillis();
+            StoredSession storedSession = read(sessionId, file);
+            long currentVersion = (isNull(storedSession) || storedSession.isExpired(now)) ? 0 :
+                    storedSession.getVersion();
+            if (currentVersion != expectedVersion) {
+                return false;
+            }
+            write(new StoredSession(sessionId, expectedVersion + 1, snapshot,
+                    StoredSession.getExpirationTime(now, ttl)), file);
+            return true;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(@NonNull String sessionId) {
+        if (!getSessionFile(sessionId).exists()) {
+            return;
+        }
+        withLockedFile(sessionId, file -> {
+            file.setLength(0);
+            return null;
+        });
+    }
+
+    /**
+     * Removes the expired sessions from the store.
+     * <p>
+     * This method is not called by the store, and can be used to reclaim the disk space used by expired sessions.
+     *
+     * @return the number of removed sessions
+     */
+    public int purgeExpired() {
+        File[] sessionFiles = directory.listFiles((dir, name) -> name.endsWith(SESSION_FILE_EXTENSION));
+        if (isNull(sessionFiles)) {
+            return 0;
+        }
+        int removed = 0;
+        for (File sessionFile : sessionFiles) {
+            String fileName = sessionFile.getName();
+            String sessionId;
+            try {
+                sessionId = new String(Base64.getUrlDecoder().decode(fileName.substring(0,
+                        fileName.length() - SESSION_FILE_EXTENSION.length())), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                Log.warn("Skipping the file {0}, it is not a session file", sessionFile);
+                continue;
+            }
+            boolean expired = withLockedFile(sessionId, file -> {
+                StoredSession storedSession = read(sessionId, file);
+                if (nonNull(storedSession) && storedSession.isExpired(System.currentTimeMillis())) {
+                    file.setLength(0);
+                    return true;
+                }
+                return false;
+            });
+            if (expired) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The session files are kept in the directory, and can be accessed by a new {@link FileSessionStore}.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Executes the provided {@code function} with the file of the session {@code sessionId} locked for this thread.
+     *
+     * @param sessionId the identifier of the session to lock the file of
+     * @param function  the function to execute
+     * @param <T>       the type of the result of the {@code function}
+     * @return the result of the {@code function}
+     * @throws IllegalStateException if the store is closed
+     * @throws XatkitException       if an error occurred when accessing the session file
+     */
+    private <T> T withLockedFile(String sessionId, SessionFileFunction<T> function) {
+        checkState(!closed, "Cannot access the session %s, the %s is closed", sessionId,
+                this.getClass().getSimpleName());
+        ReentrantLock lock = LOCKS[(sessionId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+        lock.lock();
+        try (RandomAccessFile file = new RandomAccessFile(getSessionFile(sessionId), "rw");
+             FileLock fileLock = file.getChannel().lock()) {
+            return function.apply(file);
+        } catch (IOException e) {
+            throw new XatkitException(MessageFormat.format("Cannot access the stored session {0}, see attached " +
+                    "exception", sessionId), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the {@link StoredSession} contained in the provided {@code file}.
+     *
+     * @param sessionId the identifier of the session to read
+     * @param file      the session file to read
+     * @return the read {@link StoredSession}, or {@code null} if the file is empty or corrupted
+     * @throws IOException if an error occurred when reading the file
+     */
+    private @Nullable
+    StoredSession read(String sessionId, RandomAccessFile file) throws IOException {
+        if (file.length() == 0) {
+            return null;
+        }
+        byte[] content = new byte[(int) file.length()];
+        file.seek(0);
+        file.readFully(content);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content))) {
+            long version = in.readLong();
+            long expirationTime = in.readLong();
+            byte[] snapshotBytes = new byte[in.readInt()];
+            in.readFully(snapshotBytes);
+            return new StoredSession(sessionId, version, SessionSnapshot.fromBytes(snapshotBytes), expirationTime);
+        } catch (IOException | RuntimeException e) {
+            /*
+             * The file may be corrupted if a JVM crashed when writing it: the session is considered as absent and
+             * will be overwritten.
+             */
+            Log.warn("Cannot read the stored session {0}, the session is discarded ({1})", sessionId,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the provided {@code storedSession} in the given {@code file}.
+     * <p>
+     * The content of the session is serialized before the file is modified: the file is left unchanged if the
+     * session does not respect the serialization contract.
+     *
+     * @param storedSession the {@link StoredSession} to write
+     * @param file          the session file to write
+     * @throws IOException     if an error occurred when writing the file
+     * @throws XatkitException if the session cannot be serialized
+     */
+    private void write(StoredSession storedSession, RandomAccessFile file) throws IOException {
+        byte[] snapshotBytes;
+        try {
+            snapshotBytes = storedSession.getSnapshot().toBytes();
+        } catch (IOException e) {
+            throw new XatkitException(MessageFormat.format("Cannot store the session {0}, its content is not " +
+                    "serializable", storedSession.getSessionId()), e);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshotBytes.length + 20);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(storedSession.getVersion());
+            out.writeLong(storedSession.getExpirationTime());
+            out.writeInt(snapshotBytes.length);
+            out.write(snapshotBytes);
+        }
+        file.setLength(0);
+        file.seek(0);
+        file.write(bytes.toByteArray());
+        file.getChannel().force(false);
+    }
+
+    /**
+     * Returns the file storing the session {@code sessionId}.
+     *
+     * @param sessionId the identifier of the session
+     * @return the file storing the session
+     */
+    private File getSessionFile(String sessionId) {
+        return new File(directory, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sessionId.getBytes(StandardCharsets.UTF_8)) + SESSION_FILE_EXTENSION);
+    }
+
+    /**
+     * A function accessing a locked session file.
+     *
+     * @param <T> the type of the result of the function
+     */
+    @FunctionalInterface
+    private interface SessionFileFunction<T> {
+
+        /**
+         * Applies this function to the provided {@code file}.
+         *
+         * @param file the locked session file
+         * @return the result of the function
+         * @throws IOException if an error occurred when accessing the file
+         */
+        T apply(RandomAccessFile file) throws IOException;
+    }
+}
@@ -0,0 +1,109 @@
+package com.xatkit.core.session;
+
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link SessionStore} keeping the sessions in the heap of the running JVM.
+ * <p>
+ * This store cannot be shared between Xatkit instances running in different JVMs, and is intended to be used as a
+ * reference implementation of the {@link SessionStore} semantics (e.g. to test the bot with a single instance). The
+ * stored {@link SessionSnapshot}s are not serialized, meaning that this store does not check the serialization
+ * contract of the sessions.
+ * <p>
+ * Expired sessions are removed lazily when they are accessed.
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    /**
+     * The stored sessions, indexed by session identifier.
+     */
+    private final ConcurrentMap<String, StoredSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable
+    StoredSession get(@NonNull String sessionId) {
+        StoredSession storedSession = sessions.get(sessionId);
+        if (isNull(storedSession)) {
+            return null;
+        }
+        if (storedSession.isExpired(System.currentTimeMillis())) {
+            sessions.remove(sessionId, storedSession);
+            return null;
+        }
+        return storedSession;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoredSession computeIfAbsent(@NonNull String sessionId,
+                                         @NonNull Function<String, SessionSnapshot> snapshotFactory, long ttl) {
+        return sessions.compute(sessionId, (id, storedSession) -> {
+            long now = System.currentTimeMillis();
+            if (isNull(storedSession) || storedSession.isExpired(now)) {
+                return new StoredSession(id, 1, snapshotFactory.apply(id), StoredSession.getExpirationTime(now, ttl));
+            }
+            return storedSession;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean compareAndSet(@NonNull String sessionId, long expectedVersion, @NonNull SessionSnapshot snapshot,
+                                 long ttl) {
+        boolean[] updated = new boolean[1];
+        sessions.compute(sessionId, (id, storedSession) -> {
+            long now = System.currentTimeMillis();
+            long currentVersion = (isNull(storedSession) || storedSession.isExpired(now)) ? 0 :
+                    storedSession.getVersion();
+            if (currentVersion != expectedVersion) {
+                return storedSession;
+            }
+            updated[0] = true;
+            return new StoredSession(id, expectedVersion + 1, snapshot, StoredSession.getExpirationTime(now, ttl));
+        });
+        return updated[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(@NonNull String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Returns the number of stored sessions.
+     * <p>
+     * The returned value includes the expired sessions that have not been accessed since their expiration.
+     *
+     * @return the number of stored sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method removes all the stored sessions.
+     */
+    @Override
+    public void close() {
+        sessions.clear();
+    }
+}
@@ -0,0 +1,214 @@
+package com.xatkit.core.session;
+
+import com.xatkit.execution.ExecutionModel;
+import com.xatkit.execution.State;
+import com.xatkit.execution.Transition;
+import com.xatkit.intent.EventDefinition;
+import com.xatkit.intent.IntentDefinition;
+import com.xatkit.util.ExecutionModelUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.NonNull;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The {@link IntentDefinition}s that can be matched from a {@link State}.
+ * <p>
+ * The matchable intents of all the {@link State}s of an {@link ExecutionModel} are computed once, the first time
+ * one of its {@link State}s is accessed (see {@link #index(ExecutionModel)}). Each {@link IntentDefinition} accessed
+ * in a {@link Transition} of the model is assigned an ordinal, and the matchable intents of a {@link State} are
+ * stored as a {@link BitSet} over these ordinals. {@link XatkitSession}s hold a reference to the
+ * {@link MatchableIntents} of their current {@link State}, and intent recognition providers can filter their
+ * candidate intents with a bit test instead of looking up a context for each of them.
+ * <p>
+ * <b>Note</b>: intents are indexed by name, reflecting the comparison performed when evaluating {@code intent ==
+ * MyIntent} guards.
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ *
+ * @see XatkitSession#getMatchableIntents()
+ */
+public final class MatchableIntents {
+
+    /**
+     * The {@link MatchableIntents} of a session that is not associated to a {@link State}.
+     */
+    public static final MatchableIntents EMPTY = new MatchableIntents(Collections.emptyMap(), new BitSet(),
+            Collections.emptyList());
+
+    /**
+     * The computed {@link MatchableIntents}, indexed by {@link State}.
+     * <p>
+     * This {@link Map} does not retain the {@link State}s, the entries of unloaded models are garbage collected. It
+     * is only accessed in {@code synchronized} blocks.
+     */
+    private static final Map<State, MatchableIntents> STATE_INTENTS = new WeakHashMap<>();
+
+    /**
+     * The ordinals of the intents accessed in the indexed model, indexed by intent name.
+     * <p>
+     * This {@link Map} is shared by the {@link MatchableIntents} of all the {@link State}s of the model.
+     */
+    private final Map<String, Integer> ordinals;
+
+    /**
+     * The ordinals of the matchable intents.
+     */
+    private final BitSet intents;
+
+    /**
+     * The names of the contexts enabling the matchable intents.
+     * <p>
+     * These contexts are set by {@link XatkitSession#setState(State)} for the intent recognition providers that
+     * rely on input contexts to filter the intents (e.g. DialogFlow).
+     */
+    private final List<String> enableContextNames;
+
+    /**
+     * Constructs a {@link MatchableIntents} with the provided content.
+     *
+     * @param ordinals           the ordinals of the intents accessed in the indexed model
+     * @param intents            the ordinals of the matchable intents
+     * @param enableContextNames the names of the contexts enabling the matchable intents
+     */
+    private MatchableIntents(Map<String, Integer> ordinals, BitSet intents, List<String> enableContextNames) {
+        this.ordinals = ordinals;
+        this.intents = intents;
+        this.enableContextNames = enableContextNames;
+    }
+
+    /**
+     * Returns the {@link MatchableIntents} of the provided {@code state}.
+     * <p>
+     * This method indexes the model containing the provided {@code state} if it has not been indexed yet.
+     *
+     * @param state the {@link State} to retrieve the {@link MatchableIntents} of
+     * @return the {@link MatchableIntents} of the provided {@code state}
+     * @throws NullPointerException if the provided {@code state} is {@code null}
+     */
+    public static MatchableIntents of(@NonNull State state) {
+        synchronized (STATE_INTENTS) {
+            MatchableIntents result = STATE_INTENTS.get(state);
+            if (isNull(result)) {
+                EObject root = EcoreUtil.getRootContainer(state);
+                if (root instanceof ExecutionModel) {
+                    index((ExecutionModel) root);
+                } else {
+                    index(Collections.singletonList(state));
+                }
+                result = STATE_INTENTS.get(state);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Computes the {@link MatchableIntents} of the {@link State}s of the provided {@code executionModel}.
+     * <p>
+     * This method is called when the bot's {@link ExecutionModel} is loaded, and does nothing if the model has
+     * already been indexed.
+     *
+     * @param executionModel the {@link ExecutionModel} to index
+     * @throws NullPointerException if the provided {@code executionModel} is {@code null}
+     */
+    public static void index(@NonNull ExecutionModel executionModel) {
+        synchronized (STATE_INTENTS) {
+            if (executionModel.getStates().isEmpty() || STATE_INTENTS.containsKey(executionModel.getStates().get(0))) {
+                return;
+            }
+            index(executionModel.getStates());
+        }
+    }
+
+    /**
+     * Computes the {@link MatchableIntents} of the provided {@code states}, sharing a single ordinal table.
+     * <p>
+     * This method must be called in a block synchronized on {@link #STATE_INTENTS}.
+     *
+     * @param states the {@link State}s to index
+     */
+    private static void index(List<State> states) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        Map<State, List<String>> stateIntentNames = new HashMap<>();
+        for (State state : states) {
+            List<String> intentNames = new ArrayList<>();
+            for (Transition transition : state.getTransitions()) {
+                for (EventDefinition eventDefinition : ExecutionModelUtils.getAccessedEvents(transition)) {
+                    String intentName = eventDefinition.getName();
+                    if (eventDefinition instanceof IntentDefinition && !intentNames.contains(intentName)) {
+                        intentNames.add(intentName);
+                        ordinals.putIfAbsent(intentName, ordinals.size());
+                    }
+                }
+            }
+            stateIntentNames.put(state, intentNames);
+        }
+        Map<String, Integer> sharedOrdinals = Collections.unmodifiableMap(ordinals);
+        stateIntentNames.forEach((state, intentNames) -> {
+            BitSet intents = new BitSet(sharedOrdinals.size());
+            List<String> enableContextNames = new ArrayList<>();
+            for (String intentName : intentNames) {
+                intents.set(sharedOrdinals.get(intentName));
+                enableContextNames.add("Enable" + intentName);
+            }
+            STATE_INTENTS.put(state, new MatchableIntents(sharedOrdinals, intents,
+                    Collections.unmodifiableList(enableContextNames)));
+        });
+        Log.debug("Indexed the matchable intents of {0} states ({1} intents)", states.size(), sharedOrdinals.size());
+    }
+
+    /**
+     * Returns whether the provided {@code intentDefinition} is part of the ordinal table of the indexed model.
+     * <p>
+     * Intents that are not accessed in any {@link Transition} of the model are not indexed, and can only be enabled
+     * with an explicit {@code Enable<IntentName>} context.
+     *
+     * @param intentDefinition the {@link IntentDefinition} to check
+     * @return {@code true} if the intent is indexed, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code intentDefinition} is {@code null}
+     */
+    public boolean isIndexed(@NonNull IntentDefinition intentDefinition) {
+        return ordinals.containsKey(intentDefinition.getName());
+    }
+
+    /**
+     * Returns whether the provided {@code intentDefinition} can be matched.
+     *
+     * @param intentDefinition the {@link IntentDefinition} to check
+     * @return {@code true} if the intent can be matched, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code intentDefinition} is {@code null}
+     */
+    public boolean isMatchable(@NonNull IntentDefinition intentDefinition) {
+        Integer ordinal = ordinals.get(intentDefinition.getName());
+        return nonNull(ordinal) && intents.get(ordinal);
+    }
+
+    /**
+     * Returns the number of matchable intents.
+     *
+     * @return the number of matchable intents
+     */
+    public int size() {
+        return intents.cardinality();
+    }
+
+    /**
+     * Returns the names of the contexts enabling the matchable intents.
+     *
+     * @return an unmodifiable {@link List} containing the names of the contexts enabling the matchable intents
+     */
+    List<String> getEnableContextNames() {
+        return enableContextNames;
+    }
+}
@@ -1,5 +1,6 @@
 package com.xatkit.core.session;
 
+import com.xatkit.core.TimingWheel;
 import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.action.RuntimeAction;
 import com.xatkit.core.platform.io.RuntimeEventProvider;
@@ -11,17 +12,25 @@ import fr.inria.atlanmod.commons.log.Log;
 import lombok.NonNull;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
 
 import javax.annotation.Nullable;
-import java.text.MessageFormat;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -39,6 +48,20 @@ import static java.util.Objects.nonNull;
  * <p>
  * This class is heavily used by xatkit core component to pass {@link RuntimeAction} parameters,
  * and replace output message variables by their concrete values.
+ * <p>
+ * Context lifespans are tracked with a turn counter: each context stores the turn it expires at, and
+ * {@link #decrementLifespanCounts()} and {@link #incrementLifespanCounts()} only move the counter. Expired contexts
+ * are ignored by the readers, and are removed when the contexts are compacted by the next update.
+ * <p>
+ * The content of the contexts is published as immutable {@link RuntimeContextsSnapshot}s: updates are serialized
+ * and atomically replace the current snapshot with a new one sharing the unchanged variable {@link Map}s, while
+ * readers access the current snapshot without locking (see {@link #getSnapshot()}). The {@link Map}s returned by
+ * {@link #getContextMap()}, {@link #getContextVariables(String)}, and {@link #setContext(String, int)} are views
+ * reading the current snapshot on each access, and updates made through them are published as new snapshots.
+ * <p>
+ * Contexts can also expire after a wall-clock time-to-live (see {@link #CONTEXT_TTL_KEY}): the expiration of each
+ * context is registered in the shared {@link TimingWheel}, and is re-armed with the remaining time if the context has
+ * been updated in the meantime.
  */
 public class RuntimeContexts {
 
@@ -53,24 +76,46 @@ public class RuntimeContexts {
     public static int DEFAULT_VARIABLE_TIMEOUT_VALUE = 2;
 
     /**
-     * The sub-contexts associated to this class.
+     * The {@link Configuration} key to specify the time (in seconds) a context can stay without being updated before
+     * being removed.
+     * <p>
+     * This property is optional, and defaults to {@code 0}: contexts only expire when their lifespan count reaches
+     * {@code 0}.
+     */
+    public static final String CONTEXT_TTL_KEY = "xatkit.context.ttl";
+
+    /**
+     * The current {@link RuntimeContextsSnapshot} holding the contexts, their variables, and their expiration
+     * turns.
      * <p>
      * Sub-contexts are used to characterize the variables stored in the global context. As an example, a sub-context
      * <i>slack</i> hold all the variables related to Slack.
+     * <p>
+     * The turn of the snapshot is incremented by {@link #decrementLifespanCounts()} after each user input, and
+     * decremented by {@link #incrementLifespanCounts()}. The lifespan count of a context is the difference between
+     * its expiration turn and the current turn. Updates of this field are guarded by this object's monitor.
+     *
+     * @see #getSnapshot()
      */
-    private Map<String, Map<String, Object>> contexts;
+    private volatile RuntimeContextsSnapshot snapshot;
 
     /**
-     * The internal {@link Map} storing context lifespan counts.
+     * The turn up to which the expired contexts have been removed.
+     *
+     * @see #compact()
+     */
+    private long compactedTurn;
+
+    /**
+     * The names of the contexts expiring at a given turn, indexed by turn.
      * <p>
-     * This map is used to keep track of the number of user interactions that can be handled before removing each
-     * context value stored in the current {@link RuntimeContexts}. Lifespan counters are decremented by calling
-     * {@link #decrementLifespanCounts()}, that takes care of removing context when there lifespan counter reaches
-     * {@code 0}.
+     * This index allows to remove the expired contexts without iterating all the stored contexts. It may contain
+     * stale names of contexts whose lifespan has been extended since they have been indexed, these names are
+     * ignored when the contexts are compacted.
      *
-     * @see #decrementLifespanCounts()
+     * @see #compact()
      */
-    private Map<String, Integer> lifespanCounts;
+    private final LongObjectHashMap<List<String>> expiringContexts;
 
     /**
      * The amount of time to spend waiting for a context variable (in seconds).
@@ -82,6 +127,25 @@ public class RuntimeContexts {
      */
     private int variableTimeout;
 
+    /**
+     * The time (in milliseconds) a context can stay without being updated before being removed.
+     * <p>
+     * A negative or zero value means that contexts do not have a time-to-live.
+     *
+     * @see #CONTEXT_TTL_KEY
+     */
+    private final long contextTtl;
+
+    /**
+     * The time (in milliseconds) of the last update of the contexts that have a pending expiration in the
+     * {@link TimingWheel}, indexed by context name.
+     * <p>
+     * This map is guarded by this object's monitor.
+     *
+     * @see #expireContext(String)
+     */
+    private final ObjectLongHashMap<String> contextUpdateTimes;
+
     /**
      * Constructs a new empty {@link RuntimeContexts}.
      * <p>
@@ -105,11 +169,11 @@ public class RuntimeContexts {
      */
     public RuntimeContexts(@NonNull Configuration configuration) {
         /*
-         * Use ConcurrentHashMaps: the RuntimeContexts may be accessed and modified by multiple threads, in case of
-         * multiple input messages or parallel RuntimeAction execution.
+         * The RuntimeContexts may be accessed and modified by multiple threads, in case of multiple input messages
+         * or parallel RuntimeAction execution: readers access the immutable snapshot, and writers are synchronized.
          */
-        this.contexts = new ConcurrentHashMap<>();
-        this.lifespanCounts = new ConcurrentHashMap<>();
+        this.snapshot = RuntimeContextsSnapshot.EMPTY;
+        this.expiringContexts = new LongObjectHashMap<>();
         if (configuration.containsKey(VARIABLE_TIMEOUT_KEY)) {
             this.variableTimeout = configuration.getInt(VARIABLE_TIMEOUT_KEY);
             Log.debug("Setting context variable timeout to {0}s", variableTimeout);
@@ -117,6 +181,8 @@ public class RuntimeContexts {
             this.variableTimeout = DEFAULT_VARIABLE_TIMEOUT_VALUE;
             Log.debug("Using default context variable timeout ({0}s)", DEFAULT_VARIABLE_TIMEOUT_VALUE);
         }
+        this.contextTtl = TimeUnit.SECONDS.toMillis(configuration.getLong(CONTEXT_TTL_KEY, 0));
+        this.contextUpdateTimes = new ObjectLongHashMap<>();
     }
 
     /**
@@ -130,6 +196,16 @@ public class RuntimeContexts {
         return variableTimeout;
     }
 
+    /**
+     * Returns the time (in milliseconds) a context can stay without being updated before being removed.
+     *
+     * @return the time-to-live of the contexts, or {@code 0} if contexts do not have a time-to-live
+     * @see #CONTEXT_TTL_KEY
+     */
+    public long getContextTtl() {
+        return Math.max(0, contextTtl);
+    }
+
     /**
      * Sets the context associated to the provided {@code contextInstance}.
      * <p>
@@ -141,7 +217,7 @@ public class RuntimeContexts {
      * {@link #setContext(String, int)} to register a context from {@link String} values.
      *
      * @param contextInstance the {@link ContextInstance} to set
-     * @return the {@link Map} containing the variables of the set context
+     * @return a view of the variables of the set context
      * @throws NullPointerException     if the provided {@code contextInstance} is {@code null}
      * @throws IllegalArgumentException if the provided {@code contextInstance}'s {@code definition} is not set
      */
@@ -165,11 +241,12 @@ public class RuntimeContexts {
      * <i>username</i> with the value <i>myUsername</i> in the <i>slack</i> context, and sets its lifespan
      * count to {@code 5}.
      * <p>
-     * To retrieve all the variables of a given sub-context see {@link #getContextVariables(String)}.
+     * To retrieve all the variables of a given sub-context see {@link #getContextVariables(String)}. The returned
+     * {@link Map} is a view of the variables of the context (see {@link #getContextVariables(String)}).
      *
      * @param context       the name of the context to set
      * @param lifespanCount the lifespan count of the context to set
-     * @return the {@link Map} containing the variables of the set context
+     * @return a view of the variables of the set context
      * @throws NullPointerException     if the provided {@code context} is {@code null}
      * @throws IllegalArgumentException if the provided {@code lifespanCount <= 0}
      * @see #setContext(ContextInstance)
@@ -177,18 +254,13 @@ public class RuntimeContexts {
      * @see #setContextValue(String, int, String, Object)
      * @see #decrementLifespanCounts()
      */
-    public Map<String, Object> setContext(@NonNull String context, int lifespanCount) {
+    public synchronized Map<String, Object> setContext(@NonNull String context, int lifespanCount) {
         checkArgument(lifespanCount > 0, "Cannot set the context lifespan count to %s, the lifespan count should be " +
                 "strictly greater than 0", lifespanCount);
-        Map<String, Object> contextMap;
-        if (contexts.containsKey(context)) {
-            contextMap = contexts.get(context);
-        } else {
-            contextMap = new HashMap<>();
-            this.contexts.put(context, contextMap);
-        }
-        if (lifespanCounts.containsKey(context)) {
-            int currentLifespan = lifespanCounts.get(context);
+        compact();
+        RuntimeContextsSnapshot current = this.snapshot;
+        if (current.isLive(context)) {
+            long currentLifespan = current.getExpirationTurn(context) - current.getTurn();
             if (currentLifespan <= lifespanCount) {
                 /*
                  * The provided lifespanCount is greater than the stored one, this means that we are dealing with a
@@ -197,7 +269,7 @@ public class RuntimeContexts {
                  */
                 Log.debug("Overriding context {0} lifespanCount (previous: {1}, new: {2})", context, currentLifespan,
                         lifespanCount);
-                lifespanCounts.put(context, lifespanCount);
+                publishContext(context, current.getContextVariables(context), current.getTurn() + lifespanCount);
             } else {
                 /*
                  * We should not support lifespan count decrement when setting context values. Lifespan counts are
@@ -209,9 +281,123 @@ public class RuntimeContexts {
             }
         } else {
             Log.debug("Setting context {0} lifespanCount to {1}", context, lifespanCount);
-            lifespanCounts.put(context, lifespanCount);
+            publishContext(context, Collections.emptyMap(), current.getTurn() + lifespanCount);
+        }
+        return new ContextVariablesView(context);
+    }
+
+    /**
+     * Publishes a new {@link RuntimeContextsSnapshot} where the provided {@code context} is set with the given
+     * {@code variables} and {@code expirationTurn}, and indexes its expiration turn.
+     *
+     * @param context        the name of the context to set
+     * @param variables      the unmodifiable variable {@link Map} of the context
+     * @param expirationTurn the turn the context expires at
+     */
+    private void publishContext(String context, Map<String, Object> variables, long expirationTurn) {
+        if (this.snapshot.getExpirationTurn(context) != expirationTurn) {
+            expiringContexts.getIfAbsentPut(expirationTurn, ArrayList::new).add(context);
+        }
+        this.snapshot = this.snapshot.withContext(context, variables, expirationTurn);
+        touchContext(context);
+    }
+
+    /**
+     * Records the update of the provided {@code context}, and registers its expiration in the {@link TimingWheel}
+     * if it is not already registered.
+     * <p>
+     * This method does nothing if the contexts do not have a time-to-live.
+     *
+     * @param context the name of the updated context
+     * @see #CONTEXT_TTL_KEY
+     */
+    private void touchContext(String context) {
+        if (contextTtl <= 0) {
+            return;
+        }
+        if (!contextUpdateTimes.containsKey(context)) {
+            scheduleContextExpiration(context, contextTtl + 1);
+        }
+        contextUpdateTimes.put(context, System.currentTimeMillis());
+    }
+
+    /**
+     * Schedules the expiration of the provided {@code context} in the shared {@link TimingWheel}.
+     *
+     * @param context the name of the context to expire
+     * @param delay   the delay (in milliseconds) before the expiration
+     */
+    private void scheduleContextExpiration(String context, long delay) {
+        TimingWheel.getInstance().schedule(() -> expireContext(context), delay);
+    }
+
+    /**
+     * Removes the provided {@code context} if it has not been updated during the configured time-to-live.
+     * <p>
+     * This method is called by the {@link TimingWheel}. If the context has been updated since its expiration has
+     * been registered, the expiration is re-armed with the remaining time.
+     *
+     * @param context the name of the context to expire
+     */
+    private synchronized void expireContext(String context) {
+        long updateTime = contextUpdateTimes.getIfAbsent(context, Long.MIN_VALUE);
+        if (updateTime == Long.MIN_VALUE) {
+            return;
+        }
+        if (this.snapshot.getExpirationTurn(context) == Long.MIN_VALUE) {
+            /*
+             * The context has already been removed.
+             */
+            contextUpdateTimes.removeKey(context);
+            return;
+        }
+        long remaining = updateTime + contextTtl - System.currentTimeMillis();
+        if (remaining > 0) {
+            scheduleContextExpiration(context, remaining + 1);
+        } else {
+            Log.debug("Removing context {0}: the context has not been updated for {1} ms", context, contextTtl);
+            contextUpdateTimes.removeKey(context);
+            this.snapshot = this.snapshot.withoutContexts(Collections.singletonList(context));
+        }
+    }
+
+    /**
+     * Removes all the expired contexts.
+     * <p>
+     * This method only visits the contexts indexed with an expiration turn between the last compaction and the
+     * current turn: its cost is proportional to the number of expired contexts, not to the number of stored
+     * contexts.
+     */
+    private void compact() {
+        long turn = this.snapshot.getTurn();
+        if (compactedTurn >= turn) {
+            return;
+        }
+        long[] expiredTurns;
+        if (turn - compactedTurn <= expiringContexts.size()) {
+            expiredTurns = new long[(int) (turn - compactedTurn)];
+            for (int i = 0; i < expiredTurns.length; i++) {
+                expiredTurns[i] = compactedTurn + i + 1;
+            }
+        } else {
+            /*
+             * Many turns have elapsed since the last compaction, iterate the indexed turns instead.
+             */
+            expiredTurns = expiringContexts.keysView().select(t -> t <= turn).toArray();
+        }
+        List<String> removed = new ArrayList<>();
+        for (long expiredTurn : expiredTurns) {
+            List<String> expired = expiringContexts.remove(expiredTurn);
+            if (nonNull(expired)) {
+                for (String context : expired) {
+                    if (this.snapshot.getExpirationTurn(context) == expiredTurn) {
+                        removed.add(context);
+                    }
+                }
+            }
         }
-        return contextMap;
+        this.snapshot = this.snapshot.withoutContexts(removed);
+        compactedTurn = turn;
     }
 
     /**
@@ -239,12 +425,18 @@ public class RuntimeContexts {
      * @see #getContextLifespanCount(String)
      * @see #decrementLifespanCounts()
      */
-    public void setContextValue(@NonNull String context, int lifespanCount, @NonNull String key, Object value) {
+    public synchronized void setContextValue(@NonNull String context, int lifespanCount, @NonNull String key,
+                                             Object value) {
         checkArgument(lifespanCount > 0, "Cannot set the context lifespan count to %s, the lifespan count should be " +
                 "strictly greater than 0", lifespanCount);
         Log.debug("Setting context variable {0}.{1} to {2}", context, key, value);
-        Map<String, Object> contextMap = setContext(context, lifespanCount);
+        /*
+         * Copy the variables of the context: the published snapshots are immutable.
+         */
+        setContext(context, lifespanCount);
+        Map<String, Object> contextMap = new HashMap<>(this.snapshot.getContextVariables(context));
         contextMap.put(key, value);
+        publishContext(context, Collections.unmodifiableMap(contextMap), this.snapshot.getExpirationTurn(context));
     }
 
     /**
@@ -271,21 +463,43 @@ public class RuntimeContexts {
     /**
      * Returns all the variables stored in the given {@code context}.
      * <p>
-     * This method returns an unmodifiable {@link Map} holding the sub-context variables. To retrieve a specific
-     * variable from {@link RuntimeContexts} see {@link #getContextValue(String, String)}.
+     * This method returns a view of the sub-context variables: the returned {@link Map} reads the current
+     * {@link RuntimeContextsSnapshot} on each access, and the values put in (or removed from) the returned
+     * {@link Map} are stored in the context with its current lifespan count. Updates of a context that has expired
+     * are ignored. Use {@link #getSnapshot()} to read the variables of several contexts consistently. To retrieve a
+     * specific variable from {@link RuntimeContexts} see {@link #getContextValue(String, String)}.
      *
      * @param context the sub-context to retrieve the variables from
-     * @return an unmodifiable {@link Map} holding the sub-context variables
+     * @return a view of the sub-context variables, or {@code null} if the context does not exist or is expired
      * @throws NullPointerException if the provided {@code context} is {@code null}
      * @see #getContextValue(String, String)
      */
     public @Nullable
     Map<String, Object> getContextVariables(@NonNull String context) {
-        if (contexts.containsKey(context)) {
-            return Collections.unmodifiableMap(contexts.get(context));
-        } else {
+        return this.snapshot.isLive(context) ? new ContextVariablesView(context) : null;
+    }
+
+    /**
+     * Updates the variables of the provided {@code context} with the given {@code update} function.
+     * <p>
+     * The {@code update} function is applied to a copy of the variables of the context, that is published in a new
+     * {@link RuntimeContextsSnapshot}. The lifespan count of the context is not changed. This method does nothing
+     * if the context does not exist or is expired.
+     *
+     * @param context the name of the context to update
+     * @param update  the function updating the copied variables
+     * @return the value returned by the {@code update} function, or {@code null} if the context is not updated
+     */
+    private synchronized Object updateContextVariables(String context, Function<Map<String, Object>, Object> update) {
+        compact();
+        if (!this.snapshot.isLive(context)) {
+            Log.warn("Cannot update the variables of context {0}: the context does not exist or is expired", context);
             return null;
         }
+        Map<String, Object> contextMap = new HashMap<>(this.snapshot.getContextVariables(context));
+        Object result = update.apply(contextMap);
+        publishContext(context, Collections.unmodifiableMap(contextMap), this.snapshot.getExpirationTurn(context));
+        return result;
     }
 
     /**
@@ -305,12 +519,7 @@ public class RuntimeContexts {
      */
     public @Nullable
     Object getContextValue(@NonNull String context, @NonNull String key) {
-        Map<String, Object> contextVariables = getContextVariables(context);
-        if (nonNull(contextVariables)) {
-            return contextVariables.get(key);
-        } else {
-            return null;
-        }
+        return this.snapshot.getContextValue(context, key);
     }
 
     /**
@@ -327,13 +536,7 @@ public class RuntimeContexts {
      * @see #decrementLifespanCounts()
      */
     public int getContextLifespanCount(@NonNull String context) {
-        Integer lifespanCount = this.lifespanCounts.get(context);
-        if (nonNull(lifespanCount)) {
-            return lifespanCount;
-        } else {
-            throw new XatkitException(MessageFormat.format("Cannot retrieve the lifespan count for the provided " +
-                    "context {0} the context is not registered", context));
-        }
+        return this.snapshot.getContextLifespanCount(context);
     }
 
     /**
@@ -342,19 +545,13 @@ public class RuntimeContexts {
      * LifespanCounts corresponds to the number of user inputs that can be handled before removing the variable from
      * the current context. This method is called after each user input to take into account the new interaction and
      * decrement the lifespan counters from the live contexts.
+     * <p>
+     * This method runs in constant time: it moves the turn counter forward, and the expired contexts are removed
+     * lazily.
      */
-    public void decrementLifespanCounts() {
+    public synchronized void decrementLifespanCounts() {
         Log.debug("Decrementing RuntimeContexts lifespanCounts");
-        Iterator<Map.Entry<String, Integer>> it = lifespanCounts.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<String, Integer> entry = it.next();
-            if (entry.getValue() - 1 == 0) {
-                it.remove();
-                contexts.remove(entry.getKey());
-            } else {
-                entry.setValue(entry.getValue() - 1);
-            }
-        }
+        this.snapshot = this.snapshot.withTurn(this.snapshot.getTurn() + 1);
     }
 
     /**
@@ -364,11 +561,15 @@ public class RuntimeContexts {
      * unchanged for the next match. If the context are not incremented the automated call to
      * {@link #decrementLifespanCounts()} may delete them, making the intent recognition inconsistent.
      */
-    public void incrementLifespanCounts() {
+    public synchronized void incrementLifespanCounts() {
         Log.debug("Incrementing RuntimeContexts lifespanCounts");
-        for (Map.Entry<String, Integer> entry : lifespanCounts.entrySet()) {
-            entry.setValue(entry.getValue() + 1);
-        }
+        /*
+         * Remove the expired contexts before moving the turn counter backward, otherwise they would be live again.
+         * The expiration index does not contain turns lower than or equal to the current one after the compaction.
+         */
+        compact();
+        this.snapshot = this.snapshot.withTurn(this.snapshot.getTurn() - 1);
+        compactedTurn = this.snapshot.getTurn();
     }
 
     /**
@@ -390,16 +591,19 @@ public class RuntimeContexts {
      * @throws XatkitException if the provided {@link RuntimeContexts} defines at least one {@code context} with the
      *                         same name as one of the {@code contexts} stored in this {@link RuntimeContexts}
      */
-    public void merge(@NonNull RuntimeContexts other) {
-        other.getContextMap().forEach((k, v) -> {
+    public synchronized void merge(@NonNull RuntimeContexts other) {
+        compact();
+        RuntimeContextsSnapshot otherSnapshot = other.getSnapshot();
+        otherSnapshot.getContextMap().forEach((k, v) -> {
             Map<String, Object> variableMap = new HashMap<>();
-            if (this.contexts.containsKey(k)) {
+            Map<String, Object> existingVariables = this.snapshot.getContextVariables(k);
+            if (nonNull(existingVariables)) {
                 Log.debug("Overriding existing context: {0}", k);
                 /*
                  * Add all the variables that are already stored in the context, they may be overridden by variables
                  * from {@code other}.
                  */
-                variableMap.putAll(this.contexts.get(k));
+                variableMap.putAll(existingVariables);
             }
             /*
              * v1 is not cloned here, so concrete values are shared between the contexts. This may be an
@@ -407,29 +611,191 @@ public class RuntimeContexts {
              * a deep copy of the variables themselves. (see #129)
              */
             variableMap.putAll(v);
-            this.contexts.put(k, variableMap);
             /*
              * Merge the lifespan counts in the current context.
              */
-            this.lifespanCounts.put(k, other.getContextLifespanCount(k));
+            publishContext(k, Collections.unmodifiableMap(variableMap),
+                    this.snapshot.getTurn() + otherSnapshot.getContextLifespanCount(k));
+        });
+    }
+
+    /**
+     * Replaces the stored contexts and lifespan counts by the provided ones.
+     * <p>
+     * This method is used to restore the content of a {@link XatkitSession} from a {@link SessionSnapshot}. The
+     * provided {@link Map}s are copied.
+     *
+     * @param contexts       the context variables to restore
+     * @param lifespanCounts the lifespan counts to restore
+     * @see SessionSnapshot#restoreContent(XatkitSession)
+     */
+    synchronized void restore(Map<String, ? extends Map<String, Object>> contexts,
+                              Map<String, Integer> lifespanCounts) {
+        ObjectLongHashMap<String> expirationTurns = new ObjectLongHashMap<>();
+        this.expiringContexts.clear();
+        this.compactedTurn = 0;
+        lifespanCounts.forEach((context, lifespanCount) -> {
+            expirationTurns.put(context, lifespanCount);
+            expiringContexts.getIfAbsentPut(lifespanCount, ArrayList::new).add(context);
         });
+        this.snapshot = RuntimeContextsSnapshot.of(0, contexts, expirationTurns);
+        contexts.keySet().forEach(this::touchContext);
     }
 
     /**
-     * Returns an unmodifiable {@link Map} representing the stored context values.
+     * Returns the current {@link RuntimeContextsSnapshot}.
+     * <p>
+     * The returned snapshot is immutable, and provides a consistent view of the contexts that is not affected by
+     * subsequent updates. This method does not lock the {@link RuntimeContexts}, and should be preferred to the
+     * other accessors when several values need to be read consistently.
      *
-     * @return an unmodifiable {@link Map} representing the stored context values
+     * @return the current {@link RuntimeContextsSnapshot}
+     */
+    public RuntimeContextsSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Returns a {@link Map} representing the stored context values.
+     * <p>
+     * The returned {@link Map} is a view reading the current {@link RuntimeContextsSnapshot} on each access: it
+     * reflects the updates of the contexts, and does not contain the expired contexts. Its values are views of the
+     * context variables (see {@link #getContextVariables(String)}), contexts cannot be added or removed through the
+     * returned {@link Map}. Use {@link #getSnapshot()} to read several contexts consistently.
+     *
+     * @return a {@link Map} representing the stored context values
+     * @see #getSnapshot()
      */
     public Map<String, Map<String, Object>> getContextMap() {
-        return Collections.unmodifiableMap(contexts);
+        return new ContextMapView();
     }
 
     /**
      * Returns an unmodifiable {@link Map} representing the stored lifespan counts.
+     * <p>
+     * The returned {@link Map} is a copy of the lifespan counts at the time of the call, and is not updated when the
+     * lifespan counts are decremented.
      *
      * @return an unmodifiable {@link Map} representing the stored lifespan counts
+     * @see #getSnapshot()
      */
     public Map<String, Integer> getLifespanCountsMap() {
-        return Collections.unmodifiableMap(lifespanCounts);
+        return this.snapshot.getLifespanCountsMap();
+    }
+
+    /**
+     * A view of the contexts reading the current {@link RuntimeContextsSnapshot} on each access.
+     *
+     * @see #getContextMap()
+     */
+    private final class ContextMapView extends AbstractMap<String, Map<String, Object>> {
+
+        @Override
+        public Map<String, Object> get(Object key) {
+            return key instanceof String ? getContextVariables((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && snapshot.isLive((String) key);
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, Object>>> entrySet() {
+            Set<String> contextNames = snapshot.getContextMap().keySet();
+            return new AbstractSet<Entry<String, Map<String, Object>>>() {
+
+                @Override
+                public Iterator<Entry<String, Map<String, Object>>> iterator() {
+                    Iterator<String> it = contextNames.iterator();
+                    return new Iterator<Entry<String, Map<String, Object>>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Map<String, Object>> next() {
+                            String contextName = it.next();
+                            return new SimpleImmutableEntry<>(contextName, new ContextVariablesView(contextName));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return contextNames.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * A view of the variables of a context reading the current {@link RuntimeContextsSnapshot} on each access.
+     * <p>
+     * Updates made through this view are published in a new {@link RuntimeContextsSnapshot} (see
+     * {@link #updateContextVariables(String, Function)}).
+     *
+     * @see #getContextVariables(String)
+     */
+    private final class ContextVariablesView extends AbstractMap<String, Object> {
+
+        /**
+         * The name of the context.
+         */
+        private final String context;
+
+        /**
+         * Constructs a {@link ContextVariablesView} of the provided {@code context}.
+         *
+         * @param context the name of the context
+         */
+        private ContextVariablesView(String context) {
+            this.context = context;
+        }
+
+        /**
+         * Returns the variables of the context in the current {@link RuntimeContextsSnapshot}.
+         *
+         * @return the variables of the context, or an empty {@link Map} if the context does not exist or is expired
+         */
+        private Map<String, Object> variables() {
+            Map<String, Object> variables = snapshot.getContextVariables(context);
+            return isNull(variables) ? Collections.emptyMap() : variables;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return variables().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return variables().containsKey(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return updateContextVariables(context, variables -> variables.put(key, value));
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return updateContextVariables(context, variables -> variables.remove(key));
+        }
+
+        @Override
+        public void clear() {
+            updateContextVariables(context, variables -> {
+                variables.clear();
+                return null;
+            });
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return variables().entrySet();
+        }
     }
 }
@@ -0,0 +1,281 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.XatkitException;
+import lombok.NonNull;
+import org.eclipse.collections.api.map.primitive.ImmutableObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable view of the content of a {@link RuntimeContexts}.
+ * <p>
+ * {@link RuntimeContexts} publish a new snapshot every time they are updated. Snapshots are persistent: an update
+ * copies the path to the modified context (i.e. the context {@link Map} and the modified variable {@link Map}), and
+ * shares the other variable {@link Map}s with the previous snapshot. Readers can access a consistent view of the
+ * contexts without locking, even if the {@link RuntimeContexts} are concurrently updated.
+ * <p>
+ * A snapshot may contain expired contexts that have not been compacted yet, the accessors of this class ignore
+ * them.
+ *
+ * @see RuntimeContexts#getSnapshot()
+ */
+public final class RuntimeContextsSnapshot {
+
+    /**
+     * The empty snapshot.
+     */
+    static final RuntimeContextsSnapshot EMPTY = new RuntimeContextsSnapshot(0, Collections.emptyMap(),
+            new ObjectLongHashMap<String>().toImmutable(), Long.MAX_VALUE);
+
+    /**
+     * The turn of the conversation at the time the snapshot has been created.
+     *
+     * @see RuntimeContexts#decrementLifespanCounts()
+     */
+    private final long turn;
+
+    /**
+     * The unmodifiable context {@link Map}, containing unmodifiable variable {@link Map}s.
+     */
+    private final Map<String, Map<String, Object>> contexts;
+
+    /**
+     * The turns the contexts expire at, indexed by context name.
+     */
+    private final ImmutableObjectLongMap<String> expirationTurns;
+
+    /**
+     * The lowest expiration turn of the contexts.
+     * <p>
+     * This value allows to return the {@link #contexts} without filtering them if none of them is expired.
+     */
+    private final long minExpirationTurn;
+
+    /**
+     * The contexts that are not expired.
+     * <p>
+     * This field is lazily computed by {@link #getContextMap()} when the snapshot contains expired contexts.
+     * Concurrent computations produce equal {@link Map}s, so this field does not need to be synchronized.
+     */
+    private volatile Map<String, Map<String, Object>> liveContexts;
+
+    /**
+     * Constructs a {@link RuntimeContextsSnapshot} with the provided content.
+     *
+     * @param turn              the turn of the conversation
+     * @param contexts          the unmodifiable context {@link Map}
+     * @param expirationTurns   the turns the contexts expire at
+     * @param minExpirationTurn the lowest expiration turn of the contexts
+     */
+    private RuntimeContextsSnapshot(long turn, Map<String, Map<String, Object>> contexts,
+                                    ImmutableObjectLongMap<String> expirationTurns, long minExpirationTurn) {
+        this.turn = turn;
+        this.contexts = contexts;
+        this.expirationTurns = expirationTurns;
+        this.minExpirationTurn = minExpirationTurn;
+    }
+
+    /**
+     * Returns the turn of the conversation at the time the snapshot has been created.
+     *
+     * @return the turn of the conversation
+     */
+    long getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the turn the provided {@code context} expires at.
+     *
+     * @param context the name of the context
+     * @return the turn the context expires at, or {@link Long#MIN_VALUE} if the snapshot does not contain the
+     * context
+     */
+    long getExpirationTurn(String context) {
+        return expirationTurns.getIfAbsent(context, Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns whether the provided {@code context} is stored and not expired.
+     *
+     * @param context the name of the context to check
+     * @return {@code true} if the context is live, {@code false} otherwise
+     */
+    boolean isLive(String context) {
+        return getExpirationTurn(context) > turn;
+    }
+
+    /**
+     * Returns all the variables stored in the given {@code context}.
+     *
+     * @param context the context to retrieve the variables from
+     * @return an unmodifiable {@link Map} holding the context variables, or {@code null} if the context does not
+     * exist or is expired
+     * @throws NullPointerException if the provided {@code context} is {@code null}
+     */
+    public @Nullable
+    Map<String, Object> getContextVariables(@NonNull String context) {
+        return isLive(context) ? contexts.get(context) : null;
+    }
+
+    /**
+     * Returns the {@code context} value associated to the provided {@code key}.
+     *
+     * @param context the context to retrieve the variable from
+     * @param key     the context key associated to the value
+     * @return the value associated to the provided {@code key}, or {@code null} if it does not exist
+     * @throws NullPointerException if the provided {@code context} or {@code key} is {@code null}
+     */
+    public @Nullable
+    Object getContextValue(@NonNull String context, @NonNull String key) {
+        Map<String, Object> contextVariables = getContextVariables(context);
+        return nonNull(contextVariables) ? contextVariables.get(key) : null;
+    }
+
+    /**
+     * Returns the lifespan count of the provided {@code context}.
+     *
+     * @param context the context to retrieve the lifespan count of
+     * @return the lifespan count of the provided {@code context}
+     * @throws NullPointerException if the provided {@code context} is {@code null}
+     * @throws XatkitException      if the context does not exist or is expired
+     */
+    public int getContextLifespanCount(@NonNull String context) {
+        if (isLive(context)) {
+            return (int) (getExpirationTurn(context) - turn);
+        } else {
+            throw new XatkitException(MessageFormat.format("Cannot retrieve the lifespan count for the provided " +
+                    "context {0} the context is not registered", context));
+        }
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} containing the live contexts and their variables.
+     *
+     * @return an unmodifiable {@link Map} containing the live contexts
+     */
+    public Map<String, Map<String, Object>> getContextMap() {
+        if (minExpirationTurn > turn) {
+            return contexts;
+        }
+        Map<String, Map<String, Object>> result = liveContexts;
+        if (isNull(result)) {
+            Map<String, Map<String, Object>> live = new HashMap<>();
+            contexts.forEach((k, v) -> {
+                if (isLive(k)) {
+                    live.put(k, v);
+                }
+            });
+            result = Collections.unmodifiableMap(live);
+            liveContexts = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} containing the lifespan counts of the live contexts.
+     *
+     * @return an unmodifiable {@link Map} containing the lifespan counts of the live contexts
+     */
+    public Map<String, Integer> getLifespanCountsMap() {
+        Map<String, Integer> lifespanCounts = new HashMap<>();
+        expirationTurns.forEachKeyValue((context, expirationTurn) -> {
+            if (expirationTurn > turn) {
+                lifespanCounts.put(context, (int) (expirationTurn - turn));
+            }
+        });
+        return Collections.unmodifiableMap(lifespanCounts);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the provided {@code turn}.
+     * <p>
+     * The content of the returned snapshot is shared with this one.
+     *
+     * @param turn the turn of the returned snapshot
+     * @return a copy of this snapshot with the provided {@code turn}
+     */
+    RuntimeContextsSnapshot withTurn(long turn) {
+        return new RuntimeContextsSnapshot(turn, contexts, expirationTurns, minExpirationTurn);
+    }
+
+    /**
+     * Returns a copy of this snapshot where the provided {@code context} is set with the given {@code variables}
+     * and {@code expirationTurn}.
+     * <p>
+     * Only the context {@link Map} is copied, the variable {@link Map}s of the other contexts are shared with this
+     * snapshot.
+     *
+     * @param context        the name of the context to set
+     * @param variables      the unmodifiable variable {@link Map} of the context
+     * @param expirationTurn the turn the context expires at
+     * @return the updated snapshot
+     */
+    RuntimeContextsSnapshot withContext(String context, Map<String, Object> variables, long expirationTurn) {
+        Map<String, Map<String, Object>> newContexts = new HashMap<>(contexts);
+        newContexts.put(context, variables);
+        long newMinExpirationTurn = Math.min(expirationTurn, getExpirationTurn(context) == minExpirationTurn ?
+                computeMinExpirationTurn(context) : minExpirationTurn);
+        return new RuntimeContextsSnapshot(turn, Collections.unmodifiableMap(newContexts),
+                expirationTurns.newWithKeyValue(context, expirationTurn), newMinExpirationTurn);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the provided {@code removedContexts}.
+     *
+     * @param removedContexts the names of the contexts to remove
+     * @return the updated snapshot, or this snapshot if it does not contain any of the {@code removedContexts}
+     */
+    RuntimeContextsSnapshot withoutContexts(Collection<String> removedContexts) {
+        if (removedContexts.isEmpty()) {
+            return this;
+        }
+        Map<String, Map<String, Object>> newContexts = new HashMap<>(contexts);
+        newContexts.keySet().removeAll(removedContexts);
+        ImmutableObjectLongMap<String> newExpirationTurns = expirationTurns.newWithoutAllKeys(removedContexts);
+        long newMinExpirationTurn = newExpirationTurns.isEmpty() ? Long.MAX_VALUE : newExpirationTurns.min();
+        return new RuntimeContextsSnapshot(turn, Collections.unmodifiableMap(newContexts), newExpirationTurns,
+                newMinExpirationTurn);
+    }
+
+    /**
+     * Creates a snapshot with the provided {@code turn} and content.
+     *
+     * @param turn            the turn of the created snapshot
+     * @param contexts        the context variables of the created snapshot
+     * @param expirationTurns the expiration turns of the contexts of the created snapshot
+     * @return the created snapshot
+     */
+    static RuntimeContextsSnapshot of(long turn, Map<String, ? extends Map<String, Object>> contexts,
+                                      ObjectLongHashMap<String> expirationTurns) {
+        Map<String, Map<String, Object>> newContexts = new HashMap<>();
+        contexts.forEach((k, v) -> newContexts.put(k, Collections.unmodifiableMap(new HashMap<>(v))));
+        return new RuntimeContextsSnapshot(turn, Collections.unmodifiableMap(newContexts),
+                expirationTurns.toImmutable(), expirationTurns.isEmpty() ? Long.MAX_VALUE : expirationTurns.min());
+    }
+
+    /**
+     * Computes the lowest expiration turn of the contexts, ignoring the provided {@code ignoredContext}.
+     *
+     * @param ignoredContext the context to ignore
+     * @return the lowest expiration turn of the contexts
+     */
+    private long computeMinExpirationTurn(String ignoredContext) {
+        long[] min = {Long.MAX_VALUE};
+        expirationTurns.forEachKeyValue((context, expirationTurn) -> {
+            if (!context.equals(ignoredContext) && expirationTurn < min[0]) {
+                min[0] = expirationTurn;
+            }
+        });
+        return min[0];
+    }
+}
@@ -0,0 +1,28 @@
+package com.xatkit.core.session;
+
+/**
+ * The causes of the eviction of a {@link XatkitSession} from the {@link XatkitSessionRegistry}.
+ *
+ * @see SessionEvictionListener
+ */
+public enum SessionEvictionCause {
+
+    /**
+     * The session has not been accessed during the configured idle time.
+     *
+     * @see XatkitSessionRegistry#SESSION_IDLE_TTL_KEY
+     */
+    EXPIRED,
+
+    /**
+     * The session has been evicted to keep the number of sessions under the configured maximum size.
+     *
+     * @see XatkitSessionRegistry#SESSION_MAX_SIZE_KEY
+     */
+    SIZE,
+
+    /**
+     * The session has been explicitly removed from the registry.
+     */
+    EXPLICIT
+}
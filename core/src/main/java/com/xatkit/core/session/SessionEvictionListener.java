@@ -0,0 +1,24 @@
+package com.xatkit.core.session;
+
+/**
+ * A listener notified when a {@link XatkitSession} is evicted from the {@link XatkitSessionRegistry}.
+ * <p>
+ * Eviction listeners allow to release the resources associated to a {@link XatkitSession} (e.g. public files,
+ * platform-specific caches) once the session is not used anymore.
+ *
+ * @see XatkitSessionRegistry#addEvictionListener(SessionEvictionListener)
+ */
+@FunctionalInterface
+public interface SessionEvictionListener {
+
+    /**
+     * Handles the eviction of the provided {@code session}.
+     * <p>
+     * This method is called once the {@code session} has been removed from the registry. Exceptions thrown by this
+     * method are logged and do not prevent the notification of the other listeners.
+     *
+     * @param session the evicted {@link XatkitSession}
+     * @param cause   the {@link SessionEvictionCause} of the eviction
+     */
+    void onEviction(XatkitSession session, SessionEvictionCause cause);
+}
@@ -0,0 +1,638 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.XatkitException;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.commons.configuration2.Configuration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Persists the {@link XatkitSession}s to allow warm restarts.
+ * <p>
+ * The journal periodically writes a compressed snapshot of all the {@link XatkitSession}s stored in memory (see
+ * {@link SessionSnapshot}), and records the state transitions of the sessions between two snapshots in an
+ * append-only log. When the bot is restarted the latest snapshot is loaded and the logged transitions are replayed
+ * on top of it (see {@link #load()}).
+ * <p>
+ * Snapshots and transition logs are versioned with a <i>generation</i> number: a snapshot of generation {@code n}
+ * contains the sessions as they were after the transition log of generation {@code n} has been opened. This allows
+ * to write snapshots without blocking the sessions, and to recover from a crash that occurred while a snapshot was
+ * written. Files of previous generations are deleted once a snapshot is completed.
+ * <p>
+ * Sessions containing non-{@link java.io.Serializable} values are not included in the snapshots, but their state
+ * transitions are still recorded.
+ * <p>
+ * State transitions are queued when they are recorded, and written in batches to the transition log by the journal
+ * thread. Transitions recorded less than {@link #FLUSH_INTERVAL_KEY} milliseconds before a crash may be lost.
+ * <p>
+ * The journal can be configured with the following keys:
+ * <ul>
+ * <li><b>{@link #WARM_RESTART_KEY}</b>: whether the sessions are persisted</li>
+ * <li><b>{@link #SNAPSHOT_INTERVAL_KEY}</b>: the interval (in seconds) between two snapshots</li>
+ * <li><b>{@link #FLUSH_INTERVAL_KEY}</b>: the interval (in milliseconds) between two writes of the recorded
+ * transitions</li>
+ * </ul>
+ *
+ * @see SessionSnapshot
+ */
+public class SessionJournal {
+
+    /**
+     * The {@link Configuration} key to specify whether the sessions are persisted to allow warm restarts.
+     * <p>
+     * This property is optional, and is set to {@code false} if not specified.
+     */
+    public static final String WARM_RESTART_KEY = "xatkit.core.sessions.warm_restart";
+
+    /**
+     * The {@link Configuration} key to specify the interval (in seconds) between two snapshots.
+     * <p>
+     * This property is optional, and is set to {@code 300} if not specified.
+     */
+    public static final String SNAPSHOT_INTERVAL_KEY = "xatkit.core.sessions.snapshot_interval";
+
+    /**
+     * The default interval (in seconds) between two snapshots.
+     */
+    public static final long DEFAULT_SNAPSHOT_INTERVAL = 300;
+
+    /**
+     * The {@link Configuration} key to specify the interval (in milliseconds) between two writes of the recorded
+     * state transitions.
+     * <p>
+     * This property is optional, and is set to {@code 100} if not specified.
+     */
+    public static final String FLUSH_INTERVAL_KEY = "xatkit.core.sessions.journal_flush_interval";
+
+    /**
+     * The default interval (in milliseconds) between two writes of the recorded state transitions.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 100;
+
+    /**
+     * The header of the snapshot files.
+     */
+    private static final int SNAPSHOT_HEADER = 0x58534E31;
+
+    /**
+     * The pattern of the snapshot and transition log files.
+     */
+    private static final Pattern FILE_PATTERN = Pattern.compile("(snapshot|journal)-(\\d+)\\.(bin|log)");
+
+    /**
+     * The directory containing the snapshot and transition log files.
+     */
+    @Getter
+    private final File directory;
+
+    /**
+     * The interval (in milliseconds) between two snapshots.
+     */
+    @Getter
+    private final long snapshotInterval;
+
+    /**
+     * The interval (in milliseconds) between two writes of the recorded state transitions.
+     */
+    @Getter
+    private final long flushInterval;
+
+    /**
+     * The {@link Supplier} returning the {@link XatkitSession}s to include in the snapshots.
+     */
+    private final Supplier<? extends Iterable<XatkitSession>> sessions;
+
+    /**
+     * The lock preventing concurrent snapshots.
+     */
+    private final Object snapshotLock = new Object();
+
+    /**
+     * The current generation.
+     */
+    private long generation;
+
+    /**
+     * The stream used to append the state transitions to the current transition log.
+     * <p>
+     * This field is {@code null} if the journal is not started. It is only modified while holding the lock of this
+     * object.
+     */
+    private volatile DataOutputStream journalStream;
+
+    /**
+     * The recorded state transitions that have not been written to the transition log yet.
+     *
+     * @see #flush()
+     */
+    private final Queue<RecordedTransition> pendingTransitions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The thread writing the recorded transitions and the periodic snapshots.
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * The number of recorded state transitions.
+     */
+    private final AtomicLong transitionCount = new AtomicLong(0);
+
+    /**
+     * The number of written snapshots.
+     */
+    private final AtomicLong snapshotCount = new AtomicLong(0);
+
+    /**
+     * Constructs a {@link SessionJournal} from the provided {@code configuration}.
+     * <p>
+     * The snapshots and transition logs are stored in {@code <xatkit.data.directory>/sessions}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @param sessions      the {@link Supplier} returning the {@link XatkitSession}s to include in the snapshots
+     * @throws NullPointerException if the provided {@code configuration} or {@code sessions} is {@code null}
+     * @see #SNAPSHOT_INTERVAL_KEY
+     * @see #FLUSH_INTERVAL_KEY
+     */
+    public SessionJournal(@NonNull Configuration configuration,
+                          @NonNull Supplier<? extends Iterable<XatkitSession>> sessions) {
+        this(SessionPassivationStore.getSessionsDirectory(configuration),
+                TimeUnit.SECONDS.toMillis(configuration.getLong(SNAPSHOT_INTERVAL_KEY, DEFAULT_SNAPSHOT_INTERVAL)),
+                configuration.getLong(FLUSH_INTERVAL_KEY, DEFAULT_FLUSH_INTERVAL), sessions);
+    }
+
+    /**
+     * Constructs a {@link SessionJournal} with the provided parameters.
+     * <p>
+     * The recorded transitions are written every {@link #DEFAULT_FLUSH_INTERVAL} milliseconds.
+     *
+     * @param directory        the directory containing the snapshot and transition log files
+     * @param snapshotInterval the interval (in milliseconds) between two snapshots
+     * @param sessions         the {@link Supplier} returning the {@link XatkitSession}s to include in the snapshots
+     * @throws NullPointerException     if the provided {@code directory} or {@code sessions} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code snapshotInterval} is lower than {@code 1}
+     */
+    public SessionJournal(@NonNull File directory, long snapshotInterval,
+                          @NonNull Supplier<? extends Iterable<XatkitSession>> sessions) {
+        this(directory, snapshotInterval, DEFAULT_FLUSH_INTERVAL, sessions);
+    }
+
+    /**
+     * Constructs a {@link SessionJournal} with the provided parameters.
+     *
+     * @param directory        the directory containing the snapshot and transition log files
+     * @param snapshotInterval the interval (in milliseconds) between two snapshots
+     * @param flushInterval    the interval (in milliseconds) between two writes of the recorded transitions
+     * @param sessions         the {@link Supplier} returning the {@link XatkitSession}s to include in the snapshots
+     * @throws NullPointerException     if the provided {@code directory} or {@code sessions} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code snapshotInterval} or {@code flushInterval} is lower
+     *                                  than {@code 1}
+     */
+    public SessionJournal(@NonNull File directory, long snapshotInterval, long flushInterval,
+                          @NonNull Supplier<? extends Iterable<XatkitSession>> sessions) {
+        checkArgument(snapshotInterval > 0, "Cannot construct a %s with the snapshot interval %s, expected a " +
+                "positive value", this.getClass().getSimpleName(), snapshotInterval);
+        checkArgument(flushInterval > 0, "Cannot construct a %s with the flush interval %s, expected a " +
+                "positive value", this.getClass().getSimpleName(), flushInterval);
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.flushInterval = flushInterval;
+        this.sessions = sessions;
+        this.directory.mkdirs();
+        TreeSet<Long> generations = getGenerations("snapshot");
+        generations.addAll(getGenerations("journal"));
+        this.generation = generations.isEmpty() ? 0 : generations.last();
+    }
+
+    /**
+     * Loads the persisted {@link SessionSnapshot}s.
+     * <p>
+     * This method reads the latest snapshot, and replays the state transitions recorded after it. The
+     * snapshots are deserialized in parallel. Sessions that only appear in the transition logs are returned as
+     * empty {@link SessionSnapshot}s with their latest state.
+     * <p>
+     * This method must be called before {@link #start()}.
+     *
+     * @return the loaded {@link SessionSnapshot}s
+     * @throws IllegalStateException if the journal is already started
+     */
+    public Collection<SessionSnapshot> load() {
+        checkState(isNull(journalStream), "Cannot load the sessions, the %s is already started",
+                this.getClass().getSimpleName());
+        long start = System.currentTimeMillis();
+        TreeSet<Long> snapshotGenerations = getGenerations("snapshot");
+        long snapshotGeneration = snapshotGenerations.isEmpty() ? 0 : snapshotGenerations.last();
+        Map<String, SessionSnapshot> snapshots = new LinkedHashMap<>();
+        if (!snapshotGenerations.isEmpty()) {
+            List<byte[]> serializedSnapshots = readSnapshotFile(getFile("snapshot", snapshotGeneration));
+            serializedSnapshots.parallelStream().map(bytes -> {
+                try {
+                    return SessionSnapshot.fromBytes(bytes);
+                } catch (XatkitException e) {
+                    Log.warn("Cannot load a session snapshot: {0}", e.getMessage());
+                    return null;
+                }
+            }).filter(snapshot -> nonNull(snapshot)).collect(Collectors.toList())
+                    .forEach(snapshot -> snapshots.put(snapshot.getSessionId(), snapshot));
+        }
+        int replayedTransitions = 0;
+        for (long journalGeneration : getGenerations("journal").tailSet(snapshotGeneration)) {
+            replayedTransitions += replayJournalFile(getFile("journal", journalGeneration), snapshots);
+        }
+        Log.info("Loaded {0} sessions in {1} ms (snapshot generation: {2}, replayed transitions: {3})",
+                snapshots.size(), System.currentTimeMillis() - start, snapshotGeneration, replayedTransitions);
+        return snapshots.values();
+    }
+
+    /**
+     * Starts the journal.
+     * <p>
+     * This method opens a new transition log, and schedules the periodic writes of the recorded transitions and
+     * the periodic snapshots.
+     *
+     * @throws IllegalStateException if the journal is already started
+     * @throws XatkitException       if an error occurred when opening the transition log
+     */
+    public void start() {
+        synchronized (this) {
+            checkState(isNull(journalStream), "Cannot start the %s, the journal is already started",
+                    this.getClass().getSimpleName());
+            rotate();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "xatkit-session-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Throwable t) {
+                /*
+                 * Catch everything, an exception would cancel the periodic writes.
+                 */
+                Log.error(t, "An error occurred when writing the recorded session transitions");
+            }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (Throwable t) {
+                /*
+                 * Catch everything, an exception would cancel the periodic snapshots.
+                 */
+                Log.error(t, "An error occurred when writing the session snapshot");
+            }
+        }, snapshotInterval, snapshotInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records that the provided {@code session} moved to the state {@code stateName}.
+     * <p>
+     * The transition is queued and written to the transition log by the journal thread (see {@link #flush()}),
+     * this method does not block the caller. This method does nothing if the journal is not started.
+     *
+     * @param sessionId the identifier of the session
+     * @param stateName the name of the state of the session
+     * @throws NullPointerException if the provided {@code sessionId} or {@code stateName} is {@code null}
+     */
+    public void recordTransition(@NonNull String sessionId, @NonNull String stateName) {
+        if (isNull(journalStream)) {
+            return;
+        }
+        pendingTransitions.add(new RecordedTransition(sessionId, stateName));
+        transitionCount.incrementAndGet();
+    }
+
+    /**
+     * Writes the recorded transitions to the transition log.
+     * <p>
+     * The transitions are written in a single batch, and flushed to the OS to keep them if the process is killed.
+     * This method is called periodically by the journal thread (see {@link #FLUSH_INTERVAL_KEY}), before each
+     * snapshot, and when the journal is closed. It does nothing if the journal is not started.
+     */
+    public synchronized void flush() {
+        if (isNull(journalStream) || pendingTransitions.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        RecordedTransition transition;
+        try {
+            while (nonNull(transition = pendingTransitions.poll())) {
+                journalStream.writeUTF(transition.getSessionId());
+                journalStream.writeUTF(transition.getStateName());
+                count++;
+            }
+            journalStream.flush();
+        } catch (IOException e) {
+            Log.error("Cannot record the state transitions of the sessions ({0} transitions written): {1}", count,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the {@link XatkitSession}s.
+     * <p>
+     * This method opens a new transition log before capturing the sessions, and deletes the files of the previous
+     * generations once the snapshot is written.
+     *
+     * @throws IllegalStateException if the journal is not started
+     * @throws XatkitException       if an error occurred when writing the snapshot
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long snapshotGeneration;
+            synchronized (this) {
+                checkState(nonNull(journalStream), "Cannot write the snapshot, the %s is not started",
+                        this.getClass().getSimpleName());
+                /*
+                 * Write the pending transitions in the current log: they must not be replayed on top of the
+                 * snapshot, which may contain more recent states.
+                 */
+                flush();
+                snapshotGeneration = rotate();
+            }
+            long start = System.currentTimeMillis();
+            File snapshotFile = getFile("snapshot", snapshotGeneration);
+            File temporaryFile = new File(directory, snapshotFile.getName() + ".tmp");
+            int sessionCount = 0;
+            int skippedCount = 0;
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(temporaryFile))))) {
+                out.writeInt(SNAPSHOT_HEADER);
+                for (XatkitSession session : sessions.get()) {
+                    byte[] bytes;
+                    try {
+                        bytes = SessionSnapshot.of(session).toBytes();
+                    } catch (IOException | RuntimeException e) {
+                        /*
+                         * Non-serializable values or concurrent modifications: the state of the session is still
+                         * recorded in the transition log.
+                         */
+                        Log.debug("Cannot include the session {0} in the snapshot: {1}", session.getSessionId(),
+                                e.getMessage());
+                        skippedCount++;
+                        continue;
+                    }
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    sessionCount++;
+                }
+                out.writeInt(-1);
+            } catch (IOException e) {
+                throw new XatkitException(MessageFormat.format("Cannot write the session snapshot {0}",
+                        snapshotFile.getAbsolutePath()), e);
+            }
+            try {
+                Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new XatkitException(MessageFormat.format("Cannot write the session snapshot {0}",
+                        snapshotFile.getAbsolutePath()), e);
+            }
+            deleteGenerationsBefore(snapshotGeneration);
+            snapshotCount.incrementAndGet();
+            Log.debug("Session snapshot {0} written in {1} ms ({2} sessions, {3} skipped)", snapshotGeneration,
+                    System.currentTimeMillis() - start, sessionCount, skippedCount);
+        }
+    }
+
+    /**
+     * Writes a final snapshot and closes the journal.
+     * <p>
+     * This method does nothing if the journal is not started.
+     */
+    public void close() {
+        if (isNull(journalStream)) {
+            return;
+        }
+        if (nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+        try {
+            snapshot();
+        } finally {
+            synchronized (this) {
+                flush();
+                closeJournalStream();
+                this.journalStream = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of recorded state transitions.
+     *
+     * @return the number of recorded state transitions
+     */
+    public long getTransitionCount() {
+        return this.transitionCount.get();
+    }
+
+    /**
+     * Returns the number of written snapshots.
+     *
+     * @return the number of written snapshots
+     */
+    public long getSnapshotCount() {
+        return this.snapshotCount.get();
+    }
+
+    /**
+     * Opens the transition log of the next generation, and closes the current one.
+     * <p>
+     * This method must be called while holding the lock of this object.
+     *
+     * @return the new generation
+     * @throws XatkitException if an error occurred when opening the transition log
+     */
+    private long rotate() {
+        long nextGeneration = generation + 1;
+        DataOutputStream nextJournalStream;
+        try {
+            nextJournalStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getFile(
+                    "journal", nextGeneration), true)));
+        } catch (IOException e) {
+            throw new XatkitException(MessageFormat.format("Cannot open the session journal {0}", nextGeneration),
+                    e);
+        }
+        closeJournalStream();
+        this.journalStream = nextJournalStream;
+        this.generation = nextGeneration;
+        return nextGeneration;
+    }
+
+    /**
+     * Closes the current transition log if it is open.
+     */
+    private void closeJournalStream() {
+        if (nonNull(journalStream)) {
+            try {
+                journalStream.close();
+            } catch (IOException e) {
+                Log.warn("Cannot close the session journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the serialized {@link SessionSnapshot}s contained in the provided {@code file}.
+     *
+     * @param file the snapshot file to read
+     * @return the serialized {@link SessionSnapshot}s
+     */
+    private List<byte[]> readSnapshotFile(File file) {
+        List<byte[]> result = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(
+                new FileInputStream(file))))) {
+            if (in.readInt() != SNAPSHOT_HEADER) {
+                Log.error("Cannot load the session snapshot {0}: invalid header", file.getAbsolutePath());
+                return result;
+            }
+            int length = in.readInt();
+            while (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                result.add(bytes);
+                length = in.readInt();
+            }
+        } catch (IOException e) {
+            Log.error("Cannot load the session snapshot {0}, {1} sessions loaded: {2}", file.getAbsolutePath(),
+                    result.size(), e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Replays the state transitions contained in the provided {@code file} on the provided {@code snapshots}.
+     * <p>
+     * A truncated record at the end of the file (e.g. because the process has been killed while writing it) is
+     * ignored.
+     *
+     * @param file      the transition log to replay
+     * @param snapshots the {@link SessionSnapshot}s to update, indexed by session identifier
+     * @return the number of replayed transitions
+     */
+    private int replayJournalFile(File file, Map<String, SessionSnapshot> snapshots) {
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                String sessionId = in.readUTF();
+                String stateName = in.readUTF();
+                snapshots.compute(sessionId, (id, snapshot) -> isNull(snapshot) ? SessionSnapshot.of(id, stateName)
+                        : snapshot.withStateName(stateName));
+                count++;
+            }
+        } catch (EOFException e) {
+            /*
+             * End of the journal.
+             */
+        } catch (IOException e) {
+            Log.error("Cannot replay the session journal {0}: {1}", file.getAbsolutePath(), e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Deletes the snapshot and transition log files of the generations lower than the provided {@code generation}.
+     *
+     * @param generation the generation to keep the files from
+     */
+    private void deleteGenerationsBefore(long generation) {
+        File[] files = directory.listFiles();
+        if (isNull(files)) {
+            return;
+        }
+        for (File file : files) {
+            Matcher matcher = FILE_PATTERN.matcher(file.getName());
+            if (matcher.matches() && Long.parseLong(matcher.group(2)) < generation && !file.delete()) {
+                Log.warn("Cannot delete the session file {0}", file.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Returns the generations of the existing files of the provided {@code kind}.
+     *
+     * @param kind the kind of files to retrieve the generations of ({@code snapshot} or {@code journal})
+     * @return the sorted generations
+     */
+    private TreeSet<Long> getGenerations(String kind) {
+        TreeSet<Long> generations = new TreeSet<>();
+        File[] files = directory.listFiles();
+        if (nonNull(files)) {
+            for (File file : files) {
+                Matcher matcher = FILE_PATTERN.matcher(file.getName());
+                if (matcher.matches() && matcher.group(1).equals(kind)) {
+                    generations.add(Long.parseLong(matcher.group(2)));
+                }
+            }
+        }
+        return generations;
+    }
+
+    /**
+     * Returns the file of the provided {@code kind} and {@code generation}.
+     *
+     * @param kind       the kind of the file ({@code snapshot} or {@code journal})
+     * @param generation the generation of the file
+     * @return the {@link File}
+     */
+    private File getFile(String kind, long generation) {
+        String extension = kind.equals("snapshot") ? "bin" : "log";
+        return new File(directory, kind + "-" + generation + "." + extension);
+    }
+
+    /**
+     * A recorded state transition waiting to be written to the transition log.
+     */
+    @Value
+    private static class RecordedTransition {
+
+        /**
+         * The identifier of the session.
+         */
+        private String sessionId;
+
+        /**
+         * The name of the state of the session.
+         */
+        private String stateName;
+    }
+}
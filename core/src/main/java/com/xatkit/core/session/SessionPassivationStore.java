@@ -0,0 +1,259 @@
+package com.xatkit.core.session;
+
+import com.xatkit.util.FileUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.NonNull;
+import org.apache.commons.configuration2.Configuration;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A disk store holding passivated {@link XatkitSession}s.
+ * <p>
+ * Idle {@link XatkitSession}s are serialized into this store (see {@link SessionSnapshot}) and removed from the
+ * heap by the {@link XatkitSessionRegistry}, and are rehydrated the next time they are accessed. The store is
+ * backed by a MapDB database located in {@code <xatkit.data.directory>/sessions/sessions.db}.
+ * <p>
+ * Passivated sessions are kept when the bot is stopped, and can be rehydrated after a restart as long as their
+ * {@link com.xatkit.execution.State} still exists in the execution model.
+ *
+ * @see XatkitSessionRegistry
+ * @see SessionSnapshot
+ */
+public class SessionPassivationStore {
+
+    /**
+     * The {@link Configuration} key to specify the directory used to store data.
+     * <p>
+     * This key is shared with the other components storing data (e.g. the intent recognition monitoring).
+     */
+    static final String DATA_DIRECTORY_KEY = "xatkit.data.directory";
+
+    /**
+     * The default directory used to store data when no {@link #DATA_DIRECTORY_KEY} is provided in the
+     * {@link Configuration}.
+     */
+    static final String DEFAULT_DATA_DIRECTORY = "data";
+
+    /**
+     * The directory used to store the passivated sessions within the {@code data} directory.
+     */
+    static final String SESSIONS_DIRECTORY = "sessions";
+
+    /**
+     * The file used to store the passivated sessions.
+     */
+    static final String SESSIONS_DB_FILE = "sessions.db";
+
+    /**
+     * The database storing the passivated sessions.
+     */
+    private final DB db;
+
+    /**
+     * The serialized {@link SessionSnapshot}s, indexed by session identifier.
+     */
+    private final ConcurrentMap<String, byte[]> snapshots;
+
+    /**
+     * The last access time (in milliseconds) of the passivated sessions, indexed by session identifier.
+     * <p>
+     * This map is used to expire passivated sessions without deserializing them.
+     */
+    private final ConcurrentMap<String, Long> lastAccesses;
+
+    /**
+     * The number of sessions that could not be passivated.
+     */
+    private final AtomicLong failedPassivationCount = new AtomicLong(0);
+
+    /**
+     * Constructs a {@link SessionPassivationStore} from the provided {@code configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @see #DATA_DIRECTORY_KEY
+     */
+    public SessionPassivationStore(@NonNull Configuration configuration) {
+        this(getDbFile(configuration));
+    }
+
+    /**
+     * Constructs a {@link SessionPassivationStore} backed by the provided {@code dbFile}.
+     *
+     * @param dbFile the database file used to store the passivated sessions
+     * @throws NullPointerException if the provided {@code dbFile} is {@code null}
+     */
+    public SessionPassivationStore(@NonNull File dbFile) {
+        dbFile.getAbsoluteFile().getParentFile().mkdirs();
+        this.db = DBMaker.fileDB(dbFile).closeOnJvmShutdown().make();
+        this.snapshots = db.hashMap("session_snapshots", Serializer.STRING, Serializer.BYTE_ARRAY).createOrOpen();
+        this.lastAccesses = db.hashMap("session_last_accesses", Serializer.STRING, Serializer.LONG).createOrOpen();
+        Log.info("Session passivation store started ({0} passivated sessions)", snapshots.size());
+    }
+
+    /**
+     * Returns the database file located in the data directory specified in the provided {@code configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @return the database {@link File}
+     */
+    private static File getDbFile(Configuration configuration) {
+        return new File(getSessionsDirectory(configuration).getAbsolutePath() + File.separator + SESSIONS_DB_FILE);
+    }
+
+    /**
+     * Returns the directory used to store session data in the data directory specified in the provided {@code
+     * configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @return the directory used to store session data
+     */
+    static File getSessionsDirectory(Configuration configuration) {
+        String dataDirectoryPath = configuration.getString(DATA_DIRECTORY_KEY, DEFAULT_DATA_DIRECTORY);
+        return FileUtils.getFile(dataDirectoryPath + File.separator + SESSIONS_DIRECTORY, configuration);
+    }
+
+    /**
+     * Passivates the provided {@code session}.
+     * <p>
+     * This method does not throw an exception if the {@code session} cannot be serialized (e.g. because it contains
+     * non-{@link java.io.Serializable} values), but returns {@code false}. In this case the {@code session} must be
+     * kept in memory.
+     *
+     * @param session    the {@link XatkitSession} to passivate
+     * @param lastAccess the time (in milliseconds) of the last access to the {@code session}
+     * @return {@code true} if the {@code session} has been passivated, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code session} is {@code null}
+     */
+    public boolean passivate(@NonNull XatkitSession session, long lastAccess) {
+        byte[] bytes;
+        try {
+            bytes = SessionSnapshot.of(session).toBytes();
+        } catch (IOException e) {
+            Log.debug("Cannot passivate the session {0}: {1}", session.getSessionId(), e.getMessage());
+            failedPassivationCount.incrementAndGet();
+            return false;
+        }
+        this.snapshots.put(session.getSessionId(), bytes);
+        this.lastAccesses.put(session.getSessionId(), lastAccess);
+        return true;
+    }
+
+    /**
+     * Removes the {@link SessionSnapshot} associated to the provided {@code sessionId} from the store and returns
+     * it.
+     *
+     * @param sessionId the identifier of the passivated session to activate
+     * @return the {@link SessionSnapshot} of the session if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public @Nullable
+    SessionSnapshot activate(@NonNull String sessionId) {
+        byte[] bytes = this.snapshots.remove(sessionId);
+        this.lastAccesses.remove(sessionId);
+        if (isNull(bytes)) {
+            return null;
+        }
+        try {
+            return SessionSnapshot.fromBytes(bytes);
+        } catch (RuntimeException e) {
+            Log.error(e, "Cannot activate the session {0}, the stored snapshot is discarded", sessionId);
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the session associated to the provided {@code sessionId} is passivated.
+     *
+     * @param sessionId the identifier of the session to check
+     * @return {@code true} if the session is passivated, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public boolean contains(@NonNull String sessionId) {
+        return this.snapshots.containsKey(sessionId);
+    }
+
+    /**
+     * Removes the passivated sessions that have not been accessed since {@code lastAccessLimit}.
+     *
+     * @param lastAccessLimit the time (in milliseconds) before which passivated sessions are removed
+     * @return the {@link SessionSnapshot}s of the removed sessions
+     */
+    public List<SessionSnapshot> removeAccessedBefore(long lastAccessLimit) {
+        List<SessionSnapshot> removed = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : lastAccesses.entrySet()) {
+            if (entry.getValue() < lastAccessLimit && lastAccesses.remove(entry.getKey(), entry.getValue())) {
+                byte[] bytes = snapshots.remove(entry.getKey());
+                if (isNull(bytes)) {
+                    continue;
+                }
+                try {
+                    removed.add(SessionSnapshot.fromBytes(bytes));
+                } catch (RuntimeException e) {
+                    Log.warn("Cannot deserialize the expired session {0}", entry.getKey());
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of passivated sessions.
+     *
+     * @return the number of passivated sessions
+     */
+    public int size() {
+        return this.snapshots.size();
+    }
+
+    /**
+     * Returns the number of sessions that could not be passivated.
+     *
+     * @return the number of sessions that could not be passivated
+     */
+    public long getFailedPassivationCount() {
+        return this.failedPassivationCount.get();
+    }
+
+    /**
+     * Removes all the passivated sessions.
+     */
+    public void clear() {
+        this.snapshots.clear();
+        this.lastAccesses.clear();
+    }
+
+    /**
+     * Closes the underlying database.
+     * <p>
+     * The passivated sessions are persisted and can be activated by a new {@link SessionPassivationStore} using the
+     * same database file.
+     */
+    public void close() {
+        if (!this.db.isClosed()) {
+            this.db.close();
+        }
+    }
+
+    /**
+     * Returns whether the underlying database is closed.
+     *
+     * @return {@code true} if the database is closed, {@code false} otherwise
+     */
+    public boolean isClosed() {
+        return this.db.isClosed();
+    }
+}
@@ -0,0 +1,271 @@
+package com.xatkit.core.session;
+
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Estimates the heap size of the values stored in {@link XatkitSession}s.
+ * <p>
+ * The estimation is approximate, and is designed to detect sessions accumulating large amounts of data rather than
+ * to compute exact sizes:
+ * <ul>
+ * <li>the sizes of {@link String}s, boxed primitives, and arrays are computed from their length</li>
+ * <li>{@link Collection}s and {@link Map}s are sampled: only the first {@link #SAMPLE_SIZE} elements are
+ * visited, and their size is extrapolated to the entire collection</li>
+ * <li>other objects are visited by reflection, up to {@link #MAX_DEPTH} references from the estimated value</li>
+ * <li>{@link EObject}s (e.g. model elements and event instances) are not visited, because they typically
+ * reference the bot's models that are shared by all the sessions</li>
+ * </ul>
+ * The estimation visits at most {@link #MAX_VISITED_OBJECTS} objects, and returns a lower bound of the size of
+ * larger object graphs. Objects referenced multiple times are only counted once.
+ *
+ * @see XatkitSession#getEstimatedSize()
+ */
+public final class SessionSizeEstimator {
+
+    /**
+     * The estimated size (in bytes) of an object header.
+     */
+    static final int OBJECT_HEADER_SIZE = 16;
+
+    /**
+     * The estimated size (in bytes) of a reference.
+     */
+    static final int REFERENCE_SIZE = 8;
+
+    /**
+     * The estimated size (in bytes) of a {@link Map} entry (excluding its key and value).
+     */
+    static final int MAP_ENTRY_SIZE = 32;
+
+    /**
+     * The number of elements visited in {@link Collection}s, {@link Map}s, and arrays.
+     */
+    static final int SAMPLE_SIZE = 32;
+
+    /**
+     * The maximum number of references followed from the estimated value.
+     */
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * The maximum number of objects visited to estimate the size of a value.
+     */
+    static final int MAX_VISITED_OBJECTS = 10000;
+
+    /**
+     * The instance fields of the classes visited by reflection.
+     * <p>
+     * This cache avoids to compute the fields of a class every time one of its instances is estimated.
+     */
+    private static final ClassValue<Field[]> INSTANCE_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        try {
+                            field.setAccessible(true);
+                            fields.add(field);
+                        } catch (RuntimeException e) {
+                            /*
+                             * The field cannot be accessed (e.g. because of a security manager), ignore it. Its
+                             * reference is still counted in the shallow size of the instances.
+                             */
+                        }
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private SessionSizeEstimator() {
+    }
+
+    /**
+     * Returns the estimated size (in bytes) of the provided {@code value} and the objects it references.
+     *
+     * @param value the value to estimate the size of
+     * @return the estimated size of the provided {@code value}, or {@code 0} if it is {@code null}
+     */
+    public static long estimate(@Nullable Object value) {
+        return new Estimation().sizeOf(value, 0);
+    }
+
+    /**
+     * Rounds the provided {@code size} to the next multiple of {@code 8}.
+     *
+     * @param size the size to align
+     * @return the aligned size
+     */
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Returns the size (in bytes) of the provided primitive {@code type}.
+     *
+     * @param type the primitive type
+     * @return the size of the provided primitive {@code type}
+     */
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * A single estimation, tracking the visited objects.
+     */
+    private static class Estimation {
+
+        /**
+         * The objects visited by this estimation.
+         */
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * Returns the estimated size of the provided {@code value}, ignoring the already visited objects.
+         *
+         * @param value the value to estimate the size of
+         * @param depth the number of references followed to reach the value
+         * @return the estimated size of the provided {@code value}
+         */
+        private long sizeOf(@Nullable Object value, int depth) {
+            if (isNull(value) || visited.size() >= MAX_VISITED_OBJECTS || !visited.add(value)) {
+                return 0;
+            }
+            Class<?> type = value.getClass();
+            if (value instanceof String) {
+                return align(OBJECT_HEADER_SIZE + 8) + align(OBJECT_HEADER_SIZE + 2L * ((String) value).length());
+            } else if (value instanceof Number && type.getName().startsWith("java.lang.")
+                    || value instanceof Boolean || value instanceof Character) {
+                return OBJECT_HEADER_SIZE + 8;
+            } else if (value instanceof Enum || value instanceof Class || value instanceof EObject) {
+                /*
+                 * Shared instances, only count the reference.
+                 */
+                return 0;
+            } else if (type.isArray()) {
+                return arraySizeOf(value, depth);
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                return align(OBJECT_HEADER_SIZE + 4L * REFERENCE_SIZE) + (long) collection.size() * REFERENCE_SIZE
+                        + sampledSizeOf(collection.iterator(), collection.size(), depth);
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                return align(OBJECT_HEADER_SIZE + 6L * REFERENCE_SIZE) + (long) map.size() * MAP_ENTRY_SIZE
+                        + sampledSizeOf(map.keySet().iterator(), map.size(), depth)
+                        + sampledSizeOf(map.values().iterator(), map.size(), depth);
+            } else {
+                return reflectiveSizeOf(value, type, depth);
+            }
+        }
+
+        /**
+         * Returns the estimated size of the provided {@code array}.
+         *
+         * @param array the array to estimate the size of
+         * @param depth the number of references followed to reach the array
+         * @return the estimated size of the provided {@code array}
+         */
+        private long arraySizeOf(Object array, int depth) {
+            int length = Array.getLength(array);
+            Class<?> componentType = array.getClass().getComponentType();
+            if (componentType.isPrimitive()) {
+                return align(OBJECT_HEADER_SIZE + (long) length * primitiveSize(componentType));
+            }
+            Object[] elements = (Object[]) array;
+            long size = align(OBJECT_HEADER_SIZE + (long) length * REFERENCE_SIZE);
+            return size + sampledSizeOf(Arrays.asList(elements).iterator(), length, depth);
+        }
+
+        /**
+         * Returns the estimated size of the {@code count} elements returned by the provided {@code iterator}.
+         * <p>
+         * This method visits the first {@link #SAMPLE_SIZE} elements, and extrapolates their size to the
+         * {@code count} elements.
+         *
+         * @param iterator the {@link Iterator} over the elements to estimate the size of
+         * @param count    the number of elements
+         * @param depth    the number of references followed to reach the container of the elements
+         * @return the estimated size of the elements
+         */
+        private long sampledSizeOf(Iterator<?> iterator, int count, int depth) {
+            if (depth >= MAX_DEPTH) {
+                return 0;
+            }
+            long size = 0;
+            int sampled = 0;
+            try {
+                while (sampled < SAMPLE_SIZE && iterator.hasNext()) {
+                    size += sizeOf(iterator.next(), depth + 1);
+                    sampled++;
+                }
+            } catch (RuntimeException e) {
+                /*
+                 * The collection has been concurrently modified, use the elements sampled so far.
+                 */
+            }
+            return sampled == 0 ? 0 : size * Math.max(count, sampled) / sampled;
+        }
+
+        /**
+         * Returns the estimated size of the provided {@code value} by visiting its fields.
+         *
+         * @param value the value to estimate the size of
+         * @param type  the type of the value
+         * @param depth the number of references followed to reach the value
+         * @return the estimated size of the provided {@code value}
+         */
+        private long reflectiveSizeOf(Object value, Class<?> type, int depth) {
+            Field[] fields = INSTANCE_FIELDS.get(type);
+            long shallowSize = OBJECT_HEADER_SIZE;
+            for (Field field : fields) {
+                shallowSize += field.getType().isPrimitive() ? primitiveSize(field.getType()) : REFERENCE_SIZE;
+            }
+            long size = align(shallowSize);
+            if (depth >= MAX_DEPTH) {
+                return size;
+            }
+            for (Field field : fields) {
+                if (!field.getType().isPrimitive()) {
+                    try {
+                        size += sizeOf(field.get(value), depth + 1);
+                    } catch (IllegalAccessException e) {
+                        /*
+                         * Should not happen, the fields have been made accessible.
+                         */
+                    }
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.ExecutionService;
+import com.xatkit.core.XatkitException;
+import com.xatkit.execution.State;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.HashMap;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * A serializable copy of the content of a {@link XatkitSession}.
+ * <p>
+ * A snapshot contains the identifier of the session, the name of its current {@link State}, its context variables
+ * and lifespan counts, and its session variables. The {@link State} is stored by name, and must be resolved against
+ * the execution model when the snapshot is restored.
+ * <p>
+ * Snapshots are serialized with the standard Java serialization: sessions storing non-{@link Serializable} values
+ * cannot be serialized (see {@link #toBytes()}). The runtime variables of the session (i.e. the event that
+ * triggered the current {@link State}, see {@link ExecutionService#MATCHED_EVENT_SESSION_KEY}) are only valid during
+ * the execution of a {@link State} and are not included in the snapshot.
+ *
+ * @see SessionPassivationStore
+ * @see SessionJournal
+ */
+public class SessionSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The identifier of the {@link XatkitSession}.
+     */
+    @Getter
+    private final String sessionId;
+
+    /**
+     * The name of the current {@link State} of the {@link XatkitSession}.
+     * <p>
+     * This field is {@code null} if the session does not have a state.
+     */
+    @Getter
+    private final String stateName;
+
+    /**
+     * The context variables of the {@link XatkitSession}.
+     */
+    private final HashMap<String, HashMap<String, Object>> contexts;
+
+    /**
+     * The context lifespan counts of the {@link XatkitSession}.
+     */
+    private final HashMap<String, Integer> lifespanCounts;
+
+    /**
+     * The session variables of the {@link XatkitSession}.
+     */
+    private final HashMap<String, Object> sessionVariables;
+
+    /**
+     * Creates a {@link SessionSnapshot} from the provided {@code session}.
+     * <p>
+     * The maps of the {@code session} are copied, but the stored values are not cloned.
+     *
+     * @param session the {@link XatkitSession} to create a snapshot of
+     * @return the created {@link SessionSnapshot}
+     * @throws NullPointerException if the provided {@code session} is {@code null}
+     */
+    public static SessionSnapshot of(@NonNull XatkitSession session) {
+        return new SessionSnapshot(session);
+    }
+
+    /**
+     * Creates an empty {@link SessionSnapshot} with the provided {@code sessionId} and {@code stateName}.
+     * <p>
+     * This method is used to restore sessions that only have a known {@link State} (e.g. sessions created after
+     * the last snapshot, see {@link SessionJournal}).
+     *
+     * @param sessionId the identifier of the {@link XatkitSession}
+     * @param stateName the name of the current {@link State} of the {@link XatkitSession}
+     * @return the created {@link SessionSnapshot}
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public static SessionSnapshot of(@NonNull String sessionId, @Nullable String stateName) {
+        return new SessionSnapshot(sessionId, stateName, new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * Deserializes the {@link SessionSnapshot} from the provided {@code bytes}.
+     *
+     * @param bytes the serialized {@link SessionSnapshot}
+     * @return the deserialized {@link SessionSnapshot}
+     * @throws NullPointerException if the provided {@code bytes} is {@code null}
+     * @throws XatkitException      if an error occurred when deserializing the snapshot
+     * @see #toBytes()
+     */
+    public static SessionSnapshot fromBytes(@NonNull byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (SessionSnapshot) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new XatkitException("Cannot deserialize the session snapshot, see attached exception", e);
+        }
+    }
+
+    /**
+     * Constructs a {@link SessionSnapshot} from the provided {@code session}.
+     *
+     * @param session the {@link XatkitSession} to create a snapshot of
+     */
+    private SessionSnapshot(XatkitSession session) {
+        this.sessionId = session.getSessionId();
+        this.stateName = nonNull(session.getState()) ? session.getState().getName() : null;
+        RuntimeContextsSnapshot runtimeContexts = session.getRuntimeContexts().getSnapshot();
+        this.contexts = new HashMap<>();
+        runtimeContexts.getContextMap().forEach((k, v) -> this.contexts.put(k, new HashMap<>(v)));
+        this.lifespanCounts = new HashMap<>(runtimeContexts.getLifespanCountsMap());
+        this.sessionVariables = new HashMap<>(session.getSessionVariables());
+        this.sessionVariables.remove(ExecutionService.MATCHED_EVENT_SESSION_KEY);
+    }
+
+    /**
+     * Constructs a {@link SessionSnapshot} with the provided content.
+     *
+     * @param sessionId        the identifier of the {@link XatkitSession}
+     * @param stateName        the name of the current {@link State} of the {@link XatkitSession}
+     * @param contexts         the context variables of the {@link XatkitSession}
+     * @param lifespanCounts   the context lifespan counts of the {@link XatkitSession}
+     * @param sessionVariables the session variables of the {@link XatkitSession}
+     */
+    private SessionSnapshot(String sessionId, String stateName, HashMap<String, HashMap<String, Object>> contexts,
+                            HashMap<String, Integer> lifespanCounts, HashMap<String, Object> sessionVariables) {
+        this.sessionId = sessionId;
+        this.stateName = stateName;
+        this.contexts = contexts;
+        this.lifespanCounts = lifespanCounts;
+        this.sessionVariables = sessionVariables;
+    }
+
+    /**
+     * Returns a copy of this snapshot with the provided {@code stateName}.
+     * <p>
+     * The content of the returned snapshot is shared with this one.
+     *
+     * @param stateName the name of the {@link State} of the returned snapshot
+     * @return a copy of this snapshot with the provided {@code stateName}
+     */
+    public SessionSnapshot withStateName(@Nullable String stateName) {
+        return new SessionSnapshot(sessionId, stateName, contexts, lifespanCounts, sessionVariables);
+    }
+
+    /**
+     * Serializes this snapshot.
+     *
+     * @return the serialized snapshot
+     * @throws IOException if an error occurred when serializing the snapshot (e.g. if the session contains
+     *                     non-{@link Serializable} values)
+     * @see #fromBytes(byte[])
+     */
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(this);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the context variables, lifespan counts, and session variables of this snapshot in the provided
+     * {@code session}.
+     * <p>
+     * The existing content of the {@code session} is replaced. This method does not set the {@link State} of the
+     * {@code session}, that must be resolved from {@link #getStateName()}.
+     *
+     * @param session the {@link XatkitSession} to restore the content of
+     * @throws NullPointerException     if the provided {@code session} is {@code null}
+     * @throws IllegalArgumentException if the identifier of the {@code session} does not match the one of the
+     *                                  snapshot
+     */
+    public void restoreContent(@NonNull XatkitSession session) {
+        checkArgument(this.sessionId.equals(session.getSessionId()), "Cannot restore the snapshot of the session %s " +
+                "in the session %s", this.sessionId, session.getSessionId());
+        session.getRuntimeContexts().restore(contexts, lifespanCounts);
+        session.getSessionVariables().clear();
+        session.getSessionVariables().putAll(sessionVariables);
+        session.recomputeEstimatedSize();
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("SessionSnapshot(session={0}, state={1})", sessionId, stateName);
+    }
+}
@@ -0,0 +1,97 @@
+package com.xatkit.core.session;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * A store sharing the content of the {@link XatkitSession}s between Xatkit instances.
+ * <p>
+ * A {@link SessionStore} holds the {@link SessionSnapshot}s of the sessions outside of the JVM heap of a single bot,
+ * allowing several instances of the same bot to serve the same users. Each stored session has a <i>version</i>
+ * that is incremented every time the session is updated, and is used to detect concurrent updates (see
+ * {@link #compareAndSet(String, long, SessionSnapshot, long)}).
+ * <p>
+ * Stored sessions have a time-to-live: a session that is not updated before its expiration time is considered as
+ * absent by the store. Implementations are free to remove expired sessions lazily.
+ * <p>
+ * <b>Serialization contract</b>: the context variables and the session variables of the stored sessions must be
+ * {@link java.io.Serializable}, and must be deserializable by all the instances sharing the store (i.e. their
+ * classes must be available in the classpath of each instance). Stores that serialize the sessions throw a
+ * {@link com.xatkit.core.XatkitException} when a session containing non-serializable values is stored. The
+ * {@link com.xatkit.execution.State} of the session is stored by name, and the runtime variables of the session
+ * (e.g. the matched event) are not stored (see {@link SessionSnapshot}).
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see SessionStoreFactory
+ * @see InMemorySessionStore
+ * @see FileSessionStore
+ */
+public interface SessionStore {
+
+    /**
+     * Returns the {@link StoredSession} associated to the provided {@code sessionId}.
+     *
+     * @param sessionId the identifier of the session to retrieve
+     * @return the {@link StoredSession}, or {@code null} if the session does not exist or is expired
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    @Nullable
+    StoredSession get(String sessionId);
+
+    /**
+     * Returns the {@link StoredSession} associated to the provided {@code sessionId}, or stores the snapshot
+     * computed by {@code snapshotFactory} if it does not exist.
+     * <p>
+     * The check and the creation are atomic: concurrent calls with the same {@code sessionId} (including calls
+     * from other Xatkit instances sharing the store) create a single session. Created sessions have the version
+     * {@code 1}.
+     *
+     * @param sessionId       the identifier of the session to retrieve or create
+     * @param snapshotFactory the function computing the {@link SessionSnapshot} of the created session
+     * @param ttl             the time-to-live (in milliseconds) of the created session, or {@code 0} if the
+     *                        session does not expire
+     * @return the existing or created {@link StoredSession}
+     * @throws NullPointerException            if the provided {@code sessionId} or {@code snapshotFactory} is
+     *                                         {@code null}
+     * @throws com.xatkit.core.XatkitException if the computed snapshot does not respect the serialization contract
+     */
+    StoredSession computeIfAbsent(String sessionId, Function<String, SessionSnapshot> snapshotFactory, long ttl);
+
+    /**
+     * Stores the provided {@code snapshot} if the current version of the session is {@code expectedVersion}.
+     * <p>
+     * The version of the session is set to {@code expectedVersion + 1} if the update succeeds, and its expiration
+     * time is reset according to the provided {@code ttl}. An {@code expectedVersion} of {@code 0} matches sessions
+     * that do not exist or are expired.
+     *
+     * @param sessionId       the identifier of the session to update
+     * @param expectedVersion the expected version of the stored session
+     * @param snapshot        the {@link SessionSnapshot} to store
+     * @param ttl             the time-to-live (in milliseconds) of the session, or {@code 0} if the session does not
+     *                        expire
+     * @return {@code true} if the session has been updated, {@code false} if its version is not
+     * {@code expectedVersion}
+     * @throws NullPointerException            if the provided {@code sessionId} or {@code snapshot} is {@code null}
+     * @throws com.xatkit.core.XatkitException if the provided {@code snapshot} does not respect the serialization
+     *                                         contract
+     */
+    boolean compareAndSet(String sessionId, long expectedVersion, SessionSnapshot snapshot, long ttl);
+
+    /**
+     * Removes the session associated to the provided {@code sessionId}.
+     * <p>
+     * This method does nothing if the session does not exist.
+     *
+     * @param sessionId the identifier of the session to remove
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    void remove(String sessionId);
+
+    /**
+     * Closes the store and releases its resources.
+     * <p>
+     * Closing a store does not remove the stored sessions if they are persisted.
+     */
+    void close();
+}
@@ -0,0 +1,109 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.util.Loader;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.NonNull;
+import org.apache.commons.configuration2.Configuration;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Creates the {@link SessionStore} specified in the provided {@link Configuration}.
+ * <p>
+ * The store is selected with the {@link #SESSION_STORE_KEY} property, that accepts the following values:
+ * <ul>
+ * <li><b>memory</b>: creates an {@link InMemorySessionStore}</li>
+ * <li><b>file</b>: creates a {@link FileSessionStore}, that can be shared by the Xatkit instances running on the
+ * same machine</li>
+ * <li>the qualified name of a {@link SessionStore} implementation defining a constructor with a single
+ * {@link Configuration} parameter</li>
+ * </ul>
+ * Xatkit does not use any {@link SessionStore} if the property is not set: the sessions are only kept in the
+ * {@link XatkitSessionRegistry} of the running instance.
+ *
+ * @see SessionStore
+ */
+public class SessionStoreFactory {
+
+    /**
+     * The {@link Configuration} key to specify the {@link SessionStore} to use.
+     */
+    public static final String SESSION_STORE_KEY = "xatkit.core.sessions.store";
+
+    /**
+     * The {@link Configuration} key to specify the time-to-live (in seconds) of the stored sessions.
+     * <p>
+     * This property is optional, and defaults to {@code 86400} (one day). Stored sessions that are not updated
+     * during this time are considered as expired. A value of {@code 0} disables the expiration of the stored
+     * sessions.
+     */
+    public static final String SESSION_STORE_TTL_KEY = "xatkit.core.sessions.store_ttl";
+
+    /**
+     * The {@link #SESSION_STORE_KEY} value used to create an {@link InMemorySessionStore}.
+     */
+    public static final String MEMORY_STORE = "memory";
+
+    /**
+     * The {@link #SESSION_STORE_KEY} value used to create a {@link FileSessionStore}.
+     */
+    public static final String FILE_STORE = "file";
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private SessionStoreFactory() {
+    }
+
+    /**
+     * Returns the {@link SessionStore} specified in the provided {@code configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @return the created {@link SessionStore}, or {@code null} if the {@code configuration} does not specify a
+     * {@link SessionStore}
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @throws XatkitException      if the specified {@link SessionStore} cannot be created
+     * @see #SESSION_STORE_KEY
+     */
+    public static @Nullable
+    SessionStore getSessionStore(@NonNull Configuration configuration) {
+        String storeName = configuration.getString(SESSION_STORE_KEY);
+        if (isNull(storeName)) {
+            return null;
+        }
+        SessionStore sessionStore;
+        if (MEMORY_STORE.equals(storeName)) {
+            sessionStore = new InMemorySessionStore();
+        } else if (FILE_STORE.equals(storeName)) {
+            sessionStore = new FileSessionStore(configuration);
+        } else {
+            Class<? extends SessionStore> storeClass = Loader.loadClass(storeName, SessionStore.class);
+            try {
+                sessionStore = Loader.construct(storeClass, Configuration.class, configuration);
+            } catch (NoSuchMethodException e) {
+                throw new XatkitException(MessageFormat.format("Cannot create the {0} {1}, the class must define a " +
+                        "constructor with a single {2} parameter", SessionStore.class.getSimpleName(), storeName,
+                        Configuration.class.getSimpleName()), e);
+            }
+        }
+        Log.info("Using {0} to store the sessions", sessionStore.getClass().getSimpleName());
+        return sessionStore;
+    }
+
+    /**
+     * Returns the time-to-live (in milliseconds) of the stored sessions specified in the provided {@code
+     * configuration}.
+     *
+     * @param configuration the Xatkit {@link Configuration}
+     * @return the time-to-live of the stored sessions, or {@code 0} if the stored sessions do not expire
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @see #SESSION_STORE_TTL_KEY
+     */
+    public static long getSessionStoreTtl(@NonNull Configuration configuration) {
+        return Math.max(0, configuration.getLong(SESSION_STORE_TTL_KEY, 86400)) * 1000;
+    }
+}
@@ -0,0 +1,59 @@
+package com.xatkit.core.session;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A {@link SessionSnapshot} stored in a {@link SessionStore}, with its version and expiration time.
+ *
+ * @see SessionStore
+ */
+@Value
+public class StoredSession {
+
+    /**
+     * The identifier of the stored session.
+     */
+    @NonNull
+    private String sessionId;
+
+    /**
+     * The version of the stored session.
+     * <p>
+     * The version is {@code 1} when the session is created, and is incremented every time the session is updated.
+     */
+    private long version;
+
+    /**
+     * The {@link SessionSnapshot} holding the content of the stored session.
+     */
+    @NonNull
+    private SessionSnapshot snapshot;
+
+    /**
+     * The time (in milliseconds) after which the stored session is expired, or {@code 0} if the session does not
+     * expire.
+     */
+    private long expirationTime;
+
+    /**
+     * Returns whether the stored session is expired at the provided {@code time}.
+     *
+     * @param time the time (in milliseconds) to check
+     * @return {@code true} if the session is expired, {@code false} otherwise
+     */
+    public boolean isExpired(long time) {
+        return expirationTime > 0 && expirationTime <= time;
+    }
+
+    /**
+     * Computes the expiration time of a session stored at the provided {@code time} with the given {@code ttl}.
+     *
+     * @param time the time (in milliseconds) the session is stored at
+     * @param ttl  the time-to-live (in milliseconds) of the session, or {@code 0} if the session does not expire
+     * @return the expiration time of the session, or {@code 0} if the session does not expire
+     */
+    static long getExpirationTime(long time, long ttl) {
+        return ttl > 0 ? time + ttl : 0;
+    }
+}
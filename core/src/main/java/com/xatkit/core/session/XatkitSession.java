@@ -1,10 +1,9 @@
 package com.xatkit.core.session;
 
 import com.xatkit.core.XatkitCore;
+import com.xatkit.core.XatkitException;
 import com.xatkit.execution.State;
-import com.xatkit.execution.Transition;
 import com.xatkit.intent.IntentDefinition;
-import com.xatkit.util.ExecutionModelUtils;
 import fr.inria.atlanmod.commons.log.Log;
 import lombok.Getter;
 import lombok.NonNull;
@@ -13,9 +12,11 @@ import org.apache.commons.configuration2.Configuration;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.isNull;
 
@@ -31,6 +32,23 @@ import static java.util.Objects.isNull;
  */
 public class XatkitSession {
 
+    /**
+     * The {@link Configuration} key to specify the soft memory quota (in bytes) of the session variables.
+     * <p>
+     * A warning is logged when the estimated size of the session variables exceeds this quota (see
+     * {@link #getEstimatedSize()}). This property is optional, and defaults to {@code 0} (no soft quota).
+     */
+    public static final String SESSION_MEMORY_SOFT_QUOTA_KEY = "xatkit.core.sessions.memory_soft_quota";
+
+    /**
+     * The {@link Configuration} key to specify the hard memory quota (in bytes) of the session variables.
+     * <p>
+     * {@link #store(String, Object)} and {@link #storeList(String, Object)} throw a {@link XatkitException} instead
+     * of growing a session variable that would make the estimated size of the session exceed this quota. This
+     * property is optional, and defaults to {@code 0} (no hard quota).
+     */
+    public static final String SESSION_MEMORY_HARD_QUOTA_KEY = "xatkit.core.sessions.memory_hard_quota";
+
     /**
      * The unique identifier of the {@link XatkitSession}.
      */
@@ -50,6 +68,17 @@ public class XatkitSession {
     @Getter
     private State state;
 
+    /**
+     * The {@link IntentDefinition}s that can be matched from the session's {@link State}.
+     * <p>
+     * This field is updated by {@link #setState(State)}, and allows intent recognition providers to filter the
+     * candidate intents without looking up the {@code Enable<IntentName>} contexts.
+     *
+     * @see MatchableIntents#of(State)
+     */
+    @Getter
+    private volatile MatchableIntents matchableIntents = MatchableIntents.EMPTY;
+
     /**
      * The {@link RuntimeContexts} used to store context-related variables.
      */
@@ -66,6 +95,55 @@ public class XatkitSession {
     @Getter
     private Map<String, Object> sessionVariables;
 
+    /**
+     * The version of the {@link XatkitSession} in the {@link SessionStore}.
+     * <p>
+     * This version is used to detect the updates of the session performed by other Xatkit instances sharing the
+     * same {@link SessionStore}. It is {@code 0} if the session has not been stored.
+     *
+     * @see StoredSession#getVersion()
+     */
+    @Getter
+    private volatile long storeVersion;
+
+    /**
+     * The soft memory quota (in bytes) of the session variables.
+     *
+     * @see #SESSION_MEMORY_SOFT_QUOTA_KEY
+     */
+    private long memorySoftQuota;
+
+    /**
+     * The hard memory quota (in bytes) of the session variables.
+     *
+     * @see #SESSION_MEMORY_HARD_QUOTA_KEY
+     */
+    private long memoryHardQuota;
+
+    /**
+     * The estimated sizes (in bytes) of the session variables.
+     * <p>
+     * The sizes are updated when the variables are set with {@link #store(String, Object)} and
+     * {@link #storeList(String, Object)}. They are accessed concurrently by the administration endpoints.
+     *
+     * @see SessionSizeEstimator
+     */
+    private Map<String, Long> variableSizes = new ConcurrentHashMap<>();
+
+    /**
+     * The estimated size (in bytes) of the session variables.
+     */
+    @Getter
+    private volatile long estimatedSize;
+
+    /**
+     * Whether the {@link #memorySoftQuota} has been exceeded.
+     * <p>
+     * This flag is used to log a single warning when the quota is exceeded, it is reset when the estimated size
+     * goes back under the quota.
+     */
+    private boolean softQuotaExceeded;
+
     /**
      * Constructs a new, empty {@link XatkitSession} with the provided {@code sessionId}.
      * See {@link #XatkitSession(String, Configuration)} to construct a {@link XatkitSession} with a given
@@ -98,6 +176,8 @@ public class XatkitSession {
         this.sessionId = sessionId;
         this.runtimeContexts = new RuntimeContexts(configuration);
         this.sessionVariables = new HashMap<>();
+        this.memorySoftQuota = configuration.getLong(SESSION_MEMORY_SOFT_QUOTA_KEY, 0);
+        this.memoryHardQuota = configuration.getLong(SESSION_MEMORY_HARD_QUOTA_KEY, 0);
         Log.info("{0} {1} created", XatkitSession.class.getSimpleName(), this.sessionId);
     }
 
@@ -114,16 +194,22 @@ public class XatkitSession {
     public void setState(@NonNull State state) {
         Log.debug("Session {0} - State set to {1}", this.getSessionId(), state.getName());
         this.state = state;
-        for(Transition t : state.getTransitions()) {
-            ExecutionModelUtils.getAccessedEvents(t).forEach(e -> {
-                if(e instanceof IntentDefinition) {
-                    IntentDefinition i = (IntentDefinition)e;
-                    this.runtimeContexts.setContext("Enable" + i.getName(), 2);
-                }
-            });
+        this.matchableIntents = MatchableIntents.of(state);
+        for (String enableContextName : this.matchableIntents.getEnableContextNames()) {
+            this.runtimeContexts.setContext(enableContextName, 2);
         }
     }
 
+    /**
+     * Sets the version of the {@link XatkitSession} in the {@link SessionStore}.
+     *
+     * @param storeVersion the version of the session in the {@link SessionStore}
+     * @see StoredSession#getVersion()
+     */
+    public void setStoreVersion(long storeVersion) {
+        this.storeVersion = storeVersion;
+    }
+
     /**
      * Store the provided {@code value} with the given {@code key} as a session variable.
      * <p>
@@ -136,9 +222,14 @@ public class XatkitSession {
      * @param key   the key to store and retrieve the provided value
      * @param value the value to store
      * @throws NullPointerException if the provided {@code key} is {@code null}
+     * @throws XatkitException      if storing the value exceeds the hard memory quota of the session
+     * @see #SESSION_MEMORY_HARD_QUOTA_KEY
      */
     public void store(@NonNull String key, Object value) {
+        long size = SessionSizeEstimator.estimate(value);
+        checkHardQuota(key, size);
         this.sessionVariables.put(key, value);
+        this.updateVariableSize(key, size);
     }
 
     /**
@@ -153,9 +244,19 @@ public class XatkitSession {
      *
      * @param key   the key of the {@link List} to store the provided {@code value}
      * @param value the value to store in a {@link List}
+     * @throws XatkitException if storing the value exceeds the hard memory quota of the session
+     * @see #SESSION_MEMORY_HARD_QUOTA_KEY
      */
     public void storeList(@NonNull String key, Object value) {
         Object storedValue = this.sessionVariables.get(key);
+        long valueSize = SessionSizeEstimator.estimate(value) + SessionSizeEstimator.REFERENCE_SIZE;
+        long size;
+        if (storedValue instanceof List) {
+            size = this.variableSizes.getOrDefault(key, 0L) + valueSize;
+        } else {
+            size = SessionSizeEstimator.estimate(new ArrayList()) + valueSize;
+        }
+        checkHardQuota(key, size);
         List list;
         if (storedValue instanceof List) {
             list = (List) storedValue;
@@ -164,6 +265,7 @@ public class XatkitSession {
             this.sessionVariables.put(key, list);
         }
         list.add(value);
+        this.updateVariableSize(key, size);
     }
 
     /**
@@ -196,6 +298,94 @@ public class XatkitSession {
                 sessionVariables.put(v.getKey(), v.getValue());
             }
         });
+        this.recomputeEstimatedSize();
+    }
+
+    /**
+     * Returns the estimated sizes (in bytes) of the session variables.
+     *
+     * @return an unmodifiable copy of the estimated sizes of the session variables, indexed by variable key
+     * @see #getEstimatedSize()
+     */
+    public Map<String, Long> getVariableSizes() {
+        return Collections.unmodifiableMap(new HashMap<>(this.variableSizes));
+    }
+
+    /**
+     * Estimates the size of all the session variables.
+     * <p>
+     * The estimated sizes are updated by {@link #store(String, Object)} and {@link #storeList(String, Object)}.
+     * This method must be called when the session variables are updated through the {@link Map} returned by
+     * {@link #getSessionVariables()}, or when the stored values are modified in place.
+     *
+     * @see SessionSizeEstimator
+     */
+    public void recomputeEstimatedSize() {
+        this.variableSizes.keySet().retainAll(this.sessionVariables.keySet());
+        this.sessionVariables.forEach((key, value) -> this.variableSizes.put(key,
+                SessionSizeEstimator.estimate(value)));
+        this.estimatedSize = this.variableSizes.values().stream().mapToLong(Long::longValue).sum();
+        this.checkSoftQuota();
+    }
+
+    /**
+     * Checks that setting the estimated size of the variable {@code key} to {@code size} does not exceed the hard
+     * memory quota of the session.
+     * <p>
+     * Variables that do not grow are always accepted, this allows to replace or clear the variables of a session
+     * exceeding its quota.
+     *
+     * @param key  the key of the variable to update
+     * @param size the new estimated size of the variable
+     * @throws XatkitException if the variable grows and the estimated size of the session exceeds the hard quota
+     */
+    private void checkHardQuota(String key, long size) {
+        if (memoryHardQuota <= 0) {
+            return;
+        }
+        long previousSize = this.variableSizes.getOrDefault(key, 0L);
+        long newEstimatedSize = this.estimatedSize - previousSize + size;
+        if (size > previousSize && newEstimatedSize > memoryHardQuota) {
+            throw new XatkitException(MessageFormat.format("Cannot store the variable {0} in the session {1}: the " +
+                            "estimated size of the session ({2} bytes) would exceed the hard quota ({3} bytes)", key,
+                    this.sessionId, newEstimatedSize, memoryHardQuota));
+        }
+    }
+
+    /**
+     * Sets the estimated size of the variable {@code key} and updates the estimated size of the session.
+     *
+     * @param key  the key of the updated variable
+     * @param size the estimated size of the variable
+     */
+    private void updateVariableSize(String key, long size) {
+        Long previousSize = this.variableSizes.put(key, size);
+        this.estimatedSize += size - (isNull(previousSize) ? 0 : previousSize);
+        this.checkSoftQuota();
+    }
+
+    /**
+     * Logs a warning if the estimated size of the session exceeds the soft memory quota.
+     * <p>
+     * The warning is logged once, and is logged again if the estimated size exceeds the quota after going back
+     * under it.
+     */
+    private void checkSoftQuota() {
+        if (memorySoftQuota <= 0) {
+            return;
+        }
+        if (this.estimatedSize > memorySoftQuota) {
+            if (!softQuotaExceeded) {
+                softQuotaExceeded = true;
+                String largestVariable = this.variableSizes.entrySet().stream()
+                        .max(Map.Entry.comparingByValue())
+                        .map(e -> e.getKey() + " (" + e.getValue() + " bytes)").orElse("none");
+                Log.warn("The estimated size of the session {0} ({1} bytes) exceeds the soft quota ({2} bytes), " +
+                        "largest variable: {3}", this.sessionId, this.estimatedSize, memorySoftQuota, largestVariable);
+            }
+        } else {
+            softQuotaExceeded = false;
+        }
     }
 
     /**
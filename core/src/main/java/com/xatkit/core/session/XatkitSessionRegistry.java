@@ -0,0 +1,1157 @@
+package com.xatkit.core.session;
+
+import com.xatkit.core.TimingWheel;
+import fr.inria.atlanmod.commons.log.Log;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.commons.configuration2.Configuration;
+
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A concurrent and bounded registry storing the {@link XatkitSession}s of a bot.
+ * <p>
+ * The registry ensures that a single {@link XatkitSession} is created for a given identifier, even if the
+ * identifier is accessed concurrently by multiple threads (see {@link #getOrCreate(String, Function)}).
+ * <p>
+ * {@link XatkitSession}s are evicted from the registry when they are not accessed during the configured idle time,
+ * or when the number of stored sessions exceeds the configured maximum size (in this case the least recently
+ * accessed sessions are evicted first). Both evictions are disabled by default. Evicted sessions are notified to
+ * the registered {@link SessionEvictionListener}s, that can release the resources associated to them.
+ * <p>
+ * The registry can also <i>passivate</i> idle {@link XatkitSession}s: passivated sessions are serialized in a
+ * {@link SessionPassivationStore} and removed from the heap, and are rehydrated the next time they are accessed with
+ * {@link #getOrCreate(String, Function, Function)}. Passivated sessions are not evicted with the
+ * {@link SessionEvictionCause#SIZE} cause, and are not returned by {@link #get(String)} and {@link #getSessions()}.
+ * <p>
+ * Idle sessions are detected with timeouts registered in the shared {@link TimingWheel}: each session registers
+ * its idle and passivation deadlines when it is created, and the timeouts are re-armed with the remaining time if
+ * the session has been accessed since they have been registered. Accessing a session does not update the wheel,
+ * and detecting idle sessions does not require to scan the registry.
+ * <p>
+ * The registry can be configured with the following keys:
+ * <ul>
+ * <li><b>{@link #SESSION_MAX_SIZE_KEY}</b>: the maximum number of sessions stored in the registry</li>
+ * <li><b>{@link #SESSION_IDLE_TTL_KEY}</b>: the time (in seconds) a session can stay idle before being evicted</li>
+ * <li><b>{@link #SESSION_PASSIVATION_IDLE_TIME_KEY}</b>: the time (in seconds) a session can stay idle before
+ * being passivated</li>
+ * </ul>
+ *
+ * @see SessionEvictionListener
+ * @see SessionPassivationStore
+ */
+public class XatkitSessionRegistry {
+
+    /**
+     * The {@link Configuration} key to specify the maximum number of {@link XatkitSession}s stored in the registry.
+     * <p>
+     * The least recently accessed sessions are evicted when this size is exceeded. This property is optional, and
+     * is set to {@code 0} if not specified. A negative or zero value disables the size-based eviction.
+     * <p>
+     * <b>Note</b>: evicted sessions are reset, the user starts a new conversation in the {@code Init} state.
+     */
+    public static final String SESSION_MAX_SIZE_KEY = "xatkit.core.sessions.max_size";
+
+    /**
+     * The default maximum number of {@link XatkitSession}s stored in the registry.
+     * <p>
+     * The size-based eviction is disabled by default.
+     */
+    public static final int DEFAULT_SESSION_MAX_SIZE = 0;
+
+    /**
+     * The {@link Configuration} key to specify the time (in seconds) a {@link XatkitSession} can stay idle before
+     * being evicted.
+     * <p>
+     * This property is optional, and is set to {@code 0} if not specified. A negative or zero value disables the
+     * idle eviction.
+     * <p>
+     * <b>Note</b>: evicted sessions are reset, the user starts a new conversation in the {@code Init} state.
+     */
+    public static final String SESSION_IDLE_TTL_KEY = "xatkit.core.sessions.idle_ttl";
+
+    /**
+     * The default time (in seconds) a {@link XatkitSession} can stay idle before being evicted.
+     * <p>
+     * The idle eviction is disabled by default.
+     */
+    public static final long DEFAULT_SESSION_IDLE_TTL = 0;
+
+    /**
+     * The {@link Configuration} key to specify the time (in seconds) a {@link XatkitSession} can stay idle before
+     * being passivated.
+     * <p>
+     * This property is optional, and is set to {@code 0} if not specified. A negative or zero value disables the
+     * passivation.
+     *
+     * @see SessionPassivationStore
+     */
+    public static final String SESSION_PASSIVATION_IDLE_TIME_KEY = "xatkit.core.sessions.passivation_idle_time";
+
+    /**
+     * The maximum delay (in milliseconds) between two sweeps of the expired passivated {@link XatkitSession}s.
+     */
+    private static final long MAX_SWEEP_INTERVAL = 60000;
+
+    /**
+     * The ratio of the maximum size the registry is reduced to when the maximum size is exceeded.
+     * <p>
+     * Sessions are evicted in batches to avoid scanning the registry each time a session is created once the
+     * maximum size is reached.
+     */
+    private static final double SIZE_EVICTION_RATIO = 0.9;
+
+    /**
+     * The stored entries, indexed by session identifier.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link XatkitSession}s being created or rehydrated, indexed by session identifier.
+     * <p>
+     * Sessions are created outside of the {@link #entries} map: the creation can access a
+     * {@link SessionPassivationStore} or a {@link SessionStore}, and must not block the accesses to the other
+     * sessions. Threads accessing an identifier that is being created wait for the {@link CompletableFuture}
+     * associated to it.
+     */
+    private final Map<String, CompletableFuture<Entry>> pendingCreations = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link SessionEvictionListener}s notified when a session is evicted.
+     */
+    private final List<SessionEvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The maximum number of {@link XatkitSession}s stored in the registry.
+     * <p>
+     * A negative or zero value means that the size of the registry is not bounded.
+     */
+    @Getter
+    private final int maxSize;
+
+    /**
+     * The time (in milliseconds) a {@link XatkitSession} can stay idle before being evicted.
+     * <p>
+     * A negative or zero value means that idle sessions are never evicted.
+     */
+    @Getter
+    private final long idleTtl;
+
+    /**
+     * The time (in milliseconds) a {@link XatkitSession} can stay idle before being passivated.
+     * <p>
+     * A negative or zero value means that idle sessions are never passivated.
+     */
+    @Getter
+    private final long passivationIdleTime;
+
+    /**
+     * The {@link SessionPassivationStore} holding the passivated {@link XatkitSession}s.
+     * <p>
+     * This field is {@code null} if the passivation is disabled.
+     */
+    private final SessionPassivationStore passivationStore;
+
+    /**
+     * The {@link TimingWheel} used to detect the idle {@link XatkitSession}s.
+     */
+    private final TimingWheel timingWheel = TimingWheel.getInstance();
+
+    /**
+     * The thread evicting the expired {@link XatkitSession}s and passivating the idle ones.
+     * <p>
+     * The timeouts of the {@link #timingWheel} delegate the evictions and passivations to this thread, they may
+     * notify the {@link SessionEvictionListener}s and write to the {@link SessionPassivationStore}. This field is
+     * {@code null} if the idle eviction and the passivation are disabled.
+     */
+    private final ExecutorService sweeper;
+
+    /**
+     * Flag preventing concurrent size-based evictions.
+     */
+    private final AtomicBoolean evictingOversize = new AtomicBoolean(false);
+
+    /**
+     * The number of {@link XatkitSession}s created by the registry.
+     */
+    private final AtomicLong createdCount = new AtomicLong(0);
+
+    /**
+     * The number of {@link XatkitSession}s passivated by the registry.
+     */
+    private final AtomicLong passivationCount = new AtomicLong(0);
+
+    /**
+     * The number of passivated {@link XatkitSession}s rehydrated by the registry.
+     */
+    private final AtomicLong activationCount = new AtomicLong(0);
+
+    /**
+     * The number of evicted {@link XatkitSession}s, per {@link SessionEvictionCause}.
+     */
+    private final Map<SessionEvictionCause, AtomicLong> evictionCounts = new EnumMap<>(SessionEvictionCause.class);
+
+    /**
+     * Constructs a {@link XatkitSessionRegistry} from the provided {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} used to initialize the registry
+     * @throws NullPointerException if the provided {@code configuration} is {@code null}
+     * @see #SESSION_MAX_SIZE_KEY
+     * @see #SESSION_IDLE_TTL_KEY
+     * @see #SESSION_PASSIVATION_IDLE_TIME_KEY
+     */
+    public XatkitSessionRegistry(@NonNull Configuration configuration) {
+        this(configuration.getInt(SESSION_MAX_SIZE_KEY, DEFAULT_SESSION_MAX_SIZE),
+                TimeUnit.SECONDS.toMillis(configuration.getLong(SESSION_IDLE_TTL_KEY, DEFAULT_SESSION_IDLE_TTL)),
+                TimeUnit.SECONDS.toMillis(configuration.getLong(SESSION_PASSIVATION_IDLE_TIME_KEY, 0)),
+                configuration.getLong(SESSION_PASSIVATION_IDLE_TIME_KEY, 0) > 0 ?
+                        new SessionPassivationStore(configuration) : null);
+    }
+
+    /**
+     * Constructs a {@link XatkitSessionRegistry} with the provided {@code maxSize} and {@code idleTtl}.
+     *
+     * @param maxSize the maximum number of {@link XatkitSession}s stored in the registry (a negative or zero value
+     *                disables the size-based eviction)
+     * @param idleTtl the time (in milliseconds) a {@link XatkitSession} can stay idle before being evicted (a
+     *                negative or zero value disables the idle eviction)
+     */
+    public XatkitSessionRegistry(int maxSize, long idleTtl) {
+        this(maxSize, idleTtl, 0, null);
+    }
+
+    /**
+     * Constructs a {@link XatkitSessionRegistry} with the provided parameters.
+     *
+     * @param maxSize             the maximum number of {@link XatkitSession}s stored in the registry (a negative or
+     *                            zero value disables the size-based eviction)
+     * @param idleTtl             the time (in milliseconds) a {@link XatkitSession} can stay idle before being
+     *                            evicted (a negative or zero value disables the idle eviction)
+     * @param passivationIdleTime the time (in milliseconds) a {@link XatkitSession} can stay idle before being
+     *                            passivated (a negative or zero value disables the passivation)
+     * @param passivationStore    the {@link SessionPassivationStore} holding the passivated sessions (can be
+     *                            {@code null} if the passivation is disabled)
+     * @throws IllegalArgumentException if the passivation is enabled and the provided {@code passivationStore} is
+     *                                  {@code null}
+     */
+    public XatkitSessionRegistry(int maxSize, long idleTtl, long passivationIdleTime,
+                                 @Nullable SessionPassivationStore passivationStore) {
+        checkArgument(passivationIdleTime <= 0 || nonNull(passivationStore), "Cannot construct a %s with the " +
+                "passivation idle time %s: the provided %s is null", this.getClass().getSimpleName(),
+                passivationIdleTime, SessionPassivationStore.class.getSimpleName());
+        this.maxSize = maxSize;
+        this.idleTtl = idleTtl;
+        this.passivationIdleTime = passivationIdleTime;
+        this.passivationStore = passivationStore;
+        for (SessionEvictionCause cause : SessionEvictionCause.values()) {
+            this.evictionCounts.put(cause, new AtomicLong(0));
+        }
+        if (idleTtl > 0 || passivationIdleTime > 0) {
+            this.sweeper = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "xatkit-session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (idleTtl > 0 && nonNull(passivationStore)) {
+                schedulePassivatedSessionsExpiration();
+            }
+        } else {
+            this.sweeper = null;
+        }
+        Log.info("{0} started (max size: {1}, idle ttl: {2} ms, passivation idle time: {3} ms)",
+                this.getClass().getSimpleName(), maxSize > 0 ? maxSize : "unbounded", idleTtl > 0 ? idleTtl : "none",
+                passivationIdleTime > 0 ? passivationIdleTime : "none");
+    }
+
+    /**
+     * Registers the provided {@code listener}.
+     *
+     * @param listener the {@link SessionEvictionListener} to notify when a session is evicted
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     */
+    public void addEvictionListener(@NonNull SessionEvictionListener listener) {
+        this.evictionListeners.add(listener);
+    }
+
+    /**
+     * Unregisters the provided {@code listener}.
+     *
+     * @param listener the {@link SessionEvictionListener} to unregister
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     */
+    public void removeEvictionListener(@NonNull SessionEvictionListener listener) {
+        this.evictionListeners.remove(listener);
+    }
+
+    /**
+     * Retrieves or creates the {@link XatkitSession} associated to the provided {@code sessionId}.
+     * <p>
+     * This method is equivalent to {@link #getOrCreate(String, Function, Function)}, and rehydrates passivated
+     * sessions by creating a new session with the provided {@code factory} and restoring the content of the
+     * snapshot in it.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to retrieve or create
+     * @param factory   the {@link Function} used to create the {@link XatkitSession} if it does not exist
+     * @return the retrieved or created {@link XatkitSession}
+     * @throws NullPointerException if the provided {@code sessionId} or {@code factory} is {@code null}, or if the
+     *                              {@code factory} returns {@code null}
+     * @see #getOrCreate(String, Function, Function)
+     */
+    public XatkitSession getOrCreate(@NonNull String sessionId,
+                                     @NonNull Function<String, ? extends XatkitSession> factory) {
+        return getOrCreate(sessionId, factory, snapshot -> {
+            XatkitSession session = factory.apply(snapshot.getSessionId());
+            if (nonNull(session)) {
+                snapshot.restoreContent(session);
+            }
+            return session;
+        });
+    }
+
+    /**
+     * Retrieves, rehydrates, or creates the {@link XatkitSession} associated to the provided {@code sessionId}.
+     * <p>
+     * If the {@link XatkitSession} is passivated it is rehydrated with the provided {@code activator}, otherwise it
+     * is created with the provided {@code factory}. The {@code factory} and the {@code activator} are called at most
+     * once per identifier, even if this method is called concurrently: threads accessing an identifier that is being
+     * created wait for the creation to complete and return the created {@link XatkitSession}. The {@code factory}
+     * and the {@code activator} are called without locking the registry, and do not block the accesses to the other
+     * identifiers. They should not access the registry.
+     * <p>
+     * Exceptions thrown by the {@code factory} or the {@code activator} are propagated to the caller, and the
+     * registry is left unchanged (note that the snapshot of a passivated session is discarded if the
+     * {@code activator} fails).
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to retrieve or create
+     * @param factory   the {@link Function} used to create the {@link XatkitSession} if it does not exist
+     * @param activator the {@link Function} used to rehydrate the {@link XatkitSession} from its
+     *                  {@link SessionSnapshot} if it is passivated
+     * @return the retrieved or created {@link XatkitSession}
+     * @throws NullPointerException if the provided {@code sessionId}, {@code factory}, or {@code activator} is
+     *                              {@code null}, or if the {@code factory} or the {@code activator} returns
+     *                              {@code null}
+     */
+    public XatkitSession getOrCreate(@NonNull String sessionId,
+                                     @NonNull Function<String, ? extends XatkitSession> factory,
+                                     @NonNull Function<SessionSnapshot, ? extends XatkitSession> activator) {
+        XatkitSession session = get(sessionId);
+        while (isNull(session)) {
+            Entry entry = entries.get(sessionId);
+            if (isNull(entry)) {
+                entry = getOrCreateEntry(sessionId, factory, activator);
+            }
+            if (entry.touch()) {
+                session = entry.session;
+                if (maxSize > 0 && entries.size() > maxSize) {
+                    evictOversizeSessions();
+                }
+            } else {
+                /*
+                 * The entry is being evicted or passivated, wait for its removal and create a new one (the entry
+                 * is accessed again if its passivation failed).
+                 */
+                entry.awaitRemoval();
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Retrieves or creates the {@link Entry} associated to the provided {@code sessionId}.
+     * <p>
+     * The first thread accessing a missing identifier registers a pending creation, creates the {@link Entry}
+     * without holding any lock of the {@link #entries} map, and publishes it. The other threads accessing the same
+     * identifier wait for the pending creation, and receive the created {@link Entry} or the exception thrown by the
+     * creation.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to retrieve or create
+     * @param factory   the {@link Function} used to create the {@link XatkitSession}
+     * @param activator the {@link Function} used to rehydrate the {@link XatkitSession}
+     * @return the retrieved or created {@link Entry}
+     */
+    private Entry getOrCreateEntry(String sessionId, Function<String, ? extends XatkitSession> factory,
+                                   Function<SessionSnapshot, ? extends XatkitSession> activator) {
+        CompletableFuture<Entry> creation = new CompletableFuture<>();
+        CompletableFuture<Entry> pendingCreation = pendingCreations.putIfAbsent(sessionId, creation);
+        if (nonNull(pendingCreation)) {
+            try {
+                return pendingCreation.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            /*
+             * The entry may have been published by a creation that completed after the caller's lookup.
+             */
+            Entry entry = entries.get(sessionId);
+            if (isNull(entry)) {
+                entry = createEntry(sessionId, factory, activator);
+                entries.put(sessionId, entry);
+                scheduleTimeouts(sessionId, entry);
+            }
+            creation.complete(entry);
+            return entry;
+        } catch (Throwable t) {
+            creation.completeExceptionally(t);
+            throw t;
+        } finally {
+            pendingCreations.remove(sessionId, creation);
+        }
+    }
+
+    /**
+     * Creates the {@link Entry} associated to the provided {@code sessionId}.
+     * <p>
+     * This method rehydrates the passivated session associated to the provided {@code sessionId} if it exists, and
+     * creates a new one otherwise.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to create
+     * @param factory   the {@link Function} used to create the {@link XatkitSession}
+     * @param activator the {@link Function} used to rehydrate the {@link XatkitSession}
+     * @return the created {@link Entry}
+     */
+    private Entry createEntry(String sessionId, Function<String, ? extends XatkitSession> factory,
+                              Function<SessionSnapshot, ? extends XatkitSession> activator) {
+        SessionSnapshot snapshot = nonNull(passivationStore) ? passivationStore.activate(sessionId) : null;
+        XatkitSession created;
+        if (nonNull(snapshot)) {
+            created = activator.apply(snapshot);
+            checkNotNull(created, "Cannot register a null %s for the identifier %s",
+                    XatkitSession.class.getSimpleName(), sessionId);
+            activationCount.incrementAndGet();
+            Log.debug("Session {0} rehydrated", sessionId);
+        } else {
+            created = factory.apply(sessionId);
+            checkNotNull(created, "Cannot register a null %s for the identifier %s",
+                    XatkitSession.class.getSimpleName(), sessionId);
+            createdCount.incrementAndGet();
+        }
+        return new Entry(created);
+    }
+
+    /**
+     * Schedules the idle and passivation checks of the provided {@code entry}.
+     * <p>
+     * This method must be called once the {@code entry} is stored in the {@link #entries} map, the checks ignore
+     * the entries that are not stored in the map.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession}
+     * @param entry     the {@link Entry} to schedule the checks of
+     */
+    private void scheduleTimeouts(String sessionId, Entry entry) {
+        if (idleTtl > 0) {
+            scheduleIdleCheck(sessionId, entry, idleTtl + 1);
+        }
+        if (passivationIdleTime > 0 && nonNull(passivationStore)) {
+            schedulePassivationCheck(sessionId, entry, passivationIdleTime + 1);
+        }
+    }
+
+    /**
+     * Returns the {@link XatkitSession} associated to the provided {@code sessionId}.
+     * <p>
+     * Retrieving a {@link XatkitSession} resets its idle time. Expired sessions are evicted when they are accessed,
+     * even if they have not been swept yet.
+     * <p>
+     * This method does not rehydrate passivated sessions (see {@link #isPassivated(String)}).
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to retrieve
+     * @return the {@link XatkitSession} associated to the provided {@code sessionId} if it exists, {@code null}
+     * otherwise
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public @Nullable
+    XatkitSession get(@NonNull String sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (isNull(entry)) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            evict(sessionId, entry, SessionEvictionCause.EXPIRED, now - idleTtl);
+            return null;
+        }
+        return entry.touch() ? entry.session : null;
+    }
+
+    /**
+     * Returns whether the {@link XatkitSession} associated to the provided {@code sessionId} is passivated.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to check
+     * @return {@code true} if the {@link XatkitSession} is passivated, {@code false} otherwise
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public boolean isPassivated(@NonNull String sessionId) {
+        return nonNull(passivationStore) && passivationStore.contains(sessionId);
+    }
+
+    /**
+     * Returns an unmodifiable view of the stored {@link XatkitSession}s.
+     * <p>
+     * The returned {@link Collection} reflects the concurrent updates of the registry, and can be iterated while
+     * sessions are created or evicted. Iterating the sessions does not reset their idle time.
+     *
+     * @return an unmodifiable view of the stored {@link XatkitSession}s
+     */
+    public Collection<XatkitSession> getSessions() {
+        return Collections.unmodifiableCollection(new SessionCollection());
+    }
+
+    /**
+     * Returns the {@code limit} stored {@link XatkitSession}s with the largest estimated size.
+     * <p>
+     * Passivated sessions are not returned. This method does not reset the idle time of the returned sessions.
+     *
+     * @param limit the maximum number of {@link XatkitSession}s to return
+     * @return the heaviest {@link XatkitSession}s, sorted by decreasing estimated size
+     * @throws IllegalArgumentException if the provided {@code limit} is negative
+     * @see XatkitSession#getEstimatedSize()
+     */
+    public List<XatkitSession> getHeaviestSessions(int limit) {
+        checkArgument(limit >= 0, "Cannot retrieve the heaviest sessions: the provided limit must be positive, " +
+                "found %s", limit);
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+        /*
+         * Keep the limit heaviest sessions in a min-heap, this avoids sorting the entire registry.
+         */
+        Comparator<XatkitSession> bySize = Comparator.comparingLong(XatkitSession::getEstimatedSize);
+        PriorityQueue<XatkitSession> heaviest = new PriorityQueue<>(limit + 1, bySize);
+        for (Entry entry : entries.values()) {
+            heaviest.offer(entry.session);
+            if (heaviest.size() > limit) {
+                heaviest.poll();
+            }
+        }
+        return heaviest.stream().sorted(bySize.reversed()).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the sum of the estimated sizes of the stored {@link XatkitSession}s.
+     * <p>
+     * The size of the passivated sessions is not included.
+     *
+     * @return the estimated size (in bytes) of the stored {@link XatkitSession}s
+     * @see XatkitSession#getEstimatedSize()
+     */
+    public long getEstimatedSize() {
+        long size = 0;
+        for (Entry entry : entries.values()) {
+            size += entry.session.getEstimatedSize();
+        }
+        return size;
+    }
+
+    /**
+     * Removes the {@link XatkitSession} associated to the provided {@code sessionId}.
+     * <p>
+     * The registered {@link SessionEvictionListener}s are notified with the {@link SessionEvictionCause#EXPLICIT}
+     * cause.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to remove
+     * @return the removed {@link XatkitSession} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code sessionId} is {@code null}
+     */
+    public @Nullable
+    XatkitSession remove(@NonNull String sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (isNull(entry)) {
+            return null;
+        }
+        return evict(sessionId, entry, SessionEvictionCause.EXPLICIT, Long.MAX_VALUE) ? entry.session : null;
+    }
+
+    /**
+     * Removes all the stored {@link XatkitSession}s, including the passivated ones.
+     * <p>
+     * The registered {@link SessionEvictionListener}s are notified with the {@link SessionEvictionCause#EXPLICIT}
+     * cause for the {@link XatkitSession}s stored in memory.
+     */
+    public void clear() {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            evict(entry.getKey(), entry.getValue(), SessionEvictionCause.EXPLICIT, Long.MAX_VALUE);
+        }
+        if (nonNull(passivationStore)) {
+            passivationStore.clear();
+        }
+    }
+
+    /**
+     * Returns the number of stored {@link XatkitSession}s.
+     *
+     * @return the number of stored {@link XatkitSession}s
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the number of {@link XatkitSession}s created by the registry.
+     *
+     * @return the number of {@link XatkitSession}s created by the registry
+     */
+    public long getCreatedCount() {
+        return this.createdCount.get();
+    }
+
+    /**
+     * Returns the number of passivated {@link XatkitSession}s.
+     *
+     * @return the number of passivated {@link XatkitSession}s
+     */
+    public int getPassivatedSessionCount() {
+        return nonNull(passivationStore) ? passivationStore.size() : 0;
+    }
+
+    /**
+     * Returns the number of {@link XatkitSession}s passivated by the registry.
+     *
+     * @return the number of {@link XatkitSession}s passivated by the registry
+     */
+    public long getPassivationCount() {
+        return this.passivationCount.get();
+    }
+
+    /**
+     * Returns the number of passivated {@link XatkitSession}s rehydrated by the registry.
+     *
+     * @return the number of passivated {@link XatkitSession}s rehydrated by the registry
+     */
+    public long getActivationCount() {
+        return this.activationCount.get();
+    }
+
+    /**
+     * Returns the number of {@link XatkitSession}s evicted with the provided {@code cause}.
+     *
+     * @param cause the {@link SessionEvictionCause} to retrieve the count of
+     * @return the number of {@link XatkitSession}s evicted with the provided {@code cause}
+     * @throws NullPointerException if the provided {@code cause} is {@code null}
+     */
+    public long getEvictionCount(@NonNull SessionEvictionCause cause) {
+        return this.evictionCounts.get(cause).get();
+    }
+
+    /**
+     * Evicts the {@link XatkitSession}s that have not been accessed during the configured idle time.
+     * <p>
+     * Expired passivated sessions are removed from the {@link SessionPassivationStore}, and the
+     * {@link SessionEvictionListener}s are notified with a {@link XatkitSession} restored from their snapshot (this
+     * session does not have a {@link com.xatkit.execution.State}).
+     * <p>
+     * Idle sessions are automatically evicted when their timeout expires, this method can be called manually to
+     * force the eviction of expired sessions.
+     */
+    public void evictExpiredSessions() {
+        if (idleTtl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().isExpired(now) && evict(entry.getKey(), entry.getValue(),
+                    SessionEvictionCause.EXPIRED, now - idleTtl)) {
+                evicted++;
+            }
+        }
+        evicted += evictExpiredPassivatedSessions(now);
+        if (evicted > 0) {
+            Log.debug("Evicted {0} expired sessions ({1} remaining)", evicted, entries.size());
+        }
+    }
+
+    /**
+     * Evicts the passivated {@link XatkitSession}s that have not been accessed during the configured idle time.
+     *
+     * @param now the current time (in milliseconds)
+     * @return the number of evicted sessions
+     * @see #evictExpiredSessions()
+     */
+    private int evictExpiredPassivatedSessions(long now) {
+        if (isNull(passivationStore) || passivationStore.isClosed()) {
+            return 0;
+        }
+        int evicted = 0;
+        for (SessionSnapshot snapshot : passivationStore.removeAccessedBefore(now - idleTtl)) {
+            XatkitSession session = new XatkitSession(snapshot.getSessionId());
+            snapshot.restoreContent(session);
+            notifyEviction(session, SessionEvictionCause.EXPIRED);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Passivates the {@link XatkitSession}s that have not been accessed during the configured passivation idle time.
+     * <p>
+     * Sessions that cannot be serialized are kept in memory, and are not passivated again until they are accessed.
+     * <p>
+     * Idle sessions are automatically passivated when their timeout expires, this method can be called manually to
+     * force the passivation of idle sessions.
+     */
+    public void passivateIdleSessions() {
+        if (passivationIdleTime <= 0) {
+            return;
+        }
+        passivateSessionsAccessedBefore(System.currentTimeMillis() - passivationIdleTime);
+    }
+
+    /**
+     * Passivates the {@link XatkitSession}s that have not been accessed since the provided {@code accessLimit}.
+     *
+     * @param accessLimit the time (in milliseconds) before which sessions are passivated
+     * @see #passivateIdleSessions()
+     */
+    void passivateSessionsAccessedBefore(long accessLimit) {
+        if (isNull(passivationStore)) {
+            return;
+        }
+        int passivated = 0;
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+            if (passivate(mapEntry.getKey(), mapEntry.getValue(), accessLimit)) {
+                passivated++;
+            }
+        }
+        if (passivated > 0) {
+            Log.debug("Passivated {0} idle sessions ({1} remaining in memory)", passivated, entries.size());
+        }
+    }
+
+    /**
+     * Passivates the provided {@code entry} if it has not been accessed since the provided {@code accessLimit}.
+     *
+     * @param sessionId   the identifier of the {@link XatkitSession} to passivate
+     * @param entry       the {@link Entry} to passivate
+     * @param accessLimit the time (in milliseconds) after which an access prevents the passivation
+     * @return {@code true} if the {@code entry} has been passivated, {@code false} otherwise
+     */
+    private boolean passivate(String sessionId, Entry entry, long accessLimit) {
+        if (entry.lastAccess >= accessLimit || entry.passivationFailed || !entry.markRemoved(accessLimit)) {
+            return false;
+        }
+        /*
+         * The entry cannot be accessed anymore, it is safe to take its snapshot.
+         */
+        boolean passivated = false;
+        try {
+            passivated = passivationStore.passivate(entry.session, entry.lastAccess);
+        } finally {
+            if (passivated) {
+                entries.remove(sessionId, entry);
+                entry.completeRemoval();
+                entry.cancelTimeouts();
+                passivationCount.incrementAndGet();
+            } else {
+                entry.cancelRemoval();
+            }
+        }
+        return passivated;
+    }
+
+    /**
+     * Schedules the idle check of the provided {@code entry} in the {@link #timingWheel}.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to check
+     * @param entry     the {@link Entry} to check
+     * @param delay     the delay (in milliseconds) before checking the {@code entry}
+     * @see #checkIdleEntry(String, Entry)
+     */
+    private void scheduleIdleCheck(String sessionId, Entry entry, long delay) {
+        entry.idleTimeout = timingWheel.schedule(() -> runInSweeper(() -> checkIdleEntry(sessionId, entry)), delay);
+    }
+
+    /**
+     * Evicts the provided {@code entry} if it is expired, or re-arms its idle check with the remaining time.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to check
+     * @param entry     the {@link Entry} to check
+     */
+    private void checkIdleEntry(String sessionId, Entry entry) {
+        if (entries.get(sessionId) != entry) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now) && evict(sessionId, entry, SessionEvictionCause.EXPIRED, now - idleTtl)) {
+            Log.debug("Evicted expired session {0} ({1} remaining)", sessionId, entries.size());
+            return;
+        }
+        scheduleIdleCheck(sessionId, entry, Math.max(1, entry.lastAccess + idleTtl - now + 1));
+    }
+
+    /**
+     * Schedules the passivation check of the provided {@code entry} in the {@link #timingWheel}.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to check
+     * @param entry     the {@link Entry} to check
+     * @param delay     the delay (in milliseconds) before checking the {@code entry}
+     * @see #checkIdleEntryPassivation(String, Entry)
+     */
+    private void schedulePassivationCheck(String sessionId, Entry entry, long delay) {
+        entry.passivationTimeout = timingWheel.schedule(() -> runInSweeper(() ->
+                checkIdleEntryPassivation(sessionId, entry)), delay);
+    }
+
+    /**
+     * Passivates the provided {@code entry} if it is idle, or re-arms its passivation check with the remaining
+     * time.
+     * <p>
+     * Entries that could not be passivated are checked again after the passivation idle time.
+     *
+     * @param sessionId the identifier of the {@link XatkitSession} to check
+     * @param entry     the {@link Entry} to check
+     */
+    private void checkIdleEntryPassivation(String sessionId, Entry entry) {
+        if (entries.get(sessionId) != entry) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (passivate(sessionId, entry, now - passivationIdleTime)) {
+            Log.debug("Passivated idle session {0} ({1} remaining in memory)", sessionId, entries.size());
+            return;
+        }
+        long delay = entry.passivationFailed ? passivationIdleTime : entry.lastAccess + passivationIdleTime - now + 1;
+        schedulePassivationCheck(sessionId, entry, Math.max(1, delay));
+    }
+
+    /**
+     * Schedules the periodic eviction of the expired passivated {@link XatkitSession}s.
+     * <p>
+     * Passivated sessions are not stored in memory, the {@link SessionPassivationStore} is swept every
+     * {@link #MAX_SWEEP_INTERVAL} milliseconds (or every {@link #idleTtl} milliseconds if it is lower).
+     */
+    private void schedulePassivatedSessionsExpiration() {
+        timingWheel.schedule(() -> runInSweeper(() -> {
+            int evicted = evictExpiredPassivatedSessions(System.currentTimeMillis());
+            if (evicted > 0) {
+                Log.debug("Evicted {0} expired passivated sessions", evicted);
+            }
+            schedulePassivatedSessionsExpiration();
+        }), Math.min(idleTtl, MAX_SWEEP_INTERVAL));
+    }
+
+    /**
+     * Runs the provided {@code task} in the {@link #sweeper} thread.
+     * <p>
+     * Tasks submitted once the registry is shut down are ignored.
+     *
+     * @param task the task to run
+     */
+    private void runInSweeper(Runnable task) {
+        try {
+            sweeper.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    /*
+                     * Catch everything, the sweeper thread is shared by all the sessions.
+                     */
+                    Log.error(t, "An error occurred when sweeping the idle sessions");
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            /*
+             * The registry has been shut down.
+             */
+        }
+    }
+
+    /**
+     * Shuts down the sweeper thread and closes the {@link SessionPassivationStore}.
+     * <p>
+     * The stored {@link XatkitSession}s are not evicted, and can still be accessed once the registry is shut down.
+     * Passivated sessions are kept in the {@link SessionPassivationStore}, but cannot be rehydrated anymore.
+     */
+    public void shutdown() {
+        if (nonNull(this.sweeper)) {
+            this.sweeper.shutdownNow();
+        }
+        for (Entry entry : entries.values()) {
+            entry.cancelTimeouts();
+        }
+        if (nonNull(this.passivationStore)) {
+            this.passivationStore.close();
+        }
+    }
+
+    /**
+     * Evicts the least recently accessed {@link XatkitSession}s until the registry size is reduced to
+     * {@link #SIZE_EVICTION_RATIO} of its maximum size.
+     * <p>
+     * This method returns immediately if another thread is already evicting sessions.
+     */
+    private void evictOversizeSessions() {
+        if (!evictingOversize.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int targetSize = Math.max(1, Math.min(maxSize - 1, (int) (maxSize * SIZE_EVICTION_RATIO)));
+            int evictionCount = entries.size() - targetSize;
+            if (evictionCount <= 0) {
+                return;
+            }
+            /*
+             * Keep the evictionCount oldest entries in a max-heap, this avoids sorting the entire registry.
+             */
+            Comparator<Map.Entry<String, Entry>> byLastAccess =
+                    Comparator.comparingLong(e -> e.getValue().lastAccess);
+            PriorityQueue<Map.Entry<String, Entry>> oldest = new PriorityQueue<>(evictionCount + 1,
+                    byLastAccess.reversed());
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                oldest.offer(entry);
+                if (oldest.size() > evictionCount) {
+                    oldest.poll();
+                }
+            }
+            for (Map.Entry<String, Entry> entry : oldest) {
+                evict(entry.getKey(), entry.getValue(), SessionEvictionCause.SIZE, Long.MAX_VALUE);
+            }
+            Log.debug("Evicted {0} sessions to enforce the maximum size {1}", oldest.size(), maxSize);
+        } finally {
+            evictingOversize.set(false);
+        }
+    }
+
+    /**
+     * Removes the provided {@code entry} and notifies the {@link SessionEvictionListener}s.
+     * <p>
+     * The {@code entry} is not removed if it has been accessed after {@code accessLimit}, or if it has been
+     * removed in the meantime.
+     *
+     * @param sessionId   the identifier of the {@link XatkitSession} to evict
+     * @param entry       the {@link Entry} to evict
+     * @param cause       the {@link SessionEvictionCause} of the eviction
+     * @param accessLimit the time (in milliseconds) after which an access prevents the eviction
+     * @return {@code true} if the {@code entry} has been removed, {@code false} otherwise
+     */
+    private boolean evict(String sessionId, Entry entry, SessionEvictionCause cause, long accessLimit) {
+        if (!entry.markRemoved(accessLimit)) {
+            return false;
+        }
+        entries.remove(sessionId, entry);
+        entry.completeRemoval();
+        entry.cancelTimeouts();
+        notifyEviction(entry.session, cause);
+        return true;
+    }
+
+    /**
+     * Notifies the {@link SessionEvictionListener}s that the provided {@code session} has been evicted.
+     *
+     * @param session the evicted {@link XatkitSession}
+     * @param cause   the {@link SessionEvictionCause} of the eviction
+     */
+    private void notifyEviction(XatkitSession session, SessionEvictionCause cause) {
+        evictionCounts.get(cause).incrementAndGet();
+        for (SessionEvictionListener listener : evictionListeners) {
+            try {
+                listener.onEviction(session, cause);
+            } catch (Throwable t) {
+                Log.error(t, "An error occurred when notifying the eviction of the session {0} ({1})",
+                        session.getSessionId(), cause);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "XatkitSessionRegistry(size=" + size() + ", created=" + getCreatedCount() + ", passivated="
+                + getPassivatedSessionCount() + ", evicted=" + evictionCounts.entrySet().stream()
+                .map(e -> e.getKey() + ":" + e.getValue().get()).collect(Collectors.joining(", ", "{", "}")) + ")";
+    }
+
+    /**
+     * A stored {@link XatkitSession} and its last access time.
+     * <p>
+     * An entry is marked as removed before being evicted or passivated: removed entries cannot be accessed anymore,
+     * ensuring that a {@link XatkitSession} is not used once it has been passivated. Threads accessing a removed
+     * entry wait for its removal to complete (see {@link #awaitRemoval()}).
+     */
+    private class Entry {
+
+        /**
+         * The stored {@link XatkitSession}.
+         */
+        private final XatkitSession session;
+
+        /**
+         * The time (in milliseconds) of the last access to the {@link XatkitSession}.
+         */
+        private volatile long lastAccess;
+
+        /**
+         * Whether the entry has been removed from the registry.
+         */
+        private boolean removed;
+
+        /**
+         * The {@link CompletableFuture} completed once the entry is removed from the {@link #entries} map, or once
+         * its removal is cancelled.
+         * <p>
+         * This future is created when the entry is marked as removed, and is only accessed in {@code synchronized}
+         * blocks.
+         */
+        private CompletableFuture<Void> removal;
+
+        /**
+         * Whether the {@link XatkitSession} could not be passivated since its last access.
+         */
+        private volatile boolean passivationFailed;
+
+        /**
+         * The {@link TimingWheel.Timeout} checking whether the {@link XatkitSession} is expired.
+         */
+        private volatile TimingWheel.Timeout idleTimeout;
+
+        /**
+         * The {@link TimingWheel.Timeout} checking whether the {@link XatkitSession} should be passivated.
+         */
+        private volatile TimingWheel.Timeout passivationTimeout;
+
+        /**
+         * Constructs an {@link Entry} for the provided {@code session}.
+         *
+         * @param session the {@link XatkitSession} to store
+         */
+        private Entry(XatkitSession session) {
+            this.session = session;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        /**
+         * Resets the idle time of the {@link XatkitSession}.
+         *
+         * @return {@code true} if the idle time has been reset, {@code false} if the entry has been removed
+         */
+        private synchronized boolean touch() {
+            if (removed) {
+                return false;
+            }
+            this.lastAccess = System.currentTimeMillis();
+            this.passivationFailed = false;
+            return true;
+        }
+
+        /**
+         * Marks the entry as removed if it has not been accessed after the provided {@code accessLimit}.
+         *
+         * @param accessLimit the time (in milliseconds) after which an access prevents the removal
+         * @return {@code true} if the entry has been marked as removed, {@code false} otherwise
+         */
+        private synchronized boolean markRemoved(long accessLimit) {
+            if (removed || lastAccess > accessLimit) {
+                return false;
+            }
+            this.removed = true;
+            this.removal = new CompletableFuture<>();
+            return true;
+        }
+
+        /**
+         * Notifies the threads waiting for the removal of the entry that it has been removed from the
+         * {@link #entries} map.
+         */
+        private synchronized void completeRemoval() {
+            this.removal.complete(null);
+        }
+
+        /**
+         * Cancels the removal of the entry after a failed passivation.
+         * <p>
+         * The threads waiting for the removal of the entry are notified, and can access it again.
+         */
+        private synchronized void cancelRemoval() {
+            this.removed = false;
+            this.passivationFailed = true;
+            this.removal.complete(null);
+            this.removal = null;
+        }
+
+        /**
+         * Waits until the removal of the entry is completed or cancelled.
+         * <p>
+         * This method returns immediately if the entry is not marked as removed.
+         */
+        private void awaitRemoval() {
+            CompletableFuture<Void> pendingRemoval;
+            synchronized (this) {
+                pendingRemoval = this.removal;
+            }
+            if (nonNull(pendingRemoval)) {
+                pendingRemoval.join();
+            }
+        }
+
+        /**
+         * Cancels the pending {@link TimingWheel.Timeout}s of the entry.
+         */
+        private void cancelTimeouts() {
+            TimingWheel.Timeout timeout = this.idleTimeout;
+            if (nonNull(timeout)) {
+                timeout.cancel();
+            }
+            timeout = this.passivationTimeout;
+            if (nonNull(timeout)) {
+                timeout.cancel();
+            }
+        }
+
+        /**
+         * Returns whether the {@link XatkitSession} has been idle for more than the configured idle time.
+         *
+         * @param now the current time (in milliseconds)
+         * @return {@code true} if the {@link XatkitSession} is expired, {@code false} otherwise
+         */
+        private boolean isExpired(long now) {
+            return idleTtl > 0 && now - lastAccess > idleTtl;
+        }
+    }
+
+    /**
+     * A live view of the stored {@link XatkitSession}s.
+     */
+    private class SessionCollection extends AbstractCollection<XatkitSession> {
+
+        @Override
+        public Iterator<XatkitSession> iterator() {
+            return entries.values().stream().map(e -> e.session).iterator();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+}
@@ -5,12 +5,15 @@ import com.xatkit.execution.ExecutionModel;
 import com.xatkit.execution.State;
 import com.xatkit.execution.Transition;
 import com.xatkit.intent.EventDefinition;
+import com.xatkit.intent.IntentDefinition;
 import lombok.NonNull;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmGenericType;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.xbase.XBinaryOperation;
+import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.XFeatureCall;
 import org.eclipse.xtext.xbase.XMemberFeatureCall;
 
@@ -227,6 +230,78 @@ public class ExecutionModelUtils {
         return null;
     }
 
+    /**
+     * Returns the name of the event compared in the provided {@code expression} if it is an event equality guard.
+     * <p>
+     * An event equality guard is an {@link XBinaryOperation} comparing the {@code intent} or {@code event}
+     * variable with a class derived from the imported events:
+     * {@code
+     * <pre>
+     * MyState {
+     *     Next {
+     *         intent == MyIntent --> OtherState
+     *     }
+     * }
+     * </pre>
+     * }
+     * The result of such guards only depends on the name of the received event, and can be computed without
+     * evaluating the {@code expression}.
+     * <p>
+     * <b>Note</b>: {@code intent} comparisons with non-intent events are not considered as event equality guards:
+     * the {@code intent} variable is not set when receiving such events.
+     *
+     * @param expression the {@link XExpression} to check
+     * @return the name of the compared event if the provided {@code expression} is an event equality guard, {@code
+     * null} otherwise
+     * @see #isEventDefinitionAccess(JvmIdentifiableElement)
+     */
+    public static @Nullable
+    String getEventEqualityGuardName(@Nullable XExpression expression) {
+        String eventName = getComparedEventName(expression);
+        if (nonNull(eventName)) {
+            XBinaryOperation operation = (XBinaryOperation) expression;
+            JvmIdentifiableElement leftFeature = ((XFeatureCall) operation.getLeftOperand()).getFeature();
+            JvmIdentifiableElement rightFeature = ((XFeatureCall) operation.getRightOperand()).getFeature();
+            if (leftFeature.getSimpleName().equals("event")
+                    || getAccessedEventDefinition(rightFeature) instanceof IntentDefinition) {
+                return eventName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the event compared in the provided {@code expression}.
+     * <p>
+     * This method checks if the provided {@code expression} is an {@link XBinaryOperation} comparing the {@code
+     * intent} or {@code event} variable with a class derived from the imported events (e.g. {@code intent ==
+     * MyIntent}), and returns the name of the compared event. Contrary to
+     * {@link #getEventEqualityGuardName(XExpression)} this method does not check that {@code intent} variables are
+     * compared with intents.
+     *
+     * @param expression the {@link XExpression} to check
+     * @return the name of the compared event if the provided {@code expression} compares an event, {@code null}
+     * otherwise
+     * @see #getEventEqualityGuardName(XExpression)
+     */
+    public static @Nullable
+    String getComparedEventName(@Nullable XExpression expression) {
+        if (expression instanceof XBinaryOperation) {
+            XBinaryOperation operation = (XBinaryOperation) expression;
+            if (nonNull(operation.getFeature()) && operation.getFeature().getSimpleName().equals("operator_equals")
+                    && operation.getLeftOperand() instanceof XFeatureCall
+                    && operation.getRightOperand() instanceof XFeatureCall) {
+                JvmIdentifiableElement leftFeature = ((XFeatureCall) operation.getLeftOperand()).getFeature();
+                JvmIdentifiableElement rightFeature = ((XFeatureCall) operation.getRightOperand()).getFeature();
+                if (leftFeature instanceof JvmField && (leftFeature.getSimpleName().equals("intent")
+                        || leftFeature.getSimpleName().equals("event")) && isEventDefinitionAccess(rightFeature)) {
+                    return rightFeature.getSimpleName();
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns {@code true} if the provided {@code featureCall} is a platform's action call, {@code false} otherwise.
      *
@@ -299,6 +374,19 @@ public class ExecutionModelUtils {
         return null;
     }
 
+    /**
+     * Returns the {@link State} of the provided {@code executionModel} with the given {@code stateName}.
+     *
+     * @param executionModel the {@link ExecutionModel} to retrieve the {@link State} from
+     * @param stateName      the name of the {@link State} to retrieve
+     * @return the retrieved {@link State} if it exists, {@code null} otherwise
+     */
+    public static @Nullable
+    State getState(ExecutionModel executionModel, String stateName) {
+        return executionModel.getStates().stream().filter(s -> s.getName().equals(stateName)).findAny()
+                .orElse(null);
+    }
+
     public static State getInitState(ExecutionModel executionModel) {
         return executionModel.getStates().stream().filter(s -> s.getName().equals("Init")).findAny()
                 .orElseThrow(() -> new IllegalStateException("The execution model does not contain an Init State"));
@@ -0,0 +1,103 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.State;
+import com.xatkit.stubs.StubRuntimePlatform;
+import com.xatkit.test.util.TestBotExecutionModel;
+import com.xatkit.test.util.TestModelLoader;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.xbase.XMemberFeatureCall;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ActionCallSiteTest extends AbstractXatkitTest {
+
+    private static TestBotExecutionModel testBotExecutionModel;
+
+    private static XMemberFeatureCall actionCall;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws ConfigurationException {
+        testBotExecutionModel = TestModelLoader.loadTestBot();
+        State handleAny = testBotExecutionModel.getBaseModel().getStates().stream()
+                .filter(s -> s.getName().equals("HandleAny"))
+                .findAny().orElseThrow(() -> new IllegalStateException("Cannot find the state HandleAny"));
+        List<XMemberFeatureCall> featureCalls = EcoreUtil2.getAllContentsOfType(handleAny.getBody(),
+                XMemberFeatureCall.class);
+        assertThat(featureCalls).as("HandleAny contains an action call").hasSize(1);
+        actionCall = featureCalls.get(0);
+    }
+
+    private RuntimePlatformRegistry platformRegistry;
+
+    private StubRuntimePlatform stubRuntimePlatform;
+
+    private ActionCallSite callSite;
+
+    @Before
+    public void setUp() {
+        platformRegistry = new RuntimePlatformRegistry();
+        stubRuntimePlatform = new StubRuntimePlatform(mock(XatkitCore.class), new BaseConfiguration());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullActionCall() {
+        callSite = new ActionCallSite(null, platformRegistry);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullRuntimePlatformRegistry() {
+        callSite = new ActionCallSite(actionCall, null);
+    }
+
+    @Test
+    public void constructValidActionCall() {
+        callSite = new ActionCallSite(actionCall, platformRegistry);
+        assertThat(callSite.getActionCall()).as("Valid action call").isSameAs(actionCall);
+        assertThat(callSite.getPlatformName()).as("Valid platform name").isEqualTo("StubRuntimePlatform");
+    }
+
+    @Test(expected = XatkitException.class)
+    public void getRuntimePlatformNotStartedPlatform() {
+        callSite = new ActionCallSite(actionCall, platformRegistry);
+        callSite.getRuntimePlatform();
+    }
+
+    @Test
+    public void getRuntimePlatformStartedPlatform() {
+        platformRegistry.registerRuntimePlatform("StubRuntimePlatform", stubRuntimePlatform);
+        callSite = new ActionCallSite(actionCall, platformRegistry);
+        assertThat(callSite.getRuntimePlatform()).as("Valid runtime platform").isSameAs(stubRuntimePlatform);
+    }
+
+    @Test
+    public void getRuntimePlatformStartedAfterFirstCall() {
+        callSite = new ActionCallSite(actionCall, platformRegistry);
+        try {
+            callSite.getRuntimePlatform();
+        } catch (XatkitException e) {
+            /*
+             * The platform is not started yet, the failed lookup must not be cached.
+             */
+        }
+        platformRegistry.registerRuntimePlatform("StubRuntimePlatform", stubRuntimePlatform);
+        assertThat(callSite.getRuntimePlatform()).as("Valid runtime platform").isSameAs(stubRuntimePlatform);
+    }
+
+    @Test
+    public void getRuntimePlatformCached() {
+        platformRegistry.registerRuntimePlatform("StubRuntimePlatform", stubRuntimePlatform);
+        callSite = new ActionCallSite(actionCall, platformRegistry);
+        callSite.getRuntimePlatform();
+        platformRegistry.clearRuntimePlatforms();
+        assertThat(callSite.getRuntimePlatform()).as("Cached runtime platform").isSameAs(stubRuntimePlatform);
+    }
+}
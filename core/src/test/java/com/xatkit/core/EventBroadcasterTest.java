@@ -0,0 +1,139 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.EventDefinition;
+import com.xatkit.intent.EventInstance;
+import com.xatkit.intent.IntentFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventBroadcasterTest extends AbstractXatkitTest {
+
+    private ExecutionService executionService;
+
+    private SessionAffinityExecutor sessionExecutor;
+
+    private EventBroadcaster broadcaster;
+
+    private EventInstance eventInstance;
+
+    private Set<String> deliveredSessions;
+
+    @Before
+    public void setUp() {
+        executionService = mock(ExecutionService.class);
+        sessionExecutor = mock(SessionAffinityExecutor.class);
+        when(executionService.getSessionExecutor()).thenReturn(sessionExecutor);
+        deliveredSessions = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            deliveredSessions.add(((XatkitSession) invocation.getArgument(1)).getSessionId());
+            return null;
+        }).when(executionService).handleEventInstance(any(EventInstance.class), any(XatkitSession.class),
+                eq(EventPriority.BROADCAST));
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName("Broadcast");
+        eventInstance = IntentFactory.eINSTANCE.createEventInstance();
+        eventInstance.setDefinition(eventDefinition);
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(broadcaster) && !broadcaster.isShutdown()) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullExecutionService() {
+        broadcaster = new EventBroadcaster(null, 2, 10, 100, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroChunkSize() {
+        broadcaster = new EventBroadcaster(executionService, 2, 0, 100, 10);
+    }
+
+    @Test
+    public void broadcastNoSession() {
+        broadcaster = new EventBroadcaster(executionService, 2, 10, 100, 10);
+        EventBroadcast broadcast = broadcaster.broadcast(eventInstance, Collections.emptyList());
+        assertThat(broadcast.isDone()).as("Broadcast completed").isTrue();
+        assertThat(broadcast.getProgress()).as("Full progress").isEqualTo(1);
+        assertThat(broadcaster.getCompletedBroadcastCount()).as("Completed broadcast counted").isEqualTo(1);
+    }
+
+    @Test
+    public void broadcastChunkedSessions() throws Exception {
+        broadcaster = new EventBroadcaster(executionService, 4, 10, 100, 10);
+        List<XatkitSession> sessions = createSessions(95);
+        EventBroadcast broadcast = broadcaster.broadcast(eventInstance, sessions);
+        broadcast.getCompletion().get(5, TimeUnit.SECONDS);
+        assertThat(broadcast.getSessionCount()).as("Valid session count").isEqualTo(95);
+        assertThat(broadcast.getDeliveredCount()).as("Event delivered to all the sessions").isEqualTo(95);
+        assertThat(deliveredSessions).as("All the sessions received the event").hasSize(95);
+        assertThat(broadcaster.getDeliveredEventCount()).as("Valid delivered event count").isEqualTo(95);
+        assertThat(broadcaster.getActiveBroadcastCount()).as("No active broadcast").isEqualTo(0);
+    }
+
+    @Test
+    public void broadcastSharesEventSnapshot() throws Exception {
+        broadcaster = new EventBroadcaster(executionService, 2, 10, 100, 10);
+        EventBroadcast broadcast = broadcaster.broadcast(eventInstance, createSessions(20));
+        broadcast.getCompletion().get(5, TimeUnit.SECONDS);
+        assertThat(broadcast.getEventInstance()).as("Broadcasted event is a copy").isNotSameAs(eventInstance);
+        assertThat(broadcast.getEventInstance().getDefinition()).as("Copy has the same definition")
+                .isEqualTo(eventInstance.getDefinition());
+    }
+
+    @Test
+    public void broadcastFailedDelivery() throws Exception {
+        broadcaster = new EventBroadcaster(executionService, 2, 10, 100, 10);
+        List<XatkitSession> sessions = createSessions(20);
+        doThrow(new EventQueueFullException("Queue full", 1)).when(executionService)
+                .handleEventInstance(any(EventInstance.class), eq(sessions.get(3)), eq(EventPriority.BROADCAST));
+        EventBroadcast broadcast = broadcaster.broadcast(eventInstance, sessions);
+        broadcast.getCompletion().get(5, TimeUnit.SECONDS);
+        assertThat(broadcast.getDeliveredCount()).as("Valid delivered count").isEqualTo(19);
+        assertThat(broadcast.getFailedCount()).as("Valid failed count").isEqualTo(1);
+        assertThat(broadcaster.getFailedEventCount()).as("Valid failed event count").isEqualTo(1);
+    }
+
+    @Test
+    public void broadcastThrottled() throws Exception {
+        broadcaster = new EventBroadcaster(executionService, 2, 10, 100, 10);
+        when(sessionExecutor.getPendingTaskCount()).thenReturn(100);
+        EventBroadcast broadcast = broadcaster.broadcast(eventInstance, createSessions(20));
+        Thread.sleep(100);
+        assertThat(broadcast.getDeliveredCount()).as("No event delivered").isEqualTo(0);
+        assertThat(broadcaster.getThrottledChunkCount()).as("Chunks throttled").isGreaterThan(0);
+        when(sessionExecutor.getPendingTaskCount()).thenReturn(0);
+        broadcast.getCompletion().get(5, TimeUnit.SECONDS);
+        assertThat(broadcast.getDeliveredCount()).as("Event delivered once the queues are released").isEqualTo(20);
+    }
+
+    private List<XatkitSession> createSessions(int count) {
+        List<XatkitSession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sessions.add(new XatkitSession("session" + i));
+        }
+        return sessions;
+    }
+}
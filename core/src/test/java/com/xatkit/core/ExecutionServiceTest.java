@@ -11,17 +11,36 @@ import com.xatkit.intent.RecognizedIntent;
 import com.xatkit.language.execution.ExecutionRuntimeModule;
 import com.xatkit.platform.PlatformDefinition;
 import com.xatkit.stubs.StubRuntimePlatform;
+import com.xatkit.stubs.action.ContextSettingStubRuntimeAction;
 import com.xatkit.test.util.TestBotExecutionModel;
 import com.xatkit.test.util.TestModelLoader;
 import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.xbase.interpreter.impl.EvaluationException;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
 import static java.util.Objects.nonNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -108,6 +127,59 @@ public class ExecutionServiceTest extends AbstractXatkitTest {
         assertThat(executionService.isShutdown()).as("Execution service started").isFalse();
     }
 
+    @Test
+    public void constructVirtualThreadsConfiguration() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.VIRTUAL_THREADS_KEY, true);
+        /*
+         * The execution service falls back to platform threads if the JVM does not support virtual threads.
+         */
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                configuration);
+        assertThat(executionService.getExecutorService()).as("Not null ExecutorService").isNotNull();
+        assertThat(executionService.isShutdown()).as("Execution service started").isFalse();
+    }
+
+    @Test
+    public void handleEventValidEventVirtualThreads() throws Exception {
+        /*
+         * The execution service falls back to platform threads on JVMs that do not support virtual threads, this
+         * test would not check anything specific on such JVMs.
+         */
+        Assume.assumeTrue("The running JVM does not support virtual threads", isVirtualThreadsSupported());
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.VIRTUAL_THREADS_KEY, true);
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                configuration);
+        injector.injectMembers(executionService);
+        XatkitSession session = new XatkitSession("sessionID");
+        executionService.initSession(session);
+        executionService.handleEventInstance(VALID_EVENT_INSTANCE, session);
+        /*
+         * The tasks of a session are executed in order, this task is executed once the event has been handled.
+         */
+        AtomicReference<Thread> workerThread = new AtomicReference<>();
+        executionService.getSessionExecutor().submit(session.getSessionId(),
+                () -> workerThread.set(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+        assertThat(stubRuntimePlatform.getAction().isActionProcessed()).as("Action processed").isTrue();
+        assertThat(Thread.class.getMethod("isVirtual").invoke(workerThread.get())).as("Event handled in a virtual " +
+                "thread").isEqualTo(true);
+    }
+
+    @Test
+    public void handleEventValidEventInterpretedExpressions() throws InterruptedException {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.COMPILE_EXPRESSIONS_KEY, false);
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                configuration);
+        injector.injectMembers(executionService);
+        XatkitSession session = new XatkitSession("sessionID");
+        executionService.initSession(session);
+        executionService.handleEventInstance(VALID_EVENT_INSTANCE, session);
+        Thread.sleep(1000);
+        assertThat(stubRuntimePlatform.getAction().isActionProcessed()).isTrue();
+    }
+
     @Test(expected = NullPointerException.class)
     public void handleEventNullEvent() {
         executionService = getValidExecutionService();
@@ -147,6 +219,37 @@ public class ExecutionServiceTest extends AbstractXatkitTest {
         assertThat(session.getState().getName()).isEqualTo("Init");
     }
 
+    @Test
+    public void getCoalescingKeyNoCoalescedEvents() {
+        executionService = getValidExecutionService();
+        assertThat(executionService.getCoalescingKey(createEventInstance("UserTyping"))).as("Event not coalesced")
+                .isNull();
+    }
+
+    @Test
+    public void getCoalescingKeyCoalescedEvent() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.COALESCED_EVENTS_KEY, "UserTyping, UserPresence");
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                configuration);
+        assertThat(executionService.getCoalescingKey(createEventInstance("UserTyping"))).as("Coalescing key is the "
+                + "event name").isEqualTo("UserTyping");
+        assertThat(executionService.getCoalescingKey(createEventInstance("UserPresence"))).as("Coalescing key is the "
+                + "event name").isEqualTo("UserPresence");
+        assertThat(executionService.getCoalescingKey(createEventInstance("UserJoined"))).as("Event not listed is not "
+                + "coalesced").isNull();
+    }
+
+    @Test
+    public void getCoalescingKeyRecognizedIntentListed() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(ExecutionService.COALESCED_EVENTS_KEY,
+                testBotExecutionModel.getSimpleIntent().getName());
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                configuration);
+        assertThat(executionService.getCoalescingKey(VALID_EVENT_INSTANCE)).as("User message not coalesced").isNull();
+    }
+
     /*
      * Test for issue #295: https://github.com/xatkit-bot-platform/xatkit-runtime/issues/295.
      * This test sends an event that make the engine enter a state that only checks for context value before moving
@@ -166,9 +269,126 @@ public class ExecutionServiceTest extends AbstractXatkitTest {
         assertThat(session.getState().getName()).isEqualTo("Init");
     }
 
+    @Test
+    public void handleEventContextSetByActionVisibleToNextStatements() throws InterruptedException {
+        executionService = getValidExecutionService();
+        XatkitSession session = new XatkitSession("sessionId");
+        executionService.initSession(session);
+        session.setState(testBotExecutionModel.getBaseModel().getStates().stream()
+                .filter(s -> s.getName().equals("ContextSettingState")).findFirst().get());
+        executionService.handleEventInstance(VALID_EVENT_INSTANCE, session);
+        Thread.sleep(1000);
+        assertThat(session.get("ReadContextValue")).as("Context value set by the action read by the next statement")
+                .isEqualTo(ContextSettingStubRuntimeAction.CONTEXT_VALUE);
+        assertThat(session.getState().getName()).isEqualTo("Init");
+    }
+
+    @Test
+    public void invokeOperationInstanceMethod() {
+        executionService = getValidExecutionService();
+        JvmOperation concat = getOperation(String.class, "concat", "java.lang.String");
+        Object result = executionService.invokeOperation(concat, "foo", Collections.singletonList("bar"));
+        assertThat(result).as("Valid result").isEqualTo("foobar");
+    }
+
+    @Test
+    public void invokeOperationOverloadedMethods() {
+        executionService = getValidExecutionService();
+        JvmOperation intMax = getOperation(Math.class, "max", "int", "int");
+        JvmOperation doubleMax = getOperation(Math.class, "max", "double", "double");
+        assertThat(executionService.invokeOperation(intMax, null, Arrays.asList(1, 2))).as("int overload invoked")
+                .isEqualTo(2);
+        assertThat(executionService.invokeOperation(doubleMax, null, Arrays.asList(1.0, 2.0)))
+                .as("double overload invoked").isEqualTo(2.0);
+        /*
+         * Invoke the first overload again to check that the cached handles are not mixed up.
+         */
+        assertThat(executionService.invokeOperation(intMax, null, Arrays.asList(3, 2))).as("int overload invoked " +
+                "from the cache").isEqualTo(3);
+    }
+
+    @Test
+    public void invokeOperationVarArgs() {
+        executionService = getValidExecutionService();
+        JvmOperation format = getOperation(String.class, "format", "java.lang.String", "java.lang.Object[]");
+        /*
+         * The interpreter packs the varargs in an array before invoking the operation.
+         */
+        Object result = executionService.invokeOperation(format, null, Arrays.asList("%s-%s",
+                new Object[]{"a", "b"}));
+        assertThat(result).as("Varargs passed as is").isEqualTo("a-b");
+    }
+
+    @Test
+    public void invokeOperationProxyReceiver() {
+        executionService = getValidExecutionService();
+        JvmOperation length = getOperation(CharSequence.class, "length");
+        CharSequence proxy = (CharSequence) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+                new Class<?>[]{CharSequence.class}, (p, method, args) -> 42);
+        Object result = executionService.invokeOperation(length, proxy, Collections.emptyList());
+        assertThat(result).as("Proxy invoked").isEqualTo(42);
+    }
+
+    @Test
+    public void invokeOperationNotResolvedMethod() {
+        executionService = getValidExecutionService();
+        JvmGenericType type = TypesFactory.eINSTANCE.createJvmGenericType();
+        type.setPackageName("com.xatkit.test");
+        type.setSimpleName("NotExistingClass");
+        JvmOperation operation = TypesFactory.eINSTANCE.createJvmOperation();
+        operation.setSimpleName("notExistingMethod");
+        type.getMembers().add(operation);
+        /*
+         * Operations that cannot be represented as method handles are delegated to the interpreter.
+         */
+        assertThatThrownBy(() -> executionService.invokeOperation(operation, "receiver", Collections.emptyList()))
+                .as("Interpreter exception thrown").isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("notExistingMethod");
+    }
+
+    @Test
+    public void invokeOperationMethodThrowsException() {
+        executionService = getValidExecutionService();
+        JvmOperation parseInt = getOperation(Integer.class, "parseInt", "java.lang.String");
+        assertThatThrownBy(() -> executionService.invokeOperation(parseInt, null, Collections.singletonList("a")))
+                .as("EvaluationException thrown").isInstanceOf(EvaluationException.class)
+                .hasCauseInstanceOf(NumberFormatException.class);
+    }
+
+    private EventInstance createEventInstance(String eventName) {
+        EventDefinition eventDefinition = IntentFactory.eINSTANCE.createEventDefinition();
+        eventDefinition.setName(eventName);
+        EventInstance eventInstance = IntentFactory.eINSTANCE.createEventInstance();
+        eventInstance.setDefinition(eventDefinition);
+        return eventInstance;
+    }
+
     private ExecutionService getValidExecutionService() {
         executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry, new BaseConfiguration());
         injector.injectMembers(executionService);
         return executionService;
     }
+
+    private JvmOperation getOperation(Class<?> clazz, String name, String... parameterTypes) {
+        IJvmTypeProvider typeProvider = injector.getInstance(IJvmTypeProvider.Factory.class)
+                .createTypeProvider(new ResourceSetImpl());
+        JvmDeclaredType type = (JvmDeclaredType) typeProvider.findTypeByName(clazz.getName());
+        for (JvmOperation operation : type.getDeclaredOperations()) {
+            if (operation.getSimpleName().equals(name) && operation.getParameters().stream()
+                    .map(p -> p.getParameterType().getIdentifier())
+                    .collect(Collectors.toList()).equals(Arrays.asList(parameterTypes))) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Cannot find the operation " + clazz.getName() + "." + name);
+    }
+
+    private static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.State;
+import com.xatkit.execution.Transition;
+import com.xatkit.platform.PlatformDefinition;
+import com.xatkit.stubs.StubRuntimePlatform;
+import com.xatkit.test.util.TestBotExecutionModel;
+import com.xatkit.test.util.TestModelLoader;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.eclipse.xtext.xbase.XExpression;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExpressionCompilerTest extends AbstractXatkitTest {
+
+    private static TestBotExecutionModel testBotExecutionModel;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws ConfigurationException {
+        testBotExecutionModel = TestModelLoader.loadTestBot();
+    }
+
+    private ExecutionService executionService;
+
+    private ExpressionCompiler compiler;
+
+    @Before
+    public void setUp() {
+        RuntimePlatformRegistry platformRegistry = new RuntimePlatformRegistry();
+        StubRuntimePlatform stubRuntimePlatform = new StubRuntimePlatform(mock(XatkitCore.class),
+                new BaseConfiguration());
+        platformRegistry.registerRuntimePlatform("StubRuntimePlatform", stubRuntimePlatform);
+        PlatformDefinition mockedPlatformDefinition = mock(PlatformDefinition.class);
+        when(mockedPlatformDefinition.getName()).thenReturn("StubRuntimePlatform");
+        platformRegistry.registerLoadedPlatformDefinition(mockedPlatformDefinition);
+        executionService = new ExecutionService(testBotExecutionModel.getBaseModel(), platformRegistry,
+                new BaseConfiguration());
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(executionService) && !executionService.isShutdown()) {
+            executionService.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullExecutionService() {
+        compiler = new ExpressionCompiler(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void compileNullExecutionModel() {
+        compiler = new ExpressionCompiler(executionService);
+        compiler.compile(null);
+    }
+
+    @Test
+    public void compileTestBot() {
+        compiler = new ExpressionCompiler(executionService);
+        Map<XExpression, CompiledExpression> result = compiler.compile(testBotExecutionModel.getBaseModel());
+        for (Transition transition : getState("Init").getTransitions()) {
+            assertThat(result).as("Event guard compiled").containsKey(transition.getCondition());
+        }
+        assertThat(result).as("Action call body compiled").containsKey(getState("HandleAny").getBody());
+        for (Transition transition : getState("ContextCheckingState").getTransitions()) {
+            assertThat(result).as("Context access guard not compiled").doesNotContainKey(transition.getCondition());
+        }
+    }
+
+    private State getState(String name) {
+        return testBotExecutionModel.getBaseModel().getStates().stream().filter(s -> s.getName().equals(name))
+                .findAny().orElseThrow(() -> new IllegalStateException("Cannot find the state " + name));
+    }
+}
@@ -0,0 +1,332 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SessionAffinityExecutorTest extends AbstractXatkitTest {
+
+    private SessionAffinityExecutor executor;
+
+    @After
+    public void tearDown() {
+        if (nonNull(executor) && !executor.isShutdown()) {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroWorkerThreads() {
+        executor = new SessionAffinityExecutor(0);
+    }
+
+    @Test
+    public void constructValid() {
+        executor = new SessionAffinityExecutor(2);
+        assertThat(executor.getWorkerPool()).as("Not null worker pool").isNotNull();
+        assertThat(executor.isShutdown()).as("Executor started").isFalse();
+        assertThat(executor.getActiveSessionCount()).as("No active session").isEqualTo(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullWorkerPool() {
+        executor = new SessionAffinityExecutor(null);
+    }
+
+    @Test
+    public void constructValidWorkerPool() {
+        ExecutorService workerPool = Executors.newCachedThreadPool();
+        executor = new SessionAffinityExecutor(workerPool);
+        assertThat(executor.getWorkerPool()).as("Valid worker pool").isEqualTo(workerPool);
+        assertThat(executor.isShutdown()).as("Executor started").isFalse();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void submitNullSessionId() {
+        executor = new SessionAffinityExecutor(2);
+        executor.submit(null, () -> {
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void submitNullTask() {
+        executor = new SessionAffinityExecutor(2);
+        executor.submit("session", null);
+    }
+
+    @Test
+    public void submitSameSessionPreservesOrder() throws InterruptedException, ExecutionException {
+        executor = new SessionAffinityExecutor(4);
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            last = executor.submit("session", () -> executed.add(value));
+        }
+        last.get();
+        assertThat(executed).as("All the tasks are executed").hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(executed.get(i)).as("Task " + i + " executed in order").isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void submitSameSessionUnboundedWorkerPoolPreservesOrder() throws InterruptedException,
+            ExecutionException {
+        executor = new SessionAffinityExecutor(Executors.newCachedThreadPool());
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            last = executor.submit("session", () -> executed.add(value));
+        }
+        last.get();
+        assertThat(executed).as("All the tasks are executed in order").containsExactlyElementsOf(
+                IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void submitDifferentSessionsRunInParallel() throws InterruptedException {
+        executor = new SessionAffinityExecutor(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        /*
+         * Each task waits for the other one: this test can only succeed if both tasks are executed concurrently.
+         */
+        CompletableFuture<Void> task1 = executor.submit("session1", () -> awaitLatch(latch));
+        CompletableFuture<Void> task2 = executor.submit("session2", () -> awaitLatch(latch));
+        CompletableFuture.allOf(task1, task2).join();
+        assertThat(latch.getCount()).as("Both tasks executed concurrently").isEqualTo(0);
+    }
+
+    @Test
+    public void submitThrowingTaskDoesNotBlockSession() throws InterruptedException, ExecutionException {
+        executor = new SessionAffinityExecutor(1);
+        CompletableFuture<Void> failingTask = executor.submit("session", () -> {
+            throw new RuntimeException("Test exception");
+        });
+        CompletableFuture<Void> nextTask = executor.submit("session", () -> {
+        });
+        nextTask.get();
+        assertThat(failingTask.isCompletedExceptionally()).as("Failing task completed exceptionally").isTrue();
+        assertThat(nextTask.isCompletedExceptionally()).as("Next task completed normally").isFalse();
+    }
+
+    @Test
+    public void submitCompletedTasksReleaseSessionLane() throws InterruptedException, ExecutionException {
+        executor = new SessionAffinityExecutor(1);
+        executor.submit("session", () -> {
+        }).get();
+        /*
+         * The lane is removed right after the task completion, give some time to the worker to clean it.
+         */
+        Thread.sleep(100);
+        assertThat(executor.getActiveSessionCount()).as("No active session").isEqualTo(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullLimits() {
+        executor = new SessionAffinityExecutor(2, null);
+    }
+
+    @Test
+    public void submitSessionQueueFullReject() throws InterruptedException {
+        executor = new SessionAffinityExecutor(1, new EventQueueLimits(2, 100, EventQueueOverflowPolicy.REJECT, 5));
+        CountDownLatch release = blockSession("session");
+        executor.submit("session", () -> {
+        });
+        executor.submit("session", () -> {
+        });
+        assertThat(executor.getPendingTaskCount()).as("2 pending tasks").isEqualTo(2);
+        try {
+            executor.submit("session", () -> {
+            });
+            fail("Expected an EventQueueFullException");
+        } catch (EventQueueFullException e) {
+            assertThat(e.getRetryAfter()).as("Valid retry after").isEqualTo(5);
+        }
+        assertThat(executor.getRejectedTaskCount()).as("1 rejected task").isEqualTo(1);
+        /*
+         * The limit is per session, other sessions can still submit tasks.
+         */
+        CompletableFuture<Void> otherSessionTask = executor.submit("session2", () -> {
+        });
+        release.countDown();
+        otherSessionTask.join();
+    }
+
+    @Test(expected = EventQueueFullException.class)
+    public void submitGlobalQueueFullReject() throws InterruptedException {
+        executor = new SessionAffinityExecutor(1, new EventQueueLimits(10, 1, EventQueueOverflowPolicy.REJECT, 1));
+        CountDownLatch release = blockSession("session");
+        try {
+            executor.submit("session", () -> {
+            });
+            executor.submit("session2", () -> {
+            });
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void submitSessionQueueFullDropOldest() throws InterruptedException {
+        executor = new SessionAffinityExecutor(1, new EventQueueLimits(1, 100, EventQueueOverflowPolicy.DROP_OLDEST,
+                1));
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockSession("session");
+        CompletableFuture<Void> dropped = executor.submit("session", () -> executed.add(1));
+        CompletableFuture<Void> kept = executor.submit("session", () -> executed.add(2));
+        assertThat(dropped.isCompletedExceptionally()).as("Oldest task dropped").isTrue();
+        assertThat(executor.getDroppedTaskCount()).as("1 dropped task").isEqualTo(1);
+        assertThat(executor.getPendingTaskCount()).as("1 pending task").isEqualTo(1);
+        release.countDown();
+        kept.join();
+        assertThat(executed).as("Only the most recent task is executed").containsExactly(2);
+    }
+
+    @Test
+    public void submitSessionQueueFullCoalesce() throws InterruptedException {
+        executor = new SessionAffinityExecutor(1, new EventQueueLimits(2, 100, EventQueueOverflowPolicy.COALESCE, 1));
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockSession("session");
+        CompletableFuture<Void> coalesced = executor.submit("session", "Typing", () -> executed.add("Typing1"));
+        executor.submit("session", "Message", () -> executed.add("Message"));
+        CompletableFuture<Void> last = executor.submit("session", "Typing", () -> executed.add("Typing2"));
+        assertThat(coalesced.isCompletedExceptionally()).as("Pending task coalesced").isTrue();
+        assertThat(executor.getCoalescedTaskCount()).as("1 coalesced task").isEqualTo(1);
+        release.countDown();
+        last.join();
+        assertThat(executed).as("Coalesced task replaced by the most recent one").containsExactly("Message",
+                "Typing2");
+    }
+
+    @Test(expected = EventQueueFullException.class)
+    public void submitSessionQueueFullCoalesceNoMatchingKey() throws InterruptedException {
+        executor = new SessionAffinityExecutor(1, new EventQueueLimits(1, 100, EventQueueOverflowPolicy.COALESCE, 1));
+        CountDownLatch release = blockSession("session");
+        try {
+            executor.submit("session", "Message", () -> {
+            });
+            executor.submit("session", "Typing", () -> {
+            });
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void submitAsyncSessionBusyUntilStageCompletion() throws InterruptedException, ExecutionException,
+            TimeoutException {
+        executor = new SessionAffinityExecutor(1);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        CompletableFuture<Void> asyncTask = executor.submitAsync("session", null, () -> {
+            executed.add("start");
+            return stage.thenRun(() -> executed.add("end"));
+        });
+        CompletableFuture<Void> nextTask = executor.submit("session", () -> executed.add("next"));
+        /*
+         * The worker thread is released when the async task returns: tasks of other sessions can be executed while
+         * the stage is pending.
+         */
+        executor.submit("session2", () -> executed.add("other")).get(5, TimeUnit.SECONDS);
+        assertThat(asyncTask.isDone()).as("Async task not completed").isFalse();
+        assertThat(nextTask.isDone()).as("Next task not executed").isFalse();
+        stage.complete(null);
+        nextTask.get(5, TimeUnit.SECONDS);
+        assertThat(asyncTask.isDone()).as("Async task completed").isTrue();
+        assertThat(executed).as("Session tasks executed in order").containsExactly("start", "other", "end", "next");
+    }
+
+    @Test
+    public void submitAsyncFailedStageDoesNotBlockSession() throws InterruptedException, ExecutionException,
+            TimeoutException {
+        executor = new SessionAffinityExecutor(1);
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        CompletableFuture<Void> failingTask = executor.submitAsync("session", null, () -> stage);
+        CompletableFuture<Void> nextTask = executor.submit("session", () -> {
+        });
+        stage.completeExceptionally(new RuntimeException("Test exception"));
+        nextTask.get(5, TimeUnit.SECONDS);
+        assertThat(failingTask.isCompletedExceptionally()).as("Failing task completed exceptionally").isTrue();
+    }
+
+    @Test
+    public void submitAsyncInteractiveBeforeBackgroundBacklog() throws InterruptedException, ExecutionException,
+            TimeoutException {
+        executor = new SessionAffinityExecutor(1);
+        CountDownLatch release = blockSession("blocking");
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            String sessionId = "background" + i;
+            executor.submitAsync(sessionId, EventPriority.BACKGROUND, null, () -> {
+                executed.add(sessionId);
+                return CompletableFuture.completedFuture(null);
+            });
+        }
+        CompletableFuture<Void> interactive = executor.submitAsync("interactive", EventPriority.INTERACTIVE, null,
+                () -> {
+                    executed.add("interactive");
+                    return CompletableFuture.completedFuture(null);
+                });
+        assertThat(executor.getReadySessionCount(EventPriority.BACKGROUND)).as("Background sessions ready")
+                .isEqualTo(20);
+        release.countDown();
+        interactive.get(5, TimeUnit.SECONDS);
+        /*
+         * The interactive session is dispatched in the first weighted round, before most of the background backlog.
+         */
+        assertThat(executed.indexOf("interactive")).as("Interactive task not delayed by the background backlog")
+                .isLessThan(2);
+    }
+
+    /**
+     * Submits a task blocking the provided {@code sessionId} and waits until it is running.
+     *
+     * @param sessionId the identifier of the session to block
+     * @return the {@link CountDownLatch} to count down to release the session
+     * @throws InterruptedException if the current thread is interrupted while waiting for the task to start
+     */
+    private CountDownLatch blockSession(String sessionId) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(sessionId, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).as("Blocking task started").isTrue();
+        return release;
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timeout while waiting for the other task");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest extends AbstractXatkitTest {
+
+    private TimingWheel timingWheel;
+
+    @After
+    public void tearDown() {
+        if (nonNull(timingWheel) && !timingWheel.isStopped()) {
+            timingWheel.stop();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNegativeTickDuration() {
+        timingWheel = new TimingWheel(-1, 8, "test-wheel");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroWheelSize() {
+        timingWheel = new TimingWheel(10, 0, "test-wheel");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void scheduleNullTask() {
+        timingWheel = new TimingWheel(10, 8, "test-wheel");
+        timingWheel.schedule(null, 10);
+    }
+
+    @Test
+    public void scheduleTimeoutExpires() throws InterruptedException {
+        timingWheel = new TimingWheel(10, 8, "test-wheel");
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        TimingWheel.Timeout timeout = timingWheel.schedule(latch::countDown, 50);
+        assertThat(latch.await(1, TimeUnit.SECONDS)).as("Timeout expired").isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).as("Deadline respected")
+                .isGreaterThanOrEqualTo(50);
+        assertThat(timeout.isExpired()).as("Timeout marked as expired").isTrue();
+        assertThat(timingWheel.getPendingTimeoutCount()).as("No pending timeout").isEqualTo(0);
+    }
+
+    @Test
+    public void scheduleTimeoutLongerThanRotation() throws InterruptedException {
+        timingWheel = new TimingWheel(10, 4, "test-wheel");
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timingWheel.schedule(latch::countDown, 150);
+        assertThat(latch.await(1, TimeUnit.SECONDS)).as("Timeout expired").isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).as("Rounds respected")
+                .isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    public void cancelTimeout() throws InterruptedException {
+        timingWheel = new TimingWheel(10, 8, "test-wheel");
+        AtomicInteger runs = new AtomicInteger(0);
+        TimingWheel.Timeout timeout = timingWheel.schedule(runs::incrementAndGet, 30);
+        assertThat(timeout.cancel()).as("Timeout cancelled").isTrue();
+        assertThat(timeout.cancel()).as("Timeout already cancelled").isFalse();
+        Thread.sleep(100);
+        assertThat(runs.get()).as("Cancelled task not run").isEqualTo(0);
+        assertThat(timeout.isCancelled()).as("Timeout marked as cancelled").isTrue();
+        assertThat(timingWheel.getPendingTimeoutCount()).as("No pending timeout").isEqualTo(0);
+    }
+
+    @Test
+    public void scheduleManyTimeouts() throws InterruptedException {
+        timingWheel = new TimingWheel(10, 64, "test-wheel");
+        int count = 100000;
+        CountDownLatch latch = new CountDownLatch(count / 2);
+        for (int i = 0; i < count; i++) {
+            TimingWheel.Timeout timeout = timingWheel.schedule(latch::countDown, i % 200);
+            if (i % 2 == 0) {
+                timeout.cancel();
+            }
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).as("Not cancelled timeouts expired").isTrue();
+        assertThat(timingWheel.getExpiredTimeoutCount()).as("Valid expired count").isEqualTo(count / 2);
+    }
+
+    @Test
+    public void taskExceptionDoesNotStopWheel() throws InterruptedException {
+        timingWheel = new TimingWheel(10, 8, "test-wheel");
+        CountDownLatch latch = new CountDownLatch(1);
+        timingWheel.schedule(() -> {
+            throw new RuntimeException("Test exception");
+        }, 10);
+        timingWheel.schedule(latch::countDown, 30);
+        assertThat(latch.await(1, TimeUnit.SECONDS)).as("Following timeout expired").isTrue();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleStoppedWheel() {
+        timingWheel = new TimingWheel(10, 8, "test-wheel");
+        timingWheel.stop();
+        timingWheel.schedule(() -> {
+        }, 10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stopSharedWheel() {
+        TimingWheel.getInstance().stop();
+    }
+}
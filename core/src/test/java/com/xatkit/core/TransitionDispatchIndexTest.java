@@ -0,0 +1,85 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.State;
+import com.xatkit.test.util.TestBotExecutionModel;
+import com.xatkit.test.util.TestModelLoader;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransitionDispatchIndexTest extends AbstractXatkitTest {
+
+    private static TestBotExecutionModel testBotExecutionModel;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws ConfigurationException {
+        testBotExecutionModel = TestModelLoader.loadTestBot();
+    }
+
+    private TransitionDispatchIndex index;
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullExecutionModel() {
+        index = new TransitionDispatchIndex(null);
+    }
+
+    @Test
+    public void getStateEntryEventTransitions() {
+        index = new TransitionDispatchIndex(testBotExecutionModel.getBaseModel());
+        TransitionDispatchIndex.StateEntry entry = index.getStateEntry(getState("Init"));
+        assertThat(entry.getWildcardTransition()).as("No wildcard transition").isNull();
+        assertThat(entry.getEventTransition("SimpleIntent")).as("SimpleIntent transition indexed").isNotNull();
+        assertThat(entry.getEventTransition("SimpleIntent").getState().getName()).as("Valid target state")
+                .isEqualTo("HandleAny");
+        assertThat(entry.getEventTransition("ContextCheckingIntent").getState().getName()).as("Valid target state")
+                .isEqualTo("ContextCheckingState");
+        assertThat(entry.getEventTransition("Invalid")).as("No transition for unknown event").isNull();
+        assertThat(entry.getEventTransition(null)).as("No transition for null event").isNull();
+        assertThat(entry.getInterpretedTransitions("SimpleIntent")).as("No transition to interpret").isEmpty();
+    }
+
+    @Test
+    public void getStateEntryInterpretedTransitions() {
+        index = new TransitionDispatchIndex(testBotExecutionModel.getBaseModel());
+        TransitionDispatchIndex.StateEntry entry = index.getStateEntry(getState("ContextCheckingState"));
+        assertThat(entry.getWildcardTransition()).as("No wildcard transition").isNull();
+        assertThat(entry.getInterpretedTransitions(null)).as("Context transitions interpreted without event")
+                .hasSize(2);
+        assertThat(entry.getInterpretedTransitions("SimpleIntent")).as("Context transitions interpreted for any " +
+                "event").hasSize(2);
+    }
+
+    @Test
+    public void getStateEntryWildcardTransition() {
+        index = new TransitionDispatchIndex(testBotExecutionModel.getBaseModel());
+        TransitionDispatchIndex.StateEntry entry = index.getStateEntry(getState("HandleAny"));
+        assertThat(entry.getWildcardTransition()).as("Wildcard transition indexed").isNotNull();
+        assertThat(entry.getWildcardTransition().getState().getName()).as("Valid target state").isEqualTo("Init");
+        assertThat(entry.isWildcardOnly()).as("Wildcard only").isTrue();
+    }
+
+    @Test
+    public void getStateEntryWildcardTransitionWithOtherTransitions() {
+        index = new TransitionDispatchIndex(testBotExecutionModel.getBaseModel());
+        TransitionDispatchIndex.StateEntry entry = index.getStateEntry(getState("MixedWildcardState"));
+        assertThat(entry.isWildcardOnly()).as("Not wildcard only").isFalse();
+        assertThat(entry.getWildcardTransitions()).as("Wildcard transition indexed").hasSize(1);
+        assertThat(entry.getWildcardTransition().getState().getName()).as("Valid target state")
+                .isEqualTo("HandleAny");
+        assertThat(entry.getEventTransition("SimpleIntent")).as("SimpleIntent transition indexed").isNotNull();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getStateEntryNullState() {
+        index = new TransitionDispatchIndex(testBotExecutionModel.getBaseModel());
+        index.getStateEntry(null);
+    }
+
+    private State getState(String name) {
+        return testBotExecutionModel.getBaseModel().getStates().stream().filter(s -> s.getName().equals(name))
+                .findAny().orElseThrow(() -> new IllegalStateException("Cannot find the state " + name));
+    }
+}
@@ -0,0 +1,80 @@
+package com.xatkit.core;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeightedFairQueueTest extends AbstractXatkitTest {
+
+    private WeightedFairQueue<String> queue;
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullWeights() {
+        queue = new WeightedFairQueue<>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroWeight() {
+        Map<EventPriority, Integer> weights = new EnumMap<>(EventPriority.class);
+        weights.put(EventPriority.BACKGROUND, 0);
+        queue = new WeightedFairQueue<>(weights);
+    }
+
+    @Test
+    public void pollEmptyQueue() {
+        queue = new WeightedFairQueue<>(EventPriority.defaultWeights());
+        assertThat(queue.poll()).as("Empty queue returns null").isNull();
+    }
+
+    @Test
+    public void pollSinglePriorityPreservesOrder() {
+        queue = new WeightedFairQueue<>(EventPriority.defaultWeights());
+        queue.offer(EventPriority.BACKGROUND, "a");
+        queue.offer(EventPriority.BACKGROUND, "b");
+        queue.offer(EventPriority.BACKGROUND, "c");
+        assertThat(queue.poll()).as("First element").isEqualTo("a");
+        assertThat(queue.poll()).as("Second element").isEqualTo("b");
+        assertThat(queue.poll()).as("Third element").isEqualTo("c");
+        assertThat(queue.size()).as("Empty queue").isEqualTo(0);
+    }
+
+    @Test
+    public void pollWeightedShares() {
+        queue = new WeightedFairQueue<>(EventPriority.defaultWeights());
+        for (int i = 0; i < 100; i++) {
+            queue.offer(EventPriority.INTERACTIVE, "interactive");
+            queue.offer(EventPriority.BROADCAST, "broadcast");
+            queue.offer(EventPriority.BACKGROUND, "background");
+        }
+        Map<String, Integer> polled = new HashMap<>();
+        for (int i = 0; i < 110; i++) {
+            polled.merge(queue.poll(), 1, Integer::sum);
+        }
+        /*
+         * Default weights are 8/2/1: 110 polls contain 80 interactive, 20 broadcast, and 10 background elements.
+         */
+        assertThat(polled.get("interactive")).as("Interactive share").isEqualTo(80);
+        assertThat(polled.get("broadcast")).as("Broadcast share").isEqualTo(20);
+        assertThat(polled.get("background")).as("Background share").isEqualTo(10);
+    }
+
+    @Test
+    public void pollLowPriorityNotStarved() {
+        queue = new WeightedFairQueue<>(EventPriority.defaultWeights());
+        queue.offer(EventPriority.BACKGROUND, "background");
+        for (int i = 0; i < 100; i++) {
+            queue.offer(EventPriority.INTERACTIVE, "interactive");
+        }
+        boolean backgroundPolled = false;
+        for (int i = 0; i < 9; i++) {
+            backgroundPolled |= "background".equals(queue.poll());
+        }
+        assertThat(backgroundPolled).as("Background element polled within a round").isTrue();
+        assertThat(queue.size(EventPriority.BACKGROUND)).as("Background queue empty").isEqualTo(0);
+    }
+}
@@ -2,9 +2,18 @@ package com.xatkit.core;
 
 import com.xatkit.AbstractXatkitTest;
 import com.xatkit.core.recognition.IntentRecognitionProviderFactoryConfiguration;
+import com.xatkit.core.server.HttpMethod;
+import com.xatkit.core.server.XatkitServer;
+import com.xatkit.core.server.XatkitServerUtils;
 import com.xatkit.core.recognition.regex.RegExIntentRecognitionProvider;
+import com.xatkit.core.session.SessionEvictionCause;
+import com.xatkit.core.session.SessionEvictionListener;
+import com.xatkit.core.session.SessionSnapshot;
+import com.xatkit.core.session.SessionStoreFactory;
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.core.session.XatkitSessionRegistry;
 import com.xatkit.execution.ExecutionModel;
+import com.xatkit.stubs.StubRuntimePlatform;
 import com.xatkit.test.util.TestBotExecutionModel;
 import com.xatkit.test.util.TestModelLoader;
 import com.xatkit.util.ModelLoader;
@@ -15,6 +24,9 @@ import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static java.util.Objects.nonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -81,6 +93,36 @@ public class XatkitCoreTest extends AbstractXatkitTest {
                 .isInstanceOf(RegExIntentRecognitionProvider.class);
     }
 
+    @Test
+    public void constructAdminEndpointsDisabledByDefault() {
+        xatkitCore = getValidXatkitCore();
+        XatkitServer server = xatkitCore.getXatkitServer();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/sessions")).as("/admin/sessions not registered")
+                .isFalse();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/sessions/memory")).as("/admin/sessions/memory not " +
+                "registered").isFalse();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/execution/queues")).as("/admin/execution/queues not" +
+                " registered").isFalse();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/execution/broadcasts")).as("/admin/execution" +
+                "/broadcasts not registered").isFalse();
+    }
+
+    @Test
+    public void constructAdminEndpointsEnabled() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(XatkitServerUtils.ADMIN_ENDPOINTS_KEY, true);
+        xatkitCore = new XatkitCore(configuration);
+        XatkitServer server = xatkitCore.getXatkitServer();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/sessions")).as("/admin/sessions registered")
+                .isTrue();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/sessions/memory")).as("/admin/sessions/memory " +
+                "registered").isTrue();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/execution/queues")).as("/admin/execution/queues " +
+                "registered").isTrue();
+        assertThat(server.isRestEndpoint(HttpMethod.GET, "/admin/execution/broadcasts")).as("/admin/execution" +
+                "/broadcasts registered").isTrue();
+    }
+
     @Test(expected = XatkitException.class)
     public void shutdownAlreadyShutdown() {
         xatkitCore = getValidXatkitCore();
@@ -111,6 +153,68 @@ public class XatkitCoreTest extends AbstractXatkitTest {
         assertThat(session.getRuntimeContexts().getContextMap()).hasSize(5);
     }
 
+    @Test
+    public void getXatkitSessionNotStoredSessionCached() throws InterruptedException {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(SessionStoreFactory.SESSION_STORE_KEY, SessionStoreFactory.MEMORY_STORE);
+        xatkitCore = new XatkitCore(configuration);
+        assertThat(xatkitCore.getXatkitSession("session")).as("Unknown session").isNull();
+        /*
+         * Simulate the creation of the session by another Xatkit instance sharing the store.
+         */
+        xatkitCore.getExecutionService().getSessionStore().computeIfAbsent("session",
+                id -> SessionSnapshot.of(id, "Init"), 0);
+        assertThat(xatkitCore.getXatkitSession("session")).as("Missing session cached").isNull();
+        Thread.sleep(XatkitCore.MISSING_STORED_SESSION_TTL + 100);
+        XatkitSession session = xatkitCore.getXatkitSession("session");
+        assertThat(session).as("Stored session retrieved").isNotNull();
+        assertThat(session.getSessionId()).as("Valid session ID").isEqualTo("session");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void addSessionEvictionListenerNullListener() {
+        xatkitCore = getValidXatkitCore();
+        xatkitCore.addSessionEvictionListener(null);
+    }
+
+    @Test
+    public void addSessionEvictionListenerSessionEvicted() throws InterruptedException {
+        xatkitCore = getXatkitCoreWithMaxSessions(1);
+        List<String> evicted = new ArrayList<>();
+        xatkitCore.addSessionEvictionListener((session, cause) -> {
+            assertThat(cause).as("Size eviction").isEqualTo(SessionEvictionCause.SIZE);
+            evicted.add(session.getSessionId());
+        });
+        createTwoSessions(xatkitCore);
+        assertThat(evicted).as("Listener notified").containsExactly("session1");
+    }
+
+    @Test
+    public void removeSessionEvictionListenerSessionEvicted() throws InterruptedException {
+        xatkitCore = getXatkitCoreWithMaxSessions(1);
+        List<String> evicted = new ArrayList<>();
+        SessionEvictionListener listener = (session, cause) -> evicted.add(session.getSessionId());
+        xatkitCore.addSessionEvictionListener(listener);
+        xatkitCore.removeSessionEvictionListener(listener);
+        createTwoSessions(xatkitCore);
+        assertThat(evicted).as("Removed listener not notified").isEmpty();
+    }
+
+    @Test
+    public void sessionEvictedRuntimePlatformNotified() throws InterruptedException {
+        xatkitCore = getXatkitCoreWithMaxSessions(1);
+        StubRuntimePlatform stubRuntimePlatform = xatkitCore.getRuntimePlatformRegistry().getRuntimePlatforms()
+                .stream()
+                .filter(StubRuntimePlatform.class::isInstance)
+                .map(StubRuntimePlatform.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("StubRuntimePlatform not loaded"));
+        createTwoSessions(xatkitCore);
+        assertThat(stubRuntimePlatform.getEvictedSessions()).as("Platform notified").hasSize(1);
+        assertThat(stubRuntimePlatform.getEvictedSessions().get(0).getSessionId()).as("Least recently accessed "
+                + "session evicted").isEqualTo("session1");
+    }
+
     @Test
     public void shutdown() {
         xatkitCore = getValidXatkitCore();
@@ -126,6 +230,22 @@ public class XatkitCoreTest extends AbstractXatkitTest {
         return xatkitCore;
     }
 
+    private XatkitCore getXatkitCoreWithMaxSessions(int maxSessions) {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(XatkitSessionRegistry.SESSION_MAX_SIZE_KEY, maxSessions);
+        xatkitCore = new XatkitCore(configuration);
+        return xatkitCore;
+    }
+
+    private void createTwoSessions(XatkitCore xatkitCore) throws InterruptedException {
+        xatkitCore.getOrCreateXatkitSession("session1");
+        /*
+         * Make sure session1 is the least recently accessed session.
+         */
+        Thread.sleep(2);
+        xatkitCore.getOrCreateXatkitSession("session2");
+    }
+
     /**
      * Computes a set of basic assertions on the provided {@code xatkitCore} using the
      * {@link #testBotExecutionModel}.
@@ -0,0 +1,106 @@
+package com.xatkit.core.platform.action;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class ActionSchedulerTest extends AbstractXatkitTest {
+
+    private ExecutorService executor;
+
+    @After
+    public void tearDown() {
+        if (nonNull(executor)) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void delayNullExecutor() {
+        ActionScheduler.delay(100, null);
+    }
+
+    @Test
+    public void delayZero() {
+        executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<Void> result = ActionScheduler.delay(0, executor);
+        assertThat(result.isDone()).as("Future completed").isTrue();
+    }
+
+    @Test
+    public void delayPositive() throws InterruptedException, ExecutionException, TimeoutException {
+        executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-executor"));
+        long before = System.currentTimeMillis();
+        String threadName = ActionScheduler.delay(200, executor).thenApply(v -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+        long after = System.currentTimeMillis();
+        assertThat(after - before).as("Delay elapsed").isGreaterThanOrEqualTo(200);
+        assertThat(threadName).as("Continuation executed by the provided executor").isEqualTo("test-executor");
+    }
+
+    @Test
+    public void delayScheduledBeforeShutdown() throws InterruptedException, ExecutionException, TimeoutException {
+        executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<Void> result = ActionScheduler.delay(100, executor);
+        ActionScheduler.shutdown();
+        result.get(5, TimeUnit.SECONDS);
+        assertThat(result.isDone()).as("Scheduled continuation triggered after shutdown").isTrue();
+    }
+
+    @Test
+    public void delayAfterShutdown() throws InterruptedException, ExecutionException, TimeoutException {
+        executor = Executors.newSingleThreadExecutor();
+        ActionScheduler.shutdown();
+        CompletableFuture<Void> result = ActionScheduler.delay(10, executor);
+        result.get(5, TimeUnit.SECONDS);
+        assertThat(result.isDone()).as("Continuation triggered by a new timer").isTrue();
+    }
+
+    @Test
+    public void delayShutdownExecutor() throws InterruptedException {
+        executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        CompletableFuture<Void> result = ActionScheduler.delay(10, executor);
+        try {
+            result.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            assertThat(e).as("Execution exception").isInstanceOf(ExecutionException.class);
+            assertThat(e.getCause()).as("Rejected execution").isInstanceOf(RejectedExecutionException.class);
+            return;
+        }
+        fail("The future should be completed exceptionally");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backoffZeroAttempt() {
+        ActionScheduler.backoff(0, 500, 10000);
+    }
+
+    @Test
+    public void backoffGrowsExponentially() {
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            long expected = 500L << (attempt - 1);
+            assertThat(ActionScheduler.backoff(attempt, 500, 10000)).as("Back-off of attempt " + attempt + " in " +
+                    "bounds").isBetween(expected / 2, expected);
+        }
+    }
+
+    @Test
+    public void backoffBoundedByMaxDelay() {
+        assertThat(ActionScheduler.backoff(20, 500, 10000)).as("Back-off bounded").isBetween(5000L, 10000L);
+        assertThat(ActionScheduler.backoff(Integer.MAX_VALUE, 500, 10000)).as("Back-off bounded for large attempts")
+                .isBetween(5000L, 10000L);
+    }
+}
@@ -0,0 +1,105 @@
+package com.xatkit.core.platform.action;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitCore;
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.stubs.StubRuntimePlatform;
+import com.xatkit.stubs.action.StubRuntimeActionNoParameter;
+import com.xatkit.stubs.action.StubRuntimeActionTwoConstructors;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class RuntimeActionFactoryTest extends AbstractXatkitTest {
+
+    private RuntimePlatform runtimePlatform;
+
+    private XatkitSession session;
+
+    private RuntimeActionFactory factory;
+
+    @Before
+    public void setUp() {
+        runtimePlatform = new StubRuntimePlatform(mock(XatkitCore.class), new BaseConfiguration());
+        session = new XatkitSession("session");
+    }
+
+    @After
+    public void tearDown() {
+        if (runtimePlatform != null) {
+            runtimePlatform.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullActionClass() {
+        factory = new RuntimeActionFactory(null);
+    }
+
+    @Test
+    public void constructValidActionClass() {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class);
+        assertThat(factory.getActionClass()).as("Valid action class").isEqualTo(StubRuntimeActionNoParameter.class);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void newInstanceNullArguments() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class);
+        factory.newInstance(null);
+    }
+
+    @Test
+    public void newInstanceNoParameter() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class);
+        RuntimeAction action = factory.newInstance(new Object[]{runtimePlatform, session});
+        assertThat(action).as("Valid action type").isInstanceOf(StubRuntimeActionNoParameter.class);
+        assertThat(action.getRuntimePlatform()).as("Valid platform").isEqualTo(runtimePlatform);
+    }
+
+    @Test
+    public void newInstanceTwoConstructorsStringParameter() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class);
+        RuntimeAction action = factory.newInstance(new Object[]{runtimePlatform, session, "test"});
+        assertThat(((StubRuntimeActionTwoConstructors) action).getParam()).as("String constructor called")
+                .isEqualTo("test");
+    }
+
+    @Test
+    public void newInstanceTwoConstructorsListParameter() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class);
+        List<String> list = Arrays.asList("a", "b");
+        RuntimeAction action = factory.newInstance(new Object[]{runtimePlatform, session, list});
+        assertThat(((StubRuntimeActionTwoConstructors) action).getListParam()).as("List constructor called")
+                .isEqualTo(list);
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void newInstanceTooManyArguments() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class);
+        factory.newInstance(new Object[]{runtimePlatform, session, "a"});
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void newInstanceInvalidParameterType() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionTwoConstructors.class);
+        factory.newInstance(new Object[]{runtimePlatform, session, 1});
+    }
+
+    @Test(expected = InvocationTargetException.class)
+    public void newInstanceConstructorThrowsException() throws Exception {
+        factory = new RuntimeActionFactory(StubRuntimeActionNoParameter.class);
+        /*
+         * RuntimeAction's constructor does not accept null parameters.
+         */
+        factory.newInstance(new Object[]{null, session});
+    }
+}
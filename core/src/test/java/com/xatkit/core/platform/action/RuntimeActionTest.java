@@ -0,0 +1,97 @@
+package com.xatkit.core.platform.action;
+
+import com.xatkit.AbstractActionTest;
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.stubs.action.StubRuntimeActionNoParameter;
+import com.xatkit.stubs.action.StubRuntimeAsyncAction;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RuntimeActionTest extends AbstractActionTest<RuntimeAction<RuntimePlatform>, RuntimePlatform> {
+
+    @Test(expected = NullPointerException.class)
+    public void callAsyncNullExecutor() {
+        new StubRuntimeActionNoParameter(getPlatform(), session).callAsync(null);
+    }
+
+    @Test
+    public void callAsyncSynchronousAction() {
+        CompletableFuture<RuntimeActionResult> future =
+                new StubRuntimeActionNoParameter(getPlatform(), session).callAsync(Runnable::run);
+        assertThat(future.isDone()).as("Synchronous action completed").isTrue();
+        assertThat(future.join().isError()).as("Result is not an error").isFalse();
+    }
+
+    @Test
+    public void callAsyncAsyncAction() throws InterruptedException {
+        StubRuntimeAsyncAction action = new StubRuntimeAsyncAction(getPlatform(), session);
+        CompletableFuture<RuntimeActionResult> future = action.callAsync(Runnable::run);
+        assertThat(future.isDone()).as("Async action pending").isFalse();
+        Thread.sleep(200);
+        action.getPendingResult().complete("result");
+        RuntimeActionResult result = future.join();
+        assertThat(result.isError()).as("Result is not an error").isFalse();
+        assertThat(result.getResult()).as("Valid result").isEqualTo("result");
+        assertThat(result.getExecutionTime()).as("Execution time includes the async computation")
+                .isGreaterThanOrEqualTo(200);
+        assertThat(action.getComputeCalls()).as("compute() not called").isEqualTo(0);
+    }
+
+    @Test
+    public void callAsyncAsyncActionCompletedExceptionally() {
+        StubRuntimeAsyncAction action = new StubRuntimeAsyncAction(getPlatform(), session);
+        CompletableFuture<RuntimeActionResult> future = action.callAsync(Runnable::run);
+        IOException exception = new IOException("Test exception");
+        action.getPendingResult().completeExceptionally(exception);
+        RuntimeActionResult result = future.join();
+        assertThat(result.isError()).as("Result is an error").isTrue();
+        assertThat(result.getThrowable()).as("Valid throwable").isEqualTo(exception);
+    }
+
+    @Test
+    public void callAsyncAsyncActionResumedOnExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Thread executorThread = executor.submit(Thread::currentThread).get();
+            StubRuntimeAsyncAction action = new StubRuntimeAsyncAction(getPlatform(), session);
+            AtomicReference<Thread> resultThread = new AtomicReference<>();
+            CompletableFuture<RuntimeActionResult> future = action.callAsync(executor)
+                    .whenComplete((result, throwable) -> resultThread.set(Thread.currentThread()));
+            Thread ioThread = new Thread(() -> action.getPendingResult().complete("result"));
+            ioThread.start();
+            ioThread.join();
+            assertThat(future.join().getResult()).as("Valid result").isEqualTo("result");
+            assertThat(resultThread.get()).as("Result computed on the provided executor").isEqualTo(executorThread);
+        } catch (ExecutionException e) {
+            throw new AssertionError(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void callAsyncAction() {
+        StubRuntimeAsyncAction action = new StubRuntimeAsyncAction(getPlatform(), session);
+        action.getPendingResult().complete("result");
+        RuntimeActionResult result = action.call();
+        assertThat(result.getResult()).as("Valid result").isEqualTo("result");
+    }
+
+    @Override
+    protected RuntimePlatform getPlatform() {
+        RuntimePlatform platform = mock(RuntimePlatform.class);
+        when(platform.getConfiguration()).thenReturn(new BaseConfiguration());
+        return platform;
+    }
+}
@@ -126,4 +126,21 @@ public class IntentRecognitionProviderFactoryTest extends AbstractXatkitTest {
         assertThat(postProcessor.getClass().getSimpleName()).as("Valid PostProcessor").isEqualTo(
                 "RemoveEnglishStopWordsPostProcessor");
     }
+
+    @Test
+    public void getIntentRecognitionProviderEmptyConfigurationNoRecognitionCache() {
+        provider = IntentRecognitionProviderFactory.getIntentRecognitionProvider(xatkitCore, new BaseConfiguration());
+        assertThat(((AbstractIntentRecognitionProvider) provider).getRecognitionCache()).as("Recognition cache " +
+                "disabled").isNull();
+    }
+
+    @Test
+    public void getIntentRecognitionProviderRecognitionCacheSize() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(IntentRecognitionProviderFactoryConfiguration.RECOGNITION_CACHE_SIZE_KEY, 100);
+        provider = IntentRecognitionProviderFactory.getIntentRecognitionProvider(xatkitCore, configuration);
+        RecognitionCache recognitionCache = ((AbstractIntentRecognitionProvider) provider).getRecognitionCache();
+        assertThat(recognitionCache).as("Recognition cache enabled").isNotNull();
+        assertThat(recognitionCache.getMaxSize()).as("Valid cache size").isEqualTo(100);
+    }
 }
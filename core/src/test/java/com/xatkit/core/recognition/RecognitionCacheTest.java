@@ -0,0 +1,194 @@
+package com.xatkit.core.recognition;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.recognition.regex.RegExIntentRecognitionProvider;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.intent.Context;
+import com.xatkit.intent.ContextInstance;
+import com.xatkit.intent.IntentDefinition;
+import com.xatkit.intent.IntentFactory;
+import com.xatkit.intent.RecognizedIntent;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RecognitionCacheTest extends AbstractXatkitTest {
+
+    private RegExIntentRecognitionProvider provider;
+
+    private RecognitionCache cache;
+
+    private XatkitSession session;
+
+    private IntentDefinition intentDefinition;
+
+    private AtomicInteger recognitionCount;
+
+    @Before
+    public void setUp() {
+        provider = new RegExIntentRecognitionProvider(new BaseConfiguration(), null);
+        cache = new RecognitionCache(10);
+        session = new XatkitSession("sessionId");
+        intentDefinition = IntentFactory.eINSTANCE.createIntentDefinition();
+        intentDefinition.setName("CachedIntent");
+        recognitionCount = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        if (!provider.isShutdown()) {
+            provider.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroSize() {
+        new RecognitionCache(0);
+    }
+
+    @Test
+    public void getCachedResult() throws IntentRecognitionProviderException {
+        RecognizedIntent first = cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        RecognizedIntent second = cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        assertThat(recognitionCount.get()).as("Single recognition").isEqualTo(1);
+        assertThat(second).as("Fresh copy returned").isNotSameAs(first);
+        assertThat(second.getDefinition()).as("Valid definition").isEqualTo(intentDefinition);
+        assertThat(cache.getHitCount()).as("Single hit").isEqualTo(1);
+        assertThat(cache.getMissCount()).as("Single miss").isEqualTo(1);
+    }
+
+    @Test
+    public void getDifferentEnabledIntents() throws IntentRecognitionProviderException {
+        cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        session.getRuntimeContexts().setContext("Enable" + intentDefinition.getName(), 1);
+        cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        assertThat(recognitionCount.get()).as("Two recognitions").isEqualTo(2);
+    }
+
+    @Test
+    public void getNotCacheableResult() throws IntentRecognitionProviderException {
+        Context context = IntentFactory.eINSTANCE.createContext();
+        context.setName("CarriedOver");
+        RecognitionCache.Recognition recognition = () -> {
+            RecognizedIntent recognizedIntent = recognize();
+            ContextInstance contextInstance = IntentFactory.eINSTANCE.createContextInstance();
+            contextInstance.setDefinition(context);
+            recognizedIntent.getOutContextInstances().add(contextInstance);
+            return recognizedIntent;
+        };
+        cache.get(RecognitionCache.Key.of("hi", session), recognition, provider);
+        cache.get(RecognitionCache.Key.of("hi", session), recognition, provider);
+        assertThat(recognitionCount.get()).as("Result not cached").isEqualTo(2);
+        assertThat(cache.size()).as("Empty cache").isEqualTo(0);
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsed() throws IntentRecognitionProviderException {
+        cache = new RecognitionCache(2);
+        cache.get(RecognitionCache.Key.of("a", session), this::recognize, provider);
+        cache.get(RecognitionCache.Key.of("b", session), this::recognize, provider);
+        cache.get(RecognitionCache.Key.of("a", session), this::recognize, provider);
+        cache.get(RecognitionCache.Key.of("c", session), this::recognize, provider);
+        assertThat(cache.size()).as("Bounded size").isEqualTo(2);
+        cache.get(RecognitionCache.Key.of("a", session), this::recognize, provider);
+        assertThat(recognitionCount.get()).as("Recently used result kept").isEqualTo(3);
+        cache.get(RecognitionCache.Key.of("b", session), this::recognize, provider);
+        assertThat(recognitionCount.get()).as("Least recently used result evicted").isEqualTo(4);
+    }
+
+    @Test
+    public void invalidate() throws IntentRecognitionProviderException {
+        cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        cache.invalidate();
+        assertThat(cache.size()).as("Empty cache").isEqualTo(0);
+        cache.get(RecognitionCache.Key.of("hi", session), this::recognize, provider);
+        assertThat(recognitionCount.get()).as("Result recomputed").isEqualTo(2);
+    }
+
+    @Test
+    public void getConcurrentLookupsCoalesced() throws Exception {
+        CountDownLatch recognitionStarted = new CountDownLatch(1);
+        CountDownLatch releaseRecognition = new CountDownLatch(1);
+        RecognitionCache.Recognition blockingRecognition = () -> {
+            recognitionStarted.countDown();
+            try {
+                releaseRecognition.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return recognize();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RecognizedIntent> first = executor.submit(() -> cache.get(RecognitionCache.Key.of("hi",
+                    session), blockingRecognition, provider));
+            assertThat(recognitionStarted.await(5, TimeUnit.SECONDS)).as("Recognition started").isTrue();
+            Future<RecognizedIntent> second = executor.submit(() -> cache.get(RecognitionCache.Key.of("hi",
+                    session), blockingRecognition, provider));
+            Thread.sleep(100);
+            releaseRecognition.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getDefinition()).as("Valid first result")
+                    .isEqualTo(intentDefinition);
+            assertThat(second.get(5, TimeUnit.SECONDS).getDefinition()).as("Valid second result")
+                    .isEqualTo(intentDefinition);
+            assertThat(recognitionCount.get()).as("Single recognition").isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getConcurrentLookupsRecognitionError() throws Exception {
+        CountDownLatch recognitionStarted = new CountDownLatch(1);
+        CountDownLatch releaseRecognition = new CountDownLatch(1);
+        Error error = new Error("Recognition error");
+        RecognitionCache.Recognition failingRecognition = () -> {
+            recognitionStarted.countDown();
+            try {
+                releaseRecognition.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw error;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RecognizedIntent> first = executor.submit(() -> cache.get(RecognitionCache.Key.of("hi",
+                    session), failingRecognition, provider));
+            assertThat(recognitionStarted.await(5, TimeUnit.SECONDS)).as("Recognition started").isTrue();
+            Future<RecognizedIntent> second = executor.submit(() -> cache.get(RecognitionCache.Key.of("hi",
+                    session), failingRecognition, provider));
+            Thread.sleep(100);
+            releaseRecognition.countDown();
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).as("First lookup failed")
+                    .isInstanceOf(ExecutionException.class).hasCause(error);
+            /*
+             * The waiting lookup must not block when the recognition throws an Error.
+             */
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).as("Waiting lookup failed")
+                    .isInstanceOf(ExecutionException.class).hasCause(error);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RecognizedIntent recognize() {
+        recognitionCount.incrementAndGet();
+        RecognizedIntent recognizedIntent = IntentFactory.eINSTANCE.createRecognizedIntent();
+        recognizedIntent.setDefinition(intentDefinition);
+        recognizedIntent.setRecognitionConfidence(1);
+        return recognizedIntent;
+    }
+}
@@ -0,0 +1,72 @@
+package com.xatkit.core.recognition.regex;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.intent.IntentFactory;
+import com.xatkit.intent.MappingEntityDefinition;
+import com.xatkit.intent.MappingEntityDefinitionEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityDictionaryTest extends AbstractXatkitTest {
+
+    private MappingEntityDefinition entityDefinition;
+
+    @Before
+    public void setUp() {
+        entityDefinition = IntentFactory.eINSTANCE.createMappingEntityDefinition();
+        entityDefinition.setName("City");
+        addEntry("New York", "NYC");
+        addEntry("New Delhi");
+        addEntry("New");
+        addEntry("Paris (France)");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullEntityDefinition() {
+        EntityDictionary.of(null);
+    }
+
+    @Test
+    public void getRegExpFactorsCommonPrefixes() {
+        EntityDictionary entityDictionary = EntityDictionary.of(entityDefinition);
+        assertThat(entityDictionary.getRegExp()).as("Common prefixes factored")
+                .isEqualTo("(?:N(?:YC|ew(?: (?:Delhi|York))?)|Paris \\(France\\))");
+    }
+
+    @Test
+    public void getRegExpMatchesValuesAndSynonyms() {
+        Pattern pattern = Pattern.compile("^I live in (" + EntityDictionary.of(entityDefinition).getRegExp() + ")$");
+        assertThat(pattern.matcher("I live in New York").matches()).as("Value matched").isTrue();
+        assertThat(pattern.matcher("I live in New").matches()).as("Prefix value matched").isTrue();
+        assertThat(pattern.matcher("I live in NYC").matches()).as("Synonym matched").isTrue();
+        assertThat(pattern.matcher("I live in Paris (France)").matches()).as("Escaped value matched").isTrue();
+        assertThat(pattern.matcher("I live in New Orleans").matches()).as("Unknown value not matched").isFalse();
+    }
+
+    @Test
+    public void getRegExpEmptyEntity() {
+        MappingEntityDefinition emptyEntity = IntentFactory.eINSTANCE.createMappingEntityDefinition();
+        assertThat(EntityDictionary.of(emptyEntity).getRegExp()).as("Empty RegExp").isEmpty();
+    }
+
+    @Test
+    public void getReferenceValue() {
+        EntityDictionary entityDictionary = EntityDictionary.of(entityDefinition);
+        assertThat(entityDictionary.getReferenceValue("New York")).as("Reference value").isEqualTo("New York");
+        assertThat(entityDictionary.getReferenceValue("NYC")).as("Synonym reference value").isEqualTo("New York");
+        assertThat(entityDictionary.getReferenceValue("Berlin")).as("Unknown value").isNull();
+    }
+
+    private void addEntry(String referenceValue, String... synonyms) {
+        MappingEntityDefinitionEntry entry = IntentFactory.eINSTANCE.createMappingEntityDefinitionEntry();
+        entry.setReferenceValue(referenceValue);
+        for (String synonym : synonyms) {
+            entry.getSynonyms().add(synonym);
+        }
+        entityDefinition.getEntries().add(entry);
+    }
+}
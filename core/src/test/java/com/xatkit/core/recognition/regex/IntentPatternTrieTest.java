@@ -0,0 +1,156 @@
+package com.xatkit.core.recognition.regex;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.intent.Context;
+import com.xatkit.intent.IntentDefinition;
+import com.xatkit.intent.IntentFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntentPatternTrieTest extends AbstractXatkitTest {
+
+    private IntentDefinition greetings;
+
+    private IntentDefinition info;
+
+    private Pattern greetingsPattern;
+
+    private Pattern helloPattern;
+
+    private Pattern infoPattern;
+
+    private IntentPatternTrie trie;
+
+    @Before
+    public void setUp() {
+        greetings = IntentFactory.eINSTANCE.createIntentDefinition();
+        greetings.setName("Greetings");
+        info = IntentFactory.eINSTANCE.createIntentDefinition();
+        info.setName("Info");
+        greetingsPattern = Pattern.compile("^(?i)Greetings\\$$");
+        helloPattern = Pattern.compile("^(?i)Hello$");
+        infoPattern = Pattern.compile("^Give me some information about (?<Founder0000name>(\\S)+)$");
+        Map<IntentDefinition, List<Pattern>> intentPatterns = new LinkedHashMap<>();
+        intentPatterns.put(greetings, Arrays.asList(greetingsPattern, helloPattern));
+        intentPatterns.put(info, Collections.singletonList(infoPattern));
+        trie = IntentPatternTrie.of(intentPatterns);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullIntentPatterns() {
+        IntentPatternTrie.of(null);
+    }
+
+    @Test
+    public void size() {
+        assertThat(trie.size()).as("All patterns indexed").isEqualTo(3);
+        assertThat(IntentPatternTrie.EMPTY.size()).as("Empty trie").isEqualTo(0);
+    }
+
+    @Test
+    public void getExactCandidatesLiteralPattern() {
+        assertThat(getExactCandidatePatterns("Greetings$")).as("Literal pattern returned")
+                .containsExactly(greetingsPattern);
+    }
+
+    @Test
+    public void getExactCandidatesDifferentCase() {
+        assertThat(getExactCandidatePatterns("HELLO")).as("Literal pattern returned").containsExactly(helloPattern);
+    }
+
+    @Test
+    public void getExactCandidatesDifferentWhitespaces() {
+        assertThat(getExactCandidatePatterns("  Greetings$\t")).as("Literal pattern returned")
+                .containsExactly(greetingsPattern);
+    }
+
+    @Test
+    public void getExactCandidatesPrefixInput() {
+        assertThat(getExactCandidatePatterns("Hell")).as("No candidate for a prefix of a literal pattern").isEmpty();
+    }
+
+    @Test
+    public void getExactCandidatesLongerInput() {
+        assertThat(getExactCandidatePatterns("Hello world")).as("No candidate for a longer input").isEmpty();
+    }
+
+    @Test
+    public void getExactCandidatesCaseSensitivePattern() {
+        Pattern byePattern = Pattern.compile("^Good   bye$");
+        IntentPatternTrie caseSensitiveTrie = IntentPatternTrie.of(Collections.singletonMap(greetings,
+                Collections.singletonList(byePattern)));
+        assertThat(caseSensitiveTrie.getExactCandidates("Good bye")).as("Case sensitive pattern returned")
+                .hasSize(1);
+        assertThat(caseSensitiveTrie.getExactCandidates("GOOD BYE")).as("No candidate for a different case")
+                .isEmpty();
+    }
+
+    @Test
+    public void getCandidatesLiteralPattern() {
+        assertThat(trie.getCandidates("Hello")).as("Literal patterns are not returned by the trie").isEmpty();
+    }
+
+    @Test
+    public void getEmptyOutContexts() {
+        Context emptyContext = IntentFactory.eINSTANCE.createContext();
+        emptyContext.setName("Empty");
+        Context parameterContext = IntentFactory.eINSTANCE.createContext();
+        parameterContext.setName("Founder");
+        parameterContext.getParameters().add(IntentFactory.eINSTANCE.createContextParameter());
+        info.getOutContexts().add(emptyContext);
+        info.getOutContexts().add(parameterContext);
+        IntentPatternTrie contextTrie = IntentPatternTrie.of(Collections.singletonMap(info,
+                Collections.singletonList(infoPattern)));
+        assertThat(contextTrie.getEmptyOutContexts(info)).as("Empty out context returned")
+                .containsExactly(emptyContext);
+        assertThat(contextTrie.getEmptyOutContexts(greetings)).as("No empty out context").isEmpty();
+    }
+
+    @Test
+    public void normalize() {
+        assertThat(IntentPatternTrie.normalize(" Hello \t  World ", true)).as("Normalized text")
+                .isEqualTo("hello world");
+        assertThat(IntentPatternTrie.normalize("Hello  World", false)).as("Case preserved")
+                .isEqualTo("Hello World");
+    }
+
+    @Test
+    public void getCandidatesSlotPattern() {
+        List<IntentPatternTrie.Candidate> candidates = trie.getCandidates("Give me some information about Gwendal");
+        assertThat(candidates).as("Single candidate").hasSize(1);
+        assertThat(candidates.get(0).getIntentDefinition()).as("Valid intent").isEqualTo(info);
+        assertThat(candidates.get(0).getPattern()).as("Valid pattern").isEqualTo(infoPattern);
+    }
+
+    @Test
+    public void getCandidatesSlotPatternMissingPrefix() {
+        assertThat(trie.getCandidates("Give me information")).as("No candidate").isEmpty();
+    }
+
+    @Test
+    public void getCandidatesRegistrationOrder() {
+        Pattern anyPattern = Pattern.compile("^(?<Any0000value>(\\S)+)$");
+        Pattern helloSlotPattern = Pattern.compile("^Hello (?<Name0000value>(\\S)+)$");
+        Map<IntentDefinition, List<Pattern>> intentPatterns = new LinkedHashMap<>();
+        intentPatterns.put(info, Collections.singletonList(helloSlotPattern));
+        intentPatterns.put(greetings, Collections.singletonList(anyPattern));
+        IntentPatternTrie orderedTrie = IntentPatternTrie.of(intentPatterns);
+        assertThat(orderedTrie.getCandidates("Hello Gwendal").stream().map(IntentPatternTrie.Candidate::getPattern))
+                .as("Candidates in registration order").containsExactly(helloSlotPattern, anyPattern);
+    }
+
+    private List<Pattern> getExactCandidatePatterns(String input) {
+        return trie.getExactCandidates(input).stream().map(IntentPatternTrie.Candidate::getPattern)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,8 +1,10 @@
 package com.xatkit.core.recognition.regex;
 
+import com.xatkit.core.recognition.IntentRecognitionProvider;
 import com.xatkit.core.recognition.IntentRecognitionProviderException;
 import com.xatkit.core.recognition.IntentRecognitionProviderTest;
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.execution.State;
 import com.xatkit.intent.ContextInstance;
 import com.xatkit.intent.IntentDefinition;
 import com.xatkit.intent.IntentFactory;
@@ -73,6 +75,81 @@ public class RegExIntentRecognitionProviderTest extends IntentRecognitionProvide
         assertThatRecognizedIntentHasDefinition(recognizedIntent, intentDefinition.getName());
     }
 
+    @Test
+    public void getIntentNotMatchableIntentDefinition() throws IntentRecognitionProviderException {
+        intentRecognitionProvider = getIntentRecognitionProvider();
+        intentRecognitionProvider.registerIntentDefinition(testBotExecutionModel.getSimpleIntent());
+        XatkitSession session = new XatkitSession("sessionID");
+        /*
+         * SimpleIntent is accessed in the execution model but cannot be matched from HandleAny.
+         */
+        session.setState(getState("HandleAny"));
+        RecognizedIntent recognizedIntent = intentRecognitionProvider.getIntent("Greetings", session);
+        assertThatRecognizedIntentHasDefinition(recognizedIntent,
+                IntentRecognitionProvider.DEFAULT_FALLBACK_INTENT.getName());
+    }
+
+    @Test
+    public void getIntentNotMatchableIntentDefinitionEnabledWithContext() throws IntentRecognitionProviderException {
+        intentRecognitionProvider = getIntentRecognitionProvider();
+        intentRecognitionProvider.registerIntentDefinition(testBotExecutionModel.getSimpleIntent());
+        XatkitSession session = new XatkitSession("sessionID");
+        session.setState(getState("HandleAny"));
+        /*
+         * The Enable<IntentName> context makes the intent matchable even if it is not matchable from the state.
+         */
+        session.getRuntimeContexts().setContext("Enable" + testBotExecutionModel.getSimpleIntent().getName(), 1);
+        RecognizedIntent recognizedIntent = intentRecognitionProvider.getIntent("Greetings", session);
+        assertThatRecognizedIntentHasDefinition(recognizedIntent, testBotExecutionModel.getSimpleIntent().getName());
+    }
+
+    @Test
+    public void getMappingEntityIntentSynonym() throws IntentRecognitionProviderException {
+        intentRecognitionProvider = getIntentRecognitionProvider();
+        registeredEntityDefinitions.add(testBotExecutionModel.getMappingEntity());
+        intentRecognitionProvider.registerEntityDefinition(testBotExecutionModel.getMappingEntity());
+        registeredIntentDefinition = testBotExecutionModel.getMappingEntityIntent();
+        intentRecognitionProvider.registerIntentDefinition(registeredIntentDefinition);
+        XatkitSession session = intentRecognitionProvider.createSession("TEST");
+        session.setState(ExecutionModelUtils.getInitState(testBotExecutionModel.getBaseModel()));
+        RecognizedIntent recognizedIntent = intentRecognitionProvider.getIntent("Give me some information about " +
+                "zelus", session);
+        assertThatRecognizedIntentHasDefinition(recognizedIntent, registeredIntentDefinition.getName());
+        ContextInstance context = recognizedIntent.getOutContextInstance("Founder");
+        assertThat(context).isNotNull();
+        assertThatContextContainsParameterWithValue(context, "name", "Gwendal");
+    }
+
+    @Test
+    public void getRecognizerSnapshotAfterRegistration() {
+        intentRecognitionProvider = getIntentRecognitionProvider();
+        RegExRecognizerSnapshot emptySnapshot = intentRecognitionProvider.getRecognizerSnapshot();
+        intentRecognitionProvider.registerIntentDefinition(testBotExecutionModel.getSimpleIntent());
+        RegExRecognizerSnapshot snapshot = intentRecognitionProvider.getRecognizerSnapshot();
+        assertThat(snapshot).as("New snapshot published").isNotSameAs(emptySnapshot);
+        assertThat(snapshot.getVersion()).as("Greater version").isGreaterThan(emptySnapshot.getVersion());
+        assertThat(snapshot.getIntentPatternTrie().getExactCandidates("Greetings")).as("Intent indexed")
+                .isNotEmpty();
+        assertThat(emptySnapshot.getIntentPatternTrie().getExactCandidates("Greetings"))
+                .as("Previous snapshot not updated").isEmpty();
+        assertThat(intentRecognitionProvider.getRecognizerSnapshot()).as("Up to date snapshot returned")
+                .isSameAs(snapshot);
+    }
+
+    @Test
+    public void getIntentDeletedIntent() throws IntentRecognitionProviderException {
+        intentRecognitionProvider = getIntentRecognitionProvider();
+        intentRecognitionProvider.registerIntentDefinition(testBotExecutionModel.getSimpleIntent());
+        XatkitSession session = new XatkitSession("sessionId");
+        session.setState(ExecutionModelUtils.getInitState(testBotExecutionModel.getBaseModel()));
+        RecognizedIntent recognizedIntent = intentRecognitionProvider.getIntent("Greetings", session);
+        assertThatRecognizedIntentHasDefinition(recognizedIntent, testBotExecutionModel.getSimpleIntent().getName());
+        intentRecognitionProvider.deleteIntentDefinition(testBotExecutionModel.getSimpleIntent());
+        recognizedIntent = intentRecognitionProvider.getIntent("Greetings", session);
+        assertThatRecognizedIntentHasDefinition(recognizedIntent,
+                IntentRecognitionProvider.DEFAULT_FALLBACK_INTENT.getName());
+    }
+
     @Ignore
     @Test
     @Override
@@ -88,4 +165,9 @@ public class RegExIntentRecognitionProviderTest extends IntentRecognitionProvide
     protected RegExIntentRecognitionProvider getIntentRecognitionProvider() {
         return new RegExIntentRecognitionProvider(new BaseConfiguration(), null);
     }
+
+    private State getState(String name) {
+        return testBotExecutionModel.getBaseModel().getStates().stream().filter(s -> s.getName().equals(name))
+                .findAny().orElseThrow(() -> new IllegalStateException("Cannot find the state " + name));
+    }
 }
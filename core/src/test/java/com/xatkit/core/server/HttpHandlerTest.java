@@ -4,11 +4,13 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.EventQueueFullException;
 import com.xatkit.stubs.StubXatkitServer;
 import fr.inria.atlanmod.commons.log.Log;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -57,12 +59,16 @@ public class HttpHandlerTest extends AbstractXatkitTest {
 
     private static String REGISTERED_GET_URI_ERROR = "/test-get-error";
 
+    private static String REGISTERED_GET_URI_QUEUE_FULL = "/test-get-queue-full";
+
     private static HttpRequest REGISTERED_GET_REQUEST;
 
     private static HttpRequest REGISTERED_GET_REQUEST_WITH_PARAMETERS;
 
     private static HttpRequest REGISTERED_GET_REQUEST_ERROR;
 
+    private static HttpRequest REGISTERED_GET_REQUEST_QUEUE_FULL;
+
     private HttpHandler handler;
 
     private HttpResponse response;
@@ -88,6 +94,11 @@ public class HttpHandlerTest extends AbstractXatkitTest {
                     Log.info("Test REST GET handler throwing error called");
                     throw new RestHandlerException(403, "An error occurred");
                 }));
+        xatkitServer.registerRestEndpoint(HttpMethod.GET, REGISTERED_GET_URI_QUEUE_FULL,
+                RestHandlerFactory.createJsonRestHandler((headers, params, content) -> {
+                    Log.info("Test REST GET handler throwing queue full error called");
+                    throw new EventQueueFullException("The queue is full", 3);
+                }));
         NOT_REGISTERED_POST_REQUEST = new BasicHttpEntityEnclosingRequest("POST", NOT_REGISTERED_URI);
         JsonObject notRegisteredPostRequestObject = new JsonObject();
         notRegisteredPostRequestObject.addProperty("key", "value");
@@ -104,6 +115,8 @@ public class HttpHandlerTest extends AbstractXatkitTest {
         REGISTERED_GET_REQUEST_WITH_PARAMETERS = new BasicHttpRequest("GET", REGISTERED_GET_URI + "?param=value");
 
         REGISTERED_GET_REQUEST_ERROR = new BasicHttpRequest("GET", REGISTERED_GET_URI_ERROR);
+
+        REGISTERED_GET_REQUEST_QUEUE_FULL = new BasicHttpRequest("GET", REGISTERED_GET_URI_QUEUE_FULL);
     }
 
     @AfterClass
@@ -198,6 +211,21 @@ public class HttpHandlerTest extends AbstractXatkitTest {
                 "message").isEqualTo("An error occurred");
     }
 
+    @Test
+    public void handleGetRequestQueueFullRegisteredHandler() {
+        this.handler = getHandler();
+        handler.handle(REGISTERED_GET_REQUEST_QUEUE_FULL, response, context);
+        assertIsRestEndpointCallMatches(HttpMethod.GET, REGISTERED_GET_URI_QUEUE_FULL);
+        assertThat(response.getStatusLine().getStatusCode()).as("Status code is 503").isEqualTo(503);
+        assertThat(response.getFirstHeader(HttpHeaders.RETRY_AFTER)).as("Retry-After header is set").isNotNull();
+        assertThat(response.getFirstHeader(HttpHeaders.RETRY_AFTER).getValue()).as("Valid Retry-After value")
+                .isEqualTo("3");
+        JsonObject errorObject = HttpEntityHelper.getJsonElementFromHttpEntity(response.getEntity())
+                .getAsJsonObject();
+        assertThat(errorObject.get("error").getAsString()).as("Response entity contains the exception's error " +
+                "message").isEqualTo("The queue is full");
+    }
+
     private HttpHandler getHandler() {
         return new HttpHandler(xatkitServer);
     }
@@ -0,0 +1,161 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileSessionStoreTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    private FileSessionStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = temporaryFolder.newFolder("store");
+        store = new FileSessionStore(directory);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void getNotStoredSession() {
+        assertThat(store.get("session")).as("Null stored session").isNull();
+        assertThat(directory.list()).as("No file created").isEmpty();
+    }
+
+    @Test
+    public void computeIfAbsentAndGetSession() {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        StoredSession storedSession = store.get("session");
+        assertThat(storedSession).as("Session stored").isNotNull();
+        assertThat(storedSession.getVersion()).as("Version is 1").isEqualTo(1);
+        assertRestoredSnapshot(storedSession.getSnapshot(), "State");
+    }
+
+    @Test
+    public void compareAndSetValidVersion() {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        assertThat(store.compareAndSet("session", 1, createSnapshot("session", "Other"), 0)).as("Session updated")
+                .isTrue();
+        StoredSession storedSession = store.get("session");
+        assertThat(storedSession.getVersion()).as("Version incremented").isEqualTo(2);
+        assertRestoredSnapshot(storedSession.getSnapshot(), "Other");
+    }
+
+    @Test
+    public void compareAndSetInvalidVersion() {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        assertThat(store.compareAndSet("session", 0, createSnapshot("session", "Other"), 0))
+                .as("Session not updated").isFalse();
+        assertThat(store.get("session").getSnapshot().getStateName()).as("Snapshot not updated").isEqualTo("State");
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compareAndSetNotSerializableSession() {
+        XatkitSession session = new XatkitSession("session");
+        session.store("key", new Object());
+        store.compareAndSet("session", 0, SessionSnapshot.of(session), 0);
+    }
+
+    @Test
+    public void getExpiredSession() throws InterruptedException {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 10);
+        Thread.sleep(50);
+        assertThat(store.get("session")).as("Expired session not returned").isNull();
+        assertThat(store.purgeExpired()).as("Expired session purged").isEqualTo(1);
+    }
+
+    @Test
+    public void removeSession() {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        store.remove("session");
+        assertThat(store.get("session")).as("Session removed").isNull();
+        assertThat(store.compareAndSet("session", 0, createSnapshot("session", "State"), 0))
+                .as("Removed session recreated").isTrue();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getClosedStore() {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        store.close();
+        store.get("session");
+    }
+
+    @Test
+    public void shareSessionsBetweenStores() {
+        FileSessionStore other = new FileSessionStore(directory);
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        StoredSession storedSession = other.computeIfAbsent("session", id -> createSnapshot(id, "Other"), 0);
+        assertThat(storedSession.getVersion()).as("Existing session returned").isEqualTo(1);
+        assertRestoredSnapshot(storedSession.getSnapshot(), "State");
+        assertThat(other.compareAndSet("session", 1, createSnapshot("session", "Other"), 0)).as("Session updated")
+                .isTrue();
+        assertThat(store.compareAndSet("session", 1, createSnapshot("session", "Conflict"), 0))
+                .as("Concurrent update rejected").isFalse();
+        assertThat(store.get("session").getSnapshot().getStateName()).as("Update visible from the other store")
+                .isEqualTo("Other");
+    }
+
+    @Test
+    public void concurrentCompareAndSet() throws Exception {
+        store.computeIfAbsent("session", id -> createSnapshot(id, "State"), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                FileSessionStore threadStore = new FileSessionStore(directory);
+                results.add(executor.submit(() -> threadStore.compareAndSet("session", 1, createSnapshot("session",
+                        "Other"), 0)));
+            }
+            int updates = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    updates++;
+                }
+            }
+            assertThat(updates).as("A single update succeeded").isEqualTo(1);
+            assertThat(store.get("session").getVersion()).as("Version is 2").isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SessionSnapshot createSnapshot(String sessionId, String stateName) {
+        XatkitSession session = new XatkitSession(sessionId);
+        session.store("key", "value");
+        session.getRuntimeContexts().setContextValue("context", 3, "contextKey", "contextValue");
+        return SessionSnapshot.of(session).withStateName(stateName);
+    }
+
+    private void assertRestoredSnapshot(SessionSnapshot snapshot, String expectedStateName) {
+        assertThat(snapshot.getStateName()).as("Valid state name").isEqualTo(expectedStateName);
+        XatkitSession restored = new XatkitSession(snapshot.getSessionId());
+        snapshot.restoreContent(restored);
+        assertThat(restored.get("key")).as("Session variable restored").isEqualTo("value");
+        assertThat(restored.getRuntimeContexts().getContextValue("context", "contextKey"))
+                .as("Context variable restored").isEqualTo("contextValue");
+    }
+}
@@ -0,0 +1,91 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemorySessionStoreTest extends AbstractXatkitTest {
+
+    private InMemorySessionStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemorySessionStore();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getNullSessionId() {
+        store.get(null);
+    }
+
+    @Test
+    public void getNotStoredSession() {
+        assertThat(store.get("session")).as("Null stored session").isNull();
+    }
+
+    @Test
+    public void computeIfAbsentNotStoredSession() {
+        StoredSession storedSession = store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 0);
+        assertThat(storedSession.getVersion()).as("Version is 1").isEqualTo(1);
+        assertThat(storedSession.getSnapshot().getStateName()).as("Valid state name").isEqualTo("State");
+        assertThat(store.get("session")).as("Session stored").isEqualTo(storedSession);
+    }
+
+    @Test
+    public void computeIfAbsentStoredSession() {
+        StoredSession storedSession = store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 0);
+        StoredSession other = store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "Other"), 0);
+        assertThat(other).as("Existing session returned").isEqualTo(storedSession);
+    }
+
+    @Test
+    public void compareAndSetValidVersion() {
+        store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 0);
+        assertThat(store.compareAndSet("session", 1, SessionSnapshot.of("session", "Other"), 0))
+                .as("Session updated").isTrue();
+        StoredSession storedSession = store.get("session");
+        assertThat(storedSession.getVersion()).as("Version incremented").isEqualTo(2);
+        assertThat(storedSession.getSnapshot().getStateName()).as("Snapshot updated").isEqualTo("Other");
+    }
+
+    @Test
+    public void compareAndSetInvalidVersion() {
+        store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 0);
+        assertThat(store.compareAndSet("session", 2, SessionSnapshot.of("session", "Other"), 0))
+                .as("Session not updated").isFalse();
+        assertThat(store.get("session").getSnapshot().getStateName()).as("Snapshot not updated").isEqualTo("State");
+    }
+
+    @Test
+    public void compareAndSetNotStoredSession() {
+        assertThat(store.compareAndSet("session", 0, SessionSnapshot.of("session", "State"), 0))
+                .as("Session created").isTrue();
+        assertThat(store.get("session").getVersion()).as("Version is 1").isEqualTo(1);
+    }
+
+    @Test
+    public void getExpiredSession() throws InterruptedException {
+        store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 10);
+        Thread.sleep(50);
+        assertThat(store.get("session")).as("Expired session not returned").isNull();
+        assertThat(store.size()).as("Expired session removed").isEqualTo(0);
+    }
+
+    @Test
+    public void computeIfAbsentExpiredSession() throws InterruptedException {
+        store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 10);
+        Thread.sleep(50);
+        StoredSession storedSession = store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "Other"), 0);
+        assertThat(storedSession.getVersion()).as("Version is 1").isEqualTo(1);
+        assertThat(storedSession.getSnapshot().getStateName()).as("Session recreated").isEqualTo("Other");
+    }
+
+    @Test
+    public void removeSession() {
+        store.computeIfAbsent("session", id -> SessionSnapshot.of(id, "State"), 0);
+        store.remove("session");
+        assertThat(store.get("session")).as("Session removed").isNull();
+    }
+}
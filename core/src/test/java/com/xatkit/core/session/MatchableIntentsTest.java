@@ -0,0 +1,74 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.ExecutionFactory;
+import com.xatkit.execution.State;
+import com.xatkit.intent.IntentDefinition;
+import com.xatkit.intent.IntentFactory;
+import com.xatkit.test.util.TestBotExecutionModel;
+import com.xatkit.test.util.TestModelLoader;
+import com.xatkit.util.ExecutionModelUtils;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MatchableIntentsTest extends AbstractXatkitTest {
+
+    private static TestBotExecutionModel testBotExecutionModel;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws ConfigurationException {
+        testBotExecutionModel = TestModelLoader.loadTestBot();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void ofNullState() {
+        MatchableIntents.of(null);
+    }
+
+    @Test
+    public void ofStateWithoutTransitions() {
+        State state = ExecutionFactory.eINSTANCE.createState();
+        state.setName("State");
+        MatchableIntents matchableIntents = MatchableIntents.of(state);
+        assertThat(matchableIntents.size()).as("No matchable intent").isEqualTo(0);
+        assertThat(matchableIntents.isIndexed(testBotExecutionModel.getSimpleIntent())).as("Intent not indexed")
+                .isFalse();
+    }
+
+    @Test
+    public void ofInitState() {
+        State initState = ExecutionModelUtils.getInitState(testBotExecutionModel.getBaseModel());
+        MatchableIntents matchableIntents = MatchableIntents.of(initState);
+        assertThat(matchableIntents.isIndexed(testBotExecutionModel.getSimpleIntent())).as("Intent indexed").isTrue();
+        assertThat(matchableIntents.isMatchable(testBotExecutionModel.getSimpleIntent())).as("Intent matchable")
+                .isTrue();
+        assertThat(matchableIntents.size()).as("Valid size").isEqualTo(matchableIntents.getEnableContextNames()
+                .size());
+        assertThat(MatchableIntents.of(initState)).as("Cached instance returned").isSameAs(matchableIntents);
+    }
+
+    @Test
+    public void isMatchableNotIndexedIntent() {
+        IntentDefinition intentDefinition = IntentFactory.eINSTANCE.createIntentDefinition();
+        intentDefinition.setName("NotIndexedIntent");
+        MatchableIntents matchableIntents =
+                MatchableIntents.of(ExecutionModelUtils.getInitState(testBotExecutionModel.getBaseModel()));
+        assertThat(matchableIntents.isIndexed(intentDefinition)).as("Intent not indexed").isFalse();
+        assertThat(matchableIntents.isMatchable(intentDefinition)).as("Intent not matchable").isFalse();
+    }
+
+    @Test
+    public void setStateUpdatesMatchableIntents() {
+        XatkitSession session = new XatkitSession("session");
+        assertThat(session.getMatchableIntents()).as("Empty matchable intents").isSameAs(MatchableIntents.EMPTY);
+        State initState = ExecutionModelUtils.getInitState(testBotExecutionModel.getBaseModel());
+        session.setState(initState);
+        assertThat(session.getMatchableIntents()).as("State matchable intents set")
+                .isSameAs(MatchableIntents.of(initState));
+        assertThat(session.getRuntimeContexts().getContextVariables("Enable" + testBotExecutionModel.getSimpleIntent()
+                .getName())).as("Enable context set").isNotNull();
+    }
+}
@@ -28,6 +28,21 @@ public class RuntimeContextsTest extends AbstractXatkitTest {
         assertThat(context.getVariableTimeout()).as("Default variable timeout value").isEqualTo(2);
     }
 
+    @Test
+    public void contextTtlRemovesIdleContext() throws InterruptedException {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(RuntimeContexts.CONTEXT_TTL_KEY, 1);
+        context = new RuntimeContexts(configuration);
+        assertThat(context.getContextTtl()).as("Valid context ttl").isEqualTo(1000);
+        context.setContextValue("idle", 5, "key", "value");
+        context.setContextValue("updated", 5, "key", "value");
+        Thread.sleep(600);
+        context.setContextValue("updated", 5, "key", "value2");
+        Thread.sleep(800);
+        assertThat(context.getContextVariables("idle")).as("Idle context removed").isNull();
+        assertThat(context.getContextValue("updated", "key")).as("Updated context kept").isEqualTo("value2");
+    }
+
     @Test
     public void constructValidConfiguration() {
         Configuration configuration = new BaseConfiguration();
@@ -317,6 +332,129 @@ public class RuntimeContextsTest extends AbstractXatkitTest {
         assertThat(context.getContextMap()).as("Context map is empty").isEmpty();
     }
 
+    @Test
+    public void incrementLifespanCounts() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 1, "key", "value");
+        context.incrementLifespanCounts();
+        assertThat(context.getContextLifespanCount("context")).as("Incremented lifespan count").isEqualTo(2);
+        context.decrementLifespanCounts();
+        assertThat(context.getContextLifespanCount("context")).as("Decremented lifespan count").isEqualTo(1);
+    }
+
+    @Test
+    public void incrementLifespanCountsFullyDecrementedContext() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 1, "key", "value");
+        context.decrementLifespanCounts();
+        context.incrementLifespanCounts();
+        assertThat(context.getContextVariables("context")).as("Expired context not restored").isNull();
+        assertThat(context.getLifespanCountsMap()).as("Lifespan count map is empty").isEmpty();
+    }
+
+    @Test
+    public void setContextValueFullyDecrementedContext() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 1, "key", "value");
+        context.decrementLifespanCounts();
+        context.setContextValue("context", 2, "key2", "value2");
+        assertThat(context.getContextValue("context", "key")).as("Expired value removed").isNull();
+        assertThat(context.getContextValue("context", "key2")).as("New value set").isEqualTo("value2");
+        assertThat(context.getContextLifespanCount("context")).as("Valid lifespan count").isEqualTo(2);
+    }
+
+    @Test
+    public void decrementLifespanCountsManyTurns() {
+        context = new RuntimeContexts();
+        context.setContextValue("context1", 3, "key1", "value1");
+        context.setContextValue("context2", 50, "key2", "value2");
+        for (int i = 0; i < 10; i++) {
+            context.decrementLifespanCounts();
+        }
+        assertThat(context.getContextMap()).as("Context map contains 1 element").containsOnlyKeys("context2");
+        assertLifespanMapContains(context, "context2", 40);
+    }
+
+    @Test
+    public void setContextValueGreaterLifespanCountAfterDecrement() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 1, "key", "value");
+        context.setContextValue("context", 3, "key", "value");
+        context.decrementLifespanCounts();
+        assertThat(context.getContextMap()).as("Extended context not removed").containsOnlyKeys("context");
+        assertLifespanMapContains(context, "context", 2);
+    }
+
+    @Test
+    public void getSnapshotNotAffectedByUpdates() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 2, "key", "value");
+        RuntimeContextsSnapshot snapshot = context.getSnapshot();
+        context.setContextValue("context", 2, "key", "newValue");
+        context.setContextValue("context2", 2, "key2", "value2");
+        context.decrementLifespanCounts();
+        assertThat(snapshot.getContextValue("context", "key")).as("Snapshot value not updated").isEqualTo("value");
+        assertThat(snapshot.getContextMap()).as("Snapshot contexts not updated").containsOnlyKeys("context");
+        assertThat(snapshot.getContextLifespanCount("context")).as("Snapshot lifespan count not updated")
+                .isEqualTo(2);
+        assertThat(context.getContextValue("context", "key")).as("Context value updated").isEqualTo("newValue");
+    }
+
+    @Test
+    public void getSnapshotSharesUnchangedContexts() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 2, "key", "value");
+        RuntimeContextsSnapshot snapshot = context.getSnapshot();
+        context.setContextValue("context2", 2, "key2", "value2");
+        assertThat(context.getSnapshot().getContextVariables("context")).as("Unchanged context shared")
+                .isSameAs(snapshot.getContextVariables("context"));
+    }
+
+    @Test
+    public void getContextVariablesWriteThrough() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 2, "key", "value");
+        RuntimeContextsSnapshot snapshot = context.getSnapshot();
+        Map<String, Object> contextVariables = context.getContextVariables("context");
+        assertThat(contextVariables.put("key", "newValue")).as("Previous value returned").isEqualTo("value");
+        contextVariables.put("key2", "value2");
+        assertThat(context.getContextValue("context", "key")).as("Value updated").isEqualTo("newValue");
+        assertThat(context.getContextValue("context", "key2")).as("Value added").isEqualTo("value2");
+        assertThat(context.getContextLifespanCount("context")).as("Lifespan count not updated").isEqualTo(2);
+        assertThat(snapshot.getContextValue("context", "key")).as("Snapshot value not updated").isEqualTo("value");
+        contextVariables.remove("key2");
+        assertThat(context.getContextValue("context", "key2")).as("Value removed").isNull();
+    }
+
+    @Test
+    public void getContextVariablesReadsCurrentSnapshot() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 2, "key", "value");
+        Map<String, Object> contextVariables = context.getContextVariables("context");
+        context.setContextValue("context", 2, "key", "newValue");
+        assertThat(contextVariables.get("key")).as("View reads the current value").isEqualTo("newValue");
+    }
+
+    @Test
+    public void getContextMapReadsCurrentSnapshot() {
+        context = new RuntimeContexts();
+        Map<String, Map<String, Object>> contextMap = context.getContextMap();
+        context.setContextValue("context", 2, "key", "value");
+        assertThat(contextMap).as("View contains the new context").containsOnlyKeys("context");
+        assertThat(contextMap.get("context").get("key")).as("View reads the current value").isEqualTo("value");
+    }
+
+    @Test
+    public void getSnapshotExpiredContext() {
+        context = new RuntimeContexts();
+        context.setContextValue("context", 1, "key", "value");
+        context.decrementLifespanCounts();
+        RuntimeContextsSnapshot snapshot = context.getSnapshot();
+        assertThat(snapshot.getContextVariables("context")).as("Expired context ignored").isNull();
+        assertThat(snapshot.getContextMap()).as("Expired context not in the context map").isEmpty();
+        assertThat(snapshot.getLifespanCountsMap()).as("Expired context not in the lifespan map").isEmpty();
+    }
+
     @Test(expected = NullPointerException.class)
     public void mergeNullRuntimeContext() {
         context = new RuntimeContexts();
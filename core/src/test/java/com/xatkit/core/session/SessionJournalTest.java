@@ -0,0 +1,190 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.ExecutionFactory;
+import com.xatkit.execution.State;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionJournalTest extends AbstractXatkitTest {
+
+    private static final long SNAPSHOT_INTERVAL = 3600000;
+
+    private static State TEST_STATE = ExecutionFactory.eINSTANCE.createState();
+
+    static {
+        TEST_STATE.setName("Test_State");
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    private List<XatkitSession> sessions;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = temporaryFolder.newFolder("sessions");
+        sessions = new ArrayList<>();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidSnapshotInterval() {
+        new SessionJournal(directory, 0, () -> sessions);
+    }
+
+    @Test
+    public void loadEmptyDirectory() {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        assertThat(journal.load()).as("No session loaded").isEmpty();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void loadStartedJournal() {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        try {
+            journal.load();
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void closeAndLoadSessions() {
+        XatkitSession session = new XatkitSession("session");
+        session.setState(TEST_STATE);
+        session.store("key", "value");
+        session.getRuntimeContexts().setContextValue("context", 3, "contextKey", "contextValue");
+        sessions.add(session);
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        journal.close();
+        assertThat(journal.getSnapshotCount()).as("Snapshot written when closing the journal").isEqualTo(1);
+
+        Map<String, SessionSnapshot> loaded = load();
+        assertThat(loaded).as("Session loaded").containsOnlyKeys("session");
+        SessionSnapshot snapshot = loaded.get("session");
+        assertThat(snapshot.getStateName()).as("State name loaded").isEqualTo(TEST_STATE.getName());
+        XatkitSession restored = new XatkitSession("session");
+        snapshot.restoreContent(restored);
+        assertThat(restored.get("key")).as("Session variable restored").isEqualTo("value");
+        assertThat(restored.getRuntimeContexts().getContextValue("context", "contextKey"))
+                .as("Context variable restored").isEqualTo("contextValue");
+        assertThat(restored.getRuntimeContexts().getContextLifespanCount("context")).as("Lifespan count restored")
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void replayTransitionsRecordedAfterSnapshot() {
+        XatkitSession session = new XatkitSession("session");
+        session.setState(TEST_STATE);
+        session.store("key", "value");
+        sessions.add(session);
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        journal.snapshot();
+        journal.recordTransition("session", "Other_State");
+        journal.recordTransition("new_session", "New_State");
+        journal.flush();
+        /*
+         * Do not close the journal: this simulates a crash, the transitions are only stored in the journal.
+         */
+        Map<String, SessionSnapshot> loaded = load();
+        assertThat(loaded).as("Sessions loaded").containsOnlyKeys("session", "new_session");
+        assertThat(loaded.get("session").getStateName()).as("Transition replayed").isEqualTo("Other_State");
+        XatkitSession restored = new XatkitSession("session");
+        loaded.get("session").restoreContent(restored);
+        assertThat(restored.get("key")).as("Snapshot content kept").isEqualTo("value");
+        assertThat(loaded.get("new_session").getStateName()).as("Session created after the snapshot loaded")
+                .isEqualTo("New_State");
+        assertThat(journal.getTransitionCount()).as("Transition count is 2").isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidFlushInterval() {
+        new SessionJournal(directory, SNAPSHOT_INTERVAL, 0, () -> sessions);
+    }
+
+    @Test
+    public void recordTransitionWrittenOnFlush() {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        try {
+            journal.recordTransition("session", "Other_State");
+            assertThat(load()).as("Pending transition not written").isEmpty();
+            journal.flush();
+            assertThat(load()).as("Pending transition written").containsOnlyKeys("session");
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void recordTransitionFlushedPeriodically() throws InterruptedException {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, 10, () -> sessions);
+        journal.start();
+        try {
+            journal.recordTransition("session", "Other_State");
+            Thread.sleep(500);
+            /*
+             * Do not close the journal: the transition has been written by the journal thread.
+             */
+            Map<String, SessionSnapshot> loaded = load();
+            assertThat(loaded).as("Transition written").containsOnlyKeys("session");
+            assertThat(loaded.get("session").getStateName()).as("Valid state name").isEqualTo("Other_State");
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void recordTransitionNotStartedJournal() {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.recordTransition("session", "Other_State");
+        assertThat(journal.getTransitionCount()).as("Transition not recorded").isZero();
+    }
+
+    @Test
+    public void snapshotSkipsNotSerializableSessions() {
+        XatkitSession session = new XatkitSession("session");
+        session.store("key", new Object());
+        sessions.add(session);
+        sessions.add(new XatkitSession("session2"));
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        journal.close();
+        assertThat(load()).as("Serializable session loaded").containsOnlyKeys("session2");
+    }
+
+    @Test
+    public void snapshotDeletesPreviousGenerations() {
+        SessionJournal journal = new SessionJournal(directory, SNAPSHOT_INTERVAL, () -> sessions);
+        journal.start();
+        journal.snapshot();
+        journal.snapshot();
+        journal.close();
+        assertThat(directory.list()).as("Only the files of the last generation are kept")
+                .containsExactlyInAnyOrder("snapshot-4.bin", "journal-4.log");
+    }
+
+    private Map<String, SessionSnapshot> load() {
+        Collection<SessionSnapshot> snapshots = new SessionJournal(directory, SNAPSHOT_INTERVAL,
+                () -> new ArrayList<>()).load();
+        return snapshots.stream().collect(Collectors.toMap(SessionSnapshot::getSessionId, Function.identity()));
+    }
+}
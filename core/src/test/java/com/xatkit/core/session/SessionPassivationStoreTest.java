@@ -0,0 +1,106 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionPassivationStoreTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File dbFile;
+
+    private SessionPassivationStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        dbFile = new File(temporaryFolder.newFolder("sessions"), "sessions.db");
+        store = new SessionPassivationStore(dbFile);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void passivateNullSession() {
+        store.passivate(null, System.currentTimeMillis());
+    }
+
+    @Test
+    public void passivateAndActivateSession() {
+        XatkitSession session = createSession("session");
+        assertThat(store.passivate(session, System.currentTimeMillis())).as("Session passivated").isTrue();
+        assertThat(store.contains("session")).as("Store contains the session").isTrue();
+        assertThat(store.size()).as("Store size is 1").isEqualTo(1);
+        SessionSnapshot snapshot = store.activate("session");
+        assertThat(snapshot).as("Snapshot not null").isNotNull();
+        assertThat(store.contains("session")).as("Session removed from the store").isFalse();
+        assertRestoredSession(snapshot);
+    }
+
+    @Test
+    public void passivateNotSerializableSession() {
+        XatkitSession session = new XatkitSession("session");
+        session.store("key", new Object());
+        assertThat(store.passivate(session, System.currentTimeMillis())).as("Session not passivated").isFalse();
+        assertThat(store.contains("session")).as("Store does not contain the session").isFalse();
+        assertThat(store.getFailedPassivationCount()).as("Failed passivation count is 1").isEqualTo(1);
+    }
+
+    @Test
+    public void activateNotPassivatedSession() {
+        assertThat(store.activate("session")).as("Null snapshot").isNull();
+    }
+
+    @Test
+    public void removeAccessedBefore() {
+        store.passivate(createSession("old"), 100);
+        store.passivate(createSession("recent"), 300);
+        List<SessionSnapshot> removed = store.removeAccessedBefore(200);
+        assertThat(removed).as("Old session removed").hasSize(1);
+        assertThat(removed.get(0).getSessionId()).as("Valid removed session").isEqualTo("old");
+        assertThat(store.contains("old")).as("Old session not stored").isFalse();
+        assertThat(store.contains("recent")).as("Recent session stored").isTrue();
+    }
+
+    @Test
+    public void reopenStore() {
+        store.passivate(createSession("session"), System.currentTimeMillis());
+        store.close();
+        store = new SessionPassivationStore(dbFile);
+        SessionSnapshot snapshot = store.activate("session");
+        assertThat(snapshot).as("Snapshot not null").isNotNull();
+        assertRestoredSession(snapshot);
+    }
+
+    private XatkitSession createSession(String sessionId) {
+        XatkitSession session = new XatkitSession(sessionId);
+        session.store("key", "value");
+        session.getRuntimeContexts().setContextValue("context", 3, "contextKey", "contextValue");
+        return session;
+    }
+
+    private void assertRestoredSession(SessionSnapshot snapshot) {
+        XatkitSession restored = new XatkitSession(snapshot.getSessionId());
+        snapshot.restoreContent(restored);
+        assertThat(restored.get("key")).as("Session variable restored").isEqualTo("value");
+        assertThat(restored.getRuntimeContexts().getContextValue("context", "contextKey"))
+                .as("Context variable restored").isEqualTo("contextValue");
+        assertThat(restored.getRuntimeContexts().getContextLifespanCount("context")).as("Lifespan count restored")
+                .isEqualTo(3);
+    }
+}
@@ -0,0 +1,88 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.ExecutionFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionSizeEstimatorTest extends AbstractXatkitTest {
+
+    @Test
+    public void estimateNull() {
+        assertThat(SessionSizeEstimator.estimate(null)).as("Null value has no size").isEqualTo(0);
+    }
+
+    @Test
+    public void estimateString() {
+        assertThat(SessionSizeEstimator.estimate("a longer string value")).as("Longer string is larger")
+                .isGreaterThan(SessionSizeEstimator.estimate("a"));
+    }
+
+    @Test
+    public void estimatePrimitiveArray() {
+        assertThat(SessionSizeEstimator.estimate(new long[1000])).as("Array size computed from its length")
+                .isGreaterThanOrEqualTo(8000);
+    }
+
+    @Test
+    public void estimateLargeList() {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add("value" + i);
+        }
+        assertThat(SessionSizeEstimator.estimate(list)).as("Size extrapolated from the sampled elements")
+                .isGreaterThan(10000L * SessionSizeEstimator.estimate("value0"));
+    }
+
+    @Test
+    public void estimateSharedReference() {
+        String value = "value";
+        List<String> list = new ArrayList<>();
+        list.add(value);
+        list.add(value);
+        List<String> single = new ArrayList<>();
+        single.add(value);
+        assertThat(SessionSizeEstimator.estimate(list) - SessionSizeEstimator.estimate(single))
+                .as("Shared reference counted once").isEqualTo(SessionSizeEstimator.REFERENCE_SIZE);
+    }
+
+    @Test
+    public void estimateMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("key", new int[100]);
+        assertThat(SessionSizeEstimator.estimate(map)).as("Map values estimated").isGreaterThan(400);
+    }
+
+    @Test
+    public void estimateCustomObject() {
+        Node node = new Node();
+        node.values = new int[100];
+        assertThat(SessionSizeEstimator.estimate(node)).as("Fields visited by reflection").isGreaterThan(400);
+    }
+
+    @Test
+    public void estimateCyclicObject() {
+        Node node = new Node();
+        node.next = node;
+        assertThat(SessionSizeEstimator.estimate(node)).as("Cycle visited once").isGreaterThan(0);
+    }
+
+    @Test
+    public void estimateEObject() {
+        assertThat(SessionSizeEstimator.estimate(ExecutionFactory.eINSTANCE.createState())).as("EObject not visited")
+                .isEqualTo(0);
+    }
+
+    private static class Node {
+
+        private int[] values;
+
+        private Node next;
+    }
+}
@@ -0,0 +1,338 @@
+package com.xatkit.core.session;
+
+import com.xatkit.AbstractXatkitTest;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XatkitSessionRegistryTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private XatkitSessionRegistry registry;
+
+    @After
+    public void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullConfiguration() {
+        registry = new XatkitSessionRegistry(null);
+    }
+
+    @Test
+    public void constructEmptyConfiguration() {
+        registry = new XatkitSessionRegistry(new BaseConfiguration());
+        assertThat(registry.getMaxSize()).as("Size-based eviction disabled by default").isZero();
+        assertThat(registry.getIdleTtl()).as("Idle eviction disabled by default").isZero();
+    }
+
+    @Test
+    public void constructConfigurationWithLimits() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(XatkitSessionRegistry.SESSION_MAX_SIZE_KEY, 10);
+        configuration.addProperty(XatkitSessionRegistry.SESSION_IDLE_TTL_KEY, 5);
+        registry = new XatkitSessionRegistry(configuration);
+        assertThat(registry.getMaxSize()).as("Configured max size").isEqualTo(10);
+        assertThat(registry.getIdleTtl()).as("Configured idle ttl").isEqualTo(5000);
+    }
+
+    @Test
+    public void getOrCreateNotExistingSession() {
+        registry = new XatkitSessionRegistry(0, 0);
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        assertThat(session.getSessionId()).as("Valid session id").isEqualTo("session");
+        assertThat(registry.get("session")).as("Session registered").isSameAs(session);
+        assertThat(registry.getCreatedCount()).as("Created count is 1").isEqualTo(1);
+    }
+
+    @Test
+    public void getOrCreateExistingSession() {
+        registry = new XatkitSessionRegistry(0, 0);
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        XatkitSession session2 = registry.getOrCreate("session", id -> {
+            throw new IllegalStateException("The factory should not be called");
+        });
+        assertThat(session2).as("Same session").isSameAs(session);
+    }
+
+    @Test
+    public void getOrCreateFactoryThrowsException() {
+        registry = new XatkitSessionRegistry(0, 0);
+        try {
+            registry.getOrCreate("session", id -> {
+                throw new IllegalStateException("Error");
+            });
+        } catch (IllegalStateException e) {
+            assertThat(registry.get("session")).as("Session not registered").isNull();
+            assertThat(registry.size()).as("Registry is empty").isZero();
+            return;
+        }
+        throw new AssertionError("The factory exception has not been propagated");
+    }
+
+    @Test
+    public void getOrCreateConcurrentCallsCreateSingleSession() throws Exception {
+        registry = new XatkitSessionRegistry(0, 0);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger factoryCalls = new AtomicInteger(0);
+        List<Future<XatkitSession>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return registry.getOrCreate("session", id -> {
+                        factoryCalls.incrementAndGet();
+                        return new XatkitSession(id);
+                    });
+                }));
+            }
+            start.countDown();
+            XatkitSession first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<XatkitSession> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).as("Same session").isSameAs(first);
+            }
+            assertThat(factoryCalls.get()).as("Factory called once").isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getOrCreateSlowFactoryDoesNotBlockOtherSessions() throws Exception {
+        registry = new XatkitSessionRegistry(0, 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch factoryStarted = new CountDownLatch(1);
+        CountDownLatch releaseFactory = new CountDownLatch(1);
+        try {
+            Future<XatkitSession> slowSession = executor.submit(() -> registry.getOrCreate("slow", id -> {
+                factoryStarted.countDown();
+                try {
+                    releaseFactory.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new XatkitSession(id);
+            }));
+            assertThat(factoryStarted.await(5, TimeUnit.SECONDS)).as("Slow factory started").isTrue();
+            /*
+             * The other sessions can be created while the slow one is being created.
+             */
+            for (int i = 0; i < 64; i++) {
+                assertThat(registry.getOrCreate("session" + i, XatkitSession::new)).as("Session created")
+                        .isNotNull();
+            }
+            assertThat(registry.get("slow")).as("Slow session not registered yet").isNull();
+            releaseFactory.countDown();
+            assertThat(slowSession.get(5, TimeUnit.SECONDS).getSessionId()).as("Slow session created")
+                    .isEqualTo("slow");
+            assertThat(registry.size()).as("All the sessions registered").isEqualTo(65);
+        } finally {
+            releaseFactory.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getNotExistingSession() {
+        registry = new XatkitSessionRegistry(0, 0);
+        assertThat(registry.get("session")).as("Null session").isNull();
+    }
+
+    @Test
+    public void removeSessionNotifiesListener() {
+        registry = new XatkitSessionRegistry(0, 0);
+        List<SessionEvictionCause> causes = new ArrayList<>();
+        registry.addEvictionListener((session, cause) -> causes.add(cause));
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        assertThat(registry.remove("session")).as("Removed session").isSameAs(session);
+        assertThat(registry.get("session")).as("Session not registered").isNull();
+        assertThat(causes).as("Listener notified").containsExactly(SessionEvictionCause.EXPLICIT);
+        assertThat(registry.getEvictionCount(SessionEvictionCause.EXPLICIT)).as("Explicit eviction count is 1")
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void clearSessions() {
+        registry = new XatkitSessionRegistry(0, 0);
+        registry.getOrCreate("session1", XatkitSession::new);
+        registry.getOrCreate("session2", XatkitSession::new);
+        registry.clear();
+        assertThat(registry.size()).as("Registry is empty").isZero();
+        assertThat(registry.getSessions()).as("Empty sessions").isEmpty();
+    }
+
+    @Test
+    public void maxSizeEvictsLeastRecentlyAccessedSessions() throws InterruptedException {
+        registry = new XatkitSessionRegistry(10, 0);
+        List<String> evicted = new ArrayList<>();
+        registry.addEvictionListener((session, cause) -> {
+            assertThat(cause).as("Size eviction").isEqualTo(SessionEvictionCause.SIZE);
+            evicted.add(session.getSessionId());
+        });
+        for (int i = 0; i < 10; i++) {
+            registry.getOrCreate("session" + i, XatkitSession::new);
+            Thread.sleep(2);
+        }
+        /*
+         * Access session0 to make it the most recently accessed session.
+         */
+        registry.get("session0");
+        registry.getOrCreate("session10", XatkitSession::new);
+        assertThat(registry.size()).as("Registry size reduced").isEqualTo(9);
+        assertThat(evicted).as("Least recently accessed sessions evicted").containsExactlyInAnyOrder("session1",
+                "session2");
+        assertThat(registry.get("session0")).as("Recently accessed session kept").isNotNull();
+        assertThat(registry.get("session10")).as("Created session kept").isNotNull();
+    }
+
+    @Test
+    public void idleSessionEvicted() throws InterruptedException {
+        registry = new XatkitSessionRegistry(0, 50);
+        /*
+         * The session may be evicted by the sweeper thread.
+         */
+        List<SessionEvictionCause> causes = new CopyOnWriteArrayList<>();
+        registry.addEvictionListener((session, cause) -> causes.add(cause));
+        registry.getOrCreate("session", XatkitSession::new);
+        Thread.sleep(100);
+        registry.evictExpiredSessions();
+        assertThat(registry.get("session")).as("Expired session evicted").isNull();
+        assertThat(causes).as("Listener notified").containsExactly(SessionEvictionCause.EXPIRED);
+    }
+
+    @Test
+    public void listenerExceptionDoesNotPreventEviction() {
+        registry = new XatkitSessionRegistry(0, 0);
+        AtomicInteger notified = new AtomicInteger(0);
+        registry.addEvictionListener((session, cause) -> {
+            throw new IllegalStateException("Error");
+        });
+        registry.addEvictionListener((session, cause) -> notified.incrementAndGet());
+        registry.getOrCreate("session", XatkitSession::new);
+        registry.remove("session");
+        assertThat(registry.size()).as("Registry is empty").isZero();
+        assertThat(notified.get()).as("Second listener notified").isEqualTo(1);
+    }
+
+    @Test
+    public void passivateIdleSessionAndRehydrate() throws Exception {
+        SessionPassivationStore store = new SessionPassivationStore(new File(temporaryFolder.newFolder(),
+                "sessions.db"));
+        registry = new XatkitSessionRegistry(0, 0, 60000, store);
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        session.store("key", "value");
+        Thread.sleep(5);
+        registry.passivateSessionsAccessedBefore(System.currentTimeMillis());
+        assertThat(registry.size()).as("Session removed from memory").isZero();
+        assertThat(registry.isPassivated("session")).as("Session passivated").isTrue();
+        assertThat(registry.get("session")).as("Passivated session not returned by get").isNull();
+        XatkitSession rehydrated = registry.getOrCreate("session", id -> {
+            throw new IllegalStateException("The factory should not be called");
+        }, snapshot -> {
+            XatkitSession restored = new XatkitSession(snapshot.getSessionId());
+            snapshot.restoreContent(restored);
+            return restored;
+        });
+        assertThat(rehydrated).as("New session instance").isNotSameAs(session);
+        assertThat(rehydrated.get("key")).as("Session variable restored").isEqualTo("value");
+        assertThat(registry.isPassivated("session")).as("Session not passivated anymore").isFalse();
+        assertThat(registry.getActivationCount()).as("Activation count is 1").isEqualTo(1);
+        assertThat(registry.getCreatedCount()).as("Created count is 1").isEqualTo(1);
+    }
+
+    @Test
+    public void getOrCreateDuringPassivationWaitsForRemoval() throws Exception {
+        CountDownLatch passivationStarted = new CountDownLatch(1);
+        CountDownLatch releasePassivation = new CountDownLatch(1);
+        SessionPassivationStore store = new SessionPassivationStore(new File(temporaryFolder.newFolder(),
+                "sessions.db")) {
+            @Override
+            public boolean passivate(XatkitSession session, long lastAccess) {
+                passivationStarted.countDown();
+                try {
+                    releasePassivation.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.passivate(session, lastAccess);
+            }
+        };
+        registry = new XatkitSessionRegistry(0, 0, 60000, store);
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        session.store("key", "value");
+        Thread.sleep(5);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            long accessLimit = System.currentTimeMillis();
+            executor.submit(() -> registry.passivateSessionsAccessedBefore(accessLimit));
+            assertThat(passivationStarted.await(5, TimeUnit.SECONDS)).as("Passivation started").isTrue();
+            Future<XatkitSession> rehydrated = executor.submit(() -> registry.getOrCreate("session",
+                    XatkitSession::new));
+            Thread.sleep(100);
+            assertThat(rehydrated.isDone()).as("getOrCreate waits for the passivation").isFalse();
+            releasePassivation.countDown();
+            XatkitSession result = rehydrated.get(5, TimeUnit.SECONDS);
+            assertThat(result).as("New session instance").isNotSameAs(session);
+            assertThat(result.get("key")).as("Session variable restored").isEqualTo("value");
+            assertThat(registry.getActivationCount()).as("Activation count is 1").isEqualTo(1);
+        } finally {
+            releasePassivation.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void passivatedSessionNotReturnedByGetSessions() throws Exception {
+        SessionPassivationStore store = new SessionPassivationStore(new File(temporaryFolder.newFolder(),
+                "sessions.db"));
+        registry = new XatkitSessionRegistry(0, 0, 60000, store);
+        XatkitSession passivated = registry.getOrCreate("passivated", XatkitSession::new);
+        Thread.sleep(5);
+        registry.passivateSessionsAccessedBefore(System.currentTimeMillis());
+        XatkitSession inMemory = registry.getOrCreate("inMemory", XatkitSession::new);
+        /*
+         * Broadcasted events are delivered to getSessions(), passivated sessions do not receive them.
+         */
+        assertThat(registry.getSessions()).as("Only the session in memory is returned").containsExactly(inMemory);
+        XatkitSession rehydrated = registry.getOrCreate("passivated", XatkitSession::new);
+        assertThat(registry.getSessions()).as("Rehydrated session returned").containsExactlyInAnyOrder(inMemory,
+                rehydrated);
+        assertThat(rehydrated).as("New session instance").isNotSameAs(passivated);
+    }
+
+    @Test
+    public void passivateNotSerializableSessionKeptInMemory() throws Exception {
+        SessionPassivationStore store = new SessionPassivationStore(new File(temporaryFolder.newFolder(),
+                "sessions.db"));
+        registry = new XatkitSessionRegistry(0, 0, 60000, store);
+        XatkitSession session = registry.getOrCreate("session", XatkitSession::new);
+        session.store("key", new Object());
+        Thread.sleep(5);
+        registry.passivateSessionsAccessedBefore(System.currentTimeMillis());
+        assertThat(registry.isPassivated("session")).as("Session not passivated").isFalse();
+        assertThat(registry.get("session")).as("Session kept in memory").isSameAs(session);
+    }
+}
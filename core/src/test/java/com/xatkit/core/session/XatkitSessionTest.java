@@ -1,6 +1,7 @@
 package com.xatkit.core.session;
 
 import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
 import com.xatkit.execution.ExecutionFactory;
 import com.xatkit.execution.State;
 import org.apache.commons.configuration2.BaseConfiguration;
@@ -12,6 +13,7 @@ import org.junit.Test;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 public class XatkitSessionTest extends AbstractXatkitTest {
 
@@ -156,6 +158,64 @@ public class XatkitSessionTest extends AbstractXatkitTest {
         session.setState(null);
     }
 
+    @Test
+    public void storeUpdatesEstimatedSize() {
+        session = new XatkitSession("sessionId");
+        session.store("key", "value");
+        assertThat(session.getEstimatedSize()).as("Size estimated").isGreaterThan(0);
+        assertThat(session.getVariableSizes()).as("Variable size estimated").containsOnlyKeys("key");
+        session.store("key", null);
+        assertThat(session.getEstimatedSize()).as("Size decreased").isEqualTo(0);
+    }
+
+    @Test
+    public void storeListUpdatesEstimatedSize() {
+        session = new XatkitSession("sessionId");
+        session.storeList("key", "value1");
+        long size = session.getEstimatedSize();
+        session.storeList("key", "value2");
+        assertThat(session.getEstimatedSize()).as("Size increased").isGreaterThan(size);
+        session.recomputeEstimatedSize();
+        assertThat(session.getEstimatedSize()).as("Recomputed size is positive").isGreaterThan(size);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void storeExceedHardQuota() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(XatkitSession.SESSION_MEMORY_HARD_QUOTA_KEY, 1024);
+        session = new XatkitSession("sessionId", configuration);
+        session.store("key", new char[2048]);
+    }
+
+    @Test
+    public void storeExceedHardQuotaValueNotStored() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(XatkitSession.SESSION_MEMORY_HARD_QUOTA_KEY, 1024);
+        session = new XatkitSession("sessionId", configuration);
+        session.store("key", "value");
+        try {
+            session.storeList("key2", new char[2048]);
+        } catch (XatkitException e) {
+            assertThat(session.get("key2")).as("Value not stored").isNull();
+            assertThat(session.getVariableSizes()).as("Size not updated").containsOnlyKeys("key");
+            /*
+             * Shrinking a variable is always accepted.
+             */
+            session.store("key", null);
+            return;
+        }
+        fail("Expected a " + XatkitException.class.getSimpleName());
+    }
+
+    @Test
+    public void storeExceedSoftQuota() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(XatkitSession.SESSION_MEMORY_SOFT_QUOTA_KEY, 1024);
+        session = new XatkitSession("sessionId", configuration);
+        session.store("key", new char[2048]);
+        assertThat(session.get("key")).as("Value stored").isNotNull();
+    }
+
     private void assertValidXatkitSession(XatkitSession session) {
         softly.assertThat(session.getSessionId()).as("Valid session ID").isEqualTo("session");
         softly.assertThat(session.getRuntimeContexts()).as("Not null context").isNotNull();
@@ -3,7 +3,9 @@ package com.xatkit.stubs;
 import com.xatkit.core.XatkitCore;
 import com.xatkit.core.platform.RuntimePlatform;
 import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.SessionEvictionCause;
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.stubs.action.ContextSettingStubRuntimeAction;
 import com.xatkit.stubs.action.ErroringStubRuntimeAction;
 import com.xatkit.stubs.action.StubRuntimeAction;
 import com.xatkit.util.ExecutionModelUtils;
@@ -11,6 +13,7 @@ import org.apache.commons.configuration2.Configuration;
 import org.eclipse.xtext.xbase.XMemberFeatureCall;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 public class StubRuntimePlatform extends RuntimePlatform {
@@ -19,6 +22,8 @@ public class StubRuntimePlatform extends RuntimePlatform {
 
     private ErroringStubRuntimeAction erroringRuntimeAction;
 
+    private List<XatkitSession> evictedSessions = new ArrayList<>();
+
     public StubRuntimePlatform(XatkitCore xatkitCore, Configuration configuration) {
         super(xatkitCore, configuration);
         init();
@@ -37,6 +42,15 @@ public class StubRuntimePlatform extends RuntimePlatform {
         return erroringRuntimeAction;
     }
 
+    public List<XatkitSession> getEvictedSessions() {
+        return evictedSessions;
+    }
+
+    @Override
+    public void onSessionEviction(XatkitSession session, SessionEvictionCause cause) {
+        this.evictedSessions.add(session);
+    }
+
     @Override
     public RuntimeAction createRuntimeAction(XMemberFeatureCall actionCall, List<Object> arguments,
                                              XatkitSession session) {
@@ -44,6 +58,8 @@ public class StubRuntimePlatform extends RuntimePlatform {
             return runtimeAction;
         } else if (ExecutionModelUtils.getActionName(actionCall).equals("ErroringStubRuntimeAction")) {
             return erroringRuntimeAction;
+        } else if (ExecutionModelUtils.getActionName(actionCall).equals("ContextSettingStubRuntimeAction")) {
+            return new ContextSettingStubRuntimeAction(this, session);
         } else {
             throw new RuntimeException(MessageFormat.format("Cannot create the action {0}",
                     ExecutionModelUtils.getActionName(actionCall)));
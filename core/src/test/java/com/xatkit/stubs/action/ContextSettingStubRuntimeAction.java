@@ -0,0 +1,24 @@
+package com.xatkit.stubs.action;
+
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+
+public class ContextSettingStubRuntimeAction extends RuntimeAction {
+
+    public static final String CONTEXT_NAME = "Action";
+
+    public static final String CONTEXT_KEY = "value";
+
+    public static final String CONTEXT_VALUE = "set by action";
+
+    public ContextSettingStubRuntimeAction(RuntimePlatform runtimePlatform, XatkitSession session) {
+        super(runtimePlatform, session);
+    }
+
+    @Override
+    public Object compute() {
+        this.session.getRuntimeContexts().setContextValue(CONTEXT_NAME, 2, CONTEXT_KEY, CONTEXT_VALUE);
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.xatkit.stubs.action;
+
+import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class StubRuntimeAsyncAction extends RuntimeAction {
+
+    private CompletableFuture<Object> pendingResult = new CompletableFuture<>();
+
+    private int computeCalls = 0;
+
+    public StubRuntimeAsyncAction(RuntimePlatform runtimePlatform, XatkitSession session) {
+        super(runtimePlatform, session);
+    }
+
+    @Override
+    protected CompletionStage<?> computeAsync() {
+        return pendingResult;
+    }
+
+    @Override
+    public Object compute() {
+        computeCalls++;
+        return null;
+    }
+
+    public CompletableFuture<Object> getPendingResult() {
+        return pendingResult;
+    }
+
+    public int getComputeCalls() {
+        return computeCalls;
+    }
+}
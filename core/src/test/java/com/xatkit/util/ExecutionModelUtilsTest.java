@@ -0,0 +1,67 @@
+package com.xatkit.util;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.execution.State;
+import com.xatkit.execution.Transition;
+import com.xatkit.test.util.TestBotExecutionModel;
+import com.xatkit.test.util.TestModelLoader;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutionModelUtilsTest extends AbstractXatkitTest {
+
+    private static TestBotExecutionModel testBotExecutionModel;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws ConfigurationException {
+        testBotExecutionModel = TestModelLoader.loadTestBot();
+    }
+
+    @Test
+    public void getComparedEventNameNullExpression() {
+        assertThat(ExecutionModelUtils.getComparedEventName(null)).as("Null expression").isNull();
+    }
+
+    @Test
+    public void getComparedEventNameIntentComparison() {
+        List<String> comparedEventNames = getState("Init").getTransitions().stream()
+                .map(t -> ExecutionModelUtils.getComparedEventName(t.getCondition()))
+                .collect(Collectors.toList());
+        assertThat(comparedEventNames).as("Compared intents").containsExactly("SimpleIntent", "SystemEntityIntent",
+                "MappingEntityIntent", "CompositeEntityIntent", "ContextCheckingIntent");
+    }
+
+    @Test
+    public void getComparedEventNameContextAccess() {
+        for (Transition transition : getState("ContextCheckingState").getTransitions()) {
+            assertThat(ExecutionModelUtils.getComparedEventName(transition.getCondition()))
+                    .as("Context access is not an event comparison").isNull();
+        }
+    }
+
+    @Test
+    public void getComparedEventNameNotBinaryOperation() {
+        assertThat(ExecutionModelUtils.getComparedEventName(getState("HandleAny").getBody()))
+                .as("Action call is not an event comparison").isNull();
+    }
+
+    @Test
+    public void getEventEqualityGuardNameIntentComparison() {
+        for (Transition transition : getState("Init").getTransitions()) {
+            assertThat(ExecutionModelUtils.getEventEqualityGuardName(transition.getCondition()))
+                    .as("Intent comparison is an event equality guard")
+                    .isEqualTo(ExecutionModelUtils.getComparedEventName(transition.getCondition()));
+        }
+    }
+
+    private State getState(String name) {
+        return testBotExecutionModel.getBaseModel().getStates().stream().filter(s -> s.getName().equals(name))
+                .findAny().orElseThrow(() -> new IllegalStateException("Cannot find the state " + name));
+    }
+}